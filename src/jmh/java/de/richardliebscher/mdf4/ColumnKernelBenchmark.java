@@ -0,0 +1,276 @@
+package de.richardliebscher.mdf4;
+
+import static java.util.Objects.requireNonNull;
+
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.extract.ColumnBatch;
+import de.richardliebscher.mdf4.extract.RecordFactory;
+import de.richardliebscher.mdf4.extract.de.DeserializeInto;
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import de.richardliebscher.mdf4.internal.ColumnKernels;
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+public class ColumnKernelBenchmark {
+  private static final int RECORDS = 64 * 1024;
+
+  @State(Scope.Benchmark)
+  public static class RecordsState {
+    @Param({"8", "24", "64"})
+    int stride;
+
+    ByteBuffer records;
+    long[] longs;
+    double[] doubles;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      final var bytes = new byte[RECORDS * stride];
+      new Random(42).nextBytes(bytes);
+      records = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+      longs = new long[RECORDS];
+      doubles = new double[RECORDS];
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class FileState {
+    public static final Path PATH = Path.of(
+        URI.create(requireNonNull(ColumnKernelBenchmark.class.getResource(
+            "/KonvektionKalt1-20140123-143636.mf4")).toString()));
+
+    byte[] source;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      source = Files.readAllBytes(PATH);
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1, time = 1, batchSize = 1)
+  @Fork(value = 1, warmups = 0)
+  @Measurement(iterations = 3)
+  public long[] signed24BitKernel(RecordsState state) {
+    ColumnKernels.loadLongs(state.records, 0, state.stride, 4, false, state.longs, 0, RECORDS);
+    ColumnKernels.extend(state.longs, 0, RECORDS, 40, 40, true);
+    return state.longs;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1, time = 1, batchSize = 1)
+  @Fork(value = 1, warmups = 0)
+  @Measurement(iterations = 3)
+  public long[] signed24BitNaive(RecordsState state) {
+    final var records = state.records;
+    final var stride = state.stride;
+    final var longs = state.longs;
+    for (int i = 0; i < RECORDS; i++) {
+      longs[i] = ((long) records.getInt(i * stride) << 40) >> 40;
+    }
+    return longs;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1, time = 1, batchSize = 1)
+  @Fork(value = 1, warmups = 0)
+  @Measurement(iterations = 3)
+  public double[] doubleKernel(RecordsState state) {
+    ColumnKernels.loadDoubles(state.records, 0, state.stride, false, state.doubles, 0, RECORDS);
+    return state.doubles;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1, time = 1, batchSize = 1)
+  @Fork(value = 1, warmups = 0)
+  @Measurement(iterations = 3)
+  public double[] doubleNaive(RecordsState state) {
+    final var records = state.records;
+    final var stride = state.stride;
+    final var doubles = state.doubles;
+    for (int i = 0; i < RECORDS; i++) {
+      doubles[i] = records.getDouble(i * stride);
+    }
+    return doubles;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1, time = 1, batchSize = 1)
+  @Fork(value = 1, warmups = 0)
+  @Measurement(iterations = 3)
+  public double columnBatches(FileState state) throws Exception {
+    final var mdf4File = Mdf4File.open(new ByteBufferInput(ByteBuffer.wrap(state.source)));
+    double sum = 0;
+    try (var reader = mdf4File.newColumnBatchReader(
+        (dg, cg) -> true, (dg, cg, ch) -> isNumeric(ch))) {
+      final var batch = reader.newBatch(1024);
+      while (reader.next(batch) > 0) {
+        for (int column = 0; column < batch.columns(); column++) {
+          sum += sumColumn(batch, column);
+        }
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1, time = 1, batchSize = 1)
+  @Fork(value = 1, warmups = 0)
+  @Measurement(iterations = 3)
+  public double records(FileState state) throws Exception {
+    final var mdf4File = Mdf4File.open(new ByteBufferInput(ByteBuffer.wrap(state.source)));
+    final var sum = new double[1];
+    final var reader = mdf4File.newRecordReader(new RecordFactory<double[], double[]>() {
+      @Override
+      public boolean selectGroup(DataGroup dataGroup, ChannelGroup group) {
+        return true;
+      }
+
+      @Override
+      public DeserializeInto<double[]> selectChannel(
+          DataGroup dataGroup, ChannelGroup group, Channel channel) {
+        return isNumeric(channel)
+            ? (deserializer, dest) -> deserializer.deserialize_value(SumVisitor.INSTANCE, dest)
+            : null;
+      }
+
+      @Override
+      public double[] createRecordBuilder() {
+        return sum;
+      }
+
+      @Override
+      public double[] finishRecord(double[] unfinishedRecord) {
+        return unfinishedRecord;
+      }
+    });
+    while (reader.remaining() != 0) {
+      reader.nextInto(sum);
+    }
+    return sum[0];
+  }
+
+  private static boolean isNumeric(Channel channel) {
+    final var dataType = channel.getBlock().getDataType();
+    return dataType.isInteger()
+        || dataType == ChannelDataType.FLOAT_LE || dataType == ChannelDataType.FLOAT_BE;
+  }
+
+  private static double sumColumn(ColumnBatch batch, int column) {
+    double sum = 0;
+    switch (batch.getType(column)) {
+      case INT:
+        for (int i = 0; i < batch.size(); i++) {
+          sum += batch.getInts(column)[i];
+        }
+        break;
+      case LONG:
+        for (int i = 0; i < batch.size(); i++) {
+          sum += batch.getLongs(column)[i];
+        }
+        break;
+      case FLOAT:
+        for (int i = 0; i < batch.size(); i++) {
+          sum += batch.getFloats(column)[i];
+        }
+        break;
+      case DOUBLE:
+        for (int i = 0; i < batch.size(); i++) {
+          sum += batch.getDoubles(column)[i];
+        }
+        break;
+      default:
+        break;
+    }
+    return sum;
+  }
+
+  private static class SumVisitor implements Visitor<Void, double[]> {
+    static final SumVisitor INSTANCE = new SumVisitor();
+
+    @Override
+    public String expecting() {
+      return "numeric value";
+    }
+
+    @Override
+    public Void visitU8(byte value, double[] param) {
+      param[0] += value & 0xFF;
+      return null;
+    }
+
+    @Override
+    public Void visitU16(short value, double[] param) {
+      param[0] += value & 0xFFFF;
+      return null;
+    }
+
+    @Override
+    public Void visitU32(int value, double[] param) {
+      param[0] += value & 0xFFFFFFFFL;
+      return null;
+    }
+
+    @Override
+    public Void visitU64(long value, double[] param) {
+      param[0] += value;
+      return null;
+    }
+
+    @Override
+    public Void visitI8(byte value, double[] param) {
+      param[0] += value;
+      return null;
+    }
+
+    @Override
+    public Void visitI16(short value, double[] param) {
+      param[0] += value;
+      return null;
+    }
+
+    @Override
+    public Void visitI32(int value, double[] param) {
+      param[0] += value;
+      return null;
+    }
+
+    @Override
+    public Void visitI64(long value, double[] param) {
+      param[0] += value;
+      return null;
+    }
+
+    @Override
+    public Void visitF32(float value, double[] param) {
+      param[0] += value;
+      return null;
+    }
+
+    @Override
+    public Void visitF64(double value, double[] param) {
+      param[0] += value;
+      return null;
+    }
+
+    @Override
+    public Void visitInvalid(double[] param) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package de.richardliebscher.mdf4;
+
+import de.richardliebscher.mdf4.internal.Transposition;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+public class UntransposeBenchmark {
+  @State(Scope.Benchmark)
+  public static class TransposedState {
+    @Param({"4", "8", "13", "64", "300", "2000"})
+    int columns;
+
+    byte[] transposed;
+    byte[] result;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      transposed = new byte[4 * 1024 * 1024];
+      new Random(42).nextBytes(transposed);
+      result = new byte[transposed.length];
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1, time = 1, batchSize = 1)
+  @Fork(value = 1, warmups = 0)
+  @Measurement(iterations = 3)
+  public byte[] tiled(TransposedState state) {
+    Transposition.untranspose(
+        state.transposed, 0, state.result, 0, state.transposed.length, state.columns);
+    return state.result;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1, time = 1, batchSize = 1)
+  @Fork(value = 1, warmups = 0)
+  @Measurement(iterations = 3)
+  public byte[] naive(TransposedState state) {
+    final var bytes = state.transposed;
+    final var result = state.result;
+    final var n = state.columns;
+    final var m = bytes.length / n;
+
+    int k = 0;
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++, k++) {
+        result[j * n + i] = bytes[k];
+      }
+    }
+    System.arraycopy(bytes, k, result, k, bytes.length - k);
+    return result;
+  }
+}
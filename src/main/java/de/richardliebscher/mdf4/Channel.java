@@ -15,6 +15,7 @@ import de.richardliebscher.mdf4.blocks.ChannelDataType;
 import de.richardliebscher.mdf4.blocks.ChannelFlag;
 import de.richardliebscher.mdf4.blocks.ChannelType;
 import de.richardliebscher.mdf4.blocks.Composition;
+import de.richardliebscher.mdf4.blocks.ConversionReference;
 import de.richardliebscher.mdf4.blocks.SyncType;
 import de.richardliebscher.mdf4.blocks.TextBlock;
 import de.richardliebscher.mdf4.datatypes.ByteArrayType;
@@ -61,7 +62,7 @@ public class Channel {
    * @throws IOException Failed to read from MDF file
    */
   public String getName() throws IOException {
-    return block.getChannelName().resolve(TextBlock.TYPE, ctx.getInput())
+    return ctx.resolve(block.getChannelName(), TextBlock.TYPE)
         .orElseThrow(() -> new FormatException("Channel name link is required"))
         .getText();
   }
@@ -88,7 +89,7 @@ public class Channel {
       return channelUnit;
     }
 
-    final var cc = block.getConversionRule().resolve(ChannelConversionBlock.TYPE, ctx.getInput());
+    final var cc = ctx.resolve(block.getConversionRule(), ChannelConversionBlock.TYPE);
     if (cc.isPresent()) {
       return ctx.readText(cc.get().getUnit(), ChannelConversionBlock.UNIT_ELEMENT);
     }
@@ -106,6 +107,9 @@ public class Channel {
   /**
    * Return RAW data type of channel values.
    *
+   * <p>Text table conversions with texts and numeric entries have a string type, but values of
+   * numeric entries are visited as numbers.
+   *
    * @return Channel value data type
    */
   public DataType getDataType() throws IOException {
@@ -114,15 +118,14 @@ public class Channel {
 
   private static DataType getDataTypeFromBlock(ChannelBlock block, FileContext ctx)
       throws IOException {
-    final var compositionOptional = block.getComposition()
-        .resolve(Composition.TYPE, ctx.getInput());
+    final var compositionOptional = ctx.resolve(block.getComposition(), Composition.TYPE);
     if (compositionOptional.isPresent()) {
       final var composition = compositionOptional.get();
       if (composition instanceof ChannelBlock) {
         final var fields = new ArrayList<StructField>();
         fields.add(getStructField((ChannelBlock) composition, ctx));
         var iter = new ChannelBlock.Iterator(
-            ((ChannelBlock) composition).getNextChannel(), ctx.getInput());
+            ((ChannelBlock) composition).getNextChannel(), ctx.getInput(), ctx);
         while (iter.hasNext()) {
           fields.add(getStructField(iter.next(), ctx));
         }
@@ -136,8 +139,7 @@ public class Channel {
     final int bitCount;
     final Integer precision;
 
-    final var conversion = block.getConversionRule()
-        .resolve(ChannelConversionBlock.TYPE, ctx.getInput());
+    final var conversion = ctx.resolve(block.getConversionRule(), ChannelConversionBlock.TYPE);
     if (conversion.isPresent()) {
       final var conversionBlock = conversion.get();
       switch (conversionBlock.getType()) {
@@ -158,6 +160,15 @@ public class Channel {
           bitCount = 64;
           precision = conversionBlock.getPrecision().orElse(null);
           break;
+        case VALUE_TEXT_TABLE:
+        case VALUE_RANGE_TEXT_TABLE:
+          if (!hasTextReference(conversionBlock, ctx)) {
+            dataType = ChannelDataType.FLOAT_LE;
+            bitCount = 64;
+            precision = conversionBlock.getPrecision().orElse(null);
+            break;
+          }
+          // fall through: texts, scaled entries are visited as numbers
         case TEXT_TEXT_TABLE:
         case BITFIELD_TEXT_TABLE:
           dataType = ChannelDataType.STRING_LATIN1;
@@ -165,10 +176,8 @@ public class Channel {
           precision = null;
           break;
         default:
-        case VALUE_TEXT_TABLE:
-        case VALUE_RANGE_TEXT_TABLE:
           throw new NotImplementedFeatureException(
-              "Not implemented conversion with maybe mixed data type");
+              "Conversion not implemented: " + conversionBlock.getType());
       }
 
     } else {
@@ -206,6 +215,17 @@ public class Channel {
     }
   }
 
+  private static boolean hasTextReference(ChannelConversionBlock conversion, FileContext ctx)
+      throws IOException {
+    for (final var ref : conversion.getRefs()) {
+      final var resolved = ctx.resolve(ref, ConversionReference.TYPE);
+      if (resolved.isEmpty() || !(resolved.get() instanceof ChannelConversionBlock)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private static StructField getStructField(ChannelBlock block, FileContext ctx)
       throws IOException {
     final var dataType = getDataTypeFromBlock(block, ctx);
@@ -249,9 +269,7 @@ public class Channel {
 
     @Override
     public Channel next() throws IOException {
-      final var dataGroup = next
-          .resolve(ChannelBlock.TYPE, ctx.getInput())
-          .orElse(null);
+      final var dataGroup = ctx.resolve(next, ChannelBlock.TYPE).orElse(null);
       if (dataGroup == null) {
         return null;
       }
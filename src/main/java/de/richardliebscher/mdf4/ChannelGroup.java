@@ -84,7 +84,7 @@ public class ChannelGroup {
 
     @Override
     public ChannelGroup next() throws IOException {
-      final var dataGroup = next.resolve(ChannelGroupBlock.TYPE, ctx.getInput()).orElse(null);
+      final var dataGroup = ctx.resolve(next, ChannelGroupBlock.TYPE).orElse(null);
       if (dataGroup == null) {
         return null;
       }
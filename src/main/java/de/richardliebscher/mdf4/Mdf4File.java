@@ -11,17 +11,23 @@ import de.richardliebscher.mdf4.exceptions.ChannelGroupNotFoundException;
 import de.richardliebscher.mdf4.exceptions.FormatException;
 import de.richardliebscher.mdf4.exceptions.UnsupportedVersionException;
 import de.richardliebscher.mdf4.extract.ChannelDeFactory;
+import de.richardliebscher.mdf4.extract.ChannelPredicate;
+import de.richardliebscher.mdf4.extract.ColumnBatchReader;
 import de.richardliebscher.mdf4.extract.DetachedRecordReader;
 import de.richardliebscher.mdf4.extract.GroupPredicate;
 import de.richardliebscher.mdf4.extract.RecordFactory;
+import de.richardliebscher.mdf4.extract.RecordFilter;
 import de.richardliebscher.mdf4.extract.RecordReader;
 import de.richardliebscher.mdf4.extract.SerializableRecordFactory;
 import de.richardliebscher.mdf4.extract.SizedRecordReader;
+import de.richardliebscher.mdf4.extract.ZoneMap;
 import de.richardliebscher.mdf4.extract.de.DeserializeInto;
 import de.richardliebscher.mdf4.extract.impl.RecordReaderFactory;
 import de.richardliebscher.mdf4.internal.FileContext;
 import de.richardliebscher.mdf4.io.ByteInput;
 import de.richardliebscher.mdf4.io.FileInput;
+import de.richardliebscher.mdf4.io.MappedFileInput;
+import de.richardliebscher.mdf4.io.SharedFileInput;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -50,10 +56,11 @@ public class Mdf4File implements Closeable {
   private final HeaderBlock headerBlock;
   private final FileContext ctx;
 
-  Mdf4File(IdBlock idBlock, HeaderBlock headerBlock, ByteInput input) {
+  Mdf4File(IdBlock idBlock, HeaderBlock headerBlock, ByteInput input, ReaderOptions options) {
     this.idBlock = idBlock;
     this.headerBlock = headerBlock;
-    this.ctx = new FileContext(input, null, XMLInputFactory.newDefaultFactory());
+    this.ctx = new FileContext(
+        input, options.getCache(), XMLInputFactory.newDefaultFactory(), options);
   }
 
   /**
@@ -82,6 +89,19 @@ public class Mdf4File implements Closeable {
    * @throws IOException Failed to read MDF4 header
    */
   public static Mdf4File open(ByteInput input) throws IOException {
+    return open(input, ReaderOptions.defaults());
+  }
+
+  /**
+   * Open MDF4 file.
+   *
+   * @param input   Input file
+   * @param options Options for reading
+   * @return Open MDF4 file
+   * @throws IOException Failed to read MDF4 header
+   */
+  public static Mdf4File open(ByteInput input, @NonNull ReaderOptions options)
+      throws IOException {
     try {
       final var idBlock = IdBlock.parse(input);
       if (idBlock.isUnfinalized()) {
@@ -96,7 +116,7 @@ public class Mdf4File implements Closeable {
       final var hdBlock = HeaderBlock.parse(input);
 
       //log.info("Opened MDF4: Version=" + formatId + " Program=" + idBlock.getProgramId());
-      return new Mdf4File(idBlock, hdBlock, input);
+      return new Mdf4File(idBlock, hdBlock, input, options);
     } catch (Throwable throwable) {
       input.close();
       throw throwable;
@@ -114,6 +134,26 @@ public class Mdf4File implements Closeable {
     return Mdf4File.open(new FileInput(input));
   }
 
+  /**
+   * Open MDF4 file.
+   *
+   * @param input   Input file
+   * @param options Options for reading
+   * @return Open MDF4 file
+   * @throws IOException Failed to read MDF4 header
+   */
+  public static Mdf4File open(Path input, ReaderOptions options) throws IOException {
+    final ByteInput byteInput;
+    if (options.isMemoryMapped()) {
+      byteInput = new MappedFileInput(input);
+    } else if (options.isConcurrent()) {
+      byteInput = new SharedFileInput(input);
+    } else {
+      byteInput = new FileInput(input);
+    }
+    return Mdf4File.open(byteInput, options);
+  }
+
   /**
    * Read measurement file comment.
    *
@@ -184,7 +224,74 @@ public class Mdf4File implements Closeable {
       @NonNull ChannelDeFactory<R> deFactory,
       @NonNull Supplier<R> recordFactory)
       throws ChannelGroupNotFoundException, IOException {
-    return RecordReaderFactory.createFor(ctx, getDataGroups(), new RecordFactory<>() {
+    return RecordReaderFactory.createFor(
+        ctx, getDataGroups(), toRecordFactory(predicate, deFactory, recordFactory));
+  }
+
+  /**
+   * Create a record reader to read only records matching a filter.
+   *
+   * <p>The filter is evaluated on the raw bytes of every record first. Channels created by
+   * {@code deFactory} are only deserialized for matching records. {@link SizedRecordReader#size()}
+   * and {@link SizedRecordReader#remaining()} still count all records of the channel group.
+   *
+   * @param predicate     Predicate to select channel group to read
+   * @param deFactory     Factory for create channel deserializations
+   * @param recordFactory Factory to create records in which deserialization writes
+   * @param filter        Filter of records
+   * @param <R>           Deserialized user-defined record type
+   * @return Reader for deserialized records
+   * @throws ChannelGroupNotFoundException No channel group selected
+   * @throws FormatException               Channel of filter not found in channel group
+   * @throws IOException                   Unable to create record reader
+   */
+  public <R> SizedRecordReader<R, R> newRecordReader(
+      GroupPredicate predicate,
+      @NonNull ChannelDeFactory<R> deFactory,
+      @NonNull Supplier<R> recordFactory,
+      @NonNull RecordFilter filter)
+      throws ChannelGroupNotFoundException, IOException {
+    return RecordReaderFactory.createFor(
+        ctx, getDataGroups(), toRecordFactory(predicate, deFactory, recordFactory), filter, null);
+  }
+
+  /**
+   * Create a record reader to read only records matching a filter, which skips data blocks by
+   * their statistics.
+   *
+   * <p>Records of data blocks, which cannot contain matching records by the zone map, are
+   * neither read nor tested. Remaining records are filtered like
+   * {@link #newRecordReader(GroupPredicate, ChannelDeFactory, Supplier, RecordFilter)}.
+   *
+   * @param predicate     Predicate to select channel group to read
+   * @param deFactory     Factory for create channel deserializations
+   * @param recordFactory Factory to create records in which deserialization writes
+   * @param filter        Filter of records
+   * @param zoneMap       Zone map of selected channel group
+   * @param <R>           Deserialized user-defined record type
+   * @return Reader for deserialized records
+   * @throws ChannelGroupNotFoundException No channel group selected
+   * @throws FormatException               Channel of filter not found in channel group
+   * @throws IllegalArgumentException      Zone map does not match records or data blocks of
+   *                                       channel group
+   * @throws IOException                   Unable to create record reader
+   * @see #newZoneMap
+   */
+  public <R> SizedRecordReader<R, R> newRecordReader(
+      GroupPredicate predicate,
+      @NonNull ChannelDeFactory<R> deFactory,
+      @NonNull Supplier<R> recordFactory,
+      @NonNull RecordFilter filter,
+      @NonNull ZoneMap zoneMap)
+      throws ChannelGroupNotFoundException, IOException {
+    return RecordReaderFactory.createFor(
+        ctx, getDataGroups(), toRecordFactory(predicate, deFactory, recordFactory), filter,
+        zoneMap);
+  }
+
+  private static <R> RecordFactory<R, R> toRecordFactory(
+      GroupPredicate predicate, ChannelDeFactory<R> deFactory, Supplier<R> recordFactory) {
+    return new RecordFactory<>() {
       @Override
       public boolean selectGroup(DataGroup dataGroup, ChannelGroup group) throws IOException {
         return predicate.test(dataGroup, group);
@@ -205,7 +312,7 @@ public class Mdf4File implements Closeable {
       public R finishRecord(R unfinishedRecord) {
         return unfinishedRecord;
       }
-    });
+    };
   }
 
   /**
@@ -253,6 +360,67 @@ public class Mdf4File implements Closeable {
         deFactory, recordFactory);
   }
 
+  /**
+   * Create a reader to read channels in a channel group column by column.
+   *
+   * <p>Channels, which cannot be read into columns, are ignored.
+   *
+   * @param groupPredicate   Predicate to select channel group to read
+   * @param channelPredicate Predicate to select channels to read
+   * @return Reader for batches of records
+   * @throws ChannelGroupNotFoundException No channel group selected
+   * @throws IOException                   Unable to create reader
+   */
+  public ColumnBatchReader newColumnBatchReader(
+      @NonNull GroupPredicate groupPredicate, @NonNull ChannelPredicate channelPredicate)
+      throws ChannelGroupNotFoundException, IOException {
+    return RecordReaderFactory.createColumnBatchFor(
+        ctx, getDataGroups(), groupPredicate, channelPredicate);
+  }
+
+  /**
+   * Create reader of channels of a channel group and of all channel groups using it as remote
+   * master.
+   *
+   * <p>In column-oriented data groups (since MDF 4.2) channels are stored in separate channel
+   * groups, which share the master channel of a remote master channel group. Only data blocks of
+   * channel groups with selected channels are read. Channels of all groups are decoded into
+   * columns of the same batches.
+   *
+   * @param groupPredicate   Predicate to select channel group or one of the groups sharing
+   *                         its remote master
+   * @param channelPredicate Predicate to select channels of all groups
+   * @return Newly created reader
+   * @throws ChannelGroupNotFoundException No channel group selected
+   * @throws IOException                   Unable to create reader
+   * @see #newColumnBatchReader
+   */
+  public ColumnBatchReader newColumnStorageReader(
+      @NonNull GroupPredicate groupPredicate, @NonNull ChannelPredicate channelPredicate)
+      throws ChannelGroupNotFoundException, IOException {
+    return RecordReaderFactory.createColumnStorageFor(
+        ctx, getDataGroups(), groupPredicate, channelPredicate);
+  }
+
+  /**
+   * Collect statistics of channels per data block in one pass over a channel group.
+   *
+   * <p>Channels, which cannot be read into columns, are ignored.
+   *
+   * @param groupPredicate   Predicate to select channel group
+   * @param channelPredicate Predicate to select channels to collect statistics for
+   * @return Zone map of channel group
+   * @throws ChannelGroupNotFoundException No channel group selected
+   * @throws IOException                   Unable to read records
+   * @see ZoneMap#selectRecords
+   */
+  public ZoneMap newZoneMap(
+      @NonNull GroupPredicate groupPredicate, @NonNull ChannelPredicate channelPredicate)
+      throws ChannelGroupNotFoundException, IOException {
+    return RecordReaderFactory.createZoneMapFor(
+        ctx, getDataGroups(), groupPredicate, channelPredicate);
+  }
+
   /**
    * Create iterator for all data groups.
    *
@@ -0,0 +1,333 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4;
+
+import de.richardliebscher.mdf4.cache.Cache;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import lombok.NonNull;
+
+/**
+ * Options for reading an MDF4 file.
+ *
+ * <pre>{@code
+ *  final var options = ReaderOptions.builder()
+ *      .recordBufferSize(8 * 1024 * 1024)
+ *      .build();
+ *  try (final var file = Mdf4File.open(path, options)) {
+ *    // ...
+ *  }
+ * }</pre>
+ *
+ * @see Mdf4File#open(java.nio.file.Path, ReaderOptions)
+ */
+public final class ReaderOptions {
+
+  /**
+   * Default size of record buffer in bytes.
+   */
+  public static final int DEFAULT_RECORD_BUFFER_SIZE = 1024 * 1024;
+
+  private static final ReaderOptions DEFAULTS = builder().build();
+
+  private final int recordBufferSize;
+  private final boolean memoryMapped;
+  private final boolean concurrent;
+  private final Cache cache;
+  private final Cache dataCache;
+  private final int readAhead;
+  private final Executor executor;
+  private final boolean compileRecordDecoders;
+
+  private ReaderOptions(Builder builder) {
+    this.recordBufferSize = builder.recordBufferSize;
+    this.memoryMapped = builder.memoryMapped;
+    this.concurrent = builder.concurrent;
+    this.cache = builder.cache;
+    this.dataCache = builder.dataCache;
+    this.readAhead = builder.readAhead;
+    this.executor = builder.executor;
+    this.compileRecordDecoders = builder.compileRecordDecoders;
+  }
+
+  /**
+   * Get default options.
+   *
+   * @return Default options
+   */
+  public static ReaderOptions defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Create builder.
+   *
+   * @return {@link Builder}
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Get size of the buffer in bytes, which record readers fill with many records at once.
+   *
+   * @return Record buffer size in bytes
+   * @see Builder#recordBufferSize
+   */
+  public int getRecordBufferSize() {
+    return recordBufferSize;
+  }
+
+  /**
+   * Get number of records, which fit into the record buffer.
+   *
+   * @param recordSize Size of a single record in bytes
+   * @return Number of records, at least one
+   */
+  public int getRecordsPerBuffer(int recordSize) {
+    if (recordSize <= 0) {
+      return 1;
+    }
+    return Math.max(1, recordBufferSize / recordSize);
+  }
+
+  /**
+   * Whether files opened by path are memory-mapped.
+   *
+   * @return {@code true}, when files are memory-mapped
+   * @see Builder#memoryMapped
+   */
+  public boolean isMemoryMapped() {
+    return memoryMapped;
+  }
+
+  /**
+   * Whether the file can be used from multiple threads concurrently.
+   *
+   * @return {@code true}, when concurrent use is allowed
+   * @see Builder#concurrent
+   */
+  public boolean isConcurrent() {
+    return concurrent;
+  }
+
+  /**
+   * Get cache for blocks.
+   *
+   * @return Cache or {@code null}, when no cache is used
+   * @see Builder#cache
+   */
+  public Cache getCache() {
+    return cache;
+  }
+
+  /**
+   * Get cache for decompressed data.
+   *
+   * @return Cache or {@code null}, when decompressed data is not cached
+   * @see Builder#dataCache
+   */
+  public Cache getDataCache() {
+    return dataCache;
+  }
+
+  /**
+   * Get number of data blocks, which are decompressed ahead in background.
+   *
+   * @return Number of blocks or {@code 0}, when decompression happens on reading
+   * @see Builder#readAhead
+   */
+  public int getReadAhead() {
+    return readAhead;
+  }
+
+  /**
+   * Get executor for background work.
+   *
+   * @return Executor
+   * @see Builder#executor
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Whether record readers compile numeric channels into a single decoder.
+   *
+   * @return {@code true}, when record decoders are compiled
+   * @see Builder#compileRecordDecoders
+   */
+  public boolean isCompileRecordDecoders() {
+    return compileRecordDecoders;
+  }
+
+  /**
+   * Builder.
+   */
+  public static final class Builder {
+
+    private int recordBufferSize = DEFAULT_RECORD_BUFFER_SIZE;
+    private boolean memoryMapped = false;
+    private boolean concurrent = false;
+    private Cache cache = null;
+    private Cache dataCache = null;
+    private int readAhead = 0;
+    private Executor executor = ForkJoinPool.commonPool();
+    private boolean compileRecordDecoders = false;
+
+    private Builder() {
+    }
+
+    /**
+     * Set size of record buffer.
+     *
+     * <p>Record readers fill the buffer with as many records as possible with a single read
+     * and then decode the records from memory. A value smaller than the record size results in
+     * reading record by record. To buffer whole data blocks, use a value bigger than the
+     * data block size.
+     *
+     * @param recordBufferSize Size in bytes
+     * @return this
+     */
+    public Builder recordBufferSize(int recordBufferSize) {
+      if (recordBufferSize < 0) {
+        throw new IllegalArgumentException("recordBufferSize should not be negative");
+      }
+      this.recordBufferSize = recordBufferSize;
+      return this;
+    }
+
+    /**
+     * Memory-map files opened by path.
+     *
+     * <p>Use {@link de.richardliebscher.mdf4.io.MappedFileInput} instead of
+     * {@link de.richardliebscher.mdf4.io.FileInput}, when opening a file by path.
+     *
+     * @param memoryMapped {@code true} to memory-map files
+     * @return this
+     * @see de.richardliebscher.mdf4.io.MappedFileInput
+     */
+    public Builder memoryMapped(boolean memoryMapped) {
+      this.memoryMapped = memoryMapped;
+      return this;
+    }
+
+    /**
+     * Allow concurrent use of the file from multiple threads.
+     *
+     * <p>Every thread and every record reader gets its own cursor on the input, so no shared
+     * file position exists. Files opened by path use a
+     * {@link de.richardliebscher.mdf4.io.SharedFileInput} with positional reads on a single file
+     * channel, unless memory-mapped. Custom inputs should have a cheap
+     * {@link de.richardliebscher.mdf4.io.ByteInput#dup()}.
+     *
+     * @param concurrent {@code true} to allow concurrent use
+     * @return this
+     * @see de.richardliebscher.mdf4.io.SharedFileInput
+     */
+    public Builder concurrent(boolean concurrent) {
+      this.concurrent = concurrent;
+      return this;
+    }
+
+    /**
+     * Set cache for blocks.
+     *
+     * <p>Resolved blocks are stored in the cache instead of being kept forever. The cache
+     * can be shared between files to bound memory usage of all open files.
+     *
+     * @param cache Cache or {@code null} to disable cache
+     * @return this
+     * @see de.richardliebscher.mdf4.cache.LruCache
+     */
+    public Builder cache(Cache cache) {
+      this.cache = cache;
+      return this;
+    }
+
+    /**
+     * Set cache for decompressed data of zipped data blocks.
+     *
+     * <p>Without this cache, a zipped block is decompressed again each time it is read, e.g.
+     * when seeking in VLSD data. Values are read-only {@link java.nio.ByteBuffer}s, so the cache
+     * should be bounded by bytes:
+     *
+     * <pre>{@code
+     *  final var dataCache = LruCache.builder()
+     *      .maximumWeight(256 * 1024 * 1024)
+     *      .weigher(Weigher.BYTES)
+     *      .build();
+     * }</pre>
+     *
+     * @param dataCache Cache or {@code null} to disable cache
+     * @return this
+     * @see de.richardliebscher.mdf4.cache.Weigher#BYTES
+     */
+    public Builder dataCache(Cache dataCache) {
+      this.dataCache = dataCache;
+      return this;
+    }
+
+    /**
+     * Decompress zipped data blocks ahead in background.
+     *
+     * <p>Record readers decompress up to the given number of blocks with the
+     * {@linkplain #executor executor}, while records of the current block are decoded. Blocks
+     * are still delivered in order. Every block in flight holds its uncompressed data in memory
+     * and its own duplicate of the input.
+     *
+     * @param readAhead Number of blocks or {@code 0} to disable
+     * @return this
+     */
+    public Builder readAhead(int readAhead) {
+      if (readAhead < 0) {
+        throw new IllegalArgumentException("readAhead should not be negative");
+      }
+      this.readAhead = readAhead;
+      return this;
+    }
+
+    /**
+     * Set executor for background work like {@linkplain #readAhead decompression}.
+     *
+     * <p>Defaults to {@link ForkJoinPool#commonPool()}.
+     *
+     * @param executor Executor
+     * @return this
+     */
+    public Builder executor(@NonNull Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Compile numeric channels of record readers into a single decoder.
+     *
+     * <p>Consecutive fixed length numeric channels, which are deserialized into a
+     * {@link de.richardliebscher.mdf4.extract.de.DoubleSink},
+     * {@link de.richardliebscher.mdf4.extract.de.LongSink} or
+     * {@link de.richardliebscher.mdf4.extract.de.IntSink}, are decoded by one loop over the
+     * record layout instead of a reader per channel. This pays off for channel groups with many
+     * channels.
+     *
+     * @param compileRecordDecoders {@code true} to compile record decoders
+     * @return this
+     */
+    public Builder compileRecordDecoders(boolean compileRecordDecoders) {
+      this.compileRecordDecoders = compileRecordDecoders;
+      return this;
+    }
+
+    /**
+     * Build options.
+     *
+     * @return Options
+     */
+    public ReaderOptions build() {
+      return new ReaderOptions(this);
+    }
+  }
+}
@@ -7,6 +7,7 @@ package de.richardliebscher.mdf4.blocks;
 
 import de.richardliebscher.mdf4.LazyIoIterator;
 import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.extract.read.BlockResolver;
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
 import java.util.Optional;
@@ -91,10 +92,12 @@ public class ChannelBlock implements Composition {
   public static class Iterator implements LazyIoIterator<ChannelBlock> {
 
     private final ByteInput input;
+    private final BlockResolver resolver;
     private Link<ChannelBlock> next;
 
-    public Iterator(Link<ChannelBlock> start, ByteInput input) {
+    public Iterator(Link<ChannelBlock> start, ByteInput input, BlockResolver resolver) {
       this.input = input;
+      this.resolver = resolver;
       this.next = start;
     }
 
@@ -105,7 +108,7 @@ public class ChannelBlock implements Composition {
 
     @Override
     public ChannelBlock next() throws IOException {
-      final var channel = next.resolve(ChannelBlock.TYPE, input)
+      final var channel = resolver.resolve(next, ChannelBlock.TYPE, input)
           .orElseThrow();
       next = channel.getNextChannel();
       return channel;
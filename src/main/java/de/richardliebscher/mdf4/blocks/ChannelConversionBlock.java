@@ -9,15 +9,19 @@ import static de.richardliebscher.mdf4.blocks.ChannelConversionFlag.PHYSICAL_VAL
 import static de.richardliebscher.mdf4.blocks.ChannelConversionFlag.PRECISION_VALID;
 
 import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.exceptions.FormatException;
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.Value;
 
 @Value
-public class ChannelConversionBlock {
+public class ChannelConversionBlock implements ConversionReference {
 
   public static final String UNIT_ELEMENT = "CCunit";
 
@@ -25,7 +29,7 @@ public class ChannelConversionBlock {
   Link<Metadata> unit;
   Link<Metadata> comment;
   Link<ChannelConversionBlock> inverse;
-  // TODO: List<Link<TextBlock | ChannelConversionBlock>> ref
+  List<Link<ConversionReference>> refs;
 
   ChannelConversionType type;
   Integer precision;
@@ -38,8 +42,7 @@ public class ChannelConversionBlock {
     final var type = ChannelConversionType.parse(input.readU8());
     final var maybePrecision = Byte.toUnsignedInt(input.readU8());
     final var flags = BitFlags.of(input.readI16(), ChannelConversionFlag.class);
-    /* final var refCount = Short.toUnsignedInt(*/
-    input.readI16();
+    final var refCount = Short.toUnsignedInt(input.readI16());
     final var valCount = Short.toUnsignedInt(input.readI16());
     final var physicalRangeMin = input.readF64();
     final var physicalRangeMax = input.readF64();
@@ -55,11 +58,21 @@ public class ChannelConversionBlock {
         : null;
 
     final var links = blockHeader.getLinks();
+    if (links.length < 4 + refCount) {
+      throw new FormatException(
+          "Expected " + refCount + " references, but got " + (links.length - 4));
+    }
+    final var refs = new ArrayList<Link<ConversionReference>>(refCount);
+    for (int i = 0; i < refCount; i++) {
+      refs.add(Link.of(links[4 + i]));
+    }
+
     return new ChannelConversionBlock(
         Link.of(links[0]),
         Link.of(links[1]),
         Link.of(links[2]),
         Link.of(links[3]),
+        Collections.unmodifiableList(refs),
         type, precision, flags, physicalRange, vals);
   }
 
@@ -8,6 +8,7 @@ package de.richardliebscher.mdf4.blocks;
 import de.richardliebscher.mdf4.LazyIoIterator;
 import de.richardliebscher.mdf4.LazyIoList;
 import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.extract.read.BlockResolver;
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -24,6 +25,7 @@ public class ChannelGroupBlock {
   Link<SourceInformationBlock> acquisitionSource;
   long firstSampleReduction; // SR
   Link<Metadata> comment;
+  Link<ChannelGroupBlock> masterChannelGroup; // since 4.2, when REMOTE_MASTER is set
 
   long recordId;
   long cycleCount;
@@ -32,8 +34,8 @@ public class ChannelGroupBlock {
   int dataBytes;
   int invalidationBytes;
 
-  public LazyIoList<ChannelBlock> getChannels(ByteInput input) {
-    return () -> new ChannelBlock.Iterator(firstChannel, input);
+  public LazyIoList<ChannelBlock> getChannels(ByteInput input, BlockResolver resolver) {
+    return () -> new ChannelBlock.Iterator(firstChannel, input, resolver);
   }
 
   public static ChannelGroupBlock parse(ByteInput input) throws IOException {
@@ -45,6 +47,8 @@ public class ChannelGroupBlock {
     final Link<SourceInformationBlock> acquisitionSource = Link.of(links[3]);
     final var firstSampleReduction = links[4];
     final Link<Metadata> comment = Link.of(links[5]);
+    final Link<ChannelGroupBlock> masterChannelGroup =
+        links.length > 6 ? Link.of(links[6]) : Link.nil();
 
     final var recordId = input.readI64();
     final var cycleCount = input.readI64();
@@ -56,17 +60,19 @@ public class ChannelGroupBlock {
 
     return new ChannelGroupBlock(
         nextChannelGroup, firstChannel, acquisitionName, acquisitionSource, firstSampleReduction,
-        comment,
+        comment, masterChannelGroup,
         recordId, cycleCount, flags, pathSeparator, dataBytes, invalidationBits);
   }
 
   public static class Iterator implements LazyIoIterator<ChannelGroupBlock> {
 
     private final ByteInput input;
+    private final BlockResolver resolver;
     private Link<ChannelGroupBlock> next;
 
-    public Iterator(Link<ChannelGroupBlock> start, ByteInput input) {
+    public Iterator(Link<ChannelGroupBlock> start, ByteInput input, BlockResolver resolver) {
       this.input = input;
+      this.resolver = resolver;
       this.next = start;
     }
 
@@ -77,7 +83,7 @@ public class ChannelGroupBlock {
 
     @Override
     public ChannelGroupBlock next() throws IOException {
-      final var channelGroup = next.resolve(TYPE, input)
+      final var channelGroup = resolver.resolve(next, TYPE, input)
           .orElseThrow();
       next = channelGroup.getNextChannelGroup();
       return channelGroup;
@@ -0,0 +1,47 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.blocks;
+
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reference of a channel conversion.
+ *
+ * <p>Text or conversion of a table entry</p>
+ */
+public interface ConversionReference {
+
+  static ConversionReference parse(ByteInput input) throws IOException {
+    final var blockId = BlockTypeId.peekParse(input);
+    if (TextBlock.ID.equals(blockId)) {
+      return TextBlock.parse(input);
+    } else if (ChannelConversionBlock.ID.equals(blockId)) {
+      return ChannelConversionBlock.parse(input);
+    } else {
+      throw new FormatException("Expected TX or CC block, bot got " + blockId);
+    }
+  }
+
+  Type TYPE = new Type();
+
+  @NoArgsConstructor(access = AccessLevel.PRIVATE)
+  class Type implements BlockType<ConversionReference> {
+
+    @Override
+    public BlockTypeId id() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ConversionReference parse(ByteInput input) throws IOException {
+      return ConversionReference.parse(input);
+    }
+  }
+}
@@ -7,7 +7,9 @@ package de.richardliebscher.mdf4.blocks;
 
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.util.Optional;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.Value;
@@ -29,8 +31,18 @@ public class DataBlock implements Data<DataBlock> {
     return dataLength;
   }
 
+  @Override
+  public Optional<ByteBuffer> view(ByteInput input) throws IOException {
+    if (dataLength == 0 || dataLength > Integer.MAX_VALUE) {
+      return Optional.empty();
+    }
+    return input.view(dataPos, (int) dataLength);
+  }
+
   public static DataBlock parse(ByteInput input) throws IOException {
-    final var blockHeader = BlockHeader.parse(ID, input);
+    // values of column-oriented channel groups are stored like records without invalidation bytes
+    final var id = BlockTypeId.peekParse(input).equals(DV_ID) ? DV_ID : ID;
+    final var blockHeader = BlockHeader.parse(id, input);
     return new DataBlock(input.pos(), blockHeader.getDataLength());
   }
 
@@ -40,6 +52,7 @@ public class DataBlock implements Data<DataBlock> {
   public static final BlockType<DataStorage<DataBlock>> STORAGE_TYPE
       = new DataType.StorageType<>(TYPE);
   public static final BlockTypeId ID = BlockTypeId.of('D', 'T');
+  public static final BlockTypeId DV_ID = BlockTypeId.of('D', 'V');
 
   @NoArgsConstructor(access = AccessLevel.PRIVATE)
   public static class Type implements DataType<DataBlock> {
@@ -49,6 +62,11 @@ public class DataBlock implements Data<DataBlock> {
       return ID;
     }
 
+    @Override
+    public boolean isStorage(BlockTypeId blockId) {
+      return blockId.equals(ID) || blockId.equals(DV_ID);
+    }
+
     @Override
     public DataBlock parse(ByteInput input) throws IOException {
       return DataBlock.parse(input);
@@ -8,6 +8,7 @@ package de.richardliebscher.mdf4.blocks;
 import de.richardliebscher.mdf4.LazyIoIterator;
 import de.richardliebscher.mdf4.LazyIoList;
 import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.extract.read.BlockResolver;
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
 import lombok.AccessLevel;
@@ -24,8 +25,9 @@ public class DataGroupBlock {
 
   int recordIdSize;
 
-  public LazyIoList<ChannelGroupBlock> getChannelGroups(ByteInput input) {
-    return () -> new ChannelGroupBlock.Iterator(firstChannelGroup, input);
+  public LazyIoList<ChannelGroupBlock> getChannelGroups(
+      ByteInput input, BlockResolver resolver) {
+    return () -> new ChannelGroupBlock.Iterator(firstChannelGroup, input, resolver);
   }
 
   public static DataGroupBlock parse(ByteInput input) throws IOException {
@@ -41,10 +43,12 @@ public class DataGroupBlock {
   public static class Iterator implements LazyIoIterator<DataGroupBlock> {
 
     private final ByteInput input;
+    private final BlockResolver resolver;
     private Link<DataGroupBlock> next;
 
-    public Iterator(Link<DataGroupBlock> start, ByteInput input) {
+    public Iterator(Link<DataGroupBlock> start, ByteInput input, BlockResolver resolver) {
       this.input = input;
+      this.resolver = resolver;
       this.next = start;
     }
 
@@ -55,7 +59,7 @@ public class DataGroupBlock {
 
     @Override
     public DataGroupBlock next() throws IOException {
-      final var dataGroup = next.resolve(TYPE, input).orElseThrow();
+      final var dataGroup = resolver.resolve(next, TYPE, input).orElseThrow();
       next = dataGroup.getNextDataGroup();
       return dataGroup;
     }
@@ -7,10 +7,24 @@ package de.richardliebscher.mdf4.blocks;
 
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.util.Optional;
 
 public interface DataStorage<T extends Data<T>> {
   ReadableByteChannel getChannel(ByteInput input) throws IOException;
 
   long getChannelLength();
+
+  /**
+   * Get data as buffer without copying, when input supports it.
+   *
+   * @param input Input
+   * @return Read-only view of data, if possible
+   * @throws IOException Unable to read
+   * @see ByteInput#view(long, int)
+   */
+  default Optional<ByteBuffer> view(ByteInput input) throws IOException {
+    return Optional.empty();
+  }
 }
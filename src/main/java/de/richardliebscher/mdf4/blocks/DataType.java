@@ -12,13 +12,23 @@ import lombok.RequiredArgsConstructor;
 
 public interface DataType<T extends Data<T>> extends DataContainerType<T, T> {
 
+  /**
+   * Whether blocks with id are parsed as this data type.
+   *
+   * @param blockId Block type id
+   * @return {@code true}, iff block contains data of this type
+   */
+  default boolean isStorage(BlockTypeId blockId) {
+    return blockId.equals(id());
+  }
+
   default DataContainer<T> parseDataContainer(ByteInput input) throws IOException {
     final var blockId = BlockTypeId.peekParse(input);
     if (blockId.equals(DataListBlock.ID)) {
       return DataListBlock.parse(input);
     } else if (blockId.equals(DataZippedBlock.ID)) {
       final var dataZipped = DataZippedBlock.<T>parse(input);
-      if (!dataZipped.getOriginalBlockTypeId().equals(id())) {
+      if (!isStorage(dataZipped.getOriginalBlockTypeId())) {
         throw new FormatException(
             "Expected block type " + id() + " in zipped data block "
                 + ", but got " + dataZipped.getOriginalBlockTypeId());
@@ -26,21 +36,23 @@ public interface DataType<T extends Data<T>> extends DataContainerType<T, T> {
       return dataZipped;
     } else if (blockId.equals(HeaderListBlock.ID)) {
       return HeaderListBlock.parse(input);
-    } else if (blockId.equals(id())) {
+    } else if (blockId.equals(ListDataBlock.ID)) {
+      return ListDataBlock.parse(input);
+    } else if (isStorage(blockId)) {
       return parse(input);
     } else {
       throw new FormatException(
-          "Expected block type " + id() + ", HL, DT or DZ, but got " + blockId);
+          "Expected block type " + id() + ", HL, DL, LD or DZ, but got " + blockId);
     }
   }
 
   default DataStorage<T> parseStorage(ByteInput input) throws IOException {
     final var blockId = BlockTypeId.peekParse(input);
-    if (blockId.equals(id())) {
+    if (isStorage(blockId)) {
       return parse(input);
     } else if (blockId.equals(DataZippedBlock.ID)) {
       final var dataZipped = DataZippedBlock.<T>parse(input);
-      if (!dataZipped.getOriginalBlockTypeId().equals(id())) {
+      if (!isStorage(dataZipped.getOriginalBlockTypeId())) {
         throw new FormatException(
             "Expected block type " + id() + " in zipped data block "
                 + ", but got " + dataZipped.getOriginalBlockTypeId());
@@ -5,14 +5,17 @@
 
 package de.richardliebscher.mdf4.blocks;
 
+import de.richardliebscher.mdf4.exceptions.FormatException;
 import de.richardliebscher.mdf4.exceptions.NotImplementedFeatureException;
+import de.richardliebscher.mdf4.internal.InflaterPool;
+import de.richardliebscher.mdf4.internal.Transposition;
+import de.richardliebscher.mdf4.io.ByteBufferChannel;
 import de.richardliebscher.mdf4.io.ByteInput;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.channels.Channels;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.ReadableByteChannel;
-import java.util.zip.InflaterInputStream;
+import java.util.zip.DataFormatException;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.Value;
@@ -29,8 +32,7 @@ public class DataZippedBlock<T extends Data<T>> implements DataContainer<T>, Dat
 
   @Override
   public ReadableByteChannel getChannel(ByteInput input) throws IOException {
-    input.seek(dataPos);
-    return Channels.newChannel(createUncompressedStream(input.getStream()));
+    return new ByteBufferChannel(decompress(input));
   }
 
   @Override
@@ -38,6 +40,102 @@ public class DataZippedBlock<T extends Data<T>> implements DataContainer<T>, Dat
     return originalDataLength;
   }
 
+  /**
+   * Decompress whole data into memory.
+   *
+   * <p>Transposed data is transposed back, so the result has the layout of the original block.
+   *
+   * @param input Input
+   * @return Read-only buffer with uncompressed data
+   * @throws IOException Unable to read or decompress data
+   */
+  public ByteBuffer decompress(ByteInput input) throws IOException {
+    return decompress(input, null);
+  }
+
+  /**
+   * Decompress data into memory, but only untranspose some columns of transposed data.
+   *
+   * @param input   Input
+   * @param columns Sorted indexes of needed columns or {@code null} for all columns
+   * @return Read-only buffer with uncompressed data, bytes of other columns are undefined
+   * @throws IOException Unable to read or decompress data
+   */
+  public ByteBuffer decompress(ByteInput input, int[] columns) throws IOException {
+    final var length = getUncompressedLength();
+    final var dst = ByteBuffer.allocate(length);
+    decompress(input, dst, zipType == ZipType.TRANSPOSITION_DEFLATE
+        ? ByteBuffer.allocate(length) : null, columns);
+    return dst.flip().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Decompress whole data into buffer.
+   *
+   * <p>Compressed data is used in place, when the input supports views, e.g. memory-mapped
+   * files. The inflater is taken from a pool, so no native memory is allocated per block.
+   *
+   * @param input   Input
+   * @param dst     Destination with at least {@link #getChannelLength()} bytes remaining, the
+   *                position is advanced by the number of written bytes
+   * @param scratch Heap buffer with the same number of bytes remaining for transposed data,
+   *                can be {@code null} for other ZIP types
+   * @throws IOException Unable to read or decompress data
+   */
+  public void decompress(ByteInput input, ByteBuffer dst, ByteBuffer scratch)
+      throws IOException {
+    decompress(input, dst, scratch, null);
+  }
+
+  /**
+   * Decompress data into buffer, but only untranspose some columns of transposed data.
+   *
+   * <p>Bytes of other columns are left unchanged in the destination, so reading only some
+   * channels of wide records does not pay for the whole transposition.
+   *
+   * @param input   Input
+   * @param dst     Destination with at least {@link #getChannelLength()} bytes remaining, the
+   *                position is advanced by the number of written bytes
+   * @param scratch Heap buffer with the same number of bytes remaining for transposed data,
+   *                can be {@code null} for other ZIP types
+   * @param columns Sorted indexes of needed columns or {@code null} for all columns
+   * @throws IOException Unable to read or decompress data
+   */
+  public void decompress(ByteInput input, ByteBuffer dst, ByteBuffer scratch, int[] columns)
+      throws IOException {
+    final var length = getUncompressedLength();
+    if (dst.remaining() < length) {
+      throw new IllegalArgumentException("Destination buffer too small");
+    }
+
+    final var compressed = input.view(dataPos, dataLength);
+    final var inflaterInput = compressed.isPresent()
+        ? compressed.get()
+        : readCompressed(input);
+
+    if (zipType == ZipType.DEFLATE) {
+      inflate(inflaterInput, dst, length);
+      return;
+    }
+
+    if (scratch == null || !scratch.hasArray() || !dst.hasArray()
+        || scratch.remaining() < length) {
+      throw new IllegalArgumentException("Heap buffers needed for transposed data");
+    }
+    final var scratchPos = scratch.position();
+    inflate(inflaterInput, scratch, length);
+    final var srcOffset = scratch.arrayOffset() + scratchPos;
+    final var dstOffset = dst.arrayOffset() + dst.position();
+    if (columns == null) {
+      Transposition.untranspose(scratch.array(), srcOffset, dst.array(), dstOffset,
+          length, Math.toIntExact(zipParameter));
+    } else {
+      Transposition.untranspose(scratch.array(), srcOffset, dst.array(), dstOffset,
+          length, Math.toIntExact(zipParameter), columns);
+    }
+    dst.position(dst.position() + length);
+  }
+
   public static <T extends Data<T>> DataZippedBlock<T> parse(ByteInput input)
       throws IOException {
     BlockHeader.parseExpecting(ID, input, 0, 24);
@@ -53,34 +151,41 @@ public class DataZippedBlock<T extends Data<T>> implements DataContainer<T>, Dat
         input.pos(), dataLength);
   }
 
-  private InputStream createUncompressedStream(InputStream compressedStream) throws IOException {
-    switch (getZipType()) {
-      case DEFLATE:
-        return new InflaterInputStream(compressedStream);
-      case TRANSPOSITION_DEFLATE:
-        return transposed(zipParameter, new InflaterInputStream(compressedStream));
-      default:
-        throw new NotImplementedFeatureException(
-            "ZIP type not implemented: " + getZipType().getName());
+  private int getUncompressedLength() throws NotImplementedFeatureException {
+    if (zipType != ZipType.DEFLATE && zipType != ZipType.TRANSPOSITION_DEFLATE) {
+      throw new NotImplementedFeatureException(
+          "ZIP type not implemented: " + getZipType().getName());
     }
+    if (originalDataLength > Integer.MAX_VALUE) {
+      throw new NotImplementedFeatureException(
+          "Uncompressed data bigger than 2 GiB is not supported: " + originalDataLength);
+    }
+    return (int) originalDataLength;
   }
 
-  private static InputStream transposed(long columnSize, InputStream in) throws IOException {
-    final var bytes = in.readAllBytes();
-
-    final var n = Math.toIntExact(columnSize);
-    final var m = bytes.length / columnSize;
+  private ByteBuffer readCompressed(ByteInput input) throws IOException {
+    input.seek(dataPos);
+    return ByteBuffer.wrap(input.readBytes(dataLength));
+  }
 
-    final var result = new byte[bytes.length];
-    int k = 0;
-    for (int i = 0; i < n; i++) {
-      for (int j = 0; j < m; j++, k++) {
-        result[j * n + i] = bytes[k];
+  private static void inflate(ByteBuffer src, ByteBuffer dst, int length) throws IOException {
+    final var oldLimit = dst.limit();
+    dst.limit(dst.position() + length);
+    final var inflater = InflaterPool.acquire();
+    try {
+      inflater.setInput(src);
+      while (dst.hasRemaining()) {
+        if (inflater.inflate(dst) == 0
+            && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+          throw new FormatException("Unexpected end of zipped data");
+        }
       }
+    } catch (DataFormatException exception) {
+      throw new FormatException("Invalid zipped data", exception);
+    } finally {
+      InflaterPool.release(inflater);
+      dst.limit(oldLimit);
     }
-    System.arraycopy(bytes, k, result, k, bytes.length - k);
-
-    return new ByteArrayInputStream(result);
   }
 
   public static final Type<DataBlock> DT_TYPE = new Type<>();
@@ -8,6 +8,7 @@ package de.richardliebscher.mdf4.blocks;
 import de.richardliebscher.mdf4.LazyIoList;
 import de.richardliebscher.mdf4.Link;
 import de.richardliebscher.mdf4.TimeStamp;
+import de.richardliebscher.mdf4.extract.read.BlockResolver;
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
 import java.util.Optional;
@@ -43,12 +44,13 @@ public class HeaderBlock {
 
   private final double startDistanceM;
 
-  public LazyIoList<DataGroupBlock> getDataGroups(ByteInput input) {
-    return () -> new DataGroupBlock.Iterator(firstDataGroup, input);
+  public LazyIoList<DataGroupBlock> getDataGroups(ByteInput input, BlockResolver resolver) {
+    return () -> new DataGroupBlock.Iterator(firstDataGroup, input, resolver);
   }
 
-  public Optional<Metadata> readComment(ByteInput input) throws IOException {
-    return comment.resolve(Metadata.TYPE, input);
+  public Optional<Metadata> readComment(ByteInput input, BlockResolver resolver)
+      throws IOException {
+    return resolver.resolve(comment, Metadata.TYPE, input);
   }
 
   public TimeStamp getStartTime() {
@@ -0,0 +1,101 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.blocks;
+
+import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * List of data blocks of a column-oriented channel group (since MDF 4.2).
+ *
+ * <p>Unlike {@link DataListBlock}, offsets are given in samples. Values and invalidation bits are
+ * stored in separate DV and DI blocks.
+ */
+@Value
+public class ListDataBlock<T extends Data<T>> implements DataContainer<T> {
+
+  Link<ListDataBlock<T>> nextListData;
+  @ToString.Exclude
+  List<Link<DataStorage<T>>> data; // DV,DZ
+  @ToString.Exclude
+  List<Link<DataStorage<T>>> invalidationData; // DI,DZ
+  Offsets sampleOffsets;
+
+  BitFlags<ListDataFlag> flags;
+
+  public static <T extends Data<T>> ListDataBlock<T> parse(ByteInput input) throws IOException {
+    final var blockHeader = BlockHeader.parseExpecting(ID, input, 1, 8);
+    final var links = blockHeader.getLinks();
+    final Link<ListDataBlock<T>> nextListData = Link.of(links[0]);
+
+    final var flags = BitFlags.of(input.readI32(), ListDataFlag.class);
+    final int count = input.readI32();
+    final var invalidation = flags.isSet(ListDataFlag.INVALIDATION_DATA);
+    final var expectedLinks = 1L + (invalidation ? 2L : 1L) * count;
+    if (count < 0 || links.length != expectedLinks) {
+      throw new FormatException(
+          "Count attribute in LD block is inconsistent: " + count + " vs. " + links.length
+              + " links");
+    }
+
+    final Offsets sampleOffsets;
+    if (flags.isSet(ListDataFlag.EQUAL_SAMPLE_COUNT)) {
+      sampleOffsets = new Offsets.EqualLength(count, input.readI64());
+    } else {
+      final var offsets = new long[count];
+      for (int i = 0; i < count; i++) {
+        offsets[i] = input.readI64();
+      }
+      sampleOffsets = new Offsets.Values(offsets);
+    }
+
+    return new ListDataBlock<>(
+        nextListData,
+        getLinks(links, 1, count),
+        invalidation ? getLinks(links, 1 + count, count) : List.of(),
+        sampleOffsets,
+        flags);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Data<T>> List<Link<DataStorage<T>>> getLinks(
+      long[] links, int start, int count) {
+    final var data = (Link<DataStorage<T>>[]) new Link<?>[count];
+    for (int i = 0; i < count; i++) {
+      data[i] = Link.of(links[start + i]);
+    }
+    return List.of(data);
+  }
+
+  public static final Type<?> TYPE = new Type<>();
+  public static final BlockTypeId ID = BlockTypeId.of('L', 'D');
+
+  @SuppressWarnings("unchecked")
+  public static <T extends Data<T>> Type<T> type() {
+    return (Type<T>) TYPE;
+  }
+
+  @NoArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class Type<T extends Data<T>> implements DataContainerType<T, ListDataBlock<T>> {
+
+    @Override
+    public BlockTypeId id() {
+      return ID;
+    }
+
+    @Override
+    public ListDataBlock<T> parse(ByteInput input) throws IOException {
+      return ListDataBlock.parse(input);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.blocks;
+
+public enum ListDataFlag implements BitFlag {
+
+  EQUAL_SAMPLE_COUNT(0),
+  TIME_VALUES(1),
+  ANGLE_VALUES(2),
+  DISTANCE_VALUES(3),
+  INVALIDATION_DATA(31);
+
+  private final int bitNumber;
+
+  ListDataFlag(int bitNumber) {
+    this.bitNumber = bitNumber;
+  }
+
+  @Override
+  public int bitNumber() {
+    return bitNumber;
+  }
+}
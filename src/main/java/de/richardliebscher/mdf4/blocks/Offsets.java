@@ -100,13 +100,23 @@ public abstract class Offsets implements Serializable {
 
     @Override
     public int indexOfPosition(long position) {
-      for (int i = 1; i < offsets.length; i++) {
-        if (offsets[i] > position) {
-          return i - 1;
+      if (offsets.length == 0) {
+        return -1;
+      }
+
+      // binary search for last offset not greater than position
+      int low = 1;
+      int high = offsets.length;
+      while (low < high) {
+        final var mid = (low + high) >>> 1;
+        if (offsets[mid] > position) {
+          high = mid;
+        } else {
+          low = mid + 1;
         }
       }
 
-      return offsets.length - 1;
+      return low - 1;
     }
 
     @Override
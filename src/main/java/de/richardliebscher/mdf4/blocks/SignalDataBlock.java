@@ -7,7 +7,9 @@ package de.richardliebscher.mdf4.blocks;
 
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.util.Optional;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.Value;
@@ -28,6 +30,14 @@ public class SignalDataBlock implements Data<SignalDataBlock> {
     return dataLength;
   }
 
+  @Override
+  public Optional<ByteBuffer> view(ByteInput input) throws IOException {
+    if (dataLength == 0 || dataLength > Integer.MAX_VALUE) {
+      return Optional.empty();
+    }
+    return input.view(dataPos, (int) dataLength);
+  }
+
   public static SignalDataBlock parse(ByteInput input) throws IOException {
     final var blockHeader = BlockHeader.parse(ID, input);
     return new SignalDataBlock(input.pos(), blockHeader.getDataLength());
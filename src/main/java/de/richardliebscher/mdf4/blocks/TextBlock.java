@@ -14,7 +14,7 @@ import lombok.NoArgsConstructor;
 import lombok.Value;
 
 @Value
-public class TextBlock implements Metadata {
+public class TextBlock implements Metadata, ConversionReference {
 
   String text;
 
@@ -5,8 +5,63 @@
 
 package de.richardliebscher.mdf4.cache;
 
+import java.io.IOException;
+
 /**
  * Cache blocks.
+ *
+ * <p>A cache can be shared between many files and threads. Entries are identified by a
+ * {@link CacheKey} consisting of the file, the position in the file and the kind of value.
+ *
+ * @see LruCache
+ * @see de.richardliebscher.mdf4.ReaderOptions.Builder#cache
  */
 public interface Cache {
+
+  /**
+   * Get cached value or load and cache it.
+   *
+   * @param key    Key
+   * @param loader Loader for value, when not cached
+   * @param <V>    Value type
+   * @return Cached or loaded value
+   * @throws IOException Loader failed
+   */
+  <V> V get(CacheKey key, Loader<V> loader) throws IOException;
+
+  /**
+   * Remove all entries of a file.
+   *
+   * @param file File identity as used in {@link CacheKey#getFile()}
+   */
+  void invalidate(Object file);
+
+  /**
+   * Remove all entries.
+   */
+  void invalidateAll();
+
+  /**
+   * Get statistics.
+   *
+   * @return Snapshot of statistics
+   */
+  CacheStats getStats();
+
+  /**
+   * Load value for cache.
+   *
+   * @param <V> Value type
+   */
+  @FunctionalInterface
+  interface Loader<V> {
+
+    /**
+     * Load value.
+     *
+     * @return Loaded value
+     * @throws IOException Unable to load value
+     */
+    V load() throws IOException;
+  }
 }
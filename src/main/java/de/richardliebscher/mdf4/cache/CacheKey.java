@@ -0,0 +1,30 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.cache;
+
+import lombok.Value;
+
+/**
+ * Key of cache entry.
+ */
+@Value
+public class CacheKey {
+
+  /**
+   * File identity.
+   */
+  Object file;
+
+  /**
+   * Position of block in file.
+   */
+  long offset;
+
+  /**
+   * Kind of cached value, e.g. block type.
+   */
+  Object kind;
+}
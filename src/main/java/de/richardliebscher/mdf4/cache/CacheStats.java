@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.cache;
+
+import lombok.Value;
+
+/**
+ * Statistics of cache.
+ */
+@Value
+public class CacheStats {
+
+  /**
+   * Number of requests served from cache.
+   */
+  long hitCount;
+
+  /**
+   * Number of requests, which had to load the value.
+   */
+  long missCount;
+
+  /**
+   * Number of evicted entries.
+   */
+  long evictionCount;
+
+  /**
+   * Number of entries.
+   */
+  long entryCount;
+
+  /**
+   * Current weight of all entries.
+   */
+  long weight;
+
+  /**
+   * Ratio of requests served from cache.
+   *
+   * @return Hit rate between 0 and 1, 1 if no requests were made
+   */
+  public double hitRate() {
+    final var requests = hitCount + missCount;
+    return requests == 0 ? 1.0 : (double) hitCount / requests;
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.cache;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+
+/**
+ * Weight-bounded cache, which evicts least recently used entries.
+ *
+ * <pre>{@code
+ *  final var cache = LruCache.builder()
+ *      .maximumWeight(10_000)
+ *      .build();
+ *  final var options = ReaderOptions.builder()
+ *      .cache(cache)
+ *      .build();
+ * }</pre>
+ *
+ * <p>Values are loaded outside of the lock, so concurrent requests for the same missing key
+ * may load the value more than once.
+ */
+public class LruCache implements Cache {
+
+  private final long maximumWeight;
+  private final Weigher weigher;
+  private final LinkedHashMap<CacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long weight = 0;
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long evictionCount = 0;
+
+  private LruCache(Builder builder) {
+    this.maximumWeight = builder.maximumWeight;
+    this.weigher = builder.weigher;
+  }
+
+  /**
+   * Create builder.
+   *
+   * @return {@link Builder}
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <V> V get(CacheKey key, Loader<V> loader) throws IOException {
+    synchronized (this) {
+      final var entry = entries.get(key);
+      if (entry != null) {
+        hitCount += 1;
+        return (V) entry.value;
+      }
+      missCount += 1;
+    }
+
+    final var value = loader.load();
+    final var valueWeight = weigher.weigh(key, value);
+    if (valueWeight < 0) {
+      throw new IllegalStateException("Weight should not be negative");
+    }
+
+    synchronized (this) {
+      if (valueWeight <= maximumWeight) {
+        final var old = entries.put(key, new Entry(value, valueWeight));
+        if (old != null) {
+          weight -= old.weight;
+        }
+        weight += valueWeight;
+        evict();
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public synchronized void invalidate(Object file) {
+    final var iter = entries.entrySet().iterator();
+    while (iter.hasNext()) {
+      final var entry = iter.next();
+      if (entry.getKey().getFile() == file) {
+        weight -= entry.getValue().weight;
+        iter.remove();
+      }
+    }
+  }
+
+  @Override
+  public synchronized void invalidateAll() {
+    entries.clear();
+    weight = 0;
+  }
+
+  @Override
+  public synchronized CacheStats getStats() {
+    return new CacheStats(hitCount, missCount, evictionCount, entries.size(), weight);
+  }
+
+  private void evict() {
+    final var iter = entries.values().iterator();
+    while (weight > maximumWeight && iter.hasNext()) {
+      weight -= iter.next().weight;
+      iter.remove();
+      evictionCount += 1;
+    }
+  }
+
+  private static final class Entry {
+    private final Object value;
+    private final long weight;
+
+    private Entry(Object value, long weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Builder.
+   */
+  public static final class Builder {
+
+    private long maximumWeight = 10_000;
+    private Weigher weigher = (key, value) -> 1;
+
+    private Builder() {
+    }
+
+    /**
+     * Set maximum weight of all entries.
+     *
+     * <p>Defaults to 10000 entries.
+     *
+     * @param maximumWeight Maximum weight
+     * @return this
+     */
+    public Builder maximumWeight(long maximumWeight) {
+      if (maximumWeight < 0) {
+        throw new IllegalArgumentException("maximumWeight should not be negative");
+      }
+      this.maximumWeight = maximumWeight;
+      return this;
+    }
+
+    /**
+     * Set weigher for entries.
+     *
+     * <p>Defaults to a weight of one per entry.
+     *
+     * @param weigher Weigher
+     * @return this
+     */
+    public Builder weigher(Weigher weigher) {
+      this.weigher = weigher;
+      return this;
+    }
+
+    /**
+     * Build cache.
+     *
+     * @return Cache
+     */
+    public LruCache build() {
+      return new LruCache(this);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Calculate weight of cache entries.
+ */
+@FunctionalInterface
+public interface Weigher {
+
+  /**
+   * Weigh byte buffers and byte arrays by their size in bytes and all other values by one.
+   */
+  Weigher BYTES = (key, value) -> {
+    if (value instanceof ByteBuffer) {
+      return ((ByteBuffer) value).capacity();
+    } else if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    } else {
+      return 1;
+    }
+  };
+
+  /**
+   * Calculate weight of cache entry.
+   *
+   * @param key   Key
+   * @param value Value
+   * @return Weight, not negative
+   */
+  long weigh(CacheKey key, Object value);
+}
@@ -9,6 +9,9 @@ import de.richardliebscher.mdf4.Channel;
 import de.richardliebscher.mdf4.ChannelGroup;
 import de.richardliebscher.mdf4.DataGroup;
 import de.richardliebscher.mdf4.extract.de.DeserializeInto;
+import de.richardliebscher.mdf4.extract.de.DoubleSink;
+import de.richardliebscher.mdf4.extract.de.IntSink;
+import de.richardliebscher.mdf4.extract.de.LongSink;
 import java.io.IOException;
 
 /**
@@ -20,6 +23,9 @@ public interface ChannelDeFactory<B> {
   /**
    * Create deserialization for a channel.
    *
+   * <p>Numeric channels are read without boxing, when a {@link DoubleSink}, {@link LongSink} or
+   * {@link IntSink} is returned.
+   *
    * @param dataGroup Data group
    * @param group     Channel group
    * @param channel   Channel
@@ -0,0 +1,30 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+import de.richardliebscher.mdf4.Channel;
+import de.richardliebscher.mdf4.ChannelGroup;
+import de.richardliebscher.mdf4.DataGroup;
+import java.io.IOException;
+
+/**
+ * A predicate on a channel.
+ */
+@FunctionalInterface
+public interface ChannelPredicate {
+
+  /**
+   * Evaluates predicate on channel.
+   *
+   * @param dataGroup    Data group
+   * @param channelGroup Channel group
+   * @param channel      Channel
+   * @return {@code true}, iff channel matches predicate.
+   * @throws IOException Failed to evaluate predicate
+   */
+  boolean test(DataGroup dataGroup, ChannelGroup channelGroup, Channel channel)
+      throws IOException;
+}
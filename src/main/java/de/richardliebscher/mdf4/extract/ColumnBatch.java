@@ -0,0 +1,251 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+import java.util.Arrays;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * Values of consecutive records stored column by column.
+ *
+ * <p>Every numeric column is a primitive array with {@link #capacity()} elements, of which the
+ * first {@link #size()} elements are filled. Strings and byte arrays are stored in a
+ * {@link VariableLengthColumn}. A batch is reused for every call to
+ * {@link ColumnBatchReader#next(ColumnBatch)}, so arrays should be copied, when values are
+ * needed after the next call.
+ *
+ * <p>Columns of channels with invalidation bits have a validity bitmap: bit {@code i % 64} of
+ * word {@code i / 64} is set, when value {@code i} is valid. Values of invalid samples are
+ * undefined.
+ *
+ * @see ColumnBatchReader#newBatch(int)
+ */
+public final class ColumnBatch {
+
+  private final ColumnType[] types;
+  private final Object[] columns;
+  private final long[][] validity;
+  private final int capacity;
+  private int size = 0;
+
+  /**
+   * Create batch.
+   *
+   * @param types    Column types
+   * @param capacity Maximum number of records
+   */
+  public ColumnBatch(@NonNull List<ColumnType> types, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity should be at least 1");
+    }
+
+    this.types = types.toArray(new ColumnType[0]);
+    this.columns = new Object[this.types.length];
+    this.validity = new long[this.types.length][];
+    this.capacity = capacity;
+    for (int i = 0; i < this.types.length; i++) {
+      switch (this.types[i]) {
+        case INT:
+        case DICTIONARY:
+          columns[i] = new int[capacity];
+          break;
+        case LONG:
+          columns[i] = new long[capacity];
+          break;
+        case FLOAT:
+          columns[i] = new float[capacity];
+          break;
+        case DOUBLE:
+          columns[i] = new double[capacity];
+          break;
+        case STRING:
+        case BYTES:
+          columns[i] = new VariableLengthColumn(capacity);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown column type: " + this.types[i]);
+      }
+    }
+  }
+
+  /**
+   * Maximum number of records.
+   *
+   * @return Number of records
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Number of valid records.
+   *
+   * @return Number of records
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Set number of valid records.
+   *
+   * @param size Number of records, at most {@link #capacity()}
+   */
+  public void setSize(int size) {
+    if (size < 0 || size > capacity) {
+      throw new IllegalArgumentException("size should be in range 0-" + capacity);
+    }
+    this.size = size;
+  }
+
+  /**
+   * Number of columns.
+   *
+   * @return Number of columns
+   */
+  public int columns() {
+    return types.length;
+  }
+
+  /**
+   * Get type of column.
+   *
+   * @param column Column index
+   * @return Column type
+   */
+  public ColumnType getType(int column) {
+    return types[column];
+  }
+
+  /**
+   * Get values of {@link ColumnType#INT} column.
+   *
+   * @param column Column index
+   * @return Values
+   * @throws IllegalStateException Column has another type
+   */
+  public int[] getInts(int column) {
+    return (int[]) getColumn(column, ColumnType.INT);
+  }
+
+  /**
+   * Get values of {@link ColumnType#LONG} column.
+   *
+   * @param column Column index
+   * @return Values
+   * @throws IllegalStateException Column has another type
+   */
+  public long[] getLongs(int column) {
+    return (long[]) getColumn(column, ColumnType.LONG);
+  }
+
+  /**
+   * Get values of {@link ColumnType#FLOAT} column.
+   *
+   * @param column Column index
+   * @return Values
+   * @throws IllegalStateException Column has another type
+   */
+  public float[] getFloats(int column) {
+    return (float[]) getColumn(column, ColumnType.FLOAT);
+  }
+
+  /**
+   * Get values of {@link ColumnType#DOUBLE} column.
+   *
+   * @param column Column index
+   * @return Values
+   * @throws IllegalStateException Column has another type
+   */
+  public double[] getDoubles(int column) {
+    return (double[]) getColumn(column, ColumnType.DOUBLE);
+  }
+
+  /**
+   * Get codes of {@link ColumnType#DICTIONARY} column.
+   *
+   * @param column Column index
+   * @return Codes
+   * @throws IllegalStateException Column has another type
+   * @see ColumnBatchReader#getDictionary
+   */
+  public int[] getCodes(int column) {
+    return (int[]) getColumn(column, ColumnType.DICTIONARY);
+  }
+
+  /**
+   * Get values of {@link ColumnType#STRING} or {@link ColumnType#BYTES} column.
+   *
+   * @param column Column index
+   * @return Values
+   * @throws IllegalStateException Column has another type
+   */
+  public VariableLengthColumn getVariableLength(int column) {
+    if (types[column] != ColumnType.STRING && types[column] != ColumnType.BYTES) {
+      throw new IllegalStateException(
+          "Column " + column + " has type " + types[column] + ", not variable length");
+    }
+    return (VariableLengthColumn) columns[column];
+  }
+
+  /**
+   * Get validity bitmap of column.
+   *
+   * @param column Column index
+   * @return Bitmap with {@code (capacity() + 63) / 64} words or {@code null}, when all values
+   *     are valid
+   */
+  public long[] getValidity(int column) {
+    return validity[column];
+  }
+
+  /**
+   * Check whether value is valid.
+   *
+   * @param column Column index
+   * @param index  Value index
+   * @return {@code true}, when value is valid
+   */
+  public boolean isValid(int column, int index) {
+    final var words = validity[column];
+    return words == null || (words[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Get validity bitmap of column for writing, with all values marked as invalid.
+   *
+   * @param column Column index
+   * @return Cleared bitmap
+   */
+  public long[] clearValidity(int column) {
+    var words = validity[column];
+    if (words == null) {
+      words = new long[(capacity + 63) >>> 6];
+      validity[column] = words;
+    } else {
+      Arrays.fill(words, 0L);
+    }
+    return words;
+  }
+
+  /**
+   * Mark all values of column as valid.
+   *
+   * @param column Column index
+   */
+  public void removeValidity(int column) {
+    validity[column] = null;
+  }
+
+  private Object getColumn(int column, ColumnType type) {
+    if (types[column] != type) {
+      throw new IllegalStateException(
+          "Column " + column + " has type " + types[column] + ", not " + type);
+    }
+    return columns[column];
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+import de.richardliebscher.mdf4.Channel;
+import de.richardliebscher.mdf4.ChannelGroup;
+import de.richardliebscher.mdf4.DataGroup;
+import de.richardliebscher.mdf4.extract.de.StringDictionary;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A reader, which decodes many records at once into primitive arrays per channel.
+ *
+ * <p>Invalidation bits are decoded into validity bitmaps of batches.
+ *
+ * @see de.richardliebscher.mdf4.Mdf4File#newColumnBatchReader
+ */
+public interface ColumnBatchReader extends AutoCloseable {
+
+  /**
+   * Get data group that is read.
+   *
+   * @return data group
+   */
+  DataGroup getDataGroup();
+
+  /**
+   * Get channel group that is read.
+   *
+   * @return channel group
+   */
+  ChannelGroup getChannelGroup();
+
+  /**
+   * Get list of channels this instance is reading from.
+   *
+   * <p>Channel at index {@code i} is decoded into column {@code i} of batches.
+   *
+   * @return List of channels
+   */
+  List<Channel> getChannels();
+
+  /**
+   * Get column types of channels.
+   *
+   * @return Column type for every channel
+   */
+  List<ColumnType> getColumnTypes();
+
+  /**
+   * Get dictionary of a {@link ColumnType#DICTIONARY} column.
+   *
+   * @param column Column index
+   * @return Dictionary, which is the same for all batches, or {@code null}, when column is not
+   *     dictionary-encoded
+   */
+  StringDictionary getDictionary(int column);
+
+  /**
+   * Get number of records.
+   *
+   * @return number of records
+   */
+  long size();
+
+  /**
+   * Get number of remaining records.
+   *
+   * @return number of remaining records
+   */
+  long remaining();
+
+  /**
+   * Return whether remaining records exist.
+   *
+   * @return {@code true} iff remaining records exist
+   */
+  default boolean hasNext() {
+    return remaining() > 0;
+  }
+
+  /**
+   * Create a batch, which can be passed to {@link #next(ColumnBatch)}.
+   *
+   * @param capacity Maximum number of records per batch
+   * @return New batch
+   */
+  default ColumnBatch newBatch(int capacity) {
+    return new ColumnBatch(getColumnTypes(), capacity);
+  }
+
+  /**
+   * Read next records into batch.
+   *
+   * @param batch Batch with column types of this reader
+   * @return Number of read records, {@code 0} when no records remain
+   * @throws IOException Unable to read records from file
+   */
+  int next(ColumnBatch batch) throws IOException;
+
+  @Override
+  void close() throws IOException;
+}
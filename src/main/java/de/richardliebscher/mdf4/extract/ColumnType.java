@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+/**
+ * Primitive type of column in a {@link ColumnBatch}.
+ */
+public enum ColumnType {
+  /**
+   * Signed integers with up to 32 bits and unsigned integers with up to 31 bits.
+   */
+  INT,
+  /**
+   * Other integers. Unsigned 64-bit integers are stored as bits of a {@code long}.
+   */
+  LONG,
+  /**
+   * Floating point numbers with up to 32 bits.
+   */
+  FLOAT,
+  /**
+   * Floating point numbers with 64 bits and converted values.
+   */
+  DOUBLE,
+  /**
+   * Strings with fixed, maximum or variable length.
+   *
+   * @see VariableLengthColumn
+   */
+  STRING,
+  /**
+   * Byte arrays with fixed, maximum or variable length.
+   *
+   * @see VariableLengthColumn
+   */
+  BYTES,
+  /**
+   * Codes of strings in a dictionary of the channel, which are stored as {@code int}s.
+   *
+   * @see ColumnBatchReader#getDictionary
+   */
+  DICTIONARY
+}
@@ -0,0 +1,325 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Condition on channel values, which records have to fulfill to be read.
+ *
+ * <p>Conditions are evaluated on the raw bytes of a record before any channel is deserialized,
+ * so channels selected by the record factory are only read for matching records. Channels are
+ * referenced by name and have to be top-level channels of the channel group. Conversions of
+ * channels are applied before values are compared.
+ *
+ * <p>Invalid values never match a comparison or bit mask. Values are compared as
+ * {@code double}, bit masks are applied to integer values.
+ *
+ * <pre>{@code
+ * final var filter = RecordFilter.greaterThan("speed", 200)
+ *     .or(RecordFilter.bitsSet("ErrorFlags", 0x4));
+ * }</pre>
+ *
+ * <p>Data blocks, which cannot contain matching records, are found with a {@link ZoneMap}.
+ *
+ * @see de.richardliebscher.mdf4.Mdf4File#newRecordReader(GroupPredicate, ChannelDeFactory,
+ *     java.util.function.Supplier, RecordFilter)
+ * @see ZoneMap#selectRecords
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public abstract class RecordFilter {
+
+  /**
+   * Visit condition.
+   *
+   * @param visitor Visitor
+   * @param <R>     Result type
+   * @param <E>     Exception type
+   * @return Result of visitor
+   * @throws E Exception of visitor
+   */
+  public abstract <R, E extends Throwable> R accept(Visitor<R, E> visitor) throws E;
+
+  /**
+   * Match records, which match this and the other condition.
+   *
+   * @param other Other condition
+   * @return Combined condition
+   */
+  public RecordFilter and(@NonNull RecordFilter other) {
+    return new And(this, other);
+  }
+
+  /**
+   * Match records, which match this or the other condition.
+   *
+   * @param other Other condition
+   * @return Combined condition
+   */
+  public RecordFilter or(@NonNull RecordFilter other) {
+    return new Or(this, other);
+  }
+
+  /**
+   * Match records, which do not match this condition.
+   *
+   * @return Negated condition
+   */
+  public RecordFilter negate() {
+    return new Not(this);
+  }
+
+  /**
+   * Match values less than {@code value}.
+   *
+   * @param channel Channel name
+   * @param value   Value to compare to
+   * @return Condition
+   */
+  public static RecordFilter lessThan(@NonNull String channel, double value) {
+    return new Compare(channel, Comparison.LESS, value);
+  }
+
+  /**
+   * Match values less than or equal to {@code value}.
+   *
+   * @param channel Channel name
+   * @param value   Value to compare to
+   * @return Condition
+   */
+  public static RecordFilter atMost(@NonNull String channel, double value) {
+    return new Compare(channel, Comparison.LESS_OR_EQUAL, value);
+  }
+
+  /**
+   * Match values greater than {@code value}.
+   *
+   * @param channel Channel name
+   * @param value   Value to compare to
+   * @return Condition
+   */
+  public static RecordFilter greaterThan(@NonNull String channel, double value) {
+    return new Compare(channel, Comparison.GREATER, value);
+  }
+
+  /**
+   * Match values greater than or equal to {@code value}.
+   *
+   * @param channel Channel name
+   * @param value   Value to compare to
+   * @return Condition
+   */
+  public static RecordFilter atLeast(@NonNull String channel, double value) {
+    return new Compare(channel, Comparison.GREATER_OR_EQUAL, value);
+  }
+
+  /**
+   * Match values equal to {@code value}.
+   *
+   * @param channel Channel name
+   * @param value   Value to compare to
+   * @return Condition
+   */
+  public static RecordFilter equalTo(@NonNull String channel, double value) {
+    return new Compare(channel, Comparison.EQUAL, value);
+  }
+
+  /**
+   * Match values not equal to {@code value}.
+   *
+   * <p>Invalid values do not match.
+   *
+   * @param channel Channel name
+   * @param value   Value to compare to
+   * @return Condition
+   */
+  public static RecordFilter notEqualTo(@NonNull String channel, double value) {
+    return new Compare(channel, Comparison.NOT_EQUAL, value);
+  }
+
+  /**
+   * Match integer values equal to {@code value}, e.g. identifiers of bus messages.
+   *
+   * <p>Unlike {@link #equalTo(String, double)}, all 64 bits are compared.
+   *
+   * @param channel Channel name
+   * @param value   Value to compare to
+   * @return Condition
+   */
+  public static RecordFilter equalTo(@NonNull String channel, long value) {
+    return new BitMask(channel, -1L, value);
+  }
+
+  /**
+   * Match integer values with all bits of {@code mask} set.
+   *
+   * @param channel Channel name
+   * @param mask    Bit mask
+   * @return Condition
+   */
+  public static RecordFilter bitsSet(@NonNull String channel, long mask) {
+    return new BitMask(channel, mask, mask);
+  }
+
+  /**
+   * Match integer values with all bits of {@code mask} cleared.
+   *
+   * @param channel Channel name
+   * @param mask    Bit mask
+   * @return Condition
+   */
+  public static RecordFilter bitsCleared(@NonNull String channel, long mask) {
+    return new BitMask(channel, mask, 0);
+  }
+
+  /**
+   * Match integer values, which are equal to {@code expected} after applying {@code mask}.
+   *
+   * @param channel  Channel name
+   * @param mask     Bit mask
+   * @param expected Expected bits
+   * @return Condition
+   */
+  public static RecordFilter masked(@NonNull String channel, long mask, long expected) {
+    return new BitMask(channel, mask, expected);
+  }
+
+  /**
+   * Comparison of channel value with constant.
+   */
+  public enum Comparison {
+    LESS,
+    LESS_OR_EQUAL,
+    EQUAL,
+    NOT_EQUAL,
+    GREATER_OR_EQUAL,
+    GREATER;
+
+    /**
+     * Compare values.
+     *
+     * @param value Channel value
+     * @param other Constant
+     * @return {@code true}, iff the comparison holds
+     */
+    public boolean test(double value, double other) {
+      switch (this) {
+        case LESS:
+          return value < other;
+        case LESS_OR_EQUAL:
+          return value <= other;
+        case EQUAL:
+          return value == other;
+        case NOT_EQUAL:
+          return value != other;
+        case GREATER_OR_EQUAL:
+          return value >= other;
+        case GREATER:
+          return value > other;
+        default:
+          throw new IllegalStateException("Should not happen");
+      }
+    }
+  }
+
+  /**
+   * Visitor of conditions.
+   *
+   * @param <R> Result type
+   * @param <E> Exception type
+   */
+  public interface Visitor<R, E extends Throwable> {
+
+    R visitComparison(String channel, Comparison comparison, double value) throws E;
+
+    R visitBitMask(String channel, long mask, long expected) throws E;
+
+    R visitAnd(RecordFilter left, RecordFilter right) throws E;
+
+    R visitOr(RecordFilter left, RecordFilter right) throws E;
+
+    R visitNot(RecordFilter filter) throws E;
+  }
+
+  private static final class Compare extends RecordFilter {
+    private final String channel;
+    private final Comparison comparison;
+    private final double value;
+
+    private Compare(String channel, Comparison comparison, double value) {
+      this.channel = channel;
+      this.comparison = comparison;
+      this.value = value;
+    }
+
+    @Override
+    public <R, E extends Throwable> R accept(Visitor<R, E> visitor) throws E {
+      return visitor.visitComparison(channel, comparison, value);
+    }
+  }
+
+  private static final class BitMask extends RecordFilter {
+    private final String channel;
+    private final long mask;
+    private final long expected;
+
+    private BitMask(String channel, long mask, long expected) {
+      this.channel = channel;
+      this.mask = mask;
+      this.expected = expected;
+    }
+
+    @Override
+    public <R, E extends Throwable> R accept(Visitor<R, E> visitor) throws E {
+      return visitor.visitBitMask(channel, mask, expected);
+    }
+  }
+
+  private static final class And extends RecordFilter {
+    private final RecordFilter left;
+    private final RecordFilter right;
+
+    private And(RecordFilter left, RecordFilter right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public <R, E extends Throwable> R accept(Visitor<R, E> visitor) throws E {
+      return visitor.visitAnd(left, right);
+    }
+  }
+
+  private static final class Or extends RecordFilter {
+    private final RecordFilter left;
+    private final RecordFilter right;
+
+    private Or(RecordFilter left, RecordFilter right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public <R, E extends Throwable> R accept(Visitor<R, E> visitor) throws E {
+      return visitor.visitOr(left, right);
+    }
+  }
+
+  private static final class Not extends RecordFilter {
+    private final RecordFilter filter;
+
+    private Not(RecordFilter filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    public <R, E extends Throwable> R accept(Visitor<R, E> visitor) throws E {
+      return visitor.visitNot(filter);
+    }
+  }
+}
@@ -8,6 +8,7 @@ package de.richardliebscher.mdf4.extract;
 import de.richardliebscher.mdf4.Channel;
 import de.richardliebscher.mdf4.ChannelGroup;
 import de.richardliebscher.mdf4.DataGroup;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -48,8 +49,114 @@ public interface SizedRecordReader<B, R> extends RecordReader<B, R> {
   /**
    * Get number of remaining records.
    *
+   * <p>Records of a reader with {@link RecordFilter} are counted, whether they match or not, so
+   * {@link #hasNext()} can return {@code false} while records remain.
+   *
    * @return number of remaining records
    */
   long remaining();
 
+  /**
+   * Continue reading at record.
+   *
+   * <p>The data block containing the record is found with the offsets of the data list, so
+   * records in between are neither read nor decoded. The default implementation can only move
+   * forward and reads records in between.
+   *
+   * @param index Record index, {@link #size()} to skip all records
+   * @throws IOException                   Unable to position in data
+   * @throws IndexOutOfBoundsException     Index is out of range
+   * @throws UnsupportedOperationException Record was already read and reader cannot go back
+   */
+  default void seek(long index) throws IOException {
+    if (index < 0 || index > size()) {
+      throw new IndexOutOfBoundsException(
+          "Record index " + index + " out of range for " + size() + " records");
+    }
+    final var current = size() - remaining();
+    if (index < current) {
+      throw new UnsupportedOperationException("Seeking backwards not supported");
+    }
+    skip(index - current);
+  }
+
+  /**
+   * Skip records without decoding them.
+   *
+   * <p>The default implementation reads and drops records.
+   *
+   * @param records Number of records
+   * @throws IOException              Unable to position in data
+   * @throws IllegalArgumentException Number of records is negative or exceeds remaining records
+   * @see #seek
+   */
+  default void skip(long records) throws IOException {
+    if (records < 0 || records > remaining()) {
+      throw new IllegalArgumentException(
+          "Number of records to skip should be in range 0 to " + remaining());
+    }
+    for (long i = 0; i < records; i++) {
+      next();
+    }
+  }
+
+  /**
+   * Only read a range of records.
+   *
+   * <p>Reading continues at record {@code from} and ends after {@code count} records.
+   *
+   * @param from  Index of first record
+   * @param count Number of records
+   * @throws IOException                   Unable to position in data
+   * @throws IndexOutOfBoundsException     Range is out of range of records
+   * @throws UnsupportedOperationException Reader cannot limit records (default)
+   * @see #seek
+   */
+  default void readRange(long from, long count) throws IOException {
+    throw new UnsupportedOperationException("Reading a range of records not supported");
+  }
+
+  /**
+   * Find first record with a master channel value not less than {@code time}.
+   *
+   * <p>Values of the master channel, usually the time in seconds, are searched by binary search
+   * over the data blocks, so only a few records are read.
+   *
+   * @param time Value of master channel
+   * @return Record index or {@link #size()}, when all values are less
+   * @throws IOException                   Unable to read master channel
+   * @throws UnsupportedOperationException Reader cannot search master channel (default)
+   */
+  default long indexOfTime(double time) throws IOException {
+    throw new UnsupportedOperationException("Searching master channel not supported");
+  }
+
+  /**
+   * Continue reading at first record with a master channel value not less than {@code time}.
+   *
+   * @param time Value of master channel
+   * @throws IOException Unable to read master channel
+   * @see #indexOfTime
+   * @see #seek
+   */
+  default void seekToTime(double time) throws IOException {
+    seek(indexOfTime(time));
+  }
+
+  /**
+   * Only read records with a master channel value in time range.
+   *
+   * <p>Reading continues at first record of range and ends before the first record with a value
+   * not less than {@code toTime}.
+   *
+   * @param fromTime Inclusive start of range
+   * @param toTime   Exclusive end of range
+   * @throws IOException Unable to read master channel
+   * @see #indexOfTime
+   * @see #readRange
+   */
+  default void seekToTime(double fromTime, double toTime) throws IOException {
+    final var from = indexOfTime(fromTime);
+    readRange(from, Math.max(from, indexOfTime(toTime)) - from);
+  }
 }
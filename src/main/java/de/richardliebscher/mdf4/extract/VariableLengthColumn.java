@@ -0,0 +1,194 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+import static de.richardliebscher.mdf4.internal.ChannelSupport.readFully;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Values with variable length in a {@link ColumnBatch}.
+ *
+ * <p>Bytes of all values are stored contiguously in one array. Value {@code i} starts at
+ * {@code getData()[getOffsets()[i]]} and ends before {@code getData()[getOffsets()[i + 1]]}.
+ * Strings are stored without zero termination and are only decoded on demand.
+ */
+public final class VariableLengthColumn {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final int[] offsets;
+  private byte[] data = EMPTY;
+  private ByteBuffer dataBuffer = ByteBuffer.wrap(data);
+  private ByteBuffer source;
+  private ByteBuffer sourceView;
+  private Charset charset;
+  private int size = 0;
+
+  VariableLengthColumn(int capacity) {
+    this.offsets = new int[capacity + 1];
+  }
+
+  /**
+   * Get bytes of all values.
+   *
+   * @return Bytes, only the first {@code getOffsets()[size()]} bytes are used
+   */
+  public byte[] getData() {
+    return data;
+  }
+
+  /**
+   * Get start offsets of values.
+   *
+   * @return Offsets with one more element than values
+   */
+  public int[] getOffsets() {
+    return offsets;
+  }
+
+  /**
+   * Get charset of strings.
+   *
+   * @return Charset or {@code null}, when values are byte arrays
+   */
+  public Charset getCharset() {
+    return charset;
+  }
+
+  /**
+   * Number of values.
+   *
+   * @return Number of values
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get length of value.
+   *
+   * @param index Value index
+   * @return Length in bytes
+   */
+  public int getLength(int index) {
+    return offsets[index + 1] - offsets[index];
+  }
+
+  /**
+   * Get bytes of value without copying.
+   *
+   * @param index Value index
+   * @return Read-only view on bytes
+   */
+  public ByteBuffer getBytes(int index) {
+    return ByteBuffer.wrap(data, offsets[index], getLength(index)).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Copy bytes of value.
+   *
+   * @param index Value index
+   * @return New array
+   */
+  public byte[] copyBytes(int index) {
+    return Arrays.copyOfRange(data, offsets[index], offsets[index + 1]);
+  }
+
+  /**
+   * Decode string value.
+   *
+   * @param index Value index
+   * @return String
+   * @throws IllegalStateException Values are byte arrays
+   */
+  public String getString(int index) {
+    if (charset == null) {
+      throw new IllegalStateException("Column contains byte arrays");
+    }
+    return new String(data, offsets[index], getLength(index), charset);
+  }
+
+  /**
+   * Remove all values.
+   *
+   * @param charset Charset of following string values or {@code null} for byte arrays
+   */
+  public void clear(Charset charset) {
+    this.charset = charset;
+    this.size = 0;
+  }
+
+  /**
+   * Append value from memory.
+   *
+   * @param src      Memory
+   * @param position Index of first byte in memory
+   * @param length   Length in bytes
+   */
+  public void append(ByteBuffer src, int position, int length) {
+    final var end = reserve(length);
+    if (src.hasArray()) {
+      System.arraycopy(src.array(), src.arrayOffset() + position, data, end, length);
+    } else {
+      if (source != src) {
+        source = src;
+        sourceView = src.duplicate();
+      }
+      sourceView.limit(sourceView.capacity()).position(position);
+      sourceView.get(data, end, length);
+    }
+    offsets[++size] = end + length;
+  }
+
+  /**
+   * Append value from a data stream.
+   *
+   * @param src    Data stream at start of value
+   * @param length Length in bytes
+   * @throws IOException Unable to read value
+   */
+  public void append(ReadableByteChannel src, int length) throws IOException {
+    final var end = reserve(length);
+    dataBuffer.limit(end + length).position(end);
+    readFully(src, dataBuffer);
+    offsets[++size] = end + length;
+  }
+
+  /**
+   * Shorten last value.
+   *
+   * @param length New length in bytes
+   */
+  public void truncateLast(int length) {
+    if (size == 0 || length < 0 || length > getLength(size - 1)) {
+      throw new IllegalArgumentException("Length should be in range of last value");
+    }
+    offsets[size] = offsets[size - 1] + length;
+  }
+
+  private int reserve(int length) {
+    if (size + 1 >= offsets.length) {
+      throw new IllegalStateException("Column is full");
+    }
+
+    final var end = offsets[size];
+    final var required = end + length;
+    if (required < 0) {
+      throw new IllegalStateException("Column data exceeds maximum array size");
+    }
+    if (required > data.length) {
+      data = Arrays.copyOf(data, Math.max(required, Math.min(Integer.MAX_VALUE - 8,
+          Math.max(64, data.length * 2))));
+      dataBuffer = ByteBuffer.wrap(data);
+    }
+    return end;
+  }
+}
@@ -0,0 +1,361 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+import de.richardliebscher.mdf4.extract.RecordFilter.Comparison;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Statistics of channels per data block of a channel group.
+ *
+ * <p>For every data block, minimum, maximum, number of values and number of invalid values of
+ * every channel are recorded. Blocks are identified by their links, so the same blocks are found
+ * again in the file. Values are compared as {@code double}. Minimum and maximum are
+ * {@link Double#NaN}, when a channel cannot be compared as number or a block contains NaN values.
+ *
+ * <p>A {@link RecordFilter} selects the records of blocks, which can contain matching records,
+ * so that all other blocks are skipped. A record reader with filter and zone map skips these
+ * blocks itself:
+ * <pre>{@code
+ * final var zones = mdf4File.newZoneMap(groupPredicate, channelPredicate);
+ * final var filter = RecordFilter.greaterThan("speed", 200);
+ * try (var reader = mdf4File.newRecordReader(
+ *     groupPredicate, deFactory, recordFactory, filter, zones)) {
+ *   while (reader.hasNext()) {
+ *     ...
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>Conditions on channels, which are not part of the zone map, and bit masks can match in
+ * every block with valid values.
+ *
+ * @see de.richardliebscher.mdf4.Mdf4File#newZoneMap
+ */
+public final class ZoneMap implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final List<String> channelNames;
+  private final long[] blockLinks;
+  private final long[] firstRecords;
+  private final double[][] minima;
+  private final double[][] maxima;
+  private final long[][] counts;
+  private final long[][] invalidCounts;
+
+  /**
+   * Internal API: Use {@link de.richardliebscher.mdf4.Mdf4File#newZoneMap}.
+   *
+   * @param channelNames  Names of channels
+   * @param blockLinks    Links of data blocks
+   * @param firstRecords  Index of first record of every data block and number of records
+   * @param minima        Minimum per channel and block
+   * @param maxima        Maximum per channel and block
+   * @param counts        Number of values per channel and block
+   * @param invalidCounts Number of invalid values per channel and block
+   */
+  public ZoneMap(@NonNull List<String> channelNames, @NonNull long[] blockLinks,
+      @NonNull long[] firstRecords, @NonNull double[][] minima, @NonNull double[][] maxima,
+      @NonNull long[][] counts, @NonNull long[][] invalidCounts) {
+    if (firstRecords.length != blockLinks.length + 1) {
+      throw new IllegalArgumentException("Expected " + (blockLinks.length + 1)
+          + " record indexes, but got " + firstRecords.length);
+    }
+    this.channelNames = List.copyOf(channelNames);
+    this.blockLinks = blockLinks;
+    this.firstRecords = firstRecords;
+    this.minima = minima;
+    this.maxima = maxima;
+    this.counts = counts;
+    this.invalidCounts = invalidCounts;
+  }
+
+  /**
+   * Get names of channels.
+   *
+   * <p>Channel at index {@code i} is channel {@code i} of the other methods.
+   *
+   * @return Channel names
+   */
+  public List<String> getChannelNames() {
+    return channelNames;
+  }
+
+  /**
+   * Find channel by name.
+   *
+   * @param name Channel name
+   * @return Index of first channel with name or {@code -1}
+   */
+  public int indexOfChannel(String name) {
+    return channelNames.indexOf(name);
+  }
+
+  /**
+   * Get number of data blocks.
+   *
+   * @return Number of data blocks
+   */
+  public int getBlockCount() {
+    return blockLinks.length;
+  }
+
+  /**
+   * Get link of data block.
+   *
+   * @param block Block index
+   * @return File offset of DT or DZ block
+   */
+  public long getBlockLink(int block) {
+    return blockLinks[block];
+  }
+
+  /**
+   * Get index of first record, which starts in data block.
+   *
+   * @param block Block index
+   * @return Record index
+   */
+  public long getFirstRecord(int block) {
+    return firstRecords[block];
+  }
+
+  /**
+   * Get number of records, which start in data block.
+   *
+   * @param block Block index
+   * @return Number of records
+   */
+  public long getRecordCount(int block) {
+    return firstRecords[block + 1] - firstRecords[block];
+  }
+
+  /**
+   * Get minimum of valid values.
+   *
+   * @param channel Channel index
+   * @param block   Block index
+   * @return Minimum, {@link Double#POSITIVE_INFINITY} without valid values or
+   *     {@link Double#NaN}, when unknown
+   */
+  public double getMin(int channel, int block) {
+    return minima[channel][block];
+  }
+
+  /**
+   * Get maximum of valid values.
+   *
+   * @param channel Channel index
+   * @param block   Block index
+   * @return Maximum, {@link Double#NEGATIVE_INFINITY} without valid values or
+   *     {@link Double#NaN}, when unknown
+   */
+  public double getMax(int channel, int block) {
+    return maxima[channel][block];
+  }
+
+  /**
+   * Get number of values including invalid values.
+   *
+   * @param channel Channel index
+   * @param block   Block index
+   * @return Number of values
+   */
+  public long getCount(int channel, int block) {
+    return counts[channel][block];
+  }
+
+  /**
+   * Get number of invalid values.
+   *
+   * @param channel Channel index
+   * @param block   Block index
+   * @return Number of invalid values
+   */
+  public long getInvalidCount(int channel, int block) {
+    return invalidCounts[channel][block];
+  }
+
+  /**
+   * Get number of records of all data blocks.
+   *
+   * @return Number of records
+   */
+  public long getRecordCount() {
+    return firstRecords[blockLinks.length];
+  }
+
+  /**
+   * Check whether data block can contain records matching filter.
+   *
+   * @param filter Filter of records
+   * @param block  Block index
+   * @return {@code false}, when no record of the block can match
+   */
+  public boolean mayMatch(@NonNull RecordFilter filter, int block) {
+    return filter.accept(new BlockMatch(block)) != Match.NONE;
+  }
+
+  /**
+   * Select records of all blocks, which can contain records matching filter.
+   *
+   * <p>Records of adjacent blocks are merged into one range.
+   *
+   * @param filter Filter of records
+   * @return Ranges of records in ascending order
+   */
+  public List<RecordRange> selectRecords(@NonNull RecordFilter filter) {
+    final var ranges = new ArrayList<RecordRange>();
+    long from = -1;
+    for (int block = 0; block < blockLinks.length; block++) {
+      if (getRecordCount(block) == 0) {
+        continue;
+      }
+
+      if (mayMatch(filter, block)) {
+        if (from < 0) {
+          from = firstRecords[block];
+        }
+      } else if (from >= 0) {
+        ranges.add(new RecordRange(from, firstRecords[block] - from));
+        from = -1;
+      }
+    }
+    if (from >= 0) {
+      ranges.add(new RecordRange(from, firstRecords[blockLinks.length] - from));
+    }
+    return Collections.unmodifiableList(ranges);
+  }
+
+  private boolean hasValidValues(int channel, int block) {
+    return counts[channel][block] > invalidCounts[channel][block];
+  }
+
+  /**
+   * Range of records.
+   */
+  @Value
+  public static class RecordRange implements Serializable {
+
+    /**
+     * Index of first record.
+     */
+    long from;
+
+    /**
+     * Number of records.
+     */
+    long count;
+  }
+
+  /**
+   * Records of a block, which match a condition.
+   */
+  private enum Match {
+    NONE,
+    SOME,
+    ALL;
+
+    Match negate() {
+      return this == NONE ? ALL : this == ALL ? NONE : SOME;
+    }
+  }
+
+  /**
+   * Evaluate condition on statistics of a block.
+   */
+  private final class BlockMatch implements RecordFilter.Visitor<Match, RuntimeException> {
+    private final int block;
+
+    private BlockMatch(int block) {
+      this.block = block;
+    }
+
+    @Override
+    public Match visitComparison(String channel, Comparison comparison, double value) {
+      final var index = indexOfChannel(channel);
+      if (index < 0) {
+        return Match.SOME;
+      }
+      if (!hasValidValues(index, block)) {
+        // invalid values never match
+        return Match.NONE;
+      }
+
+      final var min = getMin(index, block);
+      final var max = getMax(index, block);
+      if (Double.isNaN(min) || Double.isNaN(max)) {
+        return Match.SOME;
+      }
+
+      final Match match;
+      switch (comparison) {
+        case LESS:
+          match = of(max < value, min >= value);
+          break;
+        case LESS_OR_EQUAL:
+          match = of(max <= value, min > value);
+          break;
+        case EQUAL:
+          match = of(min == value && max == value, value < min || value > max);
+          break;
+        case NOT_EQUAL:
+          match = of(value < min || value > max, min == value && max == value);
+          break;
+        case GREATER_OR_EQUAL:
+          match = of(min >= value, max < value);
+          break;
+        case GREATER:
+          match = of(min > value, max <= value);
+          break;
+        default:
+          throw new IllegalStateException("Should not happen");
+      }
+      return match == Match.ALL && invalidCounts[index][block] > 0 ? Match.SOME : match;
+    }
+
+    @Override
+    public Match visitBitMask(String channel, long mask, long expected) {
+      final var index = indexOfChannel(channel);
+      return index >= 0 && !hasValidValues(index, block) ? Match.NONE : Match.SOME;
+    }
+
+    @Override
+    public Match visitAnd(RecordFilter left, RecordFilter right) {
+      final var first = left.accept(this);
+      if (first == Match.NONE) {
+        return Match.NONE;
+      }
+      final var second = right.accept(this);
+      return first == Match.ALL ? second : second == Match.NONE ? Match.NONE : Match.SOME;
+    }
+
+    @Override
+    public Match visitOr(RecordFilter left, RecordFilter right) {
+      final var first = left.accept(this);
+      if (first == Match.ALL) {
+        return Match.ALL;
+      }
+      final var second = right.accept(this);
+      return first == Match.NONE ? second : second == Match.ALL ? Match.ALL : Match.SOME;
+    }
+
+    @Override
+    public Match visitNot(RecordFilter filter) {
+      return filter.accept(this).negate();
+    }
+
+    private Match of(boolean all, boolean none) {
+      return all ? Match.ALL : none ? Match.NONE : Match.SOME;
+    }
+  }
+}
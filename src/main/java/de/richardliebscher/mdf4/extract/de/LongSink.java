@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.de;
+
+import de.richardliebscher.mdf4.exceptions.InvalidTypeException;
+import java.io.IOException;
+
+/**
+ * Deserialize 64-bit integers into a structure without boxing.
+ *
+ * <p>Record readers pass values of numeric channels directly to {@link #accept}, when the channel
+ * layout is supported, and use {@link #deserializeInto} otherwise. Signed integers with up to 64
+ * bits and unsigned integers with up to 32 bits are widened.
+ *
+ * @param <B> Structure type
+ */
+@FunctionalInterface
+public interface LongSink<B> extends DeserializeInto<B> {
+
+  /**
+   * Write value into structure.
+   *
+   * @param dest  Structure
+   * @param value Value
+   * @throws IOException Unable to write value
+   */
+  void accept(B dest, long value) throws IOException;
+
+  /**
+   * Handle invalid value.
+   *
+   * <p>Throws by default.
+   *
+   * @param dest Structure
+   * @throws IOException Unable to handle invalid value
+   */
+  default void acceptInvalid(B dest) throws IOException {
+    throw new InvalidTypeException("invalid value", () -> "valid 64-bit integer");
+  }
+
+  @Override
+  default void deserializeInto(Deserializer deserializer, B dest) throws IOException {
+    deserializer.deserialize_value(new Visitor<Void, B>() {
+      @Override
+      public String expecting() {
+        return "64-bit integer";
+      }
+
+      @Override
+      public Void visitI64(long value, B param) throws IOException {
+        accept(param, value);
+        return null;
+      }
+
+      @Override
+      public Void visitU32(int value, B param) throws IOException {
+        return visitI64(UnsignedInteger.toLong(value), param);
+      }
+
+      @Override
+      public Void visitInvalid(B param) throws IOException {
+        acceptInvalid(param);
+        return null;
+      }
+    }, dest);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.de;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strings of a channel, which are addressed by codes.
+ *
+ * <p>Every distinct string is stored once and is interned, so the same string instance is
+ * returned for equal strings in all dictionaries.
+ *
+ * @see Visitor#visitEncodedString
+ */
+public final class StringDictionary implements Serializable {
+
+  private final String[] strings;
+
+  private StringDictionary(String[] strings) {
+    this.strings = strings;
+  }
+
+  /**
+   * Number of strings.
+   *
+   * @return Number of strings
+   */
+  public int size() {
+    return strings.length;
+  }
+
+  /**
+   * Get string of code.
+   *
+   * @param code Code in range {@code 0} to {@code size() - 1}
+   * @return String
+   */
+  public String get(int code) {
+    return strings[code];
+  }
+
+  /**
+   * Get all strings in order of their codes.
+   *
+   * @return Strings
+   */
+  public List<String> values() {
+    return Collections.unmodifiableList(Arrays.asList(strings));
+  }
+
+  /**
+   * Builder of a dictionary.
+   */
+  public static final class Builder {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Add string, if not already added.
+     *
+     * @param string String
+     * @return Code of string
+     */
+    public int add(String string) {
+      return codes.computeIfAbsent(string, key -> {
+        strings.add(key.intern());
+        return strings.size() - 1;
+      });
+    }
+
+    /**
+     * Create dictionary.
+     *
+     * @return Dictionary
+     */
+    public StringDictionary build() {
+      return new StringDictionary(strings.toArray(new String[0]));
+    }
+  }
+}
@@ -149,6 +149,23 @@ public interface Visitor<T, P> extends Expected {
     throw new InvalidTypeException("string value '" + value + "'", this);
   }
 
+  /**
+   * Visit string of a dictionary.
+   *
+   * <p>Text table conversions resolve their texts once into a dictionary, so values can be
+   * consumed as codes without looking up strings. Defaults to {@link #visitString} with the
+   * shared string instance.
+   *
+   * @param code       Code of string in dictionary
+   * @param dictionary Dictionary, which is the same for all values of a channel
+   * @param param      Parameter
+   * @return Deserialized value
+   */
+  default T visitEncodedString(int code, StringDictionary dictionary, P param)
+      throws IOException {
+    return visitString(dictionary.get(code), param);
+  }
+
   /**
    * Visit byte array.
    *
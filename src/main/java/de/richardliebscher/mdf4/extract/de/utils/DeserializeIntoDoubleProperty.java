@@ -5,17 +5,14 @@
 
 package de.richardliebscher.mdf4.extract.de.utils;
 
-import de.richardliebscher.mdf4.extract.de.DeserializeInto;
-import de.richardliebscher.mdf4.extract.de.Deserializer;
-import de.richardliebscher.mdf4.extract.de.Visitor;
-import java.io.IOException;
+import de.richardliebscher.mdf4.extract.de.DoubleSink;
 
 /**
  * Deserialize into built-in 64-bit floating point property.
  *
  * @param <T> Type containing property
  */
-public final class DeserializeIntoDoubleProperty<T> implements DeserializeInto<T> {
+public final class DeserializeIntoDoubleProperty<T> implements DoubleSink<T> {
 
   private final WriteDoubleProperty<T> write;
 
@@ -29,18 +26,7 @@ public final class DeserializeIntoDoubleProperty<T> implements DeserializeInto<T
   }
 
   @Override
-  public void deserializeInto(Deserializer deserializer, T object) throws IOException {
-    deserializer.deserialize_value(new Visitor<Void, T>() {
-      @Override
-      public String expecting() {
-        return "valid 64-bit floating point value";
-      }
-
-      @Override
-      public Void visitF64(double value, T param) {
-        write.writeDouble(param, value);
-        return null;
-      }
-    }, object);
+  public void accept(T dest, double value) {
+    write.writeDouble(dest, value);
   }
 }
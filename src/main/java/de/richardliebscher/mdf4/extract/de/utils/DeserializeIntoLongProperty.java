@@ -5,18 +5,14 @@
 
 package de.richardliebscher.mdf4.extract.de.utils;
 
-import de.richardliebscher.mdf4.extract.de.DeserializeInto;
-import de.richardliebscher.mdf4.extract.de.Deserializer;
-import de.richardliebscher.mdf4.extract.de.UnsignedInteger;
-import de.richardliebscher.mdf4.extract.de.Visitor;
-import java.io.IOException;
+import de.richardliebscher.mdf4.extract.de.LongSink;
 
 /**
  * Deserialize into built-in 64-bit integer property.
  *
  * @param <T> Type containing property
  */
-public final class DeserializeIntoLongProperty<T> implements DeserializeInto<T> {
+public final class DeserializeIntoLongProperty<T> implements LongSink<T> {
 
   private final WriteLongProperty<T> write;
 
@@ -30,23 +26,7 @@ public final class DeserializeIntoLongProperty<T> implements DeserializeInto<T>
   }
 
   @Override
-  public void deserializeInto(Deserializer deserializer, T object) throws IOException {
-    deserializer.deserialize_value(new Visitor<Void, T>() {
-      @Override
-      public String expecting() {
-        return "valid 64-bit integer";
-      }
-
-      @Override
-      public Void visitI64(long value, T param) {
-        write.writeLong(param, value);
-        return null;
-      }
-
-      @Override
-      public Void visitU32(int value, T param) {
-        return visitI64(UnsignedInteger.toLong(value), param);
-      }
-    }, object);
+  public void accept(T dest, long value) {
+    write.writeLong(dest, value);
   }
 }
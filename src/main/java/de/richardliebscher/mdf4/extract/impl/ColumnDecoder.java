@@ -0,0 +1,919 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import static de.richardliebscher.mdf4.extract.impl.SizeVisitor.MAX_ARRAY_LENGTH;
+
+import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionType;
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.blocks.DataContainer;
+import de.richardliebscher.mdf4.blocks.SignalDataBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.exceptions.NotImplementedFeatureException;
+import de.richardliebscher.mdf4.extract.ColumnBatch;
+import de.richardliebscher.mdf4.extract.ColumnType;
+import de.richardliebscher.mdf4.extract.VariableLengthColumn;
+import de.richardliebscher.mdf4.extract.de.StringDictionary;
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import de.richardliebscher.mdf4.extract.read.BlockResolver;
+import de.richardliebscher.mdf4.extract.read.DataList;
+import de.richardliebscher.mdf4.extract.read.Formula;
+import de.richardliebscher.mdf4.extract.read.LinearConversion;
+import de.richardliebscher.mdf4.extract.read.RationalConversion;
+import de.richardliebscher.mdf4.extract.read.Scope;
+import de.richardliebscher.mdf4.extract.read.SeekableDataListRead;
+import de.richardliebscher.mdf4.extract.read.TextTable;
+import de.richardliebscher.mdf4.extract.read.ValueTable;
+import de.richardliebscher.mdf4.internal.ColumnKernels;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decode values of one channel from many records into a column of a {@link ColumnBatch}.
+ *
+ * <p>Every implementation runs one loop per call over all records, so that the loop body is
+ * monomorphic.
+ */
+abstract class ColumnDecoder {
+
+  /**
+   * Type of decoded column.
+   *
+   * @return Column type
+   */
+  abstract ColumnType getType();
+
+  /**
+   * Decode values of records.
+   *
+   * @param records     Memory of records
+   * @param offset      Byte offset of first record
+   * @param stride      Record size in bytes
+   * @param count       Number of records
+   * @param recordIndex Index of first record
+   * @param batch       Destination batch
+   * @param column      Column index in batch
+   * @param position    Index of first value in column
+   */
+  abstract void decode(
+      ByteBuffer records, int offset, int stride, int count, long recordIndex,
+      ColumnBatch batch, int column, int position) throws IOException;
+
+  /**
+   * Prepare column of batch before first call to {@link #decode}.
+   *
+   * @param batch  Destination batch
+   * @param column Column index in batch
+   */
+  void reset(ColumnBatch batch, int column) {
+    // numeric columns are overwritten
+  }
+
+  /**
+   * Dictionary of {@link ColumnType#DICTIONARY} column.
+   *
+   * @return Dictionary or {@code null}
+   */
+  StringDictionary getDictionary() {
+    return null;
+  }
+
+  /**
+   * Create decoder for channel.
+   *
+   * @param channelBlock Channel
+   * @param conversion   Conversion of channel or {@code null}
+   * @param input        Input file
+   * @param scope        Scope of reader, which owns opened signal data
+   * @return Decoder
+   * @throws FormatException                Invalid channel
+   * @throws NotImplementedFeatureException Channel cannot be decoded into a column
+   * @throws IOException                    Unable to read referenced blocks
+   */
+  static ColumnDecoder create(
+      ChannelBlock channelBlock, ChannelConversionBlock conversion, ByteInput input, Scope scope)
+      throws IOException {
+    if (!channelBlock.getComposition().isNil()) {
+      throw new NotImplementedFeatureException("Compositions cannot be read into columns");
+    }
+
+    switch (channelBlock.getType()) {
+      case FIXED_LENGTH_DATA_CHANNEL:
+      case MASTER_CHANNEL:
+      case SYNCHRONIZATION_CHANNEL:
+        return createFixedLength(channelBlock, conversion, input, scope.getResolver());
+      case VIRTUAL_DATA_CHANNEL:
+      case VIRTUAL_MASTER_CHANNEL:
+        RecordIndexRead.check(channelBlock);
+        return new RecordIndexDecoder(
+            Converter.of(channelBlock, conversion, input, scope.getResolver()));
+      case VARIABLE_LENGTH_DATA_CHANNEL:
+        return createVlsd(channelBlock, conversion, input, scope);
+      case MAXIMUM_LENGTH_CHANNEL:
+        return createMaxLength(channelBlock, conversion, input, scope.getResolver());
+      default:
+        throw new NotImplementedFeatureException(
+            "Channel type cannot be read into column: " + channelBlock.getType());
+    }
+  }
+
+  private static ColumnDecoder createFixedLength(ChannelBlock channelBlock,
+      ChannelConversionBlock conversion, ByteInput input, BlockResolver resolver)
+      throws IOException {
+    final var dataType = channelBlock.getDataType();
+    switch (dataType) {
+      case UINT_LE:
+      case UINT_BE:
+      case INT_LE:
+      case INT_BE:
+        if (conversion != null && isTextTable(conversion.getType())) {
+          return createDictionary(
+              channelBlock, TextTable.of(conversion, channelBlock, input, resolver));
+        }
+        return createInteger(channelBlock, Converter.of(channelBlock, conversion, input, resolver));
+      case FLOAT_LE:
+      case FLOAT_BE:
+        return createFloat(channelBlock, Converter.of(channelBlock, conversion, input, resolver));
+      case STRING_LATIN1:
+      case STRING_UTF8:
+      case STRING_UTF16LE:
+      case STRING_UTF16BE:
+      case BYTE_ARRAY:
+        checkIdentity(conversion);
+        return new FixedLengthDecoder(
+            channelBlock.getByteOffset(), getByteCount(channelBlock), getCharset(dataType));
+      default:
+        throw new NotImplementedFeatureException(
+            "Data type cannot be read into column: " + dataType);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ColumnDecoder createVlsd(
+      ChannelBlock channelBlock, ChannelConversionBlock conversion, ByteInput input, Scope scope)
+      throws IOException {
+    checkIdentity(conversion);
+    final var charset = getCharset(channelBlock.getDataType());
+    final var dataList = DataList.from(
+        (Link<DataContainer<SignalDataBlock>>) channelBlock.getSignalData(),
+        SignalDataBlock.CONTAINER_TYPE,
+        input,
+        scope.getResolver());
+    final var offsets = rawInteger(channelBlock, false, false);
+
+    final var read = new SeekableDataListRead<>(
+        input.dup(), dataList, SignalDataBlock.STORAGE_TYPE, scope.getResolver());
+    scope.add(read);
+    return new VlsdDecoder(offsets, read, charset);
+  }
+
+  private static ColumnDecoder createMaxLength(
+      ChannelBlock channelBlock, ChannelConversionBlock conversion, ByteInput input,
+      BlockResolver resolver) throws IOException {
+    checkIdentity(conversion);
+    final var charset = getCharset(channelBlock.getDataType());
+    final var sizeChannel = resolver
+        .resolve(channelBlock.getMaxLengthChannel(), ChannelBlock.TYPE, input)
+        .orElseThrow(() -> new FormatException("Maximum length channel requires cn_data link set"));
+    if (!sizeChannel.getConversionRule().isNil()) {
+      throw new NotImplementedFeatureException("Conversion rule for size channel not implemented");
+    }
+
+    final var sizeDataType = sizeChannel.getDataType();
+    switch (sizeDataType) {
+      case UINT_LE:
+      case UINT_BE:
+      case INT_LE:
+      case INT_BE:
+        break;
+      default:
+        throw new NotImplementedFeatureException(
+            "Reading data type " + sizeDataType + " as size not implemented");
+    }
+
+    final var sizes = rawInteger(sizeChannel,
+        sizeDataType == ChannelDataType.INT_LE || sizeDataType == ChannelDataType.INT_BE,
+        sizeDataType == ChannelDataType.UINT_BE || sizeDataType == ChannelDataType.INT_BE);
+    return new MaxLengthDecoder(
+        channelBlock.getByteOffset(), getByteCount(channelBlock), sizes, charset);
+  }
+
+  private static void checkIdentity(ChannelConversionBlock conversion)
+      throws NotImplementedFeatureException {
+    if (conversion != null && conversion.getType() != ChannelConversionType.IDENTITY) {
+      throw new NotImplementedFeatureException(
+          "Channel conversion not implemented for variable length columns: "
+              + conversion.getType());
+    }
+  }
+
+  private static Charset getCharset(ChannelDataType dataType)
+      throws NotImplementedFeatureException {
+    switch (dataType) {
+      case STRING_LATIN1:
+        return StandardCharsets.ISO_8859_1;
+      case STRING_UTF8:
+        return StandardCharsets.UTF_8;
+      case STRING_UTF16LE:
+        return StandardCharsets.UTF_16LE;
+      case STRING_UTF16BE:
+        return StandardCharsets.UTF_16BE;
+      case BYTE_ARRAY:
+        return null;
+      default:
+        throw new NotImplementedFeatureException(
+            "Data type cannot be read into variable length column: " + dataType);
+    }
+  }
+
+  private static int getByteCount(ChannelBlock channelBlock) throws FormatException {
+    final var bitCount = channelBlock.getBitCount();
+    if (bitCount % 8 != 0) {
+      throw new FormatException(
+          "Bit count must be a multiple of 8 for string and byte array channels");
+    }
+    return bitCount / 8;
+  }
+
+  private static RawInteger rawInteger(ChannelBlock channelBlock, boolean signed,
+      boolean bigEndian) throws FormatException, NotImplementedFeatureException {
+    final var bitOffset = channelBlock.getBitOffset();
+    final var bitCount = channelBlock.getBitCount();
+    if (bitOffset > 7) {
+      throw new FormatException("Bit offset should be in range 0-7, got " + bitOffset);
+    } else if (bitCount < 1) {
+      throw new FormatException("Bit count of integer should be positive, got " + bitCount);
+    } else if (bitCount > 64) {
+      throw new NotImplementedFeatureException(
+          "Integer with more than 64 bits are not implemented, got " + bitCount);
+    }
+
+    final var byteCount = (bitOffset + bitCount + 7) / 8;
+    if (byteCount > 1 && bitOffset != 0) {
+      throw new NotImplementedFeatureException(
+          "Reading from non-zero bit offset not implemented when value spans over multiple bytes");
+    }
+
+    return new RawInteger(
+        channelBlock.getByteOffset(), byteCount, bigEndian, bitOffset, bitCount, signed);
+  }
+
+  private static ColumnDecoder createInteger(ChannelBlock channelBlock, Converter converter)
+      throws FormatException, NotImplementedFeatureException {
+    final var dataType = channelBlock.getDataType();
+    final var signed = dataType == ChannelDataType.INT_LE || dataType == ChannelDataType.INT_BE;
+    final var bigEndian =
+        dataType == ChannelDataType.UINT_BE || dataType == ChannelDataType.INT_BE;
+    final var raw = rawInteger(channelBlock, signed, bigEndian);
+    final var bitCount = channelBlock.getBitCount();
+    if (converter != null) {
+      return new IntegerToDoubleDecoder(raw, converter);
+    } else if (bitCount < 32 || (signed && bitCount == 32)) {
+      return new IntegerToIntDecoder(raw);
+    } else {
+      return new IntegerToLongDecoder(raw);
+    }
+  }
+
+  private static boolean isTextTable(ChannelConversionType type) {
+    return type == ChannelConversionType.VALUE_TEXT_TABLE
+        || type == ChannelConversionType.VALUE_RANGE_TEXT_TABLE;
+  }
+
+  private static ColumnDecoder createDictionary(ChannelBlock channelBlock, TextTable table)
+      throws FormatException, NotImplementedFeatureException {
+    if (!table.isTextOnly()) {
+      throw new NotImplementedFeatureException(
+          "Text table with numeric entries cannot be read into column");
+    }
+
+    final var dataType = channelBlock.getDataType();
+    final var signed = dataType == ChannelDataType.INT_LE || dataType == ChannelDataType.INT_BE;
+    final var bigEndian =
+        dataType == ChannelDataType.UINT_BE || dataType == ChannelDataType.INT_BE;
+    return new DictionaryDecoder(rawInteger(channelBlock, signed, bigEndian), table);
+  }
+
+  private static ColumnDecoder createFloat(ChannelBlock channelBlock, Converter converter)
+      throws NotImplementedFeatureException {
+    final var bigEndian = channelBlock.getDataType() == ChannelDataType.FLOAT_BE;
+    final var byteOffset = channelBlock.getByteOffset();
+    if (channelBlock.getBitOffset() != 0) {
+      throw new NotImplementedFeatureException(
+          "Floating point numbers with non-zero bit offset are not implemented");
+    }
+
+    switch (channelBlock.getBitCount()) {
+      case 16:
+      case 32:
+        final var floats = new FloatDecoder(byteOffset, channelBlock.getBitCount(), bigEndian);
+        return converter != null ? new FloatToDoubleDecoder(floats, converter) : floats;
+      case 64:
+        return new DoubleDecoder(byteOffset, bigEndian, converter);
+      default:
+        throw new NotImplementedFeatureException(
+            "Only floating point numbers with 16, 32 or 64 bits are implemented, got "
+                + channelBlock.getBitCount() + " bits");
+    }
+  }
+
+  /**
+   * Conversion of raw values to physical values.
+   */
+  private abstract static class Converter {
+
+    static Converter of(ChannelBlock channelBlock, ChannelConversionBlock conversion,
+        ByteInput input, BlockResolver resolver) throws IOException {
+      if (conversion == null) {
+        return null;
+      }
+
+      final var vals = conversion.getVals();
+      switch (conversion.getType()) {
+        case IDENTITY:
+          return null;
+        case LINEAR:
+          return new LinearConverter(
+              Double.longBitsToDouble(vals[0]), Double.longBitsToDouble(vals[1]));
+        case RATIONAL:
+          return new RationalConverter(vals);
+        case INTERPOLATED_VALUE_TABLE:
+        case VALUE_VALUE_TABLE:
+        case VALUE_RANGE_VALUE_TABLE:
+          return new TableConverter(ValueTable.of(conversion, channelBlock));
+        case ALGEBRAIC:
+          return new FormulaConverter(Formula.of(conversion, input, resolver));
+        default:
+          throw new NotImplementedFeatureException(
+              "Channel conversion not implemented: " + conversion.getType());
+      }
+    }
+
+    abstract void convert(double[] values, int position, int count);
+  }
+
+  private static final class LinearConverter extends Converter {
+    private final double p1;
+    private final double p2;
+
+    LinearConverter(double p1, double p2) {
+      this.p1 = p1;
+      this.p2 = p2;
+    }
+
+    @Override
+    void convert(double[] values, int position, int count) {
+      if (LinearConversion.isIdentity(p1, p2)) {
+        return;
+      }
+
+      for (int i = position, end = position + count; i < end; i++) {
+        values[i] = LinearConversion.evaluate(p1, p2, values[i]);
+      }
+    }
+  }
+
+  private static final class RationalConverter extends Converter {
+    private final double p1;
+    private final double p2;
+    private final double p3;
+    private final double p4;
+    private final double p5;
+    private final double p6;
+
+    RationalConverter(long[] vals) {
+      this.p1 = Double.longBitsToDouble(vals[0]);
+      this.p2 = Double.longBitsToDouble(vals[1]);
+      this.p3 = Double.longBitsToDouble(vals[2]);
+      this.p4 = Double.longBitsToDouble(vals[3]);
+      this.p5 = Double.longBitsToDouble(vals[4]);
+      this.p6 = Double.longBitsToDouble(vals[5]);
+    }
+
+    @Override
+    void convert(double[] values, int position, int count) {
+      for (int i = position, end = position + count; i < end; i++) {
+        values[i] = RationalConversion.evaluate(p1, p2, p3, p4, p5, p6, values[i]);
+      }
+    }
+  }
+
+  private static final class TableConverter extends Converter {
+    private final ValueTable table;
+
+    TableConverter(ValueTable table) {
+      this.table = table;
+    }
+
+    @Override
+    void convert(double[] values, int position, int count) {
+      table.convert(values, position, count);
+    }
+  }
+
+  private static final class FormulaConverter extends Converter {
+    private final Formula.Evaluator evaluator;
+
+    FormulaConverter(Formula formula) {
+      this.evaluator = formula.newEvaluator();
+    }
+
+    @Override
+    void convert(double[] values, int position, int count) {
+      evaluator.evaluate(values, position, count);
+    }
+  }
+
+  /**
+   * Integer with arbitrary bit offset and bit count up to 64 bits.
+   */
+  private static final class RawInteger {
+    private final int byteOffset;
+    private final int byteCount;
+    private final boolean bigEndian;
+    private final int leftShift;
+    private final int rightShift;
+    private final boolean signed;
+    private final boolean unsigned64;
+    private final boolean extended;
+
+    RawInteger(int byteOffset, int byteCount, boolean bigEndian, int bitOffset, int bitCount,
+        boolean signed) {
+      this.byteOffset = byteOffset;
+      this.byteCount = byteCount;
+      this.bigEndian = bigEndian;
+      this.leftShift = 64 - bitOffset - bitCount;
+      this.rightShift = 64 - bitCount;
+      this.signed = signed;
+      this.unsigned64 = !signed && bitCount == 64;
+      // loaded values are already sign-extended
+      this.extended = leftShift == 0 && rightShift == 0
+          || signed && bitOffset == 0 && bitCount == byteCount * 8
+          && ColumnKernels.isLoadable(byteCount);
+    }
+
+    /**
+     * Load and extend values into {@code dst}.
+     */
+    void load(ByteBuffer records, int offset, int stride, int count, long[] dst, int position) {
+      final var pos = offset + byteOffset;
+      if (ColumnKernels.isLoadable(byteCount)) {
+        ColumnKernels.loadLongs(records, pos, stride, byteCount, bigEndian, dst, position, count);
+      } else {
+        loadBytes(records, pos, stride, dst, position, position + count);
+      }
+
+      if (!extended) {
+        ColumnKernels.extend(dst, position, count, leftShift, rightShift, signed);
+      }
+    }
+
+    /**
+     * Whether values can be loaded directly into an {@code int[]}.
+     */
+    boolean fitsInt() {
+      return byteCount <= 4 && ColumnKernels.isLoadable(byteCount);
+    }
+
+    /**
+     * Load and extend values into {@code dst}.
+     *
+     * @see #fitsInt()
+     */
+    void load(ByteBuffer records, int offset, int stride, int count, int[] dst, int position) {
+      ColumnKernels.loadInts(
+          records, offset + byteOffset, stride, byteCount, bigEndian, dst, position, count);
+      if (!extended) {
+        ColumnKernels.extend(dst, position, count, leftShift - 32, rightShift - 32, signed);
+      }
+    }
+
+    private void loadBytes(
+        ByteBuffer records, int pos, int stride, long[] dst, int position, int end) {
+      for (int i = position; i < end; i++, pos += stride) {
+        long value = 0;
+        if (bigEndian) {
+          for (int j = 0; j < byteCount; j++) {
+            value = (value << 8) | (records.get(pos + j) & 0xFF);
+          }
+        } else {
+          for (int j = byteCount - 1; j >= 0; j--) {
+            value = (value << 8) | (records.get(pos + j) & 0xFF);
+          }
+        }
+        dst[i] = value;
+      }
+    }
+
+    void toDouble(long[] src, int count, double[] dst, int position) {
+      if (unsigned64) {
+        for (int i = 0; i < count; i++) {
+          dst[position + i] = UnsignedLong.toDoubleValue(src[i]);
+        }
+      } else {
+        for (int i = 0; i < count; i++) {
+          dst[position + i] = src[i];
+        }
+      }
+    }
+  }
+
+  private static final class IntegerToLongDecoder extends ColumnDecoder {
+    private final RawInteger raw;
+
+    IntegerToLongDecoder(RawInteger raw) {
+      this.raw = raw;
+    }
+
+    @Override
+    ColumnType getType() {
+      return ColumnType.LONG;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) {
+      raw.load(records, offset, stride, count, batch.getLongs(column), position);
+    }
+  }
+
+  private static final class IntegerToIntDecoder extends ColumnDecoder {
+    private final RawInteger raw;
+    private long[] scratch = new long[0];
+
+    IntegerToIntDecoder(RawInteger raw) {
+      this.raw = raw;
+    }
+
+    @Override
+    ColumnType getType() {
+      return ColumnType.INT;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) {
+      final var dst = batch.getInts(column);
+      if (raw.fitsInt()) {
+        raw.load(records, offset, stride, count, dst, position);
+        return;
+      }
+
+      if (scratch.length < count) {
+        scratch = new long[count];
+      }
+      raw.load(records, offset, stride, count, scratch, 0);
+      for (int i = 0; i < count; i++) {
+        dst[position + i] = (int) scratch[i];
+      }
+    }
+  }
+
+  private static final class DictionaryDecoder extends ColumnDecoder {
+    private final RawInteger raw;
+    private final TextTable table;
+    private long[] scratch = new long[0];
+
+    DictionaryDecoder(RawInteger raw, TextTable table) {
+      this.raw = raw;
+      this.table = table;
+    }
+
+    @Override
+    ColumnType getType() {
+      return ColumnType.DICTIONARY;
+    }
+
+    @Override
+    StringDictionary getDictionary() {
+      return table.getDictionary();
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) {
+      if (scratch.length < count) {
+        scratch = new long[count];
+      }
+      raw.load(records, offset, stride, count, scratch, 0);
+
+      final var dst = batch.getCodes(column);
+      if (raw.unsigned64) {
+        for (int i = 0; i < count; i++) {
+          dst[position + i] = table.encodeUnsigned(scratch[i]);
+        }
+      } else {
+        for (int i = 0; i < count; i++) {
+          dst[position + i] = table.encode(scratch[i]);
+        }
+      }
+    }
+  }
+
+  private static final class IntegerToDoubleDecoder extends ColumnDecoder {
+    private final RawInteger raw;
+    private final Converter converter;
+    private long[] scratch = new long[0];
+
+    IntegerToDoubleDecoder(RawInteger raw, Converter converter) {
+      this.raw = raw;
+      this.converter = converter;
+    }
+
+    @Override
+    ColumnType getType() {
+      return ColumnType.DOUBLE;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) {
+      if (scratch.length < count) {
+        scratch = new long[count];
+      }
+      raw.load(records, offset, stride, count, scratch, 0);
+
+      final var dst = batch.getDoubles(column);
+      raw.toDouble(scratch, count, dst, position);
+      converter.convert(dst, position, count);
+    }
+  }
+
+  private static final class FloatDecoder extends ColumnDecoder {
+    private final int byteOffset;
+    private final int bitCount;
+    private final boolean bigEndian;
+
+    FloatDecoder(int byteOffset, int bitCount, boolean bigEndian) {
+      this.byteOffset = byteOffset;
+      this.bitCount = bitCount;
+      this.bigEndian = bigEndian;
+    }
+
+    @Override
+    ColumnType getType() {
+      return ColumnType.FLOAT;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) {
+      load(records, offset, stride, count, batch.getFloats(column), position);
+    }
+
+    void load(ByteBuffer records, int offset, int stride, int count, float[] dst, int position) {
+      ColumnKernels.loadFloats(
+          records, offset + byteOffset, stride, bitCount, bigEndian, dst, position, count);
+    }
+  }
+
+  private static final class FloatToDoubleDecoder extends ColumnDecoder {
+    private final FloatDecoder floats;
+    private final Converter converter;
+    private float[] scratch = new float[0];
+
+    FloatToDoubleDecoder(FloatDecoder floats, Converter converter) {
+      this.floats = floats;
+      this.converter = converter;
+    }
+
+    @Override
+    ColumnType getType() {
+      return ColumnType.DOUBLE;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) {
+      if (scratch.length < count) {
+        scratch = new float[count];
+      }
+      floats.load(records, offset, stride, count, scratch, 0);
+
+      final var dst = batch.getDoubles(column);
+      for (int i = 0; i < count; i++) {
+        dst[position + i] = scratch[i];
+      }
+      converter.convert(dst, position, count);
+    }
+  }
+
+  private static final class DoubleDecoder extends ColumnDecoder {
+    private final int byteOffset;
+    private final boolean bigEndian;
+    private final Converter converter;
+
+    DoubleDecoder(int byteOffset, boolean bigEndian, Converter converter) {
+      this.byteOffset = byteOffset;
+      this.bigEndian = bigEndian;
+      this.converter = converter;
+    }
+
+    @Override
+    ColumnType getType() {
+      return ColumnType.DOUBLE;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) {
+      final var dst = batch.getDoubles(column);
+      ColumnKernels.loadDoubles(
+          records, offset + byteOffset, stride, bigEndian, dst, position, count);
+
+      if (converter != null) {
+        converter.convert(dst, position, count);
+      }
+    }
+  }
+
+  /**
+   * Length of zero terminated string.
+   *
+   * @return Length in bytes without termination or {@code -1}, when termination is missing
+   */
+  private static int terminatedLength(byte[] data, int start, int length, Charset charset) {
+    if (charset == StandardCharsets.UTF_16LE || charset == StandardCharsets.UTF_16BE) {
+      for (int i = 0; i + 1 < length; i += 2) {
+        if (data[start + i] == 0 && data[start + i + 1] == 0) {
+          return i;
+        }
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        if (data[start + i] == 0) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Remove zero termination and following bytes from last string value.
+   */
+  private static void trimLast(VariableLengthColumn values, boolean required)
+      throws FormatException {
+    final var last = values.size() - 1;
+    final var length = terminatedLength(
+        values.getData(), values.getOffsets()[last], values.getLength(last), values.getCharset());
+    if (length >= 0) {
+      values.truncateLast(length);
+    } else if (required) {
+      throw new FormatException("Missing zero termination of string value");
+    }
+  }
+
+  private abstract static class VariableLengthDecoder extends ColumnDecoder {
+    protected final Charset charset;
+
+    VariableLengthDecoder(Charset charset) {
+      this.charset = charset;
+    }
+
+    @Override
+    ColumnType getType() {
+      return charset != null ? ColumnType.STRING : ColumnType.BYTES;
+    }
+
+    @Override
+    void reset(ColumnBatch batch, int column) {
+      batch.getVariableLength(column).clear(charset);
+    }
+  }
+
+  private static final class FixedLengthDecoder extends VariableLengthDecoder {
+    private final int byteOffset;
+    private final int byteCount;
+
+    FixedLengthDecoder(int byteOffset, int byteCount, Charset charset) {
+      super(charset);
+      this.byteOffset = byteOffset;
+      this.byteCount = byteCount;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) throws IOException {
+      final var values = batch.getVariableLength(column);
+      int pos = offset + byteOffset;
+      for (int i = 0; i < count; i++, pos += stride) {
+        values.append(records, pos, byteCount);
+        if (charset != null) {
+          trimLast(values, true);
+        }
+      }
+    }
+  }
+
+  private static final class MaxLengthDecoder extends VariableLengthDecoder {
+    private final int byteOffset;
+    private final int byteCount;
+    private final RawInteger sizes;
+    private long[] scratch = new long[0];
+
+    MaxLengthDecoder(int byteOffset, int byteCount, RawInteger sizes, Charset charset) {
+      super(charset);
+      this.byteOffset = byteOffset;
+      this.byteCount = byteCount;
+      this.sizes = sizes;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) throws IOException {
+      if (scratch.length < count) {
+        scratch = new long[count];
+      }
+      sizes.load(records, offset, stride, count, scratch, 0);
+
+      final var values = batch.getVariableLength(column);
+      int pos = offset + byteOffset;
+      for (int i = 0; i < count; i++, pos += stride) {
+        final var size = scratch[i];
+        if (size < 0 || size > byteCount) {
+          throw new FormatException(
+              "Size value bigger than maximum allowed size: " + size + " > " + byteCount);
+        }
+        values.append(records, pos, (int) size);
+        if (charset != null) {
+          trimLast(values, false);
+        }
+      }
+    }
+  }
+
+  private static final class VlsdDecoder extends VariableLengthDecoder {
+    private final RawInteger offsets;
+    private final SeekableDataListRead<SignalDataBlock> signalData;
+    private final ByteBuffer sizeBuffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+    private long[] scratch = new long[0];
+
+    VlsdDecoder(RawInteger offsets, SeekableDataListRead<SignalDataBlock> signalData,
+        Charset charset) {
+      super(charset);
+      this.offsets = offsets;
+      this.signalData = signalData;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) throws IOException {
+      if (scratch.length < count) {
+        scratch = new long[count];
+      }
+      offsets.load(records, offset, stride, count, scratch, 0);
+
+      final var values = batch.getVariableLength(column);
+      for (int i = 0; i < count; i++) {
+        signalData.position(scratch[i]);
+        sizeBuffer.clear();
+        signalData.readFully(sizeBuffer);
+        final var size = sizeBuffer.getInt(0);
+        if (size < 0 || size > MAX_ARRAY_LENGTH) {
+          throw new NotImplementedFeatureException("Unable to read data with size " + size);
+        }
+
+        values.append(signalData, size);
+        if (charset != null) {
+          trimLast(values, false);
+        }
+      }
+    }
+  }
+
+  private static final class RecordIndexDecoder extends ColumnDecoder {
+    private final Converter converter;
+
+    RecordIndexDecoder(Converter converter) {
+      this.converter = converter;
+    }
+
+    @Override
+    ColumnType getType() {
+      return converter != null ? ColumnType.DOUBLE : ColumnType.LONG;
+    }
+
+    @Override
+    void decode(ByteBuffer records, int offset, int stride, int count, long recordIndex,
+        ColumnBatch batch, int column, int position) {
+      if (converter != null) {
+        final var dst = batch.getDoubles(column);
+        RecordIndexRead.fill(dst, position, count, recordIndex);
+        converter.convert(dst, position, count);
+      } else {
+        RecordIndexRead.fill(batch.getLongs(column), position, count, recordIndex);
+      }
+    }
+  }
+}
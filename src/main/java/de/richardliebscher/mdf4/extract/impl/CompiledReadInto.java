@@ -0,0 +1,278 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.extract.de.DoubleSink;
+import de.richardliebscher.mdf4.extract.de.Half;
+import de.richardliebscher.mdf4.extract.de.IntSink;
+import de.richardliebscher.mdf4.extract.de.LongSink;
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import de.richardliebscher.mdf4.extract.impl.TypedReadInto.Field;
+import de.richardliebscher.mdf4.extract.impl.TypedReadInto.SinkKind;
+import de.richardliebscher.mdf4.extract.read.LinearConversion;
+import de.richardliebscher.mdf4.extract.read.RationalConversion;
+import de.richardliebscher.mdf4.extract.read.ReadInto;
+import de.richardliebscher.mdf4.extract.read.ReadIntoFactory;
+import de.richardliebscher.mdf4.extract.read.RecordBuffer;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Read consecutive numeric channels of a record in a single loop.
+ *
+ * <p>The layout of all channels is compiled into flat arrays of load instructions, byte offsets,
+ * conversion parameters and invalidation bits. Per record, these are executed in one loop
+ * without a reader or conversion object per channel, so wide channel groups do not suffer from
+ * megamorphic calls. Only sinks are called through their interfaces.
+ *
+ * @param <B> Structure type
+ */
+final class CompiledReadInto<B> implements ReadInto<B> {
+
+  private static final int U8 = 0;
+  private static final int I8 = 1;
+  private static final int U16_LE = 2;
+  private static final int U16_BE = 3;
+  private static final int I16_LE = 4;
+  private static final int I16_BE = 5;
+  private static final int U32_LE = 6;
+  private static final int U32_BE = 7;
+  private static final int I32_LE = 8;
+  private static final int I32_BE = 9;
+  private static final int U64_LE = 10;
+  private static final int U64_BE = 11;
+  private static final int I64_LE = 12;
+  private static final int I64_BE = 13;
+  private static final int F16_LE = 14;
+  private static final int F16_BE = 15;
+  private static final int F32_LE = 16;
+  private static final int F32_BE = 17;
+  private static final int F64_LE = 18;
+  private static final int F64_BE = 19;
+
+  private static final int IDENTITY = 0;
+  private static final int LINEAR = 1;
+  private static final int RATIONAL = 2;
+
+  private static final int PARAMS = 6;
+
+  private final SinkKind[] kinds;
+  private final int[] loads;
+  private final int[] offsets;
+  private final int[] conversions;
+  private final double[] params;
+  private final int[] invalidationBytes;
+  private final int[] invalidationMasks;
+  private final Object[] sinks;
+
+  private CompiledReadInto(Field<B>[] fields) {
+    final var count = fields.length;
+    this.kinds = new SinkKind[count];
+    this.loads = new int[count];
+    this.offsets = new int[count];
+    this.conversions = new int[count];
+    this.params = new double[count * PARAMS];
+    this.invalidationBytes = new int[count];
+    this.invalidationMasks = new int[count];
+    this.sinks = new Object[count];
+    for (int i = 0; i < count; i++) {
+      final var field = fields[i];
+      kinds[i] = field.getKind();
+      loads[i] = getLoad(field.getDataType(), field.getBitCount());
+      offsets[i] = field.getByteOffset();
+      switch (field.getConversionType()) {
+        case IDENTITY:
+          conversions[i] = IDENTITY;
+          break;
+        case LINEAR:
+          conversions[i] = LINEAR;
+          break;
+        case RATIONAL:
+          conversions[i] = RATIONAL;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown conversion: " + field.getConversionType());
+      }
+      System.arraycopy(field.getParams(), 0, params, i * PARAMS, field.getParams().length);
+      invalidationBytes[i] = field.getInvalidationByte();
+      invalidationMasks[i] = field.getInvalidationMask();
+      sinks[i] = field.getSink();
+    }
+  }
+
+  /**
+   * Compile reader for consecutive channels.
+   *
+   * @param fields Channels in order of deserialization
+   * @param <B>    Structure type
+   * @return Factory
+   */
+  @SuppressWarnings("unchecked")
+  static <B> ReadIntoFactory<B> compile(List<Field<B>> fields) {
+    final Field<B>[] array = fields.toArray(new Field[0]);
+    return (input, scope) -> new CompiledReadInto<>(array);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void readInto(RecordBuffer input, B destination) throws IOException {
+    for (int i = 0; i < loads.length; i++) {
+      final var invalidationMask = invalidationMasks[i];
+      final var invalid = invalidationMask != 0
+          && (input.readU8(invalidationBytes[i]) & invalidationMask) != 0;
+      switch (kinds[i]) {
+        case DOUBLE: {
+          final var sink = (DoubleSink<B>) sinks[i];
+          if (invalid) {
+            sink.acceptInvalid(destination);
+          } else {
+            sink.accept(destination, convert(i, loadDouble(input, loads[i], offsets[i])));
+          }
+          break;
+        }
+        case LONG: {
+          final var sink = (LongSink<B>) sinks[i];
+          if (invalid) {
+            sink.acceptInvalid(destination);
+          } else {
+            sink.accept(destination, loadLong(input, loads[i], offsets[i]));
+          }
+          break;
+        }
+        case INT: {
+          final var sink = (IntSink<B>) sinks[i];
+          if (invalid) {
+            sink.acceptInvalid(destination);
+          } else {
+            sink.accept(destination, (int) loadLong(input, loads[i], offsets[i]));
+          }
+          break;
+        }
+        default:
+          throw new IllegalStateException("Unknown sink kind: " + kinds[i]);
+      }
+    }
+  }
+
+  @Override
+  public ReadInto<B> dup() {
+    return this;
+  }
+
+  private double convert(int index, double value) {
+    final var base = index * PARAMS;
+    switch (conversions[index]) {
+      case LINEAR:
+        return LinearConversion.evaluate(params[base], params[base + 1], value);
+      case RATIONAL:
+        return RationalConversion.evaluate(params[base], params[base + 1], params[base + 2],
+            params[base + 3], params[base + 4], params[base + 5], value);
+      default:
+        return value;
+    }
+  }
+
+  private static long loadLong(RecordBuffer input, int load, int offset) {
+    switch (load) {
+      case U8:
+        return input.readU8(offset) & 0xFFL;
+      case I8:
+        return input.readU8(offset);
+      case U16_LE:
+        return input.readI16Le(offset) & 0xFFFFL;
+      case U16_BE:
+        return input.readI16Be(offset) & 0xFFFFL;
+      case I16_LE:
+        return input.readI16Le(offset);
+      case I16_BE:
+        return input.readI16Be(offset);
+      case U32_LE:
+        return input.readI32Le(offset) & 0xFFFFFFFFL;
+      case U32_BE:
+        return input.readI32Be(offset) & 0xFFFFFFFFL;
+      case I32_LE:
+        return input.readI32Le(offset);
+      case I32_BE:
+        return input.readI32Be(offset);
+      case U64_LE:
+      case I64_LE:
+        return input.readI64Le(offset);
+      case U64_BE:
+      case I64_BE:
+        return input.readI64Be(offset);
+      default:
+        throw new IllegalStateException("Not an integer load: " + load);
+    }
+  }
+
+  private static double loadDouble(RecordBuffer input, int load, int offset) {
+    switch (load) {
+      case U64_LE:
+        return UnsignedLong.toDoubleValue(input.readI64Le(offset));
+      case U64_BE:
+        return UnsignedLong.toDoubleValue(input.readI64Be(offset));
+      case F16_LE:
+        return Half.toDouble(input.readI16Le(offset));
+      case F16_BE:
+        return Half.toDouble(input.readI16Be(offset));
+      case F32_LE:
+        return input.readF32Le(offset);
+      case F32_BE:
+        return input.readF32Be(offset);
+      case F64_LE:
+        return input.readF64Le(offset);
+      case F64_BE:
+        return input.readF64Be(offset);
+      default:
+        return loadLong(input, load, offset);
+    }
+  }
+
+  private static int getLoad(ChannelDataType dataType, int bitCount) {
+    switch (dataType) {
+      case UINT_LE:
+        return selectLoad(bitCount, U8, U16_LE, U32_LE, U64_LE);
+      case UINT_BE:
+        return selectLoad(bitCount, U8, U16_BE, U32_BE, U64_BE);
+      case INT_LE:
+        return selectLoad(bitCount, I8, I16_LE, I32_LE, I64_LE);
+      case INT_BE:
+        return selectLoad(bitCount, I8, I16_BE, I32_BE, I64_BE);
+      case FLOAT_LE:
+        return selectLoad(bitCount, -1, F16_LE, F32_LE, F64_LE);
+      case FLOAT_BE:
+        return selectLoad(bitCount, -1, F16_BE, F32_BE, F64_BE);
+      default:
+        throw new IllegalArgumentException("Not a numeric data type: " + dataType);
+    }
+  }
+
+  private static int selectLoad(int bitCount, int load8, int load16, int load32, int load64) {
+    final int load;
+    switch (bitCount) {
+      case 8:
+        load = load8;
+        break;
+      case 16:
+        load = load16;
+        break;
+      case 32:
+        load = load32;
+        break;
+      case 64:
+        load = load64;
+        break;
+      default:
+        load = -1;
+        break;
+    }
+    if (load < 0) {
+      throw new IllegalArgumentException("Unsupported bit count: " + bitCount);
+    }
+    return load;
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import de.richardliebscher.mdf4.Channel;
+import de.richardliebscher.mdf4.ChannelGroup;
+import de.richardliebscher.mdf4.DataGroup;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.extract.ColumnBatch;
+import de.richardliebscher.mdf4.extract.ColumnBatchReader;
+import de.richardliebscher.mdf4.extract.ColumnType;
+import de.richardliebscher.mdf4.extract.de.StringDictionary;
+import de.richardliebscher.mdf4.extract.read.DataRead;
+import de.richardliebscher.mdf4.extract.read.RecordWindow;
+import de.richardliebscher.mdf4.extract.read.Scope;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read records column by column into batches.
+ *
+ * <p>Channels can be read from many channel groups with the same records, e.g. channel groups of
+ * a column-oriented data group, which share a remote master. Every channel group is read from its
+ * own data source, so only data blocks of selected channels are read.
+ *
+ * @see de.richardliebscher.mdf4.Mdf4File#newColumnBatchReader
+ * @see de.richardliebscher.mdf4.Mdf4File#newColumnStorageReader
+ */
+public class DefaultColumnBatchReader implements ColumnBatchReader {
+
+  private final List<Channel> channels;
+  private final List<ColumnType> columnTypes;
+  private final ColumnDecoder[] decoders;
+  private final Lane[] lanes;
+  private final Scope scope;
+  private final DataGroup dataGroup;
+  private final ChannelGroup channelGroup;
+  private long cycle = 0;
+
+  DefaultColumnBatchReader(
+      List<Channel> channels, List<ColumnDecoder> decoders, ValidityDecoder validityDecoder,
+      DataRead<DataBlock> dataSource, DataGroup dataGroup, ChannelGroup channelGroup,
+      int recordsPerBuffer, Scope scope) {
+    this(channels, List.of(new Lane(decoders, 0, validityDecoder, dataSource,
+        channelGroup.getBlock(), recordsPerBuffer)), dataGroup, channelGroup, scope);
+  }
+
+  DefaultColumnBatchReader(List<Channel> channels, List<Lane> lanes, DataGroup dataGroup,
+      ChannelGroup channelGroup, Scope scope) {
+    this.channels = Collections.unmodifiableList(channels);
+    this.lanes = lanes.toArray(new Lane[0]);
+    final var decoders = new ArrayList<ColumnDecoder>(channels.size());
+    for (final var lane : lanes) {
+      decoders.addAll(Arrays.asList(lane.decoders));
+    }
+    this.decoders = decoders.toArray(new ColumnDecoder[0]);
+    final var columnTypes = new ArrayList<ColumnType>(decoders.size());
+    for (final var decoder : decoders) {
+      columnTypes.add(decoder.getType());
+    }
+    this.columnTypes = Collections.unmodifiableList(columnTypes);
+    this.scope = scope;
+    this.dataGroup = dataGroup;
+    this.channelGroup = channelGroup;
+  }
+
+  @Override
+  public DataGroup getDataGroup() {
+    return dataGroup;
+  }
+
+  @Override
+  public ChannelGroup getChannelGroup() {
+    return channelGroup;
+  }
+
+  @Override
+  public List<Channel> getChannels() {
+    return channels;
+  }
+
+  @Override
+  public List<ColumnType> getColumnTypes() {
+    return columnTypes;
+  }
+
+  @Override
+  public StringDictionary getDictionary(int column) {
+    return decoders[column].getDictionary();
+  }
+
+  @Override
+  public long size() {
+    return channelGroup.getBlock().getCycleCount();
+  }
+
+  @Override
+  public long remaining() {
+    return size() - cycle;
+  }
+
+  @Override
+  public int next(ColumnBatch batch) throws IOException {
+    checkBatch(batch);
+    for (final var lane : lanes) {
+      lane.reset(batch);
+    }
+
+    final var count = (int) Math.min(batch.capacity(), size() - cycle);
+    if (count > 0) {
+      for (final var lane : lanes) {
+        lane.read(batch, count, cycle, size());
+      }
+      cycle += count;
+    }
+
+    batch.setSize(count);
+    return count;
+  }
+
+  private void checkBatch(ColumnBatch batch) {
+    if (batch.columns() != decoders.length) {
+      throw new IllegalArgumentException("Batch has " + batch.columns()
+          + " columns, but reader has " + decoders.length + " channels");
+    }
+    for (int i = 0; i < decoders.length; i++) {
+      if (batch.getType(i) != decoders[i].getType()) {
+        throw new IllegalArgumentException("Column " + i + " of batch has type "
+            + batch.getType(i) + ", but channel has type " + decoders[i].getType());
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    scope.close();
+  }
+
+  /**
+   * Channels of one channel group, which are decoded into consecutive columns.
+   */
+  static final class Lane {
+    private final ColumnDecoder[] decoders;
+    private final int firstColumn;
+    private final ValidityDecoder validityDecoder;
+    private final DataRead<DataBlock> dataSource;
+    private final RecordWindow window;
+    private final int recordSize;
+
+    Lane(List<ColumnDecoder> decoders, int firstColumn, ValidityDecoder validityDecoder,
+        DataRead<DataBlock> dataSource, ChannelGroupBlock group, int recordsPerBuffer) {
+      this.decoders = decoders.toArray(new ColumnDecoder[0]);
+      this.firstColumn = firstColumn;
+      this.validityDecoder = validityDecoder;
+      this.dataSource = dataSource;
+      this.recordSize = group.getDataBytes() + group.getInvalidationBytes();
+      this.window = new RecordWindow(
+          recordSize,
+          (int) Math.max(1, Math.min(recordsPerBuffer, group.getCycleCount())),
+          0);
+    }
+
+    void reset(ColumnBatch batch) {
+      for (int i = 0; i < decoders.length; i++) {
+        decoders[i].reset(batch, firstColumn + i);
+      }
+      validityDecoder.reset(batch);
+    }
+
+    void read(ColumnBatch batch, int count, long cycle, long size) throws IOException {
+      int filled = 0;
+      while (filled < count) {
+        if (window.available() == 0) {
+          final var records = (int) Math.min(window.capacity(), size - cycle - filled);
+          try {
+            window.fill(dataSource, records);
+          } catch (EOFException exception) {
+            throw new FormatException(
+                "Early end of data at cycle " + (cycle + filled + 1) + " of " + size);
+          }
+        }
+
+        final var chunk = Math.min(window.available(), count - filled);
+        final var memory = window.memory();
+        final var offset = window.position();
+        for (int i = 0; i < decoders.length; i++) {
+          decoders[i].decode(memory, offset, recordSize, chunk, cycle + filled, batch,
+              firstColumn + i, filled);
+        }
+        validityDecoder.decode(memory, offset, recordSize, chunk, batch, filled);
+
+        window.skip(chunk);
+        filled += chunk;
+      }
+    }
+  }
+}
@@ -11,22 +11,23 @@ import de.richardliebscher.mdf4.Result.Err;
 import de.richardliebscher.mdf4.Result.Ok;
 import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
 import de.richardliebscher.mdf4.blocks.DataBlock;
-import de.richardliebscher.mdf4.blocks.DataStorage;
 import de.richardliebscher.mdf4.exceptions.FormatException;
-import de.richardliebscher.mdf4.exceptions.NotImplementedFeatureException;
 import de.richardliebscher.mdf4.extract.DetachedRecordReader;
 import de.richardliebscher.mdf4.extract.ParallelRecordReader;
 import de.richardliebscher.mdf4.extract.RecordReader;
 import de.richardliebscher.mdf4.extract.SerializableRecordFactory;
+import de.richardliebscher.mdf4.extract.read.BlockOpener;
+import de.richardliebscher.mdf4.extract.read.BlockResolver;
+import de.richardliebscher.mdf4.extract.read.ByteColumns;
 import de.richardliebscher.mdf4.extract.read.ReadInto;
 import de.richardliebscher.mdf4.extract.read.ReadIntoFactory;
 import de.richardliebscher.mdf4.extract.read.RecordBuffer;
-import de.richardliebscher.mdf4.extract.read.RecordByteBuffer;
+import de.richardliebscher.mdf4.extract.read.RecordWindow;
 import de.richardliebscher.mdf4.extract.read.Scope;
 import de.richardliebscher.mdf4.internal.FileContext;
+import de.richardliebscher.mdf4.io.ByteBufferChannel;
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -50,15 +51,18 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
   private final long[] dataList;
   private final long[] offsets;
   private final ChannelGroupBlock channelGroup;
+  private final ByteColumns columns;
 
   @Override
   public Stream<Result<R, IOException>> stream() throws IOException {
     final var scope = ctx.newScope();
-    final var input = ctx.getInput();
+    final var input = ctx.newReaderInput(scope);
+    final var recordSize = channelGroup.getDataBytes() + channelGroup.getInvalidationBytes();
 
     return StreamSupport.stream(new RecordSpliterator<>(
             ReadIntoFactory.buildAll(channelReaderFactories, input, scope), factory,
-            input, channelGroup.getDataBytes() + channelGroup.getInvalidationBytes(),
+            input, scope.getResolver(), columns, recordSize,
+            ctx.getOptions().getRecordsPerBuffer(recordSize),
             dataList, offsets, channelGroup.getCycleCount()), false)
         .onClose(scope::closeUnchecked);
   }
@@ -67,14 +71,18 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
   private static final class RecordSpliterator<B, R> implements
       Spliterator<Result<R, IOException>> {
 
-    private final ByteInput input;
+    private ByteInput input;
+    private final BlockResolver resolver;
+    private BlockOpener opener;
+    private final ByteColumns columns;
     private final List<ReadInto<B>> channelReaders;
     private final SerializableRecordFactory<B, R> recordFactory;
     private final long[] dataList;
     private final long[] offsets;
     private final int recordSize;
+    private final int recordsPerBuffer;
     private final long estimatedCyclesPerBlock;
-    private RecordBuffer recordInput;
+    private RecordWindow window;
 
     private int index;
     private final int end;
@@ -85,18 +93,23 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
 
     public RecordSpliterator(List<ReadInto<B>> channelReaders,
         SerializableRecordFactory<B, R> recordFactory,
-        ByteInput input, int recordSize, long[] dataList, long[] offsets, long cycles) {
+        ByteInput input, BlockResolver resolver, ByteColumns columns, int recordSize,
+        int recordsPerBuffer,
+        long[] dataList, long[] offsets, long cycles) {
       this.channelReaders = channelReaders;
       this.recordFactory = recordFactory;
       this.recordSize = recordSize;
+      this.recordsPerBuffer = recordsPerBuffer;
       this.dataList = dataList;
       this.offsets = offsets;
       this.estimatedCyclesPerBlock =
           Math.max(1, (int) Math.ceil(cycles / (dataList.length - 0.49)));
 
-      this.recordInput = new RecordByteBuffer(
-          ByteBuffer.allocate(recordSize), offsets[0] / recordSize);
+      this.window = new RecordWindow(recordSize, recordsPerBuffer, offsets[0] / recordSize);
       this.input = input;
+      this.resolver = resolver;
+      this.opener = new BlockOpener(resolver, columns);
+      this.columns = columns;
       this.index = 0;
       this.end = dataList.length;
       this.readCycles = 0;
@@ -111,21 +124,29 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
       }
       this.channelReaders = channelReaders;
       this.recordFactory = origin.recordFactory;
+      this.resolver = origin.resolver;
+      this.columns = origin.columns;
       this.dataList = origin.dataList;
       this.offsets = origin.offsets;
       this.recordSize = origin.recordSize;
+      this.recordsPerBuffer = origin.recordsPerBuffer;
       this.estimatedCyclesPerBlock = origin.estimatedCyclesPerBlock;
 
-      this.input = origin.input.dup();
+      // current block channel belongs to input of origin, so take both
+      this.input = origin.input;
       this.index = origin.index;
       this.end = splitPos;
       this.currentBlock = origin.currentBlock;
-      this.recordInput = origin.recordInput;
+      this.remainingDataLength = origin.remainingDataLength;
+      this.window = origin.window;
+      this.opener = origin.opener;
+      origin.input = origin.input.dup();
       origin.index = splitPos;
       origin.remainingDataLength = 0;
       origin.currentBlock = null;
-      origin.recordInput = new RecordByteBuffer(
-          ByteBuffer.allocate(recordSize), offsets[origin.index] / recordSize);
+      origin.opener = new BlockOpener(resolver, columns);
+      origin.window = new RecordWindow(
+          recordSize, recordsPerBuffer, offsets[origin.index] / recordSize);
 
       this.readCycles = origin.readCycles;
       origin.readCycles = 0;
@@ -139,37 +160,55 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
         return false;
       }
 
-      if (currentBlock == null || remainingDataLength == 0) {
+      if (window.available() == 0 && !fillWindow()) {
+        return false;
+      }
+
+      final var recordInput = window.next();
+      final var recordBuilder = recordFactory.createRecordBuilder();
+      for (var channelReader : channelReaders) {
+        channelReader.readInto(recordInput, recordBuilder);
+      }
+      recordInput.incRecordIndex();
+      action.accept(new Ok<>(recordFactory.finishRecord(recordBuilder)));
+
+      readCycles += 1;
+      return true;
+    }
+
+    private boolean fillWindow() throws IOException {
+      while (currentBlock == null || remainingDataLength == 0) {
         if (currentBlock != null) {
           index += 1;
           readCycles = 0;
+          currentBlock = null;
         }
         if (index == end) {
           return false;
         }
 
-        final var dataBlock = Link.<DataStorage<DataBlock>>of(dataList[index])
-            .resolveNonCached(DataBlock.STORAGE_TYPE, input)
+        final var dataBlock = resolver
+            .resolve(Link.of(dataList[index]), DataBlock.STORAGE_TYPE, input)
             .orElseThrow(() -> new FormatException("Data link in DL block should not be NIL"));
-        currentBlock = dataBlock.getChannel(input);
+        final var payload = opener.payload(dataBlock, input);
+        currentBlock = payload.isPresent()
+            ? new ByteBufferChannel(payload.get().duplicate())
+            : dataBlock.getChannel(input);
         remainingDataLength = dataBlock.getChannelLength();
 
         if (remainingDataLength % recordSize != 0) {
           throw new FormatException("Data block size is not a multiple of the record size");
         }
-      }
-
-      recordInput.writeFully(currentBlock);
-      remainingDataLength -= recordSize;
 
-      final var recordBuilder = recordFactory.createRecordBuilder();
-      for (var channelReader : channelReaders) {
-        channelReader.readInto(recordInput, recordBuilder);
+        if (payload.isPresent() && window.wrap(payload.get())) {
+          remainingDataLength = 0;
+          return true;
+        }
       }
-      recordInput.incRecordIndex();
-      action.accept(new Ok<>(recordFactory.finishRecord(recordBuilder)));
 
-      readCycles += 1;
+      final var records = (int) Math.min(window.capacity(), remainingDataLength / recordSize);
+      window.fill(currentBlock, records);
+      remainingDataLength -= (long) records * recordSize;
       return true;
     }
 
@@ -245,7 +284,7 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
   private DetachedRecordReader<B, R> newDetachedRecordReader(long[] dataListPart, long[] offsets) {
     return new MyDetachedRecordReader<>(
         dataListPart, offsets, channelReaderFactories, factory,
-        channelGroup.getDataBytes() + channelGroup.getInvalidationBytes());
+        channelGroup.getDataBytes() + channelGroup.getInvalidationBytes(), columns);
   }
 
   private static class MyRecordReader<B, R> implements RecordReader<B, R> {
@@ -256,51 +295,52 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
     private final long[] dataList;
     private final int recordSize;
     private final Scope scope;
-    private final RecordBuffer recordInput;
+    private final RecordWindow window;
+    private final BlockOpener opener;
     private int index;
     private ReadableByteChannel currentBlock;
     private long remainingDataLength;
 
     public MyRecordReader(
         ByteInput input, List<ReadInto<B>> channelReaders,
-        SerializableRecordFactory<B, R> recordFactory, int recordSize, long[] dataListPart,
-        long[] offsets, Scope scope) {
+        SerializableRecordFactory<B, R> recordFactory, int recordSize, int recordsPerBuffer,
+        long[] dataListPart, long[] offsets, ByteColumns columns, Scope scope) {
       this.input = input;
       this.channelReaders = channelReaders;
       this.recordFactory = recordFactory;
       this.dataList = dataListPart;
       this.recordSize = recordSize;
       this.scope = scope;
+      this.opener = new BlockOpener(scope.getResolver(), columns);
       this.index = 0;
-      this.recordInput = new RecordByteBuffer(
-          ByteBuffer.allocate(recordSize), offsets[index] / recordSize);
+      this.window = new RecordWindow(recordSize, recordsPerBuffer, offsets[index] / recordSize);
     }
 
     @Override
     public boolean hasNext() throws IOException {
-      return ensureNextBlock();
+      return window.available() > 0 || ensureNextBlock();
     }
 
     @Override
     public R next() throws IOException, NoSuchElementException {
-      prepareRead();
+      final var recordInput = prepareRead();
 
       final var recordBuilder = recordFactory.createRecordBuilder();
       for (var channelReader : channelReaders) {
         channelReader.readInto(recordInput, recordBuilder);
       }
-      finishRead();
+      recordInput.incRecordIndex();
       return recordFactory.finishRecord(recordBuilder);
     }
 
     @Override
     public void nextInto(B destination) throws IOException, NoSuchElementException {
-      prepareRead();
+      final var recordInput = prepareRead();
 
       for (var channelReader : channelReaders) {
         channelReader.readInto(recordInput, destination);
       }
-      finishRead();
+      recordInput.incRecordIndex();
     }
 
     private boolean ensureNextBlock() throws IOException {
@@ -309,33 +349,43 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
           return false;
         }
 
-        final var dataBlock = Link.<DataStorage<DataBlock>>of(dataList[index])
-            .resolveNonCached(DataBlock.STORAGE_TYPE, input)
+        final var dataBlock = scope.getResolver()
+            .resolve(Link.of(dataList[index]), DataBlock.STORAGE_TYPE, input)
             .orElseThrow(() -> new FormatException("Data link in DL block should not be NIL"));
-        currentBlock = dataBlock.getChannel(input);
+        final var payload = opener.payload(dataBlock, input);
+        currentBlock = payload.isPresent()
+            ? new ByteBufferChannel(payload.get().duplicate())
+            : dataBlock.getChannel(input);
         remainingDataLength = dataBlock.getChannelLength();
 
         if (remainingDataLength % recordSize != 0) {
-          throw new NotImplementedFeatureException(
-              "Data block size is not a multiple of the record size");
+          throw new FormatException("Data block size is not a multiple of the record size");
         }
         index += 1;
+
+        if (payload.isPresent() && window.wrap(payload.get())) {
+          remainingDataLength = 0;
+          return true;
+        }
       }
 
       return true;
     }
 
-    private void prepareRead() throws IOException {
-      if (!ensureNextBlock()) {
-        throw new NoSuchElementException();
-      }
+    private RecordBuffer prepareRead() throws IOException {
+      if (window.available() == 0) {
+        if (!ensureNextBlock()) {
+          throw new NoSuchElementException();
+        }
 
-      recordInput.writeFully(currentBlock);
-      remainingDataLength -= recordSize;
-    }
+        if (window.available() == 0) {
+          final var records = (int) Math.min(window.capacity(), remainingDataLength / recordSize);
+          window.fill(currentBlock, records);
+          remainingDataLength -= (long) records * recordSize;
+        }
+      }
 
-    private void finishRead() {
-      recordInput.incRecordIndex();
+      return window.next();
     }
 
     @Override
@@ -352,20 +402,23 @@ class DefaultParallelRecordReader<B, R> implements ParallelRecordReader<B, R> {
     private final List<ReadIntoFactory<B>> channelReaderFactories;
     private final SerializableRecordFactory<B, R> recordDeserializer;
     private final int recordSize;
+    private final ByteColumns columns;
 
     @Override
     public RecordReader<B, R> attach(FileContext ctx) throws IOException {
       final var scope = ctx.newScope();
+      final var input = ctx.newReaderInput(scope);
       final var channelReaders =
-          ReadIntoFactory.buildAll(channelReaderFactories, ctx.getInput(), scope);
+          ReadIntoFactory.buildAll(channelReaderFactories, input, scope);
 
       return new MyRecordReader<>(
-          ctx.getInput(),
+          input,
           channelReaders,
           recordDeserializer,
           recordSize,
+          ctx.getOptions().getRecordsPerBuffer(recordSize),
           dataListPart, offsets,
-          scope);
+          columns, scope);
     }
   }
 }
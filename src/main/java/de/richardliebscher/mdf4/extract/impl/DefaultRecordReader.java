@@ -15,13 +15,14 @@ import de.richardliebscher.mdf4.blocks.DataBlock;
 import de.richardliebscher.mdf4.exceptions.FormatException;
 import de.richardliebscher.mdf4.extract.RecordFactory;
 import de.richardliebscher.mdf4.extract.SizedRecordReader;
+import de.richardliebscher.mdf4.extract.ZoneMap.RecordRange;
 import de.richardliebscher.mdf4.extract.read.DataRead;
 import de.richardliebscher.mdf4.extract.read.ReadInto;
 import de.richardliebscher.mdf4.extract.read.RecordBuffer;
-import de.richardliebscher.mdf4.extract.read.RecordByteBuffer;
+import de.richardliebscher.mdf4.extract.read.RecordWindow;
 import de.richardliebscher.mdf4.extract.read.Scope;
+import java.io.EOFException;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -41,27 +42,50 @@ public class DefaultRecordReader<B, R> implements SizedRecordReader<B, R> {
   private final List<ReadInto<B>> channelReaders;
   private final RecordFactory<B, R> factory;
   private final DataRead<DataBlock> dataSource;
-  private final ByteBuffer buffer;
+  private final RecordWindow window;
   private final Scope scope;
   private final DataGroup dataGroup;
   private final ChannelGroup channelGroup;
-  private final RecordBuffer input;
+  private final TimeIndex timeIndex;
+  private final RecordPredicate filter;
+  private final long[] rangeStarts;
+  private final long[] rangeEnds;
+  private final int recordSize;
+  private RecordBuffer input;
   private long cycle = 0;
+  private long end;
+  private boolean matched;
 
   DefaultRecordReader(
       List<Channel> channels, List<ReadInto<B>> channelReaders,
       RecordFactory<B, R> factory, DataRead<DataBlock> dataSource,
-      DataGroup dataGroup, ChannelGroup channelGroup, Scope scope) {
+      DataGroup dataGroup, ChannelGroup channelGroup, TimeIndex timeIndex,
+      RecordPredicate filter, List<RecordRange> ranges, int recordsPerBuffer, Scope scope) {
     this.channels = Collections.unmodifiableList(channels);
     this.channelReaders = channelReaders;
     this.factory = factory;
     this.dataSource = dataSource;
-    this.buffer = ByteBuffer.allocate(
-        channelGroup.getBlock().getDataBytes() + channelGroup.getBlock().getInvalidationBytes());
+    final var block = channelGroup.getBlock();
+    this.recordSize = block.getDataBytes() + block.getInvalidationBytes();
+    this.window = new RecordWindow(
+        recordSize,
+        (int) Math.max(1, Math.min(recordsPerBuffer, block.getCycleCount())),
+        0);
     this.scope = scope;
-    this.input = new RecordByteBuffer(buffer, 0);
+    this.input = window.record();
     this.dataGroup = dataGroup;
     this.channelGroup = channelGroup;
+    this.timeIndex = timeIndex;
+    this.filter = filter;
+    if (ranges != null) {
+      this.rangeStarts = ranges.stream().mapToLong(RecordRange::getFrom).toArray();
+      this.rangeEnds = ranges.stream().mapToLong(range -> range.getFrom() + range.getCount())
+          .toArray();
+    } else {
+      this.rangeStarts = null;
+      this.rangeEnds = null;
+    }
+    this.end = block.getCycleCount();
   }
 
   // PUBLIC
@@ -73,24 +97,68 @@ public class DefaultRecordReader<B, R> implements SizedRecordReader<B, R> {
 
   @Override
   public long remaining() {
-    return size() - cycle;
+    return end - cycle;
+  }
+
+  @Override
+  public void seek(long index) throws IOException {
+    if (index < 0 || index > size()) {
+      throw new IndexOutOfBoundsException(
+          "Record index " + index + " out of range for " + size() + " records");
+    }
+    seekTo(index, size());
+  }
+
+  @Override
+  public void skip(long records) throws IOException {
+    if (records < 0 || records > remaining()) {
+      throw new IllegalArgumentException(
+          "Number of records to skip should be in range 0 to " + remaining());
+    }
+    seekTo(cycle + records, end);
+  }
+
+  @Override
+  public void readRange(long from, long count) throws IOException {
+    if (from < 0 || count < 0 || from > size() - count) {
+      throw new IndexOutOfBoundsException("Range of " + count + " records at " + from
+          + " out of range for " + size() + " records");
+    }
+    seekTo(from, from + count);
+  }
+
+  @Override
+  public long indexOfTime(double time) throws IOException {
+    return timeIndex.indexOf(time);
+  }
+
+  @Override
+  public void seekToTime(double time) throws IOException {
+    seekTo(indexOfTime(time), size());
+  }
+
+  @Override
+  public void seekToTime(double fromTime, double toTime) throws IOException {
+    final var from = indexOfTime(fromTime);
+    seekTo(from, Math.max(from, indexOfTime(toTime)));
   }
 
   @Override
   public Iterator<Result<R, IOException>> iterator() {
-    return new Iterator<>() {
-      private long index = 0;
-      private final long size = size();
+    if (filter != null) {
+      // searching next matching record can fail
+      return SizedRecordReader.super.iterator();
+    }
 
+    return new Iterator<>() {
       @Override
       public boolean hasNext() {
-        return index < size;
+        return cycle < end;
       }
 
       @Override
       public Result<R, IOException> next() {
         try {
-          index += 1;
           return new Ok<>(DefaultRecordReader.this.next());
         } catch (IOException exp) {
           return new Err<>(exp);
@@ -115,8 +183,8 @@ public class DefaultRecordReader<B, R> implements SizedRecordReader<B, R> {
   }
 
   @Override
-  public boolean hasNext() {
-    return cycle < size();
+  public boolean hasNext() throws IOException {
+    return filter != null ? findMatch() : cycle < end;
   }
 
   @Override
@@ -124,8 +192,8 @@ public class DefaultRecordReader<B, R> implements SizedRecordReader<B, R> {
     prepareRead();
 
     final B recordBuilder = factory.createRecordBuilder();
-    for (var channelReader : channelReaders) {
-      channelReader.readInto(input, recordBuilder);
+    for (int i = 0; i < channelReaders.size(); i++) {
+      channelReaders.get(i).readInto(input, recordBuilder);
     }
 
     finishRead();
@@ -136,25 +204,122 @@ public class DefaultRecordReader<B, R> implements SizedRecordReader<B, R> {
   public void nextInto(B destination) throws IOException, NoSuchElementException {
     prepareRead();
 
-    for (var channelReader : channelReaders) {
-      channelReader.readInto(input, destination);
+    // indexed loop, because an iterator would be allocated for every record
+    for (int i = 0; i < channelReaders.size(); i++) {
+      channelReaders.get(i).readInto(input, destination);
     }
 
     finishRead();
   }
 
+  private void seekTo(long from, long end) throws IOException {
+    final var forward = from - cycle;
+    if (forward >= 0 && forward <= window.available()) {
+      window.skip((int) forward);
+    } else {
+      // buffered records are dropped, data source is positioned without reading records between
+      window.clear(from);
+      dataSource.position(from * recordSize);
+      input = window.record();
+    }
+    cycle = from;
+    this.end = end;
+    matched = false;
+  }
+
   private void prepareRead() throws IOException {
-    if (cycle >= size()) {
+    if (filter != null ? !findMatch() : cycle >= end) {
       throw new NoSuchElementException();
     }
 
+    fillWindow();
     cycle += 1;
-    buffer.clear();
-    final var bytes = dataSource.read(buffer);
-    if (bytes != buffer.capacity()) {
-      throw new FormatException(
-          "Early end of data at cycle " + cycle + " of " + size());
+    matched = false;
+    input = window.next();
+  }
+
+  private void fillWindow() throws IOException {
+    if (window.available() == 0) {
+      // records after the selected range are not read, so excluded blocks are not opened
+      final var last = rangeStarts != null ? Math.min(end, selectedEnd(cycle)) : end;
+      final var records = (int) Math.min(window.capacity(), last - cycle);
+      try {
+        window.fill(dataSource, records);
+      } catch (EOFException exception) {
+        throw new FormatException(
+            "Early end of data at cycle " + (cycle + 1) + " of " + size());
+      }
+    }
+  }
+
+  /**
+   * Skip records until the next record matches the filter.
+   *
+   * <p>Only channels of the filter are read from skipped records. Records outside of the ranges
+   * selected by the zone map are not read at all.
+   *
+   * @return {@code true}, iff a matching record remains
+   */
+  private boolean findMatch() throws IOException {
+    if (matched) {
+      return true;
+    }
+
+    while (cycle < end) {
+      if (rangeStarts != null) {
+        final var next = nextSelected(cycle);
+        if (next != cycle) {
+          seekTo(Math.min(next, end), end);
+          continue;
+        }
+      }
+
+      fillWindow();
+      if (filter.test(window.peek())) {
+        matched = true;
+        return true;
+      }
+      window.skip(1);
+      cycle += 1;
+    }
+    return false;
+  }
+
+  /**
+   * Find first record selected by zone map.
+   *
+   * @param index Record index
+   * @return First selected record index not less than {@code index} or {@link #size()}
+   */
+  private long nextSelected(long index) {
+    final var range = rangeAfter(index);
+    return range < rangeStarts.length ? Math.max(index, rangeStarts[range]) : size();
+  }
+
+  /**
+   * Find end of range selected by zone map.
+   *
+   * @param index Selected record index
+   * @return End of range containing {@code index} or {@link #size()}
+   */
+  private long selectedEnd(long index) {
+    final var range = rangeAfter(index);
+    return range < rangeEnds.length ? rangeEnds[range] : size();
+  }
+
+  private int rangeAfter(long index) {
+    // first range, which ends after index
+    int low = 0;
+    int high = rangeEnds.length;
+    while (low < high) {
+      final var mid = (low + high) >>> 1;
+      if (rangeEnds[mid] <= index) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
     }
+    return low;
   }
 
   private void finishRead() {
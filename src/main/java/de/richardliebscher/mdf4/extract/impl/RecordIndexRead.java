@@ -0,0 +1,78 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import de.richardliebscher.mdf4.extract.read.RecordBuffer;
+import de.richardliebscher.mdf4.extract.read.ValueRead;
+import java.io.IOException;
+
+/**
+ * Read value of virtual channel, which is the zero-based record index.
+ *
+ * <p>Start angle and start distance of the HD block are not added, so values of virtual angle and
+ * distance master channels are relative to the start of the measurement.
+ */
+final class RecordIndexRead implements ValueRead {
+
+  static final RecordIndexRead INSTANCE = new RecordIndexRead();
+
+  private RecordIndexRead() {
+  }
+
+  /**
+   * Check virtual channel.
+   *
+   * @param channelBlock Virtual channel
+   * @throws FormatException Virtual channel has bits in record
+   */
+  static void check(ChannelBlock channelBlock) throws FormatException {
+    if (channelBlock.getBitCount() != 0) {
+      throw new FormatException("Bit count of virtual master channel must be zero, but got "
+          + channelBlock.getBitCount());
+    }
+  }
+
+  /**
+   * Write values of consecutive records.
+   *
+   * @param dst         Destination
+   * @param position    Index of first value in destination
+   * @param count       Number of records
+   * @param recordIndex Index of first record
+   */
+  static void fill(long[] dst, int position, int count, long recordIndex) {
+    for (int i = 0; i < count; i++) {
+      dst[position + i] = recordIndex + i;
+    }
+  }
+
+  /**
+   * Write values of consecutive records.
+   *
+   * @param dst         Destination
+   * @param position    Index of first value in destination
+   * @param count       Number of records
+   * @param recordIndex Index of first record
+   */
+  static void fill(double[] dst, int position, int count, long recordIndex) {
+    for (int i = 0; i < count; i++) {
+      dst[position + i] = recordIndex + i;
+    }
+  }
+
+  @Override
+  public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param)
+      throws IOException {
+    return visitor.visitU64(input.getRecordIndex(), param);
+  }
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import de.richardliebscher.mdf4.Channel;
+import de.richardliebscher.mdf4.ChannelGroup;
+import de.richardliebscher.mdf4.DataGroup;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.extract.RecordFilter;
+import de.richardliebscher.mdf4.extract.RecordFilter.Comparison;
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import de.richardliebscher.mdf4.extract.read.RecordBuffer;
+import de.richardliebscher.mdf4.extract.read.Scope;
+import de.richardliebscher.mdf4.extract.read.ValueRead;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RecordFilter} compiled for a channel group, which is evaluated on raw records.
+ */
+@FunctionalInterface
+interface RecordPredicate {
+
+  /**
+   * Test record.
+   *
+   * @param record Raw record
+   * @return {@code true}, iff record matches
+   * @throws IOException Unable to read channel value
+   */
+  boolean test(RecordBuffer record) throws IOException;
+
+  /**
+   * Compile filter for channel group.
+   *
+   * @param filter       Filter
+   * @param dataGroup    Data group of channel group
+   * @param channelGroup Channel group
+   * @param input        Input file
+   * @param scope        Scope of resources of reader
+   * @param channels     Receives all channels, which are read by predicate
+   * @return Predicate
+   * @throws FormatException Channel not found in channel group
+   * @throws IOException     Unable to create channel readers
+   */
+  static RecordPredicate compile(RecordFilter filter, DataGroup dataGroup,
+      ChannelGroup channelGroup, ByteInput input, Scope scope, List<Channel> channels)
+      throws IOException {
+    return filter.accept(new Compiler(dataGroup, channelGroup, input, scope, channels));
+  }
+
+  /**
+   * Build predicates of filter nodes.
+   */
+  final class Compiler implements RecordFilter.Visitor<RecordPredicate, IOException> {
+    private final DataGroup dataGroup;
+    private final ChannelGroup channelGroup;
+    private final ByteInput input;
+    private final Scope scope;
+    private final List<Channel> channels;
+    private final Map<String, ValueRead> reads = new HashMap<>();
+
+    private Compiler(DataGroup dataGroup, ChannelGroup channelGroup, ByteInput input,
+        Scope scope, List<Channel> channels) {
+      this.dataGroup = dataGroup;
+      this.channelGroup = channelGroup;
+      this.input = input;
+      this.scope = scope;
+      this.channels = channels;
+    }
+
+    @Override
+    public RecordPredicate visitComparison(String channel, Comparison comparison, double value)
+        throws IOException {
+      return new CompareValue(read(channel), comparison, value);
+    }
+
+    @Override
+    public RecordPredicate visitBitMask(String channel, long mask, long expected)
+        throws IOException {
+      return new MaskValue(read(channel), mask, expected);
+    }
+
+    @Override
+    public RecordPredicate visitAnd(RecordFilter left, RecordFilter right) throws IOException {
+      final var first = left.accept(this);
+      final var second = right.accept(this);
+      return record -> first.test(record) && second.test(record);
+    }
+
+    @Override
+    public RecordPredicate visitOr(RecordFilter left, RecordFilter right) throws IOException {
+      final var first = left.accept(this);
+      final var second = right.accept(this);
+      return record -> first.test(record) || second.test(record);
+    }
+
+    @Override
+    public RecordPredicate visitNot(RecordFilter filter) throws IOException {
+      final var inner = filter.accept(this);
+      return record -> !inner.test(record);
+    }
+
+    private ValueRead read(String name) throws IOException {
+      final var existing = reads.get(name);
+      if (existing != null) {
+        return existing;
+      }
+
+      final var iter = channelGroup.getChannels().iter();
+      Channel channel;
+      while ((channel = iter.next()) != null) {
+        if (name.equals(channel.getName())) {
+          final var read = RecordReaderFactory.createChannelReaderFactory(
+                  dataGroup.getBlock(), channelGroup.getBlock(), channel.getBlock(), input,
+                  scope.getResolver())
+              .build(input, scope);
+          reads.put(name, read);
+          channels.add(channel);
+          return read;
+        }
+      }
+      throw new FormatException("Channel of filter not found in channel group: " + name);
+    }
+  }
+
+  /**
+   * Compare value of channel with constant.
+   */
+  final class CompareValue implements RecordPredicate, Visitor<Boolean, Void> {
+    private final ValueRead read;
+    private final Comparison comparison;
+    private final double value;
+
+    private CompareValue(ValueRead read, Comparison comparison, double value) {
+      this.read = read;
+      this.comparison = comparison;
+      this.value = value;
+    }
+
+    @Override
+    public boolean test(RecordBuffer record) throws IOException {
+      return read.read(record, this, null);
+    }
+
+    @Override
+    public String expecting() {
+      return "numeric value";
+    }
+
+    @Override
+    public Boolean visitU64(long value, Void param) {
+      return comparison.test(UnsignedLong.toDoubleValue(value), this.value);
+    }
+
+    @Override
+    public Boolean visitI64(long value, Void param) {
+      return comparison.test(value, this.value);
+    }
+
+    @Override
+    public Boolean visitF64(double value, Void param) {
+      return comparison.test(value, this.value);
+    }
+
+    @Override
+    public Boolean visitInvalid(Void param) {
+      return false;
+    }
+  }
+
+  /**
+   * Compare bits of channel value with constant.
+   */
+  final class MaskValue implements RecordPredicate, Visitor<Boolean, Void> {
+    private final ValueRead read;
+    private final long mask;
+    private final long expected;
+
+    private MaskValue(ValueRead read, long mask, long expected) {
+      this.read = read;
+      this.mask = mask;
+      this.expected = expected;
+    }
+
+    @Override
+    public boolean test(RecordBuffer record) throws IOException {
+      return read.read(record, this, null);
+    }
+
+    @Override
+    public String expecting() {
+      return "integer value";
+    }
+
+    @Override
+    public Boolean visitU64(long value, Void param) {
+      return (value & mask) == expected;
+    }
+
+    @Override
+    public Boolean visitI64(long value, Void param) {
+      return (value & mask) == expected;
+    }
+
+    @Override
+    public Boolean visitF64(double value, Void param) {
+      // converted values match, when they are integers
+      final var integer = (long) value;
+      return integer == value && integer != Long.MAX_VALUE && (integer & mask) == expected;
+    }
+
+    @Override
+    public Boolean visitInvalid(Void param) {
+      return false;
+    }
+  }
+}
@@ -18,41 +18,55 @@ import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
 import de.richardliebscher.mdf4.blocks.ChannelDataType;
 import de.richardliebscher.mdf4.blocks.ChannelFlag;
 import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.ChannelGroupFlag;
 import de.richardliebscher.mdf4.blocks.Composition;
 import de.richardliebscher.mdf4.blocks.DataBlock;
 import de.richardliebscher.mdf4.blocks.DataContainer;
 import de.richardliebscher.mdf4.blocks.DataGroupBlock;
-import de.richardliebscher.mdf4.blocks.DataListBlock;
-import de.richardliebscher.mdf4.blocks.DataStorage;
-import de.richardliebscher.mdf4.blocks.HeaderListBlock;
 import de.richardliebscher.mdf4.blocks.Offsets;
 import de.richardliebscher.mdf4.blocks.SignalDataBlock;
 import de.richardliebscher.mdf4.blocks.TextBlock;
-import de.richardliebscher.mdf4.blocks.ZipType;
 import de.richardliebscher.mdf4.exceptions.ChannelGroupNotFoundException;
 import de.richardliebscher.mdf4.exceptions.FormatException;
 import de.richardliebscher.mdf4.exceptions.NotImplementedFeatureException;
+import de.richardliebscher.mdf4.extract.ChannelPredicate;
+import de.richardliebscher.mdf4.extract.ColumnBatchReader;
+import de.richardliebscher.mdf4.extract.GroupPredicate;
 import de.richardliebscher.mdf4.extract.ParallelRecordReader;
 import de.richardliebscher.mdf4.extract.RecordFactory;
+import de.richardliebscher.mdf4.extract.RecordFilter;
 import de.richardliebscher.mdf4.extract.SerializableRecordFactory;
 import de.richardliebscher.mdf4.extract.SizedRecordReader;
+import de.richardliebscher.mdf4.extract.ZoneMap;
 import de.richardliebscher.mdf4.extract.de.Deserialize;
 import de.richardliebscher.mdf4.extract.de.DeserializeInto;
 import de.richardliebscher.mdf4.extract.de.Deserializer;
 import de.richardliebscher.mdf4.extract.de.StructAccess;
 import de.richardliebscher.mdf4.extract.de.Visitor;
+import de.richardliebscher.mdf4.extract.read.BitfieldTextConversion;
+import de.richardliebscher.mdf4.extract.read.BitfieldTextTable;
+import de.richardliebscher.mdf4.extract.read.BlockOpener;
+import de.richardliebscher.mdf4.extract.read.BlockResolver;
+import de.richardliebscher.mdf4.extract.read.ByteColumns;
 import de.richardliebscher.mdf4.extract.read.DataList;
 import de.richardliebscher.mdf4.extract.read.DataRead;
+import de.richardliebscher.mdf4.extract.read.Formula;
+import de.richardliebscher.mdf4.extract.read.FormulaConversion;
 import de.richardliebscher.mdf4.extract.read.InvalidValueRead;
 import de.richardliebscher.mdf4.extract.read.LinearConversion;
 import de.richardliebscher.mdf4.extract.read.RationalConversion;
+import de.richardliebscher.mdf4.extract.read.ReadAheadDataRead;
 import de.richardliebscher.mdf4.extract.read.ReadInto;
 import de.richardliebscher.mdf4.extract.read.ReadIntoFactory;
 import de.richardliebscher.mdf4.extract.read.RecordBuffer;
 import de.richardliebscher.mdf4.extract.read.Scope;
 import de.richardliebscher.mdf4.extract.read.SeekableDataListRead;
+import de.richardliebscher.mdf4.extract.read.TextTable;
+import de.richardliebscher.mdf4.extract.read.TextTableConversion;
 import de.richardliebscher.mdf4.extract.read.ValueRead;
 import de.richardliebscher.mdf4.extract.read.ValueReadFactory;
+import de.richardliebscher.mdf4.extract.read.ValueTable;
+import de.richardliebscher.mdf4.extract.read.ValueTableConversion;
 import de.richardliebscher.mdf4.internal.Arrays;
 import de.richardliebscher.mdf4.internal.FileContext;
 import de.richardliebscher.mdf4.internal.IntCell;
@@ -65,8 +79,10 @@ import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
@@ -76,9 +92,9 @@ import lombok.extern.java.Log;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class RecordReaderFactory {
 
-  private static ValueReadFactory createChannelReaderFactory(
+  static ValueReadFactory createChannelReaderFactory(
       DataGroupBlock dataGroup, ChannelGroupBlock group,
-      ChannelBlock channelBlock, ByteInput input) throws IOException {
+      ChannelBlock channelBlock, ByteInput input, BlockResolver resolver) throws IOException {
     if (channelBlock.getBitOffset() != 0) {
       if (!channelBlock.getDataType().isInteger()) {
         throw new FormatException("Non-zero bit offset is not allowed for non-integers");
@@ -92,7 +108,7 @@ public final class RecordReaderFactory {
     }
 
     if (!channelBlock.getComposition().isNil()) {
-      return createCompositionDataReader(dataGroup, group, channelBlock, input);
+      return createCompositionDataReader(dataGroup, group, channelBlock, input, resolver);
     }
 
     final ValueReadFactory rawValue;
@@ -103,14 +119,14 @@ public final class RecordReaderFactory {
         rawValue = createFixedLengthDataReader(channelBlock);
         break;
       case VARIABLE_LENGTH_DATA_CHANNEL:
-        rawValue = createVlsdReader(channelBlock, input);
+        rawValue = createVlsdReader(channelBlock, input, resolver);
         break;
       case VIRTUAL_DATA_CHANNEL:
       case VIRTUAL_MASTER_CHANNEL:
         rawValue = createVirtualDataReader(channelBlock);
         break;
       case MAXIMUM_LENGTH_CHANNEL:
-        rawValue = createMaxLengthDataReader(channelBlock, input);
+        rawValue = createMaxLengthDataReader(channelBlock, input, resolver);
         break;
       default:
         throw new NotImplementedFeatureException(
@@ -118,8 +134,8 @@ public final class RecordReaderFactory {
     }
 
     final ValueReadFactory converted;
-    final var channelConversion = channelBlock.getConversionRule()
-        .resolve(ChannelConversionBlock.TYPE, input);
+    final var channelConversion = resolver.resolve(
+        channelBlock.getConversionRule(), ChannelConversionBlock.TYPE, input);
     if (channelConversion.isPresent()) {
       final var cc = channelConversion.get();
       final var vals = cc.getVals();
@@ -133,15 +149,32 @@ public final class RecordReaderFactory {
         case RATIONAL:
           converted = (in, scope) -> new RationalConversion(vals, rawValue.build(in, scope));
           break;
-        case ALGEBRAIC:
         case INTERPOLATED_VALUE_TABLE:
         case VALUE_VALUE_TABLE:
-        case VALUE_RANGE_VALUE_TABLE:
+        case VALUE_RANGE_VALUE_TABLE: {
+          final var table = ValueTable.of(cc, channelBlock);
+          converted = (in, scope) -> new ValueTableConversion(table, rawValue.build(in, scope));
+          break;
+        }
         case VALUE_TEXT_TABLE:
         case VALUE_RANGE_TEXT_TABLE:
+        case TEXT_TEXT_TABLE: {
+          final var table = TextTable.of(cc, channelBlock, input, resolver);
+          converted = (in, scope) -> new TextTableConversion(table, rawValue.build(in, scope));
+          break;
+        }
+        case BITFIELD_TEXT_TABLE: {
+          final var table = BitfieldTextTable.of(cc, channelBlock, input, resolver);
+          converted = (in, scope) ->
+              new BitfieldTextConversion(table, rawValue.build(in, scope));
+          break;
+        }
+        case ALGEBRAIC: {
+          final var formula = Formula.of(cc, input, resolver);
+          converted = (in, scope) -> new FormulaConversion(formula, rawValue.build(in, scope));
+          break;
+        }
         case TEXT_VALUE_TABLE:
-        case TEXT_TEXT_TABLE:
-        case BITFIELD_TEXT_TABLE:
         default:
           throw new NotImplementedFeatureException(
               "Channel conversion not implemented: " + cc.getType());
@@ -159,8 +192,8 @@ public final class RecordReaderFactory {
 
   private static ValueReadFactory createCompositionDataReader(
       DataGroupBlock dataGroup, ChannelGroupBlock group,
-      ChannelBlock frame, ByteInput input) throws IOException {
-    final var composition = frame.getComposition().resolve(Composition.TYPE, input)
+      ChannelBlock frame, ByteInput input, BlockResolver resolver) throws IOException {
+    final var composition = resolver.resolve(frame.getComposition(), Composition.TYPE, input)
         .orElseThrow();
     final ChannelBlock firstField;
     if (composition instanceof ChannelBlock) {
@@ -171,7 +204,7 @@ public final class RecordReaderFactory {
 
     final var fields = new ArrayList<ChannelBlock>();
     fields.add(firstField);
-    final var fieldsIter = new Iterator(firstField.getNextChannel(), input);
+    final var fieldsIter = new Iterator(firstField.getNextChannel(), input, resolver);
     while (fieldsIter.hasNext()) {
       fields.add(fieldsIter.next());
     }
@@ -183,7 +216,8 @@ public final class RecordReaderFactory {
 
     switch (frame.getType()) {
       case FIXED_LENGTH_DATA_CHANNEL:
-        return createFixedLengthStructureDataReader(dataGroup, group, frame, fields, input);
+        return createFixedLengthStructureDataReader(
+            dataGroup, group, frame, fields, input, resolver);
       case MASTER_CHANNEL:
       case SYNCHRONIZATION_CHANNEL:
       case VARIABLE_LENGTH_DATA_CHANNEL:
@@ -198,16 +232,18 @@ public final class RecordReaderFactory {
 
   private static ValueReadFactory createFixedLengthStructureDataReader(
       DataGroupBlock dataGroup, ChannelGroupBlock group, ChannelBlock frame,
-      List<ChannelBlock> fields, ByteInput input) throws IOException {
+      List<ChannelBlock> fields, ByteInput input, BlockResolver resolver) throws IOException {
 
     final var readFieldFactories = new ArrayList<ValueReadFactory>(fields.size());
     for (int i = 0; i < fields.size(); i++) {
       final var field = fields.get(i);
       try {
-        readFieldFactories.add(createChannelReaderFactory(dataGroup, group, field, input));
+        readFieldFactories.add(
+            createChannelReaderFactory(dataGroup, group, field, input, resolver));
       } catch (NotImplementedFeatureException e) {
-        log.warning("Ignoring field '" + getChannelName(field, input) + "' of channel '"
-            + getChannelName(frame, input) + "': " + e.getMessage());
+        log.warning("Ignoring field '" + getChannelName(field, input, resolver)
+            + "' of channel '" + getChannelName(frame, input, resolver) + "': "
+            + e.getMessage());
       }
     }
 
@@ -217,19 +253,13 @@ public final class RecordReaderFactory {
         fieldReaders[i] = readFieldFactories.get(i).build(input, scope);
       }
 
-      return new ValueRead() {
-        @Override
-        public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param)
-            throws IOException {
-          return visitor.visitStruct(new StructAccessImpl(fieldReaders, input), param);
-        }
-      };
+      return new StructRead(fieldReaders);
     };
   }
 
-  private static TextBlock getChannelName(ChannelBlock channel, ByteInput input)
-      throws IOException {
-    return channel.getChannelName().resolve(TextBlock.TYPE, input)
+  private static TextBlock getChannelName(
+      ChannelBlock channel, ByteInput input, BlockResolver resolver) throws IOException {
+    return resolver.resolve(channel.getChannelName(), TextBlock.TYPE, input)
         .orElseThrow(() -> new FormatException("channel name required"));
   }
 
@@ -248,20 +278,8 @@ public final class RecordReaderFactory {
     final var invalidationByteIndex =
         dataGroup.getRecordIdSize() + group.getDataBytes() + (invalidationBit >>> 3);
     final var invalidationBitMask = 1 << (invalidationBit & 0x07);
-    return (input, scope) -> {
-      final var valueRead = valueReadFactory.build(input, scope);
-      return new ValueRead() {
-        @Override
-        public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param)
-            throws IOException {
-          if ((input.readU8(invalidationByteIndex) & invalidationBitMask) != 0) {
-            return visitor.visitInvalid(param);
-          } else {
-            return valueRead.read(input, visitor, param);
-          }
-        }
-      };
-    };
+    return (input, scope) -> new InvalidationRead(
+        valueReadFactory.build(input, scope), invalidationByteIndex, invalidationBitMask);
   }
 
   private static ValueReadFactory createFixedLengthDataReader(ChannelBlock channelBlock)
@@ -736,19 +754,22 @@ public final class RecordReaderFactory {
   }
 
   private static ValueReadFactory createVlsdReader(
-      ChannelBlock channelBlock, ByteInput input) throws IOException {
+      ChannelBlock channelBlock, ByteInput input, BlockResolver resolver) throws IOException {
     switch (channelBlock.getDataType()) {
       case STRING_LATIN1:
-        return createVlsdRead(channelBlock, input,
+        return createVlsdRead(channelBlock, input, resolver,
             new ToStringMapper(StandardCharsets.ISO_8859_1));
       case STRING_UTF8:
-        return createVlsdRead(channelBlock, input, new ToStringMapper(StandardCharsets.UTF_8));
+        return createVlsdRead(channelBlock, input, resolver,
+            new ToStringMapper(StandardCharsets.UTF_8));
       case STRING_UTF16LE:
-        return createVlsdRead(channelBlock, input, new ToStringMapper(StandardCharsets.UTF_16LE));
+        return createVlsdRead(channelBlock, input, resolver,
+            new ToStringMapper(StandardCharsets.UTF_16LE));
       case STRING_UTF16BE:
-        return createVlsdRead(channelBlock, input, new ToStringMapper(StandardCharsets.UTF_16BE));
+        return createVlsdRead(channelBlock, input, resolver,
+            new ToStringMapper(StandardCharsets.UTF_16BE));
       case BYTE_ARRAY:
-        return createVlsdRead(channelBlock, input, new ToByteArrayMapper());
+        return createVlsdRead(channelBlock, input, resolver, new ToByteArrayMapper());
       default:
         throw new NotImplementedFeatureException(
             "Reading data type " + channelBlock.getDataType()
@@ -758,57 +779,51 @@ public final class RecordReaderFactory {
 
   @SuppressWarnings("unchecked")
   private static ValueReadFactory createVlsdRead(
-      ChannelBlock channelBlock, ByteInput input, RawDataMapper rawDataMapper) throws IOException {
+      ChannelBlock channelBlock, ByteInput input, BlockResolver resolver,
+      RawDataMapper rawDataMapper) throws IOException {
     final var dataList = DataList.from(
         (Link<DataContainer<SignalDataBlock>>) channelBlock.getSignalData(),
         SignalDataBlock.CONTAINER_TYPE,
-        input);
+        input,
+        resolver);
 
     final var offsetRead = createUintLeRead(channelBlock);
     return (in, scope) -> {
       final var read = new SeekableDataListRead<>(
-          in.dup(), dataList, SignalDataBlock.STORAGE_TYPE);
+          in.dup(), dataList, SignalDataBlock.STORAGE_TYPE, scope.getResolver());
       return new VlsdRead(read, offsetRead, rawDataMapper, scope);
     };
   }
 
   private static ValueReadFactory createVirtualDataReader(ChannelBlock channelBlock)
       throws FormatException {
-    if (channelBlock.getBitCount() != 0) {
-      throw new FormatException("Bit count of virtual master channel must be zero, but got "
-          + channelBlock.getBitCount());
-    }
+    RecordIndexRead.check(channelBlock);
     // TODO
     // if (channelBlock.getDataType() != ChannelDataType.UINT_LE) {
     //     throw new FormatException("Channel type of virtual master channel must be little endian
     //     unsigned integer, but got "
     //             + channelBlock.getDataType());
     // }
-    // TODO: apply offset from HD block
-    return ValueReadFactory.of(new ValueRead() {
-      @Override
-      public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param) throws IOException {
-        return visitor.visitU64(input.getRecordIndex(), param);
-      }
-    });
+    return ValueReadFactory.of(RecordIndexRead.INSTANCE);
   }
 
   ////
   // Max length channels
 
   private static ValueReadFactory createMaxLengthDataReader(
-      ChannelBlock channelBlock, ByteInput input) throws IOException {
+      ChannelBlock channelBlock, ByteInput input, BlockResolver resolver) throws IOException {
     switch (channelBlock.getDataType()) {
       case STRING_LATIN1:
-        return createMaxLenStringRead(channelBlock, StandardCharsets.ISO_8859_1, input);
+        return createMaxLenStringRead(
+            channelBlock, StandardCharsets.ISO_8859_1, input, resolver);
       case STRING_UTF8:
-        return createMaxLenStringRead(channelBlock, StandardCharsets.UTF_8, input);
+        return createMaxLenStringRead(channelBlock, StandardCharsets.UTF_8, input, resolver);
       case STRING_UTF16LE:
-        return createMaxLenStringRead(channelBlock, StandardCharsets.UTF_16LE, input);
+        return createMaxLenStringRead(channelBlock, StandardCharsets.UTF_16LE, input, resolver);
       case STRING_UTF16BE:
-        return createMaxLenStringRead(channelBlock, StandardCharsets.UTF_16BE, input);
+        return createMaxLenStringRead(channelBlock, StandardCharsets.UTF_16BE, input, resolver);
       case BYTE_ARRAY:
-        return createMaxLenByteArrayRead(channelBlock, input);
+        return createMaxLenByteArrayRead(channelBlock, input, resolver);
       case MIME_SAMPLE:
       case MIME_STREAM:
         throw new NotImplementedFeatureException(
@@ -822,10 +837,10 @@ public final class RecordReaderFactory {
     }
   }
 
-  private static ValueReadFactory createSizeDataReader(ChannelBlock channelBlock, ByteInput input)
-      throws IOException {
-    final var sizeChannel = channelBlock.getMaxLengthChannel()
-        .resolve(ChannelBlock.TYPE, input)
+  private static ValueReadFactory createSizeDataReader(
+      ChannelBlock channelBlock, ByteInput input, BlockResolver resolver) throws IOException {
+    final var sizeChannel = resolver
+        .resolve(channelBlock.getMaxLengthChannel(), ChannelBlock.TYPE, input)
         .orElseThrow(() -> new FormatException("Maximum length channel requires cn_data link set"));
 
     if (!sizeChannel.getConversionRule().isNil()) {
@@ -848,12 +863,12 @@ public final class RecordReaderFactory {
   }
 
   private static ValueReadFactory createMaxLenStringRead(ChannelBlock channelBlock, Charset charset,
-      ByteInput input) throws IOException {
+      ByteInput input, BlockResolver resolver) throws IOException {
     final var byteOffset = channelBlock.getByteOffset();
     final var byteCount = getByteCount(channelBlock,
         "Bit count must be a multiple of 8 for string channels");
 
-    final var sizeReaderFactory = createSizeDataReader(channelBlock, input);
+    final var sizeReaderFactory = createSizeDataReader(channelBlock, input, resolver);
 
     return (in, scope) -> {
       final var sizeReader = sizeReaderFactory.build(in, scope);
@@ -862,11 +877,11 @@ public final class RecordReaderFactory {
   }
 
   private static ValueReadFactory createMaxLenByteArrayRead(
-      ChannelBlock channelBlock, ByteInput input) throws IOException {
+      ChannelBlock channelBlock, ByteInput input, BlockResolver resolver) throws IOException {
     final var byteOffset = channelBlock.getByteOffset();
     final var byteCount = getByteCount(channelBlock,
         "Bit count must be a multiple of 8 for byte array channels");
-    final var sizeReaderFactory = createSizeDataReader(channelBlock, input);
+    final var sizeReaderFactory = createSizeDataReader(channelBlock, input, resolver);
 
     return (in, scope) -> {
       final var sizeReader = sizeReaderFactory.build(in, scope);
@@ -882,24 +897,63 @@ public final class RecordReaderFactory {
   public static <B, R> SizedRecordReader<B, R> createFor(FileContext ctx,
       LazyIoList<DataGroup> dataGroups, RecordFactory<B, R> factory)
       throws ChannelGroupNotFoundException, IOException {
+    return createFor(ctx, dataGroups, factory, null, null);
+  }
+
+  /**
+   * Internal API: Use {@link de.richardliebscher.mdf4.Mdf4File#newRecordReader}.
+   *
+   * @param filter  Filter of records or {@code null}
+   * @param zoneMap Zone map to skip data blocks or {@code null}
+   * @see de.richardliebscher.mdf4.Mdf4File#newRecordReader
+   */
+  public static <B, R> SizedRecordReader<B, R> createFor(FileContext ctx,
+      LazyIoList<DataGroup> dataGroups, RecordFactory<B, R> factory, RecordFilter filter,
+      ZoneMap zoneMap) throws ChannelGroupNotFoundException, IOException {
     final var input = ctx.getInput();
 
     // select
-    final var group = selectChannels(dataGroups, factory);
+    final var group = selectChannels(dataGroups, factory::selectGroup);
     final var dataGroup = group.getLeft();
     final var channelGroup = group.getRight();
-
-    // data source
-    final var source = createSource(ctx, dataGroup.getBlock());
+    if (zoneMap != null && zoneMap.getRecordCount() != channelGroup.getBlock().getCycleCount()) {
+      throw new IllegalArgumentException("Zone map with " + zoneMap.getRecordCount()
+          + " records does not match channel group with "
+          + channelGroup.getBlock().getCycleCount() + " records");
+    }
+    if (zoneMap != null) {
+      checkBlockLinks(zoneMap, collectDataList(
+          input, ctx, dataGroup.getBlock(), channelGroup.getBlock()).getLeft());
+    }
 
     // build extractor
     final var scope = ctx.newScope();
-    final var channelReaders = buildExtractors(factory, input, dataGroup, channelGroup);
+    final var channelReaders = buildExtractors(factory, input, ctx, dataGroup, channelGroup,
+        ctx.getOptions().isCompileRecordDecoders());
     final var readIntos = ReadIntoFactory.buildAll(channelReaders.getLeft(), input.dup(), scope);
 
+    // build filter, its channels have to be decompressed too
+    final var readChannels = new ArrayList<Channel>();
+    final var predicate = filter != null
+        ? RecordPredicate.compile(
+            filter, dataGroup, channelGroup, input.dup(), scope, readChannels)
+        : null;
+    readChannels.addAll(channelReaders.getRight());
+
+    // data source
+    final var columns = selectColumns(readChannels, channelGroup.getBlock());
+    final var source = createSource(
+        ctx, dataGroup.getBlock(), channelGroup.getBlock(), scope, columns);
+
+    final var recordSize = channelGroup.getBlock().getDataBytes()
+        + channelGroup.getBlock().getInvalidationBytes();
+    final var timeIndex = new TimeIndex(
+        ctx, dataGroups, dataGroup.getBlock(), channelGroup, scope);
     return new DefaultRecordReader<>(
         channelReaders.getRight(), readIntos, factory, source,
-        dataGroup, channelGroup, scope);
+        dataGroup, channelGroup, timeIndex,
+        predicate, predicate != null && zoneMap != null ? zoneMap.selectRecords(filter) : null,
+        ctx.getOptions().getRecordsPerBuffer(recordSize), scope);
   }
 
   public static <B, R> ParallelRecordReader<B, R> createParallelFor(
@@ -909,24 +963,204 @@ public final class RecordReaderFactory {
     final var input = ctx.getInput();
 
     // select
-    final var group = selectChannels(dataGroups, recordFactory);
+    final var group = selectChannels(dataGroups, recordFactory::selectGroup);
     final var dataGroup = group.getLeft();
     final var channelGroup = group.getRight();
 
     // data source
-    final var dataListAndOffsets = collectDataList(ctx.getInput(), dataGroup.getBlock());
+    final var dataListAndOffsets = collectDataList(
+        ctx.getInput(), ctx, dataGroup.getBlock(), channelGroup.getBlock());
 
     // build extractor
-    final var channelReaders = buildExtractors(recordFactory, input, dataGroup, channelGroup);
+    final var channelReaders = buildExtractors(recordFactory, input, ctx, dataGroup, channelGroup,
+        ctx.getOptions().isCompileRecordDecoders());
 
     return new DefaultParallelRecordReader<>(
         ctx, channelReaders.getLeft(), recordFactory,
         dataListAndOffsets.getLeft(), dataListAndOffsets.getRight(),
-        channelGroup.getBlock());
+        channelGroup.getBlock(),
+        selectColumns(channelReaders.getRight(), channelGroup.getBlock()));
+  }
+
+  /**
+   * Internal API: Use {@link de.richardliebscher.mdf4.Mdf4File#newColumnBatchReader}.
+   *
+   * @see de.richardliebscher.mdf4.Mdf4File#newColumnBatchReader
+   */
+  public static ColumnBatchReader createColumnBatchFor(FileContext ctx,
+      LazyIoList<DataGroup> dataGroups, GroupPredicate groupPredicate,
+      ChannelPredicate channelPredicate) throws ChannelGroupNotFoundException, IOException {
+    final var input = ctx.getInput();
+
+    // select
+    final var group = selectChannels(dataGroups, groupPredicate);
+    final var dataGroup = group.getLeft();
+    final var channelGroup = group.getRight();
+
+    // build decoders
+    final var scope = ctx.newScope();
+    final var channels = new ArrayList<Channel>();
+    final var decoders = new ArrayList<ColumnDecoder>();
+    buildColumnDecoders(input, dataGroup, channelGroup, channelPredicate, scope,
+        channels, decoders);
+
+    final var validityDecoder = ValidityDecoder.create(
+        dataGroup.getBlock(), channelGroup.getBlock(),
+        channels.stream().map(Channel::getBlock).collect(Collectors.toList()));
+
+    // data source
+    final var columns = selectColumns(channels, channelGroup.getBlock());
+    final var source = createSource(
+        ctx, dataGroup.getBlock(), channelGroup.getBlock(), scope, columns);
+
+    final var recordSize = channelGroup.getBlock().getDataBytes()
+        + channelGroup.getBlock().getInvalidationBytes();
+    return new DefaultColumnBatchReader(
+        channels, decoders, validityDecoder, source, dataGroup, channelGroup,
+        ctx.getOptions().getRecordsPerBuffer(recordSize), scope);
+  }
+
+  /**
+   * Internal API: Use {@link de.richardliebscher.mdf4.Mdf4File#newColumnStorageReader}.
+   *
+   * @see de.richardliebscher.mdf4.Mdf4File#newColumnStorageReader
+   */
+  public static ColumnBatchReader createColumnStorageFor(FileContext ctx,
+      LazyIoList<DataGroup> dataGroups, GroupPredicate groupPredicate,
+      ChannelPredicate channelPredicate) throws ChannelGroupNotFoundException, IOException {
+    final var input = ctx.getInput();
+
+    // collect all channel groups with their file offsets
+    final var groups = new ArrayList<Pair<DataGroup, ChannelGroup>>();
+    final var addresses = new ArrayList<Long>();
+    int selected = -1;
+    DataGroup dataGroup;
+    final var dataGroupsIter = dataGroups.iter();
+    while ((dataGroup = dataGroupsIter.next()) != null) {
+      var address = dataGroup.getBlock().getFirstChannelGroup().asLong();
+      ChannelGroup channelGroup;
+      final var channelGroupsIter = dataGroup.getChannelGroups().iter();
+      while ((channelGroup = channelGroupsIter.next()) != null) {
+        if (selected < 0 && groupPredicate.test(dataGroup, channelGroup)) {
+          selected = groups.size();
+        }
+        groups.add(Pair.of(dataGroup, channelGroup));
+        addresses.add(address);
+        address = channelGroup.getBlock().getNextChannelGroup().asLong();
+      }
+    }
+    if (selected < 0) {
+      throw new ChannelGroupNotFoundException("No matching channel group found");
+    }
+
+    // channel group with master channel
+    final var selectedBlock = groups.get(selected).getRight().getBlock();
+    final long masterAddress = selectedBlock.getFlags().isSet(ChannelGroupFlag.REMOTE_MASTER)
+        ? selectedBlock.getMasterChannelGroup().asLong()
+        : addresses.get(selected);
+    final var masterIndex = addresses.indexOf(masterAddress);
+    if (masterIndex < 0) {
+      throw new FormatException("Remote master channel group not found");
+    }
+    final var master = groups.get(masterIndex);
+
+    // build decoders of all channel groups sharing the master, skipping unselected groups
+    final var scope = ctx.newScope();
+    final var channels = new ArrayList<Channel>();
+    final var lanes = new ArrayList<DefaultColumnBatchReader.Lane>();
+    final var cycleCount = master.getRight().getBlock().getCycleCount();
+    for (int i = 0; i < groups.size(); i++) {
+      final var group = groups.get(i);
+      final var groupBlock = group.getRight().getBlock();
+      final var isMember = addresses.get(i) == masterAddress
+          || groupBlock.getFlags().isSet(ChannelGroupFlag.REMOTE_MASTER)
+          && groupBlock.getMasterChannelGroup().asLong() == masterAddress;
+      if (!isMember) {
+        continue;
+      }
+
+      final var groupChannels = new ArrayList<Channel>();
+      final var decoders = new ArrayList<ColumnDecoder>();
+      buildColumnDecoders(input, group.getLeft(), group.getRight(), channelPredicate, scope,
+          groupChannels, decoders);
+      if (groupChannels.isEmpty()) {
+        continue;
+      }
+
+      if (group.getLeft().getBlock().getRecordIdSize() != 0) {
+        throw new NotImplementedFeatureException("Unsorted data groups not implemented");
+      }
+      if (groupBlock.getCycleCount() != cycleCount) {
+        throw new FormatException("Channel group has " + groupBlock.getCycleCount()
+            + " records, but remote master has " + cycleCount);
+      }
+
+      final var validityDecoder = ValidityDecoder.create(
+          group.getLeft().getBlock(), groupBlock,
+          groupChannels.stream().map(Channel::getBlock).collect(Collectors.toList()),
+          channels.size());
+      final var columns = selectColumns(groupChannels, groupBlock);
+      final var source = createSource(ctx, group.getLeft().getBlock(), groupBlock, scope, columns);
+      final var recordSize = groupBlock.getDataBytes() + groupBlock.getInvalidationBytes();
+      lanes.add(new DefaultColumnBatchReader.Lane(decoders, channels.size(), validityDecoder,
+          source, groupBlock, ctx.getOptions().getRecordsPerBuffer(recordSize)));
+      channels.addAll(groupChannels);
+    }
+
+    return new DefaultColumnBatchReader(
+        channels, lanes, master.getLeft(), master.getRight(), scope);
+  }
+
+  private static void buildColumnDecoders(ByteInput input, DataGroup dataGroup,
+      ChannelGroup channelGroup, ChannelPredicate channelPredicate, Scope scope,
+      List<Channel> channels, List<ColumnDecoder> decoders) throws IOException {
+    final var iter = channelGroup.getChannels().iter();
+    Channel ch;
+    while ((ch = iter.next()) != null) {
+      if (!channelPredicate.test(dataGroup, channelGroup, ch)) {
+        continue;
+      }
+
+      try {
+        final var channelBlock = ch.getBlock();
+        final var conversion = scope.getResolver().resolve(
+            channelBlock.getConversionRule(), ChannelConversionBlock.TYPE, input);
+        decoders.add(ColumnDecoder.create(channelBlock, conversion.orElse(null), input, scope));
+        channels.add(ch);
+      } catch (NotImplementedFeatureException exception) {
+        log.warning("Ignoring channel '" + ch.getName() + "': " + exception.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Internal API: Use {@link de.richardliebscher.mdf4.Mdf4File#newZoneMap}.
+   *
+   * @see de.richardliebscher.mdf4.Mdf4File#newZoneMap
+   */
+  public static ZoneMap createZoneMapFor(FileContext ctx,
+      LazyIoList<DataGroup> dataGroups, GroupPredicate groupPredicate,
+      ChannelPredicate channelPredicate) throws ChannelGroupNotFoundException, IOException {
+    try (var reader = createColumnBatchFor(ctx, dataGroups, groupPredicate, channelPredicate)) {
+      final var dataList = collectDataList(ctx.getInput(), ctx,
+          reader.getDataGroup().getBlock(), reader.getChannelGroup().getBlock());
+      return ZoneMapBuilder.build(reader, dataList.getLeft(), dataList.getRight());
+    }
+  }
+
+  private static void checkBlockLinks(ZoneMap zoneMap, long[] blockLinks) {
+    boolean matches = zoneMap.getBlockCount() == blockLinks.length;
+    for (int i = 0; matches && i < blockLinks.length; i++) {
+      matches = zoneMap.getBlockLink(i) == blockLinks[i];
+    }
+    if (!matches) {
+      throw new IllegalArgumentException(
+          "Data blocks of zone map do not match data blocks of channel group");
+    }
   }
 
   private static Pair<DataGroup, ChannelGroup> selectChannels(
-      LazyIoList<DataGroup> dataGroups, RecordFactory<?, ?> selector)
+      LazyIoList<DataGroup> dataGroups, GroupPredicate selector)
       throws ChannelGroupNotFoundException, IOException {
     DataGroup dataGroup;
     ChannelGroup channelGroup;
@@ -935,7 +1169,7 @@ public final class RecordReaderFactory {
     while ((dataGroup = dataGroupsIter.next()) != null) {
       final var channelGroupsIter = dataGroup.getChannelGroups().iter();
       while ((channelGroup = channelGroupsIter.next()) != null) {
-        if (selector.selectGroup(dataGroup, channelGroup)) {
+        if (selector.test(dataGroup, channelGroup)) {
           if (dataGroup.getBlock().getRecordIdSize() != 0) {
             throw new NotImplementedFeatureException("Unsorted data groups not implemented");
           }
@@ -949,84 +1183,101 @@ public final class RecordReaderFactory {
   }
 
   public static DataRead<DataBlock> createSource(
-      FileContext ctx, DataGroupBlock dataGroup) throws IOException {
-    return DataRead.of(
-        dataGroup.getData().resolve(DataBlock.CONTAINER_TYPE, ctx.getInput()).orElse(null),
-        ctx.getInput(),
-        DataBlock.STORAGE_TYPE);
+      FileContext ctx, DataGroupBlock dataGroup, ChannelGroupBlock channelGroup, Scope scope,
+      ByteColumns columns) throws IOException {
+    final var input = ctx.newReaderInput(scope);
+    final var options = ctx.getOptions();
+    if (options.getReadAhead() > 0) {
+      final var dataList = collectDataList(input, ctx, dataGroup, channelGroup);
+      final var read = new ReadAheadDataRead<>(
+          input,
+          dataList.getLeft(),
+          new Offsets.Values(dataList.getRight()),
+          DataBlock.STORAGE_TYPE,
+          ctx,
+          columns,
+          options.getExecutor(),
+          options.getReadAhead());
+      scope.add(read);
+      return read;
+    }
+
+    return new SeekableDataListRead<>(
+        input,
+        DataList.from(dataGroup.getData(), DataBlock.CONTAINER_TYPE, input, ctx, channelGroup),
+        DataBlock.STORAGE_TYPE,
+        new BlockOpener(ctx, columns));
   }
 
-  public static Pair<long[], long[]> collectDataList(
-      ByteInput input, DataGroupBlock dataGroup) throws IOException {
-
-    final var dataRoot = dataGroup.getData().resolve(DataBlock.CONTAINER_TYPE, input).orElse(null);
-    if (dataRoot == null) {
-      return Pair.of(new long[0], new long[0]);
-    } else if (dataRoot instanceof DataStorage) {
-      return Pair.of(new long[]{dataGroup.getData().asLong()}, new long[]{0});
-    } else if (dataRoot instanceof DataListBlock) {
-      return collectDataList(input, (DataListBlock<DataBlock>) dataRoot);
-    } else if (dataRoot instanceof HeaderListBlock) {
-      final var headerList = (HeaderListBlock<DataBlock>) dataRoot;
-
-      if (headerList.getZipType() != ZipType.DEFLATE) {
-        throw new NotImplementedFeatureException(
-            "ZIP type not implemented: " + headerList.getZipType());
+  /**
+   * Get bytes of records, which are read for the given channels.
+   *
+   * <p>All columns are selected, when a channel reads bytes outside of its own byte range.
+   */
+  static ByteColumns selectColumns(List<Channel> channels, ChannelGroupBlock group) {
+    final var recordSize = group.getDataBytes() + group.getInvalidationBytes();
+    final var columns = new BitSet(recordSize);
+    for (final var channel : channels) {
+      final var channelBlock = channel.getBlock();
+      if (!channelBlock.getComposition().isNil()) {
+        return ByteColumns.all(recordSize);
       }
 
-      final var firstDataList = headerList.getFirstDataList().resolve(DataListBlock.DT_TYPE, input);
-      return firstDataList.isPresent()
-          ? collectDataList(input, firstDataList.get())
-          : Pair.of(new long[0], new long[0]);
-    } else {
-      throw new IllegalStateException("Should not happen");
-    }
-  }
-
-  private static Pair<long[], long[]> collectDataList(
-      ByteInput input, DataListBlock<DataBlock> dataList) throws IOException {
-    final var dataLinks = new ArrayList<>(dataList.getData());
-    final var offsetsList = new ArrayList<Long>();
-    addOffsets(offsetsList, dataList);
+      switch (channelBlock.getType()) {
+        case FIXED_LENGTH_DATA_CHANNEL:
+        case MASTER_CHANNEL:
+        case SYNCHRONIZATION_CHANNEL:
+        case VARIABLE_LENGTH_DATA_CHANNEL:
+          final var byteCount = (channelBlock.getBitOffset() + channelBlock.getBitCount() + 7) / 8;
+          columns.set(
+              Math.min(recordSize, channelBlock.getByteOffset()),
+              Math.min(recordSize, channelBlock.getByteOffset() + byteCount));
+          break;
+        case VIRTUAL_DATA_CHANNEL:
+        case VIRTUAL_MASTER_CHANNEL:
+          break;
+        default:
+          return ByteColumns.all(recordSize);
+      }
 
-    while (!dataList.getNextDataList().isNil()) {
-      dataList = dataList.getNextDataList().resolve(DataListBlock.DT_TYPE, input).orElseThrow();
-      dataLinks.addAll(dataList.getData());
-      addOffsets(offsetsList, dataList);
+      if (channelBlock.getFlags().isSet(ChannelFlag.INVALIDATION_BIT_VALID)) {
+        final var invalidationByte =
+            group.getDataBytes() + (channelBlock.getInvalidationBit() >>> 3);
+        if (invalidationByte < recordSize) {
+          columns.set(invalidationByte);
+        }
+      }
     }
 
-    return Pair.of(
-        dataLinks.stream().mapToLong(Link::asLong).toArray(),
-        offsetsList.stream().mapToLong(Long::longValue).toArray());
+    return ByteColumns.of(recordSize, columns.stream().toArray());
   }
 
-  private static void addOffsets(List<Long> offsetsList, DataListBlock<DataBlock> dataList) {
-    dataList.getOffsets().accept(new Offsets.Visitor<List<Long>, RuntimeException>() {
-      @Override
-      public List<Long> visitLength(int number, long length) throws RuntimeException {
-        for (int i = 0; i < dataList.getData().size(); i++) {
-          if (offsetsList.isEmpty()) {
-            offsetsList.add(0L);
-          } else {
-            offsetsList.add(offsetsList.get(offsetsList.size() - 1) + length);
-          }
-        }
-        return null;
-      }
-
-      @Override
-      public List<Long> visitOffsets(long[] offsets) {
-        for (long offset : offsets) {
-          offsetsList.add(offset);
-        }
-        return null;
-      }
-    });
+  /**
+   * Collect links and byte offsets of data blocks of a channel group.
+   *
+   * @param input        Input file
+   * @param resolver     Resolver of data list blocks
+   * @param dataGroup    Data group
+   * @param channelGroup Channel group, which is read
+   * @return Links and offsets of data blocks
+   * @throws IOException Unable to read data list blocks
+   */
+  public static Pair<long[], long[]> collectDataList(
+      ByteInput input, BlockResolver resolver, DataGroupBlock dataGroup,
+      ChannelGroupBlock channelGroup) throws IOException {
+    final var dataList = DataList.from(
+        dataGroup.getData(), DataBlock.CONTAINER_TYPE, input, resolver, channelGroup);
+    final var links = dataList.getDataBlocks().stream().mapToLong(Link::asLong).toArray();
+    final var offsets = new long[links.length];
+    for (int i = 0; i < offsets.length; i++) {
+      offsets[i] = dataList.getOffsets().get(i);
+    }
+    return Pair.of(links, offsets);
   }
 
   private static <B, R> Pair<List<ReadIntoFactory<B>>, List<Channel>> buildExtractors(
-      RecordFactory<B, R> selector, ByteInput input, DataGroup dataGroup,
-      ChannelGroup channelGroup) throws IOException {
+      RecordFactory<B, R> selector, ByteInput input, BlockResolver resolver, DataGroup dataGroup,
+      ChannelGroup channelGroup, boolean compile) throws IOException {
     final var dataGroupBlock = dataGroup.getBlock();
     final var channelGroupBlock = channelGroup.getBlock();
     log.finest(() ->
@@ -1038,6 +1289,7 @@ public final class RecordReaderFactory {
 
     final var channels = new ArrayList<Channel>();
     final var channelReaders = new ArrayList<ReadIntoFactory<B>>();
+    final var compiledFields = new ArrayList<TypedReadInto.Field<B>>();
     final var iter = channelGroup.getChannels().iter();
     de.richardliebscher.mdf4.Channel ch;
     while ((ch = iter.next()) != null) {
@@ -1045,23 +1297,45 @@ public final class RecordReaderFactory {
         final var deserializeInto = selector.selectChannel(dataGroup, channelGroup, ch);
         if (deserializeInto != null) {
           final var channelReaderFactory = createChannelReaderFactory(
-              dataGroupBlock, channelGroupBlock, ch.getBlock(), input);
+              dataGroupBlock, channelGroupBlock, ch.getBlock(), input, resolver);
+          final var conversion = resolver.resolve(
+              ch.getBlock().getConversionRule(), ChannelConversionBlock.TYPE, input);
+          final var field = TypedReadInto.describe(dataGroupBlock, channelGroupBlock,
+              ch.getBlock(), conversion.orElse(null), deserializeInto);
           channels.add(ch);
-          channelReaders.add((in, scope) ->
-              new ReadIntoImpl<>(deserializeInto, channelReaderFactory.build(in, scope)));
+          if (compile && field != null) {
+            compiledFields.add(field);
+          } else {
+            addCompiled(channelReaders, compiledFields);
+            channelReaders.add(field != null ? TypedReadInto.create(field) : (in, scope) ->
+                new ReadIntoImpl<>(deserializeInto, channelReaderFactory.build(in, scope)));
+          }
         }
       } catch (NotImplementedFeatureException exception) {
         log.warning("Ignoring channel '" + ch.getName() + "': " + exception.getMessage());
       }
     }
+    addCompiled(channelReaders, compiledFields);
 
     return Pair.of(channelReaders, channels);
   }
 
-  private static final class ReadIntoImpl<B> implements ReadInto<B> {
+  private static <B> void addCompiled(
+      List<ReadIntoFactory<B>> channelReaders, List<TypedReadInto.Field<B>> fields) {
+    // channels are deserialized in order, so only consecutive channels are compiled together
+    if (fields.size() == 1) {
+      channelReaders.add(TypedReadInto.create(fields.get(0)));
+    } else if (fields.size() > 1) {
+      channelReaders.add(CompiledReadInto.compile(new ArrayList<>(fields)));
+    }
+    fields.clear();
+  }
+
+  private static final class ReadIntoImpl<B> implements ReadInto<B>, Deserializer {
 
     private final DeserializeInto<B> deserializeInto;
     private final ValueRead channelReader;
+    private RecordBuffer recordBuffer;
 
     public ReadIntoImpl(DeserializeInto<B> deserializeInto, ValueRead channelReader) {
       this.deserializeInto = deserializeInto;
@@ -1070,17 +1344,19 @@ public final class RecordReaderFactory {
 
     @Override
     public void readInto(RecordBuffer recordBuffer, B destination) throws IOException {
-      deserializeInto.deserializeInto(new Deserializer() {
-        @Override
-        public <R2, P2> R2 deserialize_value(Visitor<R2, P2> visitor, P2 param) throws IOException {
-          return channelReader.read(recordBuffer, visitor, param);
-        }
+      // this is the deserializer of the current record to not allocate one per value
+      this.recordBuffer = recordBuffer;
+      deserializeInto.deserializeInto(this, destination);
+    }
 
-        @Override
-        public void ignore() {
-          // noop
-        }
-      }, destination);
+    @Override
+    public <R2, P2> R2 deserialize_value(Visitor<R2, P2> visitor, P2 param) throws IOException {
+      return channelReader.read(recordBuffer, visitor, param);
+    }
+
+    @Override
+    public void ignore() {
+      // noop
     }
 
     @Override
@@ -1089,13 +1365,67 @@ public final class RecordReaderFactory {
     }
   }
 
+  @RequiredArgsConstructor
+  private static final class InvalidationRead implements ValueRead {
+
+    private final ValueRead valueRead;
+    private final int invalidationByteIndex;
+    private final int invalidationBitMask;
+
+    @Override
+    public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param) throws IOException {
+      if ((input.readU8(invalidationByteIndex) & invalidationBitMask) != 0) {
+        return visitor.visitInvalid(param);
+      } else {
+        return valueRead.read(input, visitor, param);
+      }
+    }
+
+    @Override
+    public ValueRead dup() throws IOException {
+      return new InvalidationRead(valueRead.dup(), invalidationByteIndex, invalidationBitMask);
+    }
+  }
+
+  private static final class StructRead implements ValueRead {
+
+    private final ValueRead[] fieldReaders;
+    private final StructAccessImpl access;
+
+    StructRead(ValueRead[] fieldReaders) {
+      this.fieldReaders = fieldReaders;
+      this.access = new StructAccessImpl(fieldReaders);
+    }
+
+    @Override
+    public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param) throws IOException {
+      // access is reused to not allocate per value
+      access.reset(input);
+      return visitor.visitStruct(access, param);
+    }
+
+    @Override
+    public ValueRead dup() throws IOException {
+      final var fieldReaders = new ValueRead[this.fieldReaders.length];
+      for (int i = 0; i < fieldReaders.length; i++) {
+        fieldReaders[i] = this.fieldReaders[i].dup();
+      }
+      return new StructRead(fieldReaders);
+    }
+  }
+
   @RequiredArgsConstructor
   private static final class StructAccessImpl implements StructAccess, Deserializer {
 
     private final ValueRead[] fieldReaders;
-    private final RecordBuffer input;
+    private RecordBuffer input;
     private int index = 0;
 
+    void reset(RecordBuffer input) {
+      this.input = input;
+      this.index = 0;
+    }
+
     // StructAccess
 
     @Override
@@ -0,0 +1,246 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import de.richardliebscher.mdf4.Channel;
+import de.richardliebscher.mdf4.ChannelGroup;
+import de.richardliebscher.mdf4.DataGroup;
+import de.richardliebscher.mdf4.LazyIoList;
+import de.richardliebscher.mdf4.blocks.ChannelGroupFlag;
+import de.richardliebscher.mdf4.blocks.ChannelType;
+import de.richardliebscher.mdf4.blocks.DataBlock;
+import de.richardliebscher.mdf4.blocks.DataGroupBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import de.richardliebscher.mdf4.extract.read.BlockOpener;
+import de.richardliebscher.mdf4.extract.read.DataList;
+import de.richardliebscher.mdf4.extract.read.RecordByteBuffer;
+import de.richardliebscher.mdf4.extract.read.Scope;
+import de.richardliebscher.mdf4.extract.read.SeekableDataListRead;
+import de.richardliebscher.mdf4.extract.read.ValueRead;
+import de.richardliebscher.mdf4.internal.FileContext;
+import de.richardliebscher.mdf4.internal.Pair;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Find records by value of the master channel.
+ *
+ * <p>Values of the master channel are monotonically increasing. So the first record of every
+ * data block is probed by binary search using the offsets of the data list, followed by a binary
+ * search inside of the found data block. Only probed records are read, so a search needs
+ * O(log blocks + log records per block) record reads.
+ *
+ * <p>Probed records are read with an own input, so the position of the record reader is not
+ * changed. Channel groups without master channel use the master channel of their remote master
+ * channel group ({@code cg_cg_master}), which has records with the same indexes.
+ */
+final class TimeIndex {
+
+  private final FileContext ctx;
+  private final LazyIoList<DataGroup> dataGroups;
+  private final DataGroupBlock dataGroup;
+  private final ChannelGroup channelGroup;
+  private final Scope scope;
+  private final double[] value = new double[1];
+  private int recordSize;
+  private ByteBuffer buffer;
+  private RecordByteBuffer record;
+  private ValueRead master;
+  private SeekableDataListRead<DataBlock> source;
+  private long[] blockCycles;
+
+  TimeIndex(FileContext ctx, LazyIoList<DataGroup> dataGroups, DataGroupBlock dataGroup,
+      ChannelGroup channelGroup, Scope scope) {
+    this.ctx = ctx;
+    this.dataGroups = dataGroups;
+    this.dataGroup = dataGroup;
+    this.channelGroup = channelGroup;
+    this.scope = scope;
+  }
+
+  /**
+   * Find first record with a master channel value not less than {@code time}.
+   *
+   * @param time Value of master channel
+   * @return Record index or number of records, when all values are less
+   * @throws IOException Unable to read master channel
+   */
+  long indexOf(double time) throws IOException {
+    final var cycles = channelGroup.getBlock().getCycleCount();
+    if (cycles == 0) {
+      return 0;
+    }
+    open();
+
+    // blocks, which first record is less than time
+    int lowBlock = 0;
+    int highBlock = blockCount(cycles);
+    while (lowBlock < highBlock) {
+      final var mid = (lowBlock + highBlock) >>> 1;
+      if (valueAt(blockCycles[mid]) < time) {
+        lowBlock = mid + 1;
+      } else {
+        highBlock = mid;
+      }
+    }
+    if (lowBlock == 0) {
+      return 0;
+    }
+
+    // records of last block with lesser first record
+    long low = blockCycles[lowBlock - 1] + 1;
+    long high = lowBlock < blockCycles.length ? Math.min(blockCycles[lowBlock], cycles) : cycles;
+    while (low < high) {
+      final var mid = (low + high) >>> 1;
+      if (valueAt(mid) < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int blockCount(long cycles) {
+    int count = blockCycles.length;
+    while (count > 0 && blockCycles[count - 1] >= cycles) {
+      count--;
+    }
+    return count;
+  }
+
+  private double valueAt(long cycle) throws IOException {
+    source.position(cycle * recordSize);
+    buffer.clear();
+    try {
+      source.readFully(buffer);
+    } catch (EOFException exception) {
+      throw new FormatException("Early end of data at cycle " + (cycle + 1) + " of "
+          + channelGroup.getBlock().getCycleCount());
+    }
+
+    record.wrap(buffer, 0);
+    record.setRecordIndex(cycle);
+    value[0] = Double.NaN;
+    master.read(record, TimeVisitor.INSTANCE, value);
+    return value[0];
+  }
+
+  private void open() throws IOException {
+    if (source != null) {
+      return;
+    }
+
+    final var input = ctx.getInput().dup();
+    scope.add(input);
+
+    var masterGroup = Pair.of(dataGroup, channelGroup);
+    var channel = findMasterChannel(channelGroup);
+    if (channel == null && channelGroup.getBlock().getFlags().isSet(
+        ChannelGroupFlag.REMOTE_MASTER)) {
+      masterGroup = findRemoteMasterGroup();
+      channel = findMasterChannel(masterGroup.getRight());
+    }
+    if (channel == null) {
+      throw new FormatException("Channel group has no master channel");
+    }
+
+    final var masterDataGroup = masterGroup.getLeft();
+    final var masterGroupBlock = masterGroup.getRight().getBlock();
+    recordSize = masterGroupBlock.getDataBytes() + masterGroupBlock.getInvalidationBytes();
+    buffer = ByteBuffer.allocate(recordSize);
+    record = new RecordByteBuffer(buffer, 0);
+    master = RecordReaderFactory.createChannelReaderFactory(
+            masterDataGroup, masterGroupBlock, channel.getBlock(), input, ctx)
+        .build(input, scope);
+
+    final var dataList = DataList.from(
+        masterDataGroup.getData(), DataBlock.CONTAINER_TYPE, input, ctx, masterGroupBlock);
+    final var offsets = dataList.getOffsets();
+    blockCycles = new long[(int) offsets.size()];
+    for (int i = 0; i < blockCycles.length; i++) {
+      // first record starting in block
+      blockCycles[i] = recordSize == 0 ? 0 : (offsets.get(i) + recordSize - 1) / recordSize;
+    }
+
+    final var columns = RecordReaderFactory.selectColumns(List.of(channel), masterGroupBlock);
+    source = new SeekableDataListRead<>(
+        input, dataList, DataBlock.STORAGE_TYPE, new BlockOpener(ctx, columns));
+    scope.add(source);
+  }
+
+  private static Channel findMasterChannel(ChannelGroup group) throws IOException {
+    final var iter = group.getChannels().iter();
+    Channel channel;
+    while ((channel = iter.next()) != null) {
+      final var type = channel.getBlock().getType();
+      if (type == ChannelType.MASTER_CHANNEL || type == ChannelType.VIRTUAL_MASTER_CHANNEL) {
+        return channel;
+      }
+    }
+    return null;
+  }
+
+  private Pair<DataGroupBlock, ChannelGroup> findRemoteMasterGroup() throws IOException {
+    final var masterAddress = channelGroup.getBlock().getMasterChannelGroup().asLong();
+    final var dataGroupsIter = dataGroups.iter();
+    DataGroup group;
+    while ((group = dataGroupsIter.next()) != null) {
+      var address = group.getBlock().getFirstChannelGroup().asLong();
+      final var channelGroupsIter = group.getChannelGroups().iter();
+      ChannelGroup masterGroup;
+      while ((masterGroup = channelGroupsIter.next()) != null) {
+        if (address == masterAddress) {
+          final var cycles = masterGroup.getBlock().getCycleCount();
+          if (cycles != channelGroup.getBlock().getCycleCount()) {
+            throw new FormatException("Channel group has "
+                + channelGroup.getBlock().getCycleCount()
+                + " records, but remote master has " + cycles);
+          }
+          return Pair.of(group.getBlock(), masterGroup);
+        }
+        address = masterGroup.getBlock().getNextChannelGroup().asLong();
+      }
+    }
+    throw new FormatException("Remote master channel group not found");
+  }
+
+  private static final class TimeVisitor implements Visitor<Void, double[]> {
+    private static final TimeVisitor INSTANCE = new TimeVisitor();
+
+    @Override
+    public String expecting() {
+      return "numeric master value";
+    }
+
+    @Override
+    public Void visitU64(long value, double[] target) {
+      target[0] = UnsignedLong.toDoubleValue(value);
+      return null;
+    }
+
+    @Override
+    public Void visitI64(long value, double[] target) {
+      target[0] = value;
+      return null;
+    }
+
+    @Override
+    public Void visitF64(double value, double[] target) {
+      target[0] = value;
+      return null;
+    }
+
+    @Override
+    public Void visitInvalid(double[] target) {
+      return null;
+    }
+  }
+}
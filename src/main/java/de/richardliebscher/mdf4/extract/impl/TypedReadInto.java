@@ -0,0 +1,483 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionType;
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.blocks.ChannelFlag;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataGroupBlock;
+import de.richardliebscher.mdf4.extract.de.DeserializeInto;
+import de.richardliebscher.mdf4.extract.de.DoubleSink;
+import de.richardliebscher.mdf4.extract.de.Half;
+import de.richardliebscher.mdf4.extract.de.IntSink;
+import de.richardliebscher.mdf4.extract.de.LongSink;
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import de.richardliebscher.mdf4.extract.read.LinearConversion;
+import de.richardliebscher.mdf4.extract.read.RationalConversion;
+import de.richardliebscher.mdf4.extract.read.ReadInto;
+import de.richardliebscher.mdf4.extract.read.ReadIntoFactory;
+import de.richardliebscher.mdf4.extract.read.RecordBuffer;
+import java.io.IOException;
+import java.io.Serializable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Bind numeric channels directly to {@link DoubleSink}, {@link LongSink} and {@link IntSink}.
+ *
+ * <p>Values are read by a reader specialized for data type, byte order and bit count and are
+ * converted without {@link de.richardliebscher.mdf4.extract.de.Visitor}s, so no objects are
+ * allocated per record. Only fixed length channels without bit offset are supported, all other
+ * channels have to be read by the generic {@link de.richardliebscher.mdf4.extract.read.ValueRead}
+ * path.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class TypedReadInto {
+
+  /**
+   * Describe channel, which is read into a sink.
+   *
+   * <p>Accepted values are the same as with {@link DeserializeInto#deserializeInto} of the sinks.
+   * The channel has to be validated before.
+   *
+   * @param dataGroup       Data group
+   * @param group           Channel group
+   * @param channel         Channel
+   * @param conversion      Conversion of channel or {@code null}
+   * @param deserializeInto Destination
+   * @param <B>             Structure type
+   * @return Field or {@code null}, when destination is no sink or the channel is not supported
+   */
+  static <B> Field<B> describe(
+      DataGroupBlock dataGroup, ChannelGroupBlock group, ChannelBlock channel,
+      ChannelConversionBlock conversion, DeserializeInto<B> deserializeInto) {
+    if (!isSupported(channel)) {
+      return null;
+    }
+
+    final int invalidationByte;
+    final int invalidationMask;
+    if (channel.getFlags().isSet(ChannelFlag.INVALIDATION_BIT_VALID)) {
+      final var invalidationBit = channel.getInvalidationBit();
+      invalidationByte =
+          dataGroup.getRecordIdSize() + group.getDataBytes() + (invalidationBit >>> 3);
+      invalidationMask = 1 << (invalidationBit & 0x07);
+    } else {
+      invalidationByte = 0;
+      invalidationMask = 0;
+    }
+
+    final var dataType = channel.getDataType();
+    final var bitCount = channel.getBitCount();
+    final var byteOffset = channel.getByteOffset();
+    final var conversionType =
+        conversion == null ? ChannelConversionType.IDENTITY : conversion.getType();
+    final SinkKind kind;
+    if (deserializeInto instanceof DoubleSink) {
+      final var converted = conversionType != ChannelConversionType.IDENTITY;
+      if (createRawDoubleRead(dataType, bitCount, byteOffset, converted) == null) {
+        return null;
+      }
+      kind = SinkKind.DOUBLE;
+    } else if (conversionType != ChannelConversionType.IDENTITY) {
+      return null;
+    } else if (deserializeInto instanceof LongSink) {
+      if (createLongRead(dataType, bitCount, byteOffset) == null) {
+        return null;
+      }
+      kind = SinkKind.LONG;
+    } else if (deserializeInto instanceof IntSink) {
+      if (createIntRead(dataType, bitCount, byteOffset) == null) {
+        return null;
+      }
+      kind = SinkKind.INT;
+    } else {
+      return null;
+    }
+
+    final double[] params;
+    final ChannelConversionType fieldConversion;
+    switch (conversionType) {
+      case IDENTITY:
+        fieldConversion = ChannelConversionType.IDENTITY;
+        params = new double[0];
+        break;
+      case LINEAR:
+        params = toParams(conversion.getVals(), 2);
+        fieldConversion = params[0] == 0.0 && params[1] == 1.0
+            ? ChannelConversionType.IDENTITY
+            : ChannelConversionType.LINEAR;
+        break;
+      case RATIONAL:
+        params = toParams(conversion.getVals(), 6);
+        fieldConversion = ChannelConversionType.RATIONAL;
+        break;
+      default:
+        return null;
+    }
+
+    return new Field<>(kind, dataType, bitCount, byteOffset, fieldConversion, params,
+        invalidationByte, invalidationMask, deserializeInto);
+  }
+
+  /**
+   * Create typed reader for a single channel.
+   *
+   * @param field Channel description
+   * @param <B>   Structure type
+   * @return Factory
+   */
+  @SuppressWarnings("unchecked")
+  static <B> ReadIntoFactory<B> create(Field<B> field) {
+    final var invalidationByte = field.getInvalidationByte();
+    final var invalidationMask = field.getInvalidationMask();
+    switch (field.getKind()) {
+      case DOUBLE: {
+        final var sink = (DoubleSink<B>) field.getSink();
+        final var read = createDoubleRead(field);
+        return (input, scope) ->
+            new DoubleReadInto<>(sink, read, invalidationByte, invalidationMask);
+      }
+      case LONG: {
+        final var sink = (LongSink<B>) field.getSink();
+        final var read = createLongRead(
+            field.getDataType(), field.getBitCount(), field.getByteOffset());
+        return (input, scope) ->
+            new LongReadInto<>(sink, read, invalidationByte, invalidationMask);
+      }
+      case INT: {
+        final var sink = (IntSink<B>) field.getSink();
+        final var read = createIntRead(
+            field.getDataType(), field.getBitCount(), field.getByteOffset());
+        return (input, scope) ->
+            new IntReadInto<>(sink, read, invalidationByte, invalidationMask);
+      }
+      default:
+        throw new IllegalStateException("Unknown sink kind: " + field.getKind());
+    }
+  }
+
+  private static boolean isSupported(ChannelBlock channel) {
+    if (!channel.getComposition().isNil() || channel.getBitOffset() != 0
+        || channel.getFlags().isSet(ChannelFlag.ALL_VALUES_INVALID)) {
+      return false;
+    }
+
+    switch (channel.getType()) {
+      case FIXED_LENGTH_DATA_CHANNEL:
+      case MASTER_CHANNEL:
+      case SYNCHRONIZATION_CHANNEL:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static double[] toParams(long[] vals, int count) {
+    final var params = new double[count];
+    for (int i = 0; i < count; i++) {
+      params[i] = Double.longBitsToDouble(vals[i]);
+    }
+    return params;
+  }
+
+  private static DoubleRead createDoubleRead(Field<?> field) {
+    final var read = createRawDoubleRead(field.getDataType(), field.getBitCount(),
+        field.getByteOffset(), true);
+    final var params = field.getParams();
+    switch (field.getConversionType()) {
+      case IDENTITY:
+        return read;
+      case LINEAR: {
+        final var p1 = params[0];
+        final var p2 = params[1];
+        return input -> LinearConversion.evaluate(p1, p2, read.read(input));
+      }
+      case RATIONAL: {
+        final var p1 = params[0];
+        final var p2 = params[1];
+        final var p3 = params[2];
+        final var p4 = params[3];
+        final var p5 = params[4];
+        final var p6 = params[5];
+        return input -> RationalConversion.evaluate(p1, p2, p3, p4, p5, p6, read.read(input));
+      }
+      default:
+        throw new IllegalStateException("Unknown conversion: " + field.getConversionType());
+    }
+  }
+
+  private static DoubleRead createRawDoubleRead(
+      ChannelDataType dataType, int bitCount, int byteOffset, boolean integers) {
+    switch (dataType) {
+      case FLOAT_LE:
+        switch (bitCount) {
+          case 16:
+            return input -> Half.toDouble(input.readI16Le(byteOffset));
+          case 32:
+            return input -> input.readF32Le(byteOffset);
+          case 64:
+            return input -> input.readF64Le(byteOffset);
+          default:
+            return null;
+        }
+      case FLOAT_BE:
+        switch (bitCount) {
+          case 16:
+            return input -> Half.toDouble(input.readI16Be(byteOffset));
+          case 32:
+            return input -> input.readF32Be(byteOffset);
+          case 64:
+            return input -> input.readF64Be(byteOffset);
+          default:
+            return null;
+        }
+      case UINT_LE:
+        if (integers && bitCount == 64) {
+          return input -> UnsignedLong.toDoubleValue(input.readI64Le(byteOffset));
+        }
+        break;
+      case UINT_BE:
+        if (integers && bitCount == 64) {
+          return input -> UnsignedLong.toDoubleValue(input.readI64Be(byteOffset));
+        }
+        break;
+      case INT_LE:
+      case INT_BE:
+        break;
+      default:
+        return null;
+    }
+
+    final var read = integers ? createLongRead(dataType, bitCount, byteOffset) : null;
+    return read == null ? null : input -> read.read(input);
+  }
+
+  private static LongRead createLongRead(ChannelDataType dataType, int bitCount, int byteOffset) {
+    switch (dataType) {
+      case UINT_LE:
+        switch (bitCount) {
+          case 8:
+            return input -> input.readU8(byteOffset) & 0xFFL;
+          case 16:
+            return input -> input.readI16Le(byteOffset) & 0xFFFFL;
+          case 32:
+            return input -> input.readI32Le(byteOffset) & 0xFFFFFFFFL;
+          default:
+            return null;
+        }
+      case UINT_BE:
+        switch (bitCount) {
+          case 8:
+            return input -> input.readU8(byteOffset) & 0xFFL;
+          case 16:
+            return input -> input.readI16Be(byteOffset) & 0xFFFFL;
+          case 32:
+            return input -> input.readI32Be(byteOffset) & 0xFFFFFFFFL;
+          default:
+            return null;
+        }
+      case INT_LE:
+        switch (bitCount) {
+          case 8:
+            return input -> input.readU8(byteOffset);
+          case 16:
+            return input -> input.readI16Le(byteOffset);
+          case 32:
+            return input -> input.readI32Le(byteOffset);
+          case 64:
+            return input -> input.readI64Le(byteOffset);
+          default:
+            return null;
+        }
+      case INT_BE:
+        switch (bitCount) {
+          case 8:
+            return input -> input.readU8(byteOffset);
+          case 16:
+            return input -> input.readI16Be(byteOffset);
+          case 32:
+            return input -> input.readI32Be(byteOffset);
+          case 64:
+            return input -> input.readI64Be(byteOffset);
+          default:
+            return null;
+        }
+      default:
+        return null;
+    }
+  }
+
+  private static IntRead createIntRead(ChannelDataType dataType, int bitCount, int byteOffset) {
+    switch (dataType) {
+      case UINT_LE:
+        switch (bitCount) {
+          case 8:
+            return input -> input.readU8(byteOffset) & 0xFF;
+          case 16:
+            return input -> input.readI16Le(byteOffset) & 0xFFFF;
+          default:
+            return null;
+        }
+      case UINT_BE:
+        switch (bitCount) {
+          case 8:
+            return input -> input.readU8(byteOffset) & 0xFF;
+          case 16:
+            return input -> input.readI16Be(byteOffset) & 0xFFFF;
+          default:
+            return null;
+        }
+      case INT_LE:
+        switch (bitCount) {
+          case 8:
+            return input -> input.readU8(byteOffset);
+          case 16:
+            return input -> input.readI16Le(byteOffset);
+          case 32:
+            return input -> input.readI32Le(byteOffset);
+          default:
+            return null;
+        }
+      case INT_BE:
+        switch (bitCount) {
+          case 8:
+            return input -> input.readU8(byteOffset);
+          case 16:
+            return input -> input.readI16Be(byteOffset);
+          case 32:
+            return input -> input.readI32Be(byteOffset);
+          default:
+            return null;
+        }
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Kind of sink.
+   */
+  enum SinkKind {
+    DOUBLE,
+    LONG,
+    INT
+  }
+
+  /**
+   * Numeric channel, which is read into a sink.
+   *
+   * @param <B> Structure type
+   */
+  @Value
+  static class Field<B> implements Serializable {
+    SinkKind kind;
+    ChannelDataType dataType;
+    int bitCount;
+    int byteOffset;
+    /**
+     * One of {@code IDENTITY}, {@code LINEAR} or {@code RATIONAL}.
+     */
+    ChannelConversionType conversionType;
+    double[] params;
+    int invalidationByte;
+    /**
+     * Mask of invalidation bit in invalidation byte or {@code 0}, when channel has no
+     * invalidation bit.
+     */
+    int invalidationMask;
+    DeserializeInto<B> sink;
+  }
+
+  @FunctionalInterface
+  private interface DoubleRead extends Serializable {
+    double read(RecordBuffer input);
+  }
+
+  @FunctionalInterface
+  private interface LongRead extends Serializable {
+    long read(RecordBuffer input);
+  }
+
+  @FunctionalInterface
+  private interface IntRead extends Serializable {
+    int read(RecordBuffer input);
+  }
+
+  @RequiredArgsConstructor
+  private static final class DoubleReadInto<B> implements ReadInto<B> {
+
+    private final DoubleSink<B> sink;
+    private final DoubleRead read;
+    private final int invalidationByte;
+    private final int invalidationMask;
+
+    @Override
+    public void readInto(RecordBuffer input, B destination) throws IOException {
+      if (invalidationMask != 0 && (input.readU8(invalidationByte) & invalidationMask) != 0) {
+        sink.acceptInvalid(destination);
+      } else {
+        sink.accept(destination, read.read(input));
+      }
+    }
+
+    @Override
+    public ReadInto<B> dup() {
+      return this;
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static final class LongReadInto<B> implements ReadInto<B> {
+
+    private final LongSink<B> sink;
+    private final LongRead read;
+    private final int invalidationByte;
+    private final int invalidationMask;
+
+    @Override
+    public void readInto(RecordBuffer input, B destination) throws IOException {
+      if (invalidationMask != 0 && (input.readU8(invalidationByte) & invalidationMask) != 0) {
+        sink.acceptInvalid(destination);
+      } else {
+        sink.accept(destination, read.read(input));
+      }
+    }
+
+    @Override
+    public ReadInto<B> dup() {
+      return this;
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static final class IntReadInto<B> implements ReadInto<B> {
+
+    private final IntSink<B> sink;
+    private final IntRead read;
+    private final int invalidationByte;
+    private final int invalidationMask;
+
+    @Override
+    public void readInto(RecordBuffer input, B destination) throws IOException {
+      if (invalidationMask != 0 && (input.readU8(invalidationByte) & invalidationMask) != 0) {
+        sink.acceptInvalid(destination);
+      } else {
+        sink.accept(destination, read.read(input));
+      }
+    }
+
+    @Override
+    public ReadInto<B> dup() {
+      return this;
+    }
+  }
+}
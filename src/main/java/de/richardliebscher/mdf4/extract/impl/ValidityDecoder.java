@@ -0,0 +1,164 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelFlag;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataGroupBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.extract.ColumnBatch;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Decode invalidation bits of many records into validity bitmaps of a {@link ColumnBatch}.
+ *
+ * <p>Every used invalidation byte is read once per record, even when many channels share it.
+ * Channels with all values invalid get an all-zero bitmap and channels without invalidation bit
+ * get no bitmap.
+ */
+final class ValidityDecoder {
+
+  private final int firstColumn;
+  private final int columns;
+  private final int[] byteIndexes;
+  private final int[][] byteColumns;
+  private final int[][] byteBits;
+  private final boolean[] nullable;
+  private byte[] scratch = new byte[0];
+
+  private ValidityDecoder(int firstColumn, int columns, int[] byteIndexes, int[][] byteColumns,
+      int[][] byteBits, boolean[] nullable) {
+    this.firstColumn = firstColumn;
+    this.columns = columns;
+    this.byteIndexes = byteIndexes;
+    this.byteColumns = byteColumns;
+    this.byteBits = byteBits;
+    this.nullable = nullable;
+  }
+
+  /**
+   * Create decoder.
+   *
+   * @param dataGroup Data group
+   * @param group     Channel group
+   * @param channels  Channel of every column
+   * @return Decoder
+   * @throws FormatException Invalid invalidation bit
+   */
+  static ValidityDecoder create(
+      DataGroupBlock dataGroup, ChannelGroupBlock group, List<ChannelBlock> channels)
+      throws FormatException {
+    return create(dataGroup, group, channels, 0);
+  }
+
+  /**
+   * Create decoder for channels, which are decoded into consecutive columns of a batch.
+   *
+   * @param dataGroup   Data group
+   * @param group       Channel group
+   * @param channels    Channel of every column
+   * @param firstColumn Column of first channel
+   * @return Decoder
+   * @throws FormatException Invalid invalidation bit
+   */
+  static ValidityDecoder create(DataGroupBlock dataGroup, ChannelGroupBlock group,
+      List<ChannelBlock> channels, int firstColumn) throws FormatException {
+    final var groupBits = group.getInvalidationBytes() * 8;
+    final var nullable = new boolean[channels.size()];
+    // byte index -> (column, bit) pairs
+    final var bytes = new TreeMap<Integer, List<int[]>>();
+    for (int column = 0; column < channels.size(); column++) {
+      final var channelBlock = channels.get(column);
+      if (channelBlock.getFlags().isSet(ChannelFlag.ALL_VALUES_INVALID)) {
+        nullable[column] = true;
+      } else if (channelBlock.getFlags().isSet(ChannelFlag.INVALIDATION_BIT_VALID)) {
+        final var invalidationBit = channelBlock.getInvalidationBit();
+        if (invalidationBit >= groupBits) {
+          throw new FormatException("Invalid invalidation bit position "
+              + invalidationBit + " in " + groupBits + " invalidation bits");
+        }
+
+        final var byteIndex =
+            dataGroup.getRecordIdSize() + group.getDataBytes() + (invalidationBit >>> 3);
+        nullable[column] = true;
+        bytes.computeIfAbsent(byteIndex, key -> new ArrayList<>())
+            .add(new int[]{firstColumn + column, invalidationBit & 0x07});
+      }
+    }
+
+    final var byteIndexes = new int[bytes.size()];
+    final var byteColumns = new int[bytes.size()][];
+    final var byteBits = new int[bytes.size()][];
+    int i = 0;
+    for (final var entry : bytes.entrySet()) {
+      final var pairs = entry.getValue();
+      byteIndexes[i] = entry.getKey();
+      byteColumns[i] = pairs.stream().mapToInt(pair -> pair[0]).toArray();
+      byteBits[i] = pairs.stream().mapToInt(pair -> pair[1]).toArray();
+      i += 1;
+    }
+
+    return new ValidityDecoder(
+        firstColumn, channels.size(), byteIndexes, byteColumns, byteBits, nullable);
+  }
+
+  /**
+   * Prepare bitmaps of batch before first call to
+   * {@link #decode(ByteBuffer, int, int, int, ColumnBatch, int)}.
+   *
+   * @param batch Batch
+   */
+  void reset(ColumnBatch batch) {
+    for (int column = 0; column < columns; column++) {
+      if (nullable[column]) {
+        batch.clearValidity(firstColumn + column);
+      } else {
+        batch.removeValidity(firstColumn + column);
+      }
+    }
+  }
+
+  /**
+   * Decode invalidation bits of records.
+   *
+   * <p>Bitmaps of channels with all values invalid stay cleared.
+   *
+   * @param records  Memory of records
+   * @param offset   Byte offset of first record
+   * @param stride   Record size in bytes
+   * @param count    Number of records
+   * @param batch    Destination batch
+   * @param position Index of first value in columns
+   */
+  void decode(
+      ByteBuffer records, int offset, int stride, int count, ColumnBatch batch, int position) {
+    if (scratch.length < count) {
+      scratch = new byte[count];
+    }
+
+    for (int b = 0; b < byteIndexes.length; b++) {
+      int pos = offset + byteIndexes[b];
+      for (int i = 0; i < count; i++, pos += stride) {
+        scratch[i] = records.get(pos);
+      }
+
+      final var bitColumns = byteColumns[b];
+      final var bits = byteBits[b];
+      for (int c = 0; c < bitColumns.length; c++) {
+        final var words = batch.getValidity(bitColumns[c]);
+        final var bit = bits[c];
+        for (int i = 0, index = position; i < count; i++, index++) {
+          // invalidation bit is set for invalid values, validity bit for valid values
+          words[index >>> 6] |= (long) (~scratch[i] >>> bit & 1) << index;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import de.richardliebscher.mdf4.Channel;
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.extract.ColumnBatch;
+import de.richardliebscher.mdf4.extract.ColumnBatchReader;
+import de.richardliebscher.mdf4.extract.ColumnType;
+import de.richardliebscher.mdf4.extract.ZoneMap;
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Build a {@link ZoneMap} in one pass over all records of a channel group.
+ *
+ * <p>Records are assigned to the data block, in which they start.
+ */
+final class ZoneMapBuilder {
+
+  private static final int BATCH_SIZE = 4096;
+
+  private ZoneMapBuilder() {
+  }
+
+  /**
+   * Read all records and collect statistics.
+   *
+   * @param reader     Reader of channels
+   * @param blockLinks Links of data blocks
+   * @param offsets    Offsets of data blocks in data section
+   * @return Zone map
+   * @throws IOException Unable to read records
+   */
+  static ZoneMap build(ColumnBatchReader reader, long[] blockLinks, long[] offsets)
+      throws IOException {
+    final var group = reader.getChannelGroup().getBlock();
+    final var recordSize = group.getDataBytes() + group.getInvalidationBytes();
+    final var cycles = reader.size();
+
+    final var firstRecords = new long[blockLinks.length + 1];
+    for (int i = 0; i < blockLinks.length; i++) {
+      firstRecords[i] = recordSize == 0
+          ? 0 : Math.min(cycles, (offsets[i] + recordSize - 1) / recordSize);
+    }
+    firstRecords[blockLinks.length] = cycles;
+
+    final var channels = reader.getChannels();
+    final var types = reader.getColumnTypes();
+    final var minima = new double[channels.size()][blockLinks.length];
+    final var maxima = new double[channels.size()][blockLinks.length];
+    final var counts = new long[channels.size()][blockLinks.length];
+    final var invalidCounts = new long[channels.size()][blockLinks.length];
+    final var unsigned = new boolean[channels.size()];
+    for (int column = 0; column < channels.size(); column++) {
+      final var numeric = isNumeric(types.get(column));
+      Arrays.fill(minima[column], numeric ? Double.POSITIVE_INFINITY : Double.NaN);
+      Arrays.fill(maxima[column], numeric ? Double.NEGATIVE_INFINITY : Double.NaN);
+      unsigned[column] = isUnsigned64(channels.get(column));
+    }
+
+    if (blockLinks.length == 0) {
+      return new ZoneMap(
+          names(channels), blockLinks, firstRecords, minima, maxima, counts, invalidCounts);
+    }
+
+    final var batch = reader.newBatch((int) Math.max(1, Math.min(BATCH_SIZE, cycles)));
+    long cycle = 0;
+    int block = 0;
+    int size;
+    while ((size = reader.next(batch)) > 0) {
+      int start = 0;
+      while (start < size) {
+        while (firstRecords[block + 1] <= cycle + start) {
+          block++;
+        }
+        final var end = (int) Math.min(size, firstRecords[block + 1] - cycle);
+        for (int column = 0; column < types.size(); column++) {
+          counts[column][block] += end - start;
+          invalidCounts[column][block] += countInvalid(batch, column, start, end);
+          if (isNumeric(types.get(column))) {
+            updateRange(batch, column, unsigned[column], start, end, minima[column],
+                maxima[column], block);
+          }
+        }
+        start = end;
+      }
+      cycle += size;
+    }
+
+    return new ZoneMap(
+        names(channels), blockLinks, firstRecords, minima, maxima, counts, invalidCounts);
+  }
+
+  private static List<String> names(List<Channel> channels) throws IOException {
+    final var names = new ArrayList<String>(channels.size());
+    for (final var channel : channels) {
+      names.add(channel.getName());
+    }
+    return names;
+  }
+
+  private static boolean isNumeric(ColumnType type) {
+    return type == ColumnType.INT || type == ColumnType.LONG
+        || type == ColumnType.FLOAT || type == ColumnType.DOUBLE;
+  }
+
+  private static boolean isUnsigned64(Channel channel) {
+    final var block = channel.getBlock();
+    return (block.getDataType() == ChannelDataType.UINT_LE
+        || block.getDataType() == ChannelDataType.UINT_BE)
+        && block.getBitCount() == 64;
+  }
+
+  private static long countInvalid(ColumnBatch batch, int column, int start, int end) {
+    if (batch.getValidity(column) == null) {
+      return 0;
+    }
+
+    long invalid = 0;
+    for (int i = start; i < end; i++) {
+      if (!batch.isValid(column, i)) {
+        invalid++;
+      }
+    }
+    return invalid;
+  }
+
+  private static void updateRange(ColumnBatch batch, int column, boolean unsigned, int start,
+      int end, double[] minima, double[] maxima, int block) {
+    // Math.min and Math.max propagate NaN, which marks the range as unknown
+    double min = minima[block];
+    double max = maxima[block];
+    switch (batch.getType(column)) {
+      case INT: {
+        final var values = batch.getInts(column);
+        for (int i = start; i < end; i++) {
+          if (batch.isValid(column, i)) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+          }
+        }
+        break;
+      }
+      case LONG: {
+        final var values = batch.getLongs(column);
+        for (int i = start; i < end; i++) {
+          if (batch.isValid(column, i)) {
+            final double value = unsigned
+                ? UnsignedLong.toDoubleValue(values[i]) : (double) values[i];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+          }
+        }
+        break;
+      }
+      case FLOAT: {
+        final var values = batch.getFloats(column);
+        for (int i = start; i < end; i++) {
+          if (batch.isValid(column, i)) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+          }
+        }
+        break;
+      }
+      case DOUBLE: {
+        final var values = batch.getDoubles(column);
+        for (int i = start; i < end; i++) {
+          if (batch.isValid(column, i)) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+          }
+        }
+        break;
+      }
+      default:
+        throw new IllegalStateException("Not a numeric column: " + batch.getType(column));
+    }
+    minima[block] = min;
+    maxima[block] = max;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import java.io.IOException;
+
+/**
+ * Convert values with a {@link BitfieldTextTable}.
+ *
+ * <p>The text of the last raw value is kept, so repeated status values are formatted only once.
+ */
+public class BitfieldTextConversion extends ConvertingRead {
+
+  private final BitfieldTextTable table;
+  private long lastValue;
+  private String lastText;
+
+  public BitfieldTextConversion(BitfieldTextTable table, ValueRead valueRead) {
+    super(valueRead);
+    this.table = table;
+  }
+
+  @Override
+  protected String expecting() {
+    return "integer value";
+  }
+
+  @Override
+  protected Object convertU64(long value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    return convertI64(value, visitor, param);
+  }
+
+  @Override
+  protected Object convertI64(long value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    if (lastText == null || lastValue != value) {
+      lastText = table.format(value);
+      lastValue = value;
+    }
+    return visitor.visitString(lastText, param);
+  }
+
+  @Override
+  public ValueRead dup() throws IOException {
+    return new BitfieldTextConversion(table, getInner().dup());
+  }
+}
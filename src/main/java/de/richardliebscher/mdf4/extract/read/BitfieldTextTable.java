@@ -0,0 +1,106 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionType;
+import de.richardliebscher.mdf4.blocks.ConversionReference;
+import de.richardliebscher.mdf4.blocks.TextBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Table of a {@link ChannelConversionType#BITFIELD_TEXT_TABLE} conversion.
+ *
+ * <p>Every bit mask selects bits of the raw value, which are converted by a
+ * {@link TextTable}. Texts of all parts are joined with {@code |}.
+ */
+public final class BitfieldTextTable implements Serializable {
+
+  private final long[] masks;
+  private final String[] names;
+  private final TextTable[] parts;
+
+  private BitfieldTextTable(long[] masks, String[] names, TextTable[] parts) {
+    this.masks = masks;
+    this.names = names;
+    this.parts = parts;
+  }
+
+  /**
+   * Create table for conversion of channel.
+   *
+   * @param conversion Bit field conversion
+   * @param channel    Channel, which values are converted
+   * @param input      Input file to resolve texts
+   * @param resolver   Resolver of referenced blocks
+   * @return Table
+   * @throws FormatException Invalid number of parts
+   * @throws IOException     Unable to read referenced blocks
+   */
+  public static BitfieldTextTable of(
+      ChannelConversionBlock conversion, ChannelBlock channel, ByteInput input,
+      BlockResolver resolver) throws IOException {
+    final var masks = conversion.getVals();
+    final var refs = conversion.getRefs();
+    if (refs.size() != masks.length) {
+      throw new FormatException("Expected " + masks.length + " references for "
+          + conversion.getType() + ", but got " + refs.size());
+    }
+
+    final var names = new String[masks.length];
+    final var parts = new TextTable[masks.length];
+    for (int i = 0; i < masks.length; i++) {
+      final var resolved = resolver.resolve(refs.get(i), ConversionReference.TYPE, input);
+      if (resolved.isEmpty() || !(resolved.get() instanceof ChannelConversionBlock)) {
+        throw new FormatException("Expected conversion for bit mask " + i);
+      }
+
+      final var part = (ChannelConversionBlock) resolved.get();
+      if (part.getType() != ChannelConversionType.VALUE_TEXT_TABLE
+          && part.getType() != ChannelConversionType.VALUE_RANGE_TEXT_TABLE) {
+        throw new FormatException(
+            "Expected value to text conversion for bit mask, but got " + part.getType());
+      }
+      names[i] = resolver.resolve(part.getName(), TextBlock.TYPE, input)
+          .map(TextBlock::getText)
+          .orElse(null);
+      parts[i] = TextTable.of(part, channel.getDataType(), -1, input, resolver);
+    }
+    return new BitfieldTextTable(masks, names, parts);
+  }
+
+  /**
+   * Convert raw value to text.
+   *
+   * @param value Raw value
+   * @return Text
+   */
+  public String format(long value) {
+    final var builder = new StringBuilder();
+    for (int i = 0; i < masks.length; i++) {
+      if (i > 0) {
+        builder.append('|');
+      }
+      if (names[i] != null) {
+        builder.append(names[i]).append(" = ");
+      }
+
+      final var masked = value & masks[i];
+      final var part = parts[i];
+      final var code = part.encodeUnsigned(masked);
+      if (TextTable.isScaled(code)) {
+        builder.append(part.scale(code, masked));
+      } else {
+        builder.append(part.getDictionary().get(code));
+      }
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.blocks.DataStorage;
+import de.richardliebscher.mdf4.blocks.DataZippedBlock;
+import de.richardliebscher.mdf4.blocks.ZipType;
+import de.richardliebscher.mdf4.io.ByteBufferChannel;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Optional;
+
+/**
+ * Open data blocks one after another.
+ *
+ * <p>Zipped blocks, which are not cached by the {@link BlockResolver}, are decompressed into a
+ * buffer, which is reused for the next block. So data of a previously opened block is invalid,
+ * when the next block is opened.
+ */
+public final class BlockOpener {
+
+  private final BlockResolver resolver;
+  private final ByteColumns columns;
+  private ByteBuffer buffer;
+  private ByteBuffer scratch;
+
+  public BlockOpener(BlockResolver resolver) {
+    this(resolver, null);
+  }
+
+  /**
+   * Create opener, which only untransposes needed columns of zipped blocks.
+   *
+   * @param resolver Resolver
+   * @param columns  Needed columns of records or {@code null} for all
+   */
+  public BlockOpener(BlockResolver resolver, ByteColumns columns) {
+    this.resolver = resolver;
+    this.columns = columns;
+  }
+
+  public BlockResolver getResolver() {
+    return resolver;
+  }
+
+  /**
+   * Get data of data block in memory.
+   *
+   * @param storage Data block
+   * @param input   Input
+   * @return Read-only buffer with data, if available
+   * @throws IOException Unable to read or decompress data
+   * @see BlockResolver#payload(DataStorage, ByteInput)
+   */
+  public Optional<ByteBuffer> payload(DataStorage<?> storage, ByteInput input)
+      throws IOException {
+    final var payload = resolver.payload(storage, input);
+    if (payload.isPresent() || !(storage instanceof DataZippedBlock)) {
+      return payload;
+    }
+
+    final var zipped = (DataZippedBlock<?>) storage;
+    if (zipped.getChannelLength() > Integer.MAX_VALUE) {
+      return Optional.empty();
+    }
+
+    final var length = (int) zipped.getChannelLength();
+    buffer = ensureCapacity(buffer, length);
+    if (zipped.getZipType() == ZipType.TRANSPOSITION_DEFLATE) {
+      scratch = ensureCapacity(scratch, length);
+    }
+    zipped.decompress(input, buffer, scratch, columns != null ? columns.forBlock(zipped) : null);
+    return Optional.of(buffer.flip().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN));
+  }
+
+  /**
+   * Open data of data block.
+   *
+   * @param storage Data block
+   * @param input   Input
+   * @return Channel with data
+   * @throws IOException Unable to read data
+   */
+  public ReadableByteChannel open(DataStorage<?> storage, ByteInput input) throws IOException {
+    final var payload = payload(storage, input);
+    if (payload.isPresent()) {
+      return new ByteBufferChannel(payload.get());
+    }
+    return storage.getChannel(input);
+  }
+
+  private static ByteBuffer ensureCapacity(ByteBuffer buffer, int capacity) {
+    if (buffer == null || buffer.capacity() < capacity) {
+      return ByteBuffer.allocate(capacity);
+    }
+    return buffer.clear();
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.blocks.BlockType;
+import de.richardliebscher.mdf4.blocks.DataStorage;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Resolve links to blocks, possibly using a cache.
+ */
+public interface BlockResolver {
+
+  /**
+   * Resolve without cache.
+   */
+  BlockResolver DIRECT = new BlockResolver() {
+    @Override
+    public <T> Optional<T> resolve(Link<T> link, BlockType<T> type, ByteInput input)
+        throws IOException {
+      return link.resolveNonCached(type, input);
+    }
+  };
+
+  <T> Optional<T> resolve(Link<T> link, BlockType<T> type, ByteInput input) throws IOException;
+
+  /**
+   * Get data of data block in memory, when possible without reading or decompressing again.
+   *
+   * @param storage Data block
+   * @param input   Input
+   * @return Read-only buffer with data, if available
+   * @throws IOException Unable to read data
+   */
+  default Optional<ByteBuffer> payload(DataStorage<?> storage, ByteInput input)
+      throws IOException {
+    return storage.view(input);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.blocks.DataZippedBlock;
+import de.richardliebscher.mdf4.blocks.ZipType;
+import java.io.Serializable;
+
+/**
+ * Bytes of a record, which are needed to read the selected channels.
+ *
+ * <p>Transposed data stores every byte column of the records contiguously, so zipped blocks
+ * only need to be untransposed for the selected columns.
+ */
+public final class ByteColumns implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int recordSize;
+  private final int[] columns;
+
+  private ByteColumns(int recordSize, int[] columns) {
+    this.recordSize = recordSize;
+    this.columns = columns;
+  }
+
+  /**
+   * All bytes of records are needed.
+   *
+   * @param recordSize Record size in bytes
+   * @return All columns
+   */
+  public static ByteColumns all(int recordSize) {
+    return new ByteColumns(recordSize, null);
+  }
+
+  /**
+   * Only some bytes of records are needed.
+   *
+   * @param recordSize Record size in bytes
+   * @param columns    Sorted byte indexes in record
+   * @return Selected columns
+   */
+  public static ByteColumns of(int recordSize, int[] columns) {
+    return columns.length >= recordSize
+        ? all(recordSize)
+        : new ByteColumns(recordSize, columns.clone());
+  }
+
+  /**
+   * Whether all bytes of records are needed.
+   *
+   * @return {@code true}, when no column is skipped
+   */
+  public boolean isAll() {
+    return columns == null;
+  }
+
+  /**
+   * Get selected columns for untransposing a zipped block.
+   *
+   * @param block Zipped block
+   * @return Sorted byte indexes or {@code null}, when all columns need to be untransposed
+   */
+  public int[] forBlock(DataZippedBlock<?> block) {
+    if (columns == null
+        || block.getZipType() != ZipType.TRANSPOSITION_DEFLATE
+        || block.getZipParameter() != recordSize) {
+      return null;
+    }
+    return columns;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.exceptions.InvalidTypeException;
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Convert values of an inner value read.
+ *
+ * <p>Values of the inner read are passed to the {@code convert*} methods together with the
+ * visitor of the caller. Methods, which are not overridden, reject the value.
+ */
+public abstract class ConvertingRead implements ValueRead {
+
+  private final ValueRead inner;
+  private final Forwarder forwarder = new Forwarder();
+
+  protected ConvertingRead(ValueRead inner) {
+    this.inner = inner;
+  }
+
+  /**
+   * Get inner value read.
+   *
+   * @return Inner value read
+   */
+  protected ValueRead getInner() {
+    return inner;
+  }
+
+  /**
+   * Describe accepted values of inner read.
+   *
+   * @return Description
+   * @see Visitor#expecting()
+   */
+  protected abstract String expecting();
+
+  protected Object convertU64(long value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    throw new InvalidTypeException("unsigned integer " + value, forwarder);
+  }
+
+  protected Object convertI64(long value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    throw new InvalidTypeException("signed integer " + value, forwarder);
+  }
+
+  protected Object convertF64(double value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    throw new InvalidTypeException("floating-point value " + value, forwarder);
+  }
+
+  protected Object convertString(String value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    throw new InvalidTypeException("string value '" + value + "'", forwarder);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param) throws IOException {
+    forwarder.visitor = (Visitor<Object, Object>) visitor;
+    try {
+      return (T) inner.read(input, forwarder, param);
+    } finally {
+      forwarder.visitor = null;
+    }
+  }
+
+  private final class Forwarder implements Visitor<Object, Object>, Serializable {
+
+    private transient Visitor<Object, Object> visitor;
+
+    @Override
+    public String expecting() {
+      return ConvertingRead.this.expecting();
+    }
+
+    @Override
+    public Object visitU64(long value, Object param) throws IOException {
+      return convertU64(value, visitor, param);
+    }
+
+    @Override
+    public Object visitI64(long value, Object param) throws IOException {
+      return convertI64(value, visitor, param);
+    }
+
+    @Override
+    public Object visitF64(double value, Object param) throws IOException {
+      return convertF64(value, visitor, param);
+    }
+
+    @Override
+    public Object visitString(String value, Object param) throws IOException {
+      return convertString(value, visitor, param);
+    }
+
+    @Override
+    public Object visitInvalid(Object param) throws IOException {
+      return visitor.visitInvalid(param);
+    }
+  }
+}
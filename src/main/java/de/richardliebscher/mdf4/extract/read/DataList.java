@@ -7,16 +7,20 @@ package de.richardliebscher.mdf4.extract.read;
 
 import de.richardliebscher.mdf4.Link;
 import de.richardliebscher.mdf4.blocks.BlockType;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
 import de.richardliebscher.mdf4.blocks.Data;
 import de.richardliebscher.mdf4.blocks.DataContainer;
 import de.richardliebscher.mdf4.blocks.DataListBlock;
 import de.richardliebscher.mdf4.blocks.DataStorage;
 import de.richardliebscher.mdf4.blocks.HeaderListBlock;
+import de.richardliebscher.mdf4.blocks.ListDataBlock;
 import de.richardliebscher.mdf4.blocks.Offsets;
 import de.richardliebscher.mdf4.blocks.Offsets.EqualLength;
 import de.richardliebscher.mdf4.blocks.Offsets.Values;
 import de.richardliebscher.mdf4.blocks.Offsets.Visitor;
+import de.richardliebscher.mdf4.blocks.ZipType;
 import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.exceptions.NotImplementedFeatureException;
 import de.richardliebscher.mdf4.io.ByteInput;
 import java.io.IOException;
 import java.io.Serializable;
@@ -44,23 +48,61 @@ public class DataList<T extends Data<T>> implements Serializable {
   public static <T extends Data<T>> DataList<T> from(
       Link<DataContainer<T>> dataRoot,
       BlockType<DataContainer<T>> containerBlockType,
-      ByteInput input) throws IOException {
-    final var rootBlock = dataRoot.resolve(containerBlockType, input).orElse(null);
+      ByteInput input,
+      BlockResolver resolver) throws IOException {
+    return from(dataRoot, containerBlockType, input, resolver, null);
+  }
+
+  /**
+   * Collect data blocks of records of a channel group.
+   *
+   * <p>Offsets of column-oriented channel groups are converted from samples to bytes.
+   *
+   * @param dataRoot           Link to data of data group
+   * @param containerBlockType Type of data
+   * @param input              Input file
+   * @param resolver           Resolver of data list blocks
+   * @param group              Channel group of records or {@code null}, when data does not
+   *                           contain records
+   * @param <T>                Data block type
+   * @return Data blocks with offsets in bytes
+   * @throws NotImplementedFeatureException Data is not supported
+   * @throws IOException                    Unable to read data list blocks
+   */
+  public static <T extends Data<T>> DataList<T> from(
+      Link<DataContainer<T>> dataRoot,
+      BlockType<DataContainer<T>> containerBlockType,
+      ByteInput input,
+      BlockResolver resolver,
+      ChannelGroupBlock group) throws IOException {
+    final var rootBlock = resolver.resolve(dataRoot, containerBlockType, input).orElse(null);
 
     if (rootBlock == null) {
       return empty();
     } else if (rootBlock instanceof DataStorage) {
       return single((Link<DataStorage<T>>) (Link<?>) dataRoot);
     } else if (rootBlock instanceof DataListBlock) {
-      return fromList((DataListBlock<T>) rootBlock, input);
+      return fromList((DataListBlock<T>) rootBlock, input, resolver);
+    } else if (rootBlock instanceof ListDataBlock) {
+      return fromListData((ListDataBlock<T>) rootBlock, input, resolver, group);
     } else if (rootBlock instanceof HeaderListBlock) {
       final var headerList = (HeaderListBlock<T>) rootBlock;
-      final var dataList = headerList.getFirstDataList().resolve(DataListBlock.type(), input)
-          .orElse(null);
-      if (dataList != null) {
-        return fromList(dataList, input);
-      } else {
+      if (headerList.getZipType() != ZipType.DEFLATE) {
+        throw new NotImplementedFeatureException(
+            "ZIP type not implemented: " + headerList.getZipType());
+      }
+
+      // DL block or LD block of column-oriented channel group
+      final Link<DataContainer<T>> firstList = Link.of(headerList.getFirstDataList().asLong());
+      final var list = resolver.resolve(firstList, containerBlockType, input).orElse(null);
+      if (list instanceof DataListBlock) {
+        return fromList((DataListBlock<T>) list, input, resolver);
+      } else if (list instanceof ListDataBlock) {
+        return fromListData((ListDataBlock<T>) list, input, resolver, group);
+      } else if (list == null) {
         return empty();
+      } else {
+        throw new FormatException("Expected DL or LD block in HL block");
       }
     } else {
       throw new IllegalStateException("Should not happen!");
@@ -77,7 +119,7 @@ public class DataList<T extends Data<T>> implements Serializable {
   }
 
   private static <T extends Data<T>> DataList<T> fromList(
-      DataListBlock<T> dataList, ByteInput input) throws IOException {
+      DataListBlock<T> dataList, ByteInput input, BlockResolver resolver) throws IOException {
     var resultLinks = new ArrayList<Link<DataStorage<T>>>();
     var resultOffsets = (Offsets) null;
 
@@ -85,12 +127,60 @@ public class DataList<T extends Data<T>> implements Serializable {
       resultOffsets = mergeOffsets(resultOffsets, dataList.getOffsets());
       resultLinks.addAll(dataList.getData());
 
-      dataList = dataList.getNextDataList().resolve(DataListBlock.type(), input).orElse(null);
+      dataList = resolver.resolve(dataList.getNextDataList(), DataListBlock.type(), input)
+          .orElse(null);
     } while (dataList != null);
 
     return new DataList<>(new Links<>(resultLinks), resultOffsets);
   }
 
+  private static <T extends Data<T>> DataList<T> fromListData(
+      ListDataBlock<T> listData, ByteInput input, BlockResolver resolver, ChannelGroupBlock group)
+      throws IOException {
+    if (group == null) {
+      throw new FormatException("Unexpected LD block outside of data group");
+    }
+    if (group.getInvalidationBytes() != 0) {
+      throw new NotImplementedFeatureException(
+          "Invalidation bits of column-oriented channel groups not implemented");
+    }
+
+    final long valueBytes = group.getDataBytes();
+    var resultLinks = new ArrayList<Link<DataStorage<T>>>();
+    var resultOffsets = (Offsets) null;
+
+    do {
+      if (!listData.getInvalidationData().isEmpty()) {
+        throw new NotImplementedFeatureException(
+            "Invalidation bits of column-oriented channel groups not implemented");
+      }
+
+      final var offsets = listData.getSampleOffsets().accept(
+          new Visitor<Offsets, IOException>() {
+            @Override
+            public Offsets visitLength(int number, long length) throws IOException {
+              return new EqualLength(number, Math.multiplyExact(length, valueBytes));
+            }
+
+            @Override
+            public Offsets visitOffsets(long[] offsets) throws IOException {
+              final var byteOffsets = new long[offsets.length];
+              for (int i = 0; i < offsets.length; i++) {
+                byteOffsets[i] = Math.multiplyExact(offsets[i], valueBytes);
+              }
+              return new Values(byteOffsets);
+            }
+          });
+      resultOffsets = mergeOffsets(resultOffsets, offsets);
+      resultLinks.addAll(listData.getData());
+
+      listData = resolver.resolve(listData.getNextListData(), ListDataBlock.type(), input)
+          .orElse(null);
+    } while (listData != null);
+
+    return new DataList<>(new Links<>(resultLinks), resultOffsets);
+  }
+
   private static Offsets mergeOffsets(Offsets a, Offsets b) throws IOException {
     if (a == null) {
       return b;
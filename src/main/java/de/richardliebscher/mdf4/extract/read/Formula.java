@@ -0,0 +1,745 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.exceptions.NotImplementedFeatureException;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formula of an {@link de.richardliebscher.mdf4.blocks.ChannelConversionType#ALGEBRAIC}
+ * conversion.
+ *
+ * <p>The formula is parsed once into an expression tree, in which constant sub-expressions are
+ * folded and squares are replaced by multiplications. Single values are evaluated by the
+ * tree without allocations. For columns, the tree is additionally compiled into a postfix
+ * program, which runs every operation as one loop over all values.
+ *
+ * <p>Supported are numbers, the raw value {@code X}, the constant {@code PI}, the operators
+ * {@code + - * / ^} (or {@code **}) and the functions {@code abs, sqrt, exp, ln, log, log10,
+ * sin, cos, tan, asin, acos, atan, sinh, cosh, tanh, floor, ceil} and {@code pow}. Modulo,
+ * comparison, logical, bitwise and conditional operators as well as the variables
+ * {@code X1 .. Xn} of the MDF syntax are rejected with a
+ * {@link NotImplementedFeatureException}.
+ */
+public final class Formula implements Serializable {
+
+  private static final int ADD = 0;
+  private static final int SUB = 1;
+  private static final int MUL = 2;
+  private static final int DIV = 3;
+  private static final int POW = 4;
+
+  private static final int NEG = 0;
+  private static final int SQUARE = 1;
+  private static final int ABS = 2;
+  private static final int SQRT = 3;
+  private static final int EXP = 4;
+  private static final int LN = 5;
+  private static final int LOG10 = 6;
+  private static final int SIN = 7;
+  private static final int COS = 8;
+  private static final int TAN = 9;
+  private static final int ASIN = 10;
+  private static final int ACOS = 11;
+  private static final int ATAN = 12;
+  private static final int SINH = 13;
+  private static final int COSH = 14;
+  private static final int TANH = 15;
+  private static final int FLOOR = 16;
+  private static final int CEIL = 17;
+
+  /**
+   * Operators of the MDF formula syntax, which are not supported. Longer operators first.
+   */
+  private static final List<String> UNSUPPORTED_OPERATORS = List.of(
+      "<<", ">>", "<=", ">=", "==", "!=", "&&", "||",
+      "<", ">", "%", "&", "|", "!", "~", "?", ":");
+
+  private static final List<String> FUNCTIONS = List.of(
+      "", "", "abs", "sqrt", "exp", "ln", "log10", "sin", "cos", "tan", "asin", "acos", "atan",
+      "sinh", "cosh", "tanh", "floor", "ceil");
+
+  // instructions of postfix program
+  private static final int LOAD = 0;
+  private static final int UNARY = 1;
+  private static final int BINARY = 2;
+  private static final int BINARY_RIGHT_CONSTANT = 3;
+  private static final int BINARY_LEFT_CONSTANT = 4;
+
+  private final String text;
+  private final Node root;
+  private final int[] kinds;
+  private final int[] operations;
+  private final double[] constants;
+  private final int stackDepth;
+
+  private Formula(String text, Node root) {
+    this.text = text;
+    this.root = root;
+    final var program = new Program();
+    this.stackDepth = root instanceof Constant ? 0 : program.emit(root);
+    this.kinds = program.kinds.stream().mapToInt(Integer::intValue).toArray();
+    this.operations = program.operations.stream().mapToInt(Integer::intValue).toArray();
+    this.constants = program.constants.stream().mapToDouble(Double::doubleValue).toArray();
+  }
+
+  /**
+   * Parse formula of conversion.
+   *
+   * @param conversion Algebraic conversion
+   * @param input      Input file to resolve formula
+   * @param resolver   Resolver of referenced blocks
+   * @return Formula
+   * @throws FormatException                Invalid formula
+   * @throws NotImplementedFeatureException Unsupported function, operator or variable in formula
+   * @throws IOException                    Unable to read formula
+   */
+  public static Formula of(ChannelConversionBlock conversion, ByteInput input,
+      BlockResolver resolver) throws IOException {
+    if (conversion.getRefs().isEmpty()) {
+      throw new FormatException("Missing formula of algebraic conversion");
+    }
+    return parse(TextTable.resolveText(conversion.getRefs().get(0), input, resolver));
+  }
+
+  /**
+   * Parse formula.
+   *
+   * @param text Formula with raw value {@code X}
+   * @return Formula
+   * @throws FormatException                Invalid formula
+   * @throws NotImplementedFeatureException Unsupported function, operator or variable in formula
+   */
+  public static Formula parse(String text)
+      throws FormatException, NotImplementedFeatureException {
+    return new Formula(text, new Parser(text).parse());
+  }
+
+  /**
+   * Whether the formula does not depend on the raw value.
+   *
+   * @return {@code true}, iff result is constant
+   */
+  public boolean isConstant() {
+    return root instanceof Constant;
+  }
+
+  /**
+   * Evaluate formula.
+   *
+   * @param value Raw value
+   * @return Physical value
+   */
+  public double evaluate(double value) {
+    return root.evaluate(value);
+  }
+
+  /**
+   * Create evaluator for columns.
+   *
+   * @return Evaluator, which must only be used by one thread
+   */
+  public Evaluator newEvaluator() {
+    return new Evaluator();
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+
+  /**
+   * Evaluate formula over columns, with reused buffers.
+   */
+  public final class Evaluator {
+
+    private double[][] stack = new double[stackDepth][0];
+
+    private Evaluator() {
+    }
+
+    /**
+     * Evaluate formula in place.
+     *
+     * @param values   Raw values, replaced by physical values
+     * @param position Index of first value
+     * @param count    Number of values
+     */
+    public void evaluate(double[] values, int position, int count) {
+      if (root instanceof Constant) {
+        Arrays.fill(values, position, position + count, ((Constant) root).value);
+        return;
+      }
+      if (stack.length > 0 && stack[0].length < count) {
+        stack = new double[stackDepth][count];
+      }
+
+      int top = -1;
+      for (int pc = 0; pc < kinds.length; pc++) {
+        final var operation = operations[pc];
+        switch (kinds[pc]) {
+          case LOAD:
+            System.arraycopy(values, position, stack[++top], 0, count);
+            break;
+          case UNARY:
+            applyUnary(operation, stack[top], count);
+            break;
+          case BINARY:
+            applyBinary(operation, stack[top - 1], stack[top], count);
+            top--;
+            break;
+          case BINARY_RIGHT_CONSTANT:
+            applyRightConstant(operation, stack[top], constants[pc], count);
+            break;
+          case BINARY_LEFT_CONSTANT:
+            applyLeftConstant(operation, constants[pc], stack[top], count);
+            break;
+          default:
+            throw new IllegalStateException("Unknown instruction: " + kinds[pc]);
+        }
+      }
+      System.arraycopy(stack[0], 0, values, position, count);
+    }
+  }
+
+  private static void applyUnary(int operation, double[] values, int count) {
+    switch (operation) {
+      case NEG:
+        for (int i = 0; i < count; i++) {
+          values[i] = -values[i];
+        }
+        break;
+      case SQUARE:
+        for (int i = 0; i < count; i++) {
+          values[i] = values[i] * values[i];
+        }
+        break;
+      default:
+        for (int i = 0; i < count; i++) {
+          values[i] = unary(operation, values[i]);
+        }
+        break;
+    }
+  }
+
+  private static void applyBinary(int operation, double[] left, double[] right, int count) {
+    switch (operation) {
+      case ADD:
+        for (int i = 0; i < count; i++) {
+          left[i] += right[i];
+        }
+        break;
+      case SUB:
+        for (int i = 0; i < count; i++) {
+          left[i] -= right[i];
+        }
+        break;
+      case MUL:
+        for (int i = 0; i < count; i++) {
+          left[i] *= right[i];
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < count; i++) {
+          left[i] /= right[i];
+        }
+        break;
+      default:
+        for (int i = 0; i < count; i++) {
+          left[i] = binary(operation, left[i], right[i]);
+        }
+        break;
+    }
+  }
+
+  private static void applyRightConstant(
+      int operation, double[] left, double right, int count) {
+    switch (operation) {
+      case ADD:
+        for (int i = 0; i < count; i++) {
+          left[i] += right;
+        }
+        break;
+      case SUB:
+        for (int i = 0; i < count; i++) {
+          left[i] -= right;
+        }
+        break;
+      case MUL:
+        for (int i = 0; i < count; i++) {
+          left[i] *= right;
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < count; i++) {
+          left[i] /= right;
+        }
+        break;
+      default:
+        for (int i = 0; i < count; i++) {
+          left[i] = binary(operation, left[i], right);
+        }
+        break;
+    }
+  }
+
+  private static void applyLeftConstant(
+      int operation, double left, double[] right, int count) {
+    switch (operation) {
+      case SUB:
+        for (int i = 0; i < count; i++) {
+          right[i] = left - right[i];
+        }
+        break;
+      case DIV:
+        for (int i = 0; i < count; i++) {
+          right[i] = left / right[i];
+        }
+        break;
+      default:
+        for (int i = 0; i < count; i++) {
+          right[i] = binary(operation, left, right[i]);
+        }
+        break;
+    }
+  }
+
+  private static double unary(int operation, double value) {
+    switch (operation) {
+      case NEG:
+        return -value;
+      case SQUARE:
+        return value * value;
+      case ABS:
+        return Math.abs(value);
+      case SQRT:
+        return Math.sqrt(value);
+      case EXP:
+        return Math.exp(value);
+      case LN:
+        return Math.log(value);
+      case LOG10:
+        return Math.log10(value);
+      case SIN:
+        return Math.sin(value);
+      case COS:
+        return Math.cos(value);
+      case TAN:
+        return Math.tan(value);
+      case ASIN:
+        return Math.asin(value);
+      case ACOS:
+        return Math.acos(value);
+      case ATAN:
+        return Math.atan(value);
+      case SINH:
+        return Math.sinh(value);
+      case COSH:
+        return Math.cosh(value);
+      case TANH:
+        return Math.tanh(value);
+      case FLOOR:
+        return Math.floor(value);
+      case CEIL:
+        return Math.ceil(value);
+      default:
+        throw new IllegalStateException("Unknown function: " + operation);
+    }
+  }
+
+  private static double binary(int operation, double left, double right) {
+    switch (operation) {
+      case ADD:
+        return left + right;
+      case SUB:
+        return left - right;
+      case MUL:
+        return left * right;
+      case DIV:
+        return left / right;
+      case POW:
+        return Math.pow(left, right);
+      default:
+        throw new IllegalStateException("Unknown operator: " + operation);
+    }
+  }
+
+  private abstract static class Node implements Serializable {
+
+    abstract double evaluate(double value);
+  }
+
+  private static final class Constant extends Node {
+    private final double value;
+
+    Constant(double value) {
+      this.value = value;
+    }
+
+    @Override
+    double evaluate(double ignored) {
+      return value;
+    }
+  }
+
+  private static final class Variable extends Node {
+
+    @Override
+    double evaluate(double value) {
+      return value;
+    }
+  }
+
+  private static final class Unary extends Node {
+    private final int operation;
+    private final Node operand;
+
+    Unary(int operation, Node operand) {
+      this.operation = operation;
+      this.operand = operand;
+    }
+
+    static Node of(int operation, Node operand) {
+      if (operand instanceof Constant) {
+        return new Constant(unary(operation, ((Constant) operand).value));
+      }
+      return new Unary(operation, operand);
+    }
+
+    @Override
+    double evaluate(double value) {
+      return unary(operation, operand.evaluate(value));
+    }
+  }
+
+  private static final class Binary extends Node {
+    private final int operation;
+    private final Node left;
+    private final Node right;
+
+    Binary(int operation, Node left, Node right) {
+      this.operation = operation;
+      this.left = left;
+      this.right = right;
+    }
+
+    static Node of(int operation, Node left, Node right) {
+      final var leftConstant = left instanceof Constant ? ((Constant) left).value : Double.NaN;
+      final var rightConstant =
+          right instanceof Constant ? ((Constant) right).value : Double.NaN;
+      if (left instanceof Constant && right instanceof Constant) {
+        return new Constant(binary(operation, leftConstant, rightConstant));
+      }
+
+      // neutral elements, which do not change results of finite and infinite values
+      switch (operation) {
+        case ADD:
+          if (leftConstant == 0.0) {
+            return right;
+          } else if (rightConstant == 0.0) {
+            return left;
+          }
+          break;
+        case SUB:
+          if (rightConstant == 0.0) {
+            return left;
+          }
+          break;
+        case MUL:
+          if (leftConstant == 1.0) {
+            return right;
+          } else if (rightConstant == 1.0) {
+            return left;
+          }
+          break;
+        case DIV:
+          if (rightConstant == 1.0) {
+            return left;
+          }
+          break;
+        case POW:
+          if (rightConstant == 1.0) {
+            return left;
+          } else if (rightConstant == 2.0) {
+            return Unary.of(SQUARE, left);
+          }
+          break;
+        default:
+          break;
+      }
+      return new Binary(operation, left, right);
+    }
+
+    @Override
+    double evaluate(double value) {
+      return binary(operation, left.evaluate(value), right.evaluate(value));
+    }
+  }
+
+  private static final class Program {
+    private final List<Integer> kinds = new ArrayList<>();
+    private final List<Integer> operations = new ArrayList<>();
+    private final List<Double> constants = new ArrayList<>();
+
+    /**
+     * Emit instructions of node.
+     *
+     * @return Stack depth needed by node
+     */
+    int emit(Node node) {
+      if (node instanceof Variable) {
+        add(LOAD, 0, 0.0);
+        return 1;
+      } else if (node instanceof Unary) {
+        final var unary = (Unary) node;
+        final var depth = emit(unary.operand);
+        add(UNARY, unary.operation, 0.0);
+        return depth;
+      } else if (node instanceof Binary) {
+        final var binary = (Binary) node;
+        if (binary.right instanceof Constant) {
+          final var depth = emit(binary.left);
+          add(BINARY_RIGHT_CONSTANT, binary.operation, ((Constant) binary.right).value);
+          return depth;
+        } else if (binary.left instanceof Constant) {
+          final var depth = emit(binary.right);
+          add(BINARY_LEFT_CONSTANT, binary.operation, ((Constant) binary.left).value);
+          return depth;
+        } else {
+          final var leftDepth = emit(binary.left);
+          final var rightDepth = emit(binary.right);
+          add(BINARY, binary.operation, 0.0);
+          return Math.max(leftDepth, rightDepth + 1);
+        }
+      } else {
+        throw new IllegalStateException("Constant inside of non-constant formula");
+      }
+    }
+
+    private void add(int kind, int operation, double constant) {
+      kinds.add(kind);
+      operations.add(operation);
+      constants.add(constant);
+    }
+  }
+
+  /**
+   * Recursive descent parser.
+   */
+  private static final class Parser {
+    private final String text;
+    private int pos = 0;
+
+    Parser(String text) {
+      this.text = text;
+    }
+
+    Node parse() throws FormatException, NotImplementedFeatureException {
+      final var node = parseSum();
+      skipWhitespace();
+      if (pos != text.length()) {
+        throw unexpected();
+      }
+      return node;
+    }
+
+    private Node parseSum() throws FormatException, NotImplementedFeatureException {
+      var node = parseProduct();
+      while (true) {
+        if (accept('+')) {
+          node = Binary.of(ADD, node, parseProduct());
+        } else if (accept('-')) {
+          node = Binary.of(SUB, node, parseProduct());
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private Node parseProduct() throws FormatException, NotImplementedFeatureException {
+      var node = parseSign();
+      while (true) {
+        if (peek('*') && !peek("**")) {
+          pos++;
+          node = Binary.of(MUL, node, parseSign());
+        } else if (accept('/')) {
+          node = Binary.of(DIV, node, parseSign());
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private Node parseSign() throws FormatException, NotImplementedFeatureException {
+      if (accept('-')) {
+        return Unary.of(NEG, parseSign());
+      } else if (accept('+')) {
+        return parseSign();
+      }
+      return parsePower();
+    }
+
+    private Node parsePower() throws FormatException, NotImplementedFeatureException {
+      final var base = parsePrimary();
+      if (accept('^') || accept("**")) {
+        // right associative and binds stronger than sign of base
+        return Binary.of(POW, base, parseSign());
+      }
+      return base;
+    }
+
+    private Node parsePrimary() throws FormatException, NotImplementedFeatureException {
+      skipWhitespace();
+      if (pos >= text.length()) {
+        throw error("Unexpected end of formula");
+      }
+
+      final var c = text.charAt(pos);
+      if (accept('(')) {
+        final var node = parseSum();
+        expect(')');
+        return node;
+      } else if (Character.isDigit(c) || c == '.') {
+        return parseNumber();
+      } else if (Character.isLetter(c)) {
+        final var name = parseName();
+        if (name.equals("X") || name.equals("x")) {
+          return new Variable();
+        } else if (name.equalsIgnoreCase("PI")) {
+          return new Constant(Math.PI);
+        } else if (name.matches("[Xx][0-9]+")) {
+          throw new NotImplementedFeatureException(
+              "Variable '" + name + "' not implemented in formula '" + text + "'");
+        }
+        return parseFunction(name.toLowerCase(Locale.ROOT));
+      } else {
+        throw unexpected();
+      }
+    }
+
+    private Node parseFunction(String name)
+        throws FormatException, NotImplementedFeatureException {
+      expect('(');
+      final var argument = parseSum();
+      if (name.equals("pow")) {
+        expect(',');
+        final var exponent = parseSum();
+        expect(')');
+        return Binary.of(POW, argument, exponent);
+      }
+      expect(')');
+
+      if (name.equals("log")) {
+        return Unary.of(LN, argument);
+      }
+      final var function = FUNCTIONS.indexOf(name);
+      if (function < ABS) {
+        throw new NotImplementedFeatureException(
+            "Function '" + name + "' not implemented in formula '" + text + "'");
+      }
+      return Unary.of(function, argument);
+    }
+
+    private Node parseNumber() throws FormatException {
+      final var start = pos;
+      while (pos < text.length()
+          && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+        pos++;
+      }
+      if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+        pos++;
+        if (pos < text.length() && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+          pos++;
+        }
+        while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+          pos++;
+        }
+      }
+
+      try {
+        return new Constant(Double.parseDouble(text.substring(start, pos)));
+      } catch (NumberFormatException exception) {
+        throw error("Invalid number '" + text.substring(start, pos) + "'");
+      }
+    }
+
+    private String parseName() {
+      final var start = pos;
+      while (pos < text.length()
+          && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+        pos++;
+      }
+      return text.substring(start, pos);
+    }
+
+    private void skipWhitespace() {
+      while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    private boolean peek(char c) {
+      skipWhitespace();
+      return pos < text.length() && text.charAt(pos) == c;
+    }
+
+    private boolean peek(String token) {
+      skipWhitespace();
+      return text.startsWith(token, pos);
+    }
+
+    private boolean accept(char c) {
+      if (peek(c)) {
+        pos++;
+        return true;
+      }
+      return false;
+    }
+
+    private boolean accept(String token) {
+      if (peek(token)) {
+        pos += token.length();
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(char c) throws FormatException, NotImplementedFeatureException {
+      if (!accept(c)) {
+        if (pos < text.length()) {
+          unsupportedOperator();
+        }
+        throw error("Expected '" + c + "'");
+      }
+    }
+
+    private FormatException unexpected() throws NotImplementedFeatureException {
+      unsupportedOperator();
+      return error("Unexpected character '" + text.charAt(pos) + "'");
+    }
+
+    private void unsupportedOperator() throws NotImplementedFeatureException {
+      for (final var operator : UNSUPPORTED_OPERATORS) {
+        if (text.startsWith(operator, pos)) {
+          throw new NotImplementedFeatureException("Operator '" + operator
+              + "' not implemented at position " + pos + " of formula '" + text + "'");
+        }
+      }
+    }
+
+    private FormatException error(String message) {
+      return new FormatException(message + " at position " + pos + " of formula '" + text + "'");
+    }
+  }
+}
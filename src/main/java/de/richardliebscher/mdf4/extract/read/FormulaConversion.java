@@ -0,0 +1,31 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import java.io.IOException;
+
+/**
+ * Convert values with a {@link Formula}.
+ */
+public class FormulaConversion extends NumericConversion {
+
+  private final Formula formula;
+
+  public FormulaConversion(Formula formula, ValueRead valueRead) {
+    super(valueRead);
+    this.formula = formula;
+  }
+
+  @Override
+  public double convert(double value) {
+    return formula.evaluate(value);
+  }
+
+  @Override
+  public ValueRead dup() throws IOException {
+    return new FormulaConversion(formula, getInner().dup());
+  }
+}
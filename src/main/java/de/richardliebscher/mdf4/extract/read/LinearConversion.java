@@ -5,50 +5,53 @@
 
 package de.richardliebscher.mdf4.extract.read;
 
-import de.richardliebscher.mdf4.extract.de.UnsignedLong;
-import de.richardliebscher.mdf4.extract.de.Visitor;
 import java.io.IOException;
 
-public class LinearConversion implements ValueRead {
+public class LinearConversion extends NumericConversion {
 
   private final double p1;
   private final double p2;
-  private final ValueRead inner;
 
   public LinearConversion(long[] ccVals, ValueRead valueRead) {
-    this.p1 = Double.longBitsToDouble(ccVals[0]);
-    this.p2 = Double.longBitsToDouble(ccVals[1]);
-    this.inner = valueRead;
+    this(Double.longBitsToDouble(ccVals[0]), Double.longBitsToDouble(ccVals[1]), valueRead);
+  }
+
+  private LinearConversion(double p1, double p2, ValueRead valueRead) {
+    super(valueRead);
+    this.p1 = p1;
+    this.p2 = p2;
+  }
+
+  /**
+   * Evaluate linear conversion.
+   *
+   * @param p1    Offset
+   * @param p2    Factor
+   * @param value Raw value
+   * @return Physical value
+   */
+  public static double evaluate(double p1, double p2, double value) {
+    return value * p2 + p1;
+  }
+
+  /**
+   * Check whether linear conversion does not change values.
+   *
+   * @param p1 Offset
+   * @param p2 Factor
+   * @return {@code true}, if conversion is identity
+   */
+  public static boolean isIdentity(double p1, double p2) {
+    return p1 == 0.0 && p2 == 1.0;
+  }
+
+  @Override
+  public double convert(double value) {
+    return evaluate(p1, p2, value);
   }
 
   @Override
-  public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param) throws IOException {
-    // TODO: add shortcut for p1 == 0.0 and p2 == 1.0
-    return inner.read(input, new Visitor<>() {
-      @Override
-      public String expecting() {
-        return "numeric value";
-      }
-
-      @Override
-      public T visitU64(long value, P param) throws IOException {
-        return visitF64(UnsignedLong.toDoubleValue(value), param);
-      }
-
-      @Override
-      public T visitI64(long value, P param) throws IOException {
-        return visitF64(value, param);
-      }
-
-      @Override
-      public T visitF64(double value, P param) throws IOException {
-        return visitor.visitF64(value * p2 + p1, param);
-      }
-
-      @Override
-      public T visitInvalid(P param) throws IOException {
-        return visitor.visitInvalid(param);
-      }
-    }, param);
+  public ValueRead dup() throws IOException {
+    return new LinearConversion(p1, p2, getInner().dup());
   }
 }
@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import java.io.IOException;
+
+/**
+ * Convert numeric values to floating-point values.
+ */
+public abstract class NumericConversion extends ConvertingRead {
+
+  protected NumericConversion(ValueRead inner) {
+    super(inner);
+  }
+
+  /**
+   * Convert value.
+   *
+   * @param value Raw value
+   * @return Physical value
+   */
+  public abstract double convert(double value);
+
+  /**
+   * Convert signed integer value.
+   *
+   * @param value Raw value
+   * @return Physical value
+   */
+  public double convertSigned(long value) {
+    return convert(value);
+  }
+
+  /**
+   * Convert unsigned integer value.
+   *
+   * @param value Raw value
+   * @return Physical value
+   */
+  public double convertUnsigned(long value) {
+    return convert(UnsignedLong.toDoubleValue(value));
+  }
+
+  @Override
+  protected String expecting() {
+    return "numeric value";
+  }
+
+  @Override
+  protected Object convertU64(long value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    return visitor.visitF64(convertUnsigned(value), param);
+  }
+
+  @Override
+  protected Object convertI64(long value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    return visitor.visitF64(convertSigned(value), param);
+  }
+
+  @Override
+  protected Object convertF64(double value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    return visitor.visitF64(convert(value), param);
+  }
+}
@@ -5,11 +5,9 @@
 
 package de.richardliebscher.mdf4.extract.read;
 
-import de.richardliebscher.mdf4.extract.de.UnsignedLong;
-import de.richardliebscher.mdf4.extract.de.Visitor;
 import java.io.IOException;
 
-public class RationalConversion implements ValueRead {
+public class RationalConversion extends NumericConversion {
 
   private final double p1;
   private final double p2;
@@ -17,46 +15,48 @@ public class RationalConversion implements ValueRead {
   private final double p4;
   private final double p5;
   private final double p6;
-  private final ValueRead inner;
 
   public RationalConversion(long[] vals, ValueRead valueRead) {
-    this.p1 = Double.longBitsToDouble(vals[0]);
-    this.p2 = Double.longBitsToDouble(vals[1]);
-    this.p3 = Double.longBitsToDouble(vals[2]);
-    this.p4 = Double.longBitsToDouble(vals[3]);
-    this.p5 = Double.longBitsToDouble(vals[4]);
-    this.p6 = Double.longBitsToDouble(vals[5]);
-    this.inner = valueRead;
+    this(Double.longBitsToDouble(vals[0]), Double.longBitsToDouble(vals[1]),
+        Double.longBitsToDouble(vals[2]), Double.longBitsToDouble(vals[3]),
+        Double.longBitsToDouble(vals[4]), Double.longBitsToDouble(vals[5]), valueRead);
+  }
+
+  private RationalConversion(
+      double p1, double p2, double p3, double p4, double p5, double p6, ValueRead valueRead) {
+    super(valueRead);
+    this.p1 = p1;
+    this.p2 = p2;
+    this.p3 = p3;
+    this.p4 = p4;
+    this.p5 = p5;
+    this.p6 = p6;
+  }
+
+  /**
+   * Evaluate rational conversion.
+   *
+   * @param p1    Quadratic coefficient of numerator
+   * @param p2    Linear coefficient of numerator
+   * @param p3    Constant of numerator
+   * @param p4    Quadratic coefficient of denominator
+   * @param p5    Linear coefficient of denominator
+   * @param p6    Constant of denominator
+   * @param value Raw value
+   * @return Physical value
+   */
+  public static double evaluate(
+      double p1, double p2, double p3, double p4, double p5, double p6, double value) {
+    return (p1 * value * value + p2 * value + p3) / (p4 * value * value + p5 * value + p6);
+  }
+
+  @Override
+  public double convert(double value) {
+    return evaluate(p1, p2, p3, p4, p5, p6, value);
   }
 
   @Override
-  public <T, P> T read(RecordBuffer input, Visitor<T, P> visitor, P param) throws IOException {
-    return inner.read(input, new Visitor<>() {
-      @Override
-      public String expecting() {
-        return "numeric value";
-      }
-
-      @Override
-      public T visitU64(long value, P param) throws IOException {
-        return visitF64(UnsignedLong.toDoubleValue(value), param);
-      }
-
-      @Override
-      public T visitI64(long value, P param) throws IOException {
-        return visitF64(value, param);
-      }
-
-      @Override
-      public T visitF64(double value, P param) throws IOException {
-        return visitor.visitF64((p1 * value * value + p2 * value + p3)
-            / (p4 * value * value + p5 * value + p6), param);
-      }
-
-      @Override
-      public T visitInvalid(P param) throws IOException {
-        return visitor.visitInvalid(param);
-      }
-    }, param);
+  public ValueRead dup() throws IOException {
+    return new RationalConversion(p1, p2, p3, p4, p5, p6, getInner().dup());
   }
 }
@@ -0,0 +1,374 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import static de.richardliebscher.mdf4.internal.ChannelSupport.skip;
+
+import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.blocks.BlockType;
+import de.richardliebscher.mdf4.blocks.Data;
+import de.richardliebscher.mdf4.blocks.DataStorage;
+import de.richardliebscher.mdf4.blocks.DataZippedBlock;
+import de.richardliebscher.mdf4.blocks.Offsets;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.io.ByteBufferChannel;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+
+/**
+ * Read data of data blocks in order, while following zipped blocks are decompressed in
+ * background.
+ *
+ * <p>At most {@code readAhead} blocks are pending at any time, so memory usage is bounded and
+ * decompression stops, when the consumer is slower. Every pending decompression uses its own
+ * duplicate of the input.
+ *
+ * <p>A block, which decompression has not been started by the executor yet, when it is needed,
+ * is decompressed by the consumer itself. So reading does not depend on free threads of the
+ * executor, e.g. when the consumer runs on the only thread of the executor.
+ *
+ * <p>On a change of position, pending blocks before the new position are abandoned. Their
+ * inputs are reused, after their decompression has finished.
+ *
+ * <p>Closing only releases the duplicated inputs, but not the input given on construction.
+ * Decompressions, which have not started yet, are cancelled. Running decompressions are
+ * awaited, so that no input is closed while it is in use.
+ */
+public class ReadAheadDataRead<T extends Data<T>> implements DataRead<T> {
+
+  private final ByteInput input;
+  private final long[] dataBlocks;
+  private final Offsets offsets;
+  private final BlockType<DataStorage<T>> storageBlockType;
+  private final BlockResolver resolver;
+  private final BlockOpener opener;
+  private final ByteColumns columns;
+  private final Executor executor;
+  private final int readAhead;
+  private final ArrayDeque<Pending<T>> pending = new ArrayDeque<>();
+  private final List<Pending<T>> abandoned = new ArrayList<>();
+  private final ArrayDeque<ByteInput> freeInputs = new ArrayDeque<>();
+  private final List<ByteInput> inputs = new ArrayList<>();
+  private int nextBlock = 0;
+  private ReadableByteChannel currentBlock;
+  private long remainingDataLength;
+  private long pos = 0;
+  private volatile boolean closed = false;
+
+  public ReadAheadDataRead(ByteInput input, long[] dataBlocks, Offsets offsets,
+      BlockType<DataStorage<T>> storageBlockType, BlockResolver resolver,
+      @NonNull ByteColumns columns, Executor executor, int readAhead) {
+    if (readAhead < 1) {
+      throw new IllegalArgumentException("readAhead should be at least 1");
+    }
+    this.input = input;
+    this.dataBlocks = dataBlocks;
+    this.offsets = offsets;
+    this.storageBlockType = storageBlockType;
+    this.resolver = resolver;
+    this.opener = new BlockOpener(resolver, columns);
+    this.columns = columns;
+    this.executor = executor;
+    this.readAhead = readAhead;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    if (closed) {
+      throw new ClosedChannelException();
+    }
+
+    final var hasData = ensureDataStream();
+    if (!hasData) {
+      return -1;
+    }
+
+    final int remaining = (int) Math.min(remainingDataLength, dst.remaining());
+    final var oldLimit = dst.limit();
+    dst.limit(dst.position() + remaining);
+    try {
+      final var bytes = currentBlock.read(dst);
+      if (bytes > 0) {
+        remainingDataLength -= bytes;
+        pos += bytes;
+      }
+      return bytes;
+    } finally {
+      dst.limit(oldLimit);
+    }
+  }
+
+  @Override
+  public long position() throws IOException {
+    return pos;
+  }
+
+  @Override
+  public SeekableByteChannel position(long newPosition) throws IOException {
+    if (closed) {
+      throw new ClosedChannelException();
+    }
+    if (newPosition < 0) {
+      throw new IllegalArgumentException("New position should not be negative");
+    }
+
+    if (newPosition >= pos && newPosition - pos <= remainingDataLength) {
+      // inside of current block
+      skip(currentBlock, newPosition - pos);
+      remainingDataLength -= newPosition - pos;
+      pos = newPosition;
+      return this;
+    }
+
+    final var blockIndex = Math.max(0, offsets.indexOfPosition(newPosition));
+    currentBlock = null;
+    remainingDataLength = 0;
+    pos = newPosition;
+
+    // keep pending blocks starting with new block
+    while (!pending.isEmpty() && pending.peek().index != blockIndex) {
+      abandon(pending.poll());
+    }
+    if (pending.isEmpty()) {
+      nextBlock = blockIndex;
+    }
+    if (blockIndex == dataBlocks.length || !ensureDataStream()) {
+      return this;
+    }
+
+    final var toSkip = newPosition - offsets.get(blockIndex);
+    if (toSkip > remainingDataLength) {
+      // behind end of data
+      remainingDataLength = 0;
+      nextBlock = dataBlocks.length;
+      pending.forEach(this::abandon);
+      pending.clear();
+    } else {
+      skip(currentBlock, toSkip);
+      remainingDataLength -= toSkip;
+    }
+    return this;
+  }
+
+  private void abandon(Pending<T> block) {
+    if (block.payload != null) {
+      abandoned.add(block);
+    }
+  }
+
+  @Override
+  public long size() throws IOException {
+    throw new IOException("Unsupported");
+  }
+
+  private boolean ensureDataStream() throws IOException {
+    while (remainingDataLength == 0) {
+      // resolve blocks before current block is opened, because both use the input
+      schedule();
+
+      final var next = pending.poll();
+      if (next == null) {
+        return false;
+      }
+
+      currentBlock = open(next);
+      remainingDataLength = next.storage.getChannelLength();
+    }
+
+    return true;
+  }
+
+  private void schedule() throws IOException {
+    while (pending.size() < readAhead && nextBlock < dataBlocks.length) {
+      final var storage = resolver
+          .resolve(Link.of(dataBlocks[nextBlock]), storageBlockType, input)
+          .orElseThrow(() -> new FormatException("Data link in DL block should not be NIL"));
+      final var index = nextBlock;
+      nextBlock += 1;
+
+      if (storage instanceof DataZippedBlock) {
+        final var zipped = (DataZippedBlock<T>) storage;
+        reclaimInputs();
+        final var taskInput = freeInputs.isEmpty() ? newInput() : freeInputs.poll();
+        final var task = new Decompression(() -> {
+          if (closed) {
+            return null;
+          }
+          final var payload = resolver.payload(zipped, taskInput);
+          return payload.isPresent()
+              ? payload.get()
+              : zipped.decompress(taskInput, columns.forBlock(zipped));
+        });
+        pending.add(new Pending<>(index, storage, task, taskInput));
+        executor.execute(task);
+      } else {
+        pending.add(new Pending<>(index, storage, null, null));
+      }
+    }
+  }
+
+  private void reclaimInputs() {
+    // decompression of abandoned blocks is not cancelled, so their inputs are not in use anymore
+    // when they are done
+    final var iter = abandoned.iterator();
+    while (iter.hasNext()) {
+      final var block = iter.next();
+      if (block.payload.isDone()) {
+        freeInputs.add(block.input);
+        iter.remove();
+      }
+    }
+  }
+
+  private ByteInput newInput() throws IOException {
+    final var taskInput = input.dup();
+    inputs.add(taskInput);
+    return taskInput;
+  }
+
+  private ReadableByteChannel open(Pending<T> block) throws IOException {
+    if (block.payload == null) {
+      return opener.open(block.storage, input);
+    }
+
+    final ByteBuffer payload;
+    try {
+      // decompress here, when executor has not started it yet
+      block.payload.run();
+      payload = block.payload.get();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+    } catch (ExecutionException exception) {
+      freeInputs.add(block.input);
+      final var cause = exception.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause);
+    }
+
+    freeInputs.add(block.input);
+    return new ByteBufferChannel(payload);
+  }
+
+  @Override
+  public boolean isOpen() {
+    return !closed;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    for (final var block : pending) {
+      if (block.payload != null) {
+        block.payload.cancel(false);
+      }
+    }
+    for (final var block : abandoned) {
+      block.payload.cancel(false);
+    }
+    for (final var block : pending) {
+      if (block.payload != null) {
+        block.payload.awaitRun();
+      }
+    }
+    for (final var block : abandoned) {
+      block.payload.awaitRun();
+    }
+    pending.clear();
+    abandoned.clear();
+
+    // current block might be channel of input, which is not owned
+    for (final var taskInput : inputs) {
+      taskInput.close();
+    }
+  }
+
+  /**
+   * Decompression of a block, which is run at most once by either the executor or the consumer.
+   *
+   * <p>A cancelled decompression is done immediately, even when it is still running. So the end
+   * of a run is tracked separately.
+   */
+  private static final class Decompression extends FutureTask<ByteBuffer> {
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private Decompression(Callable<ByteBuffer> callable) {
+      super(callable);
+    }
+
+    @Override
+    public void run() {
+      if (!started.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        super.run();
+      } finally {
+        finished.countDown();
+      }
+    }
+
+    /**
+     * Wait for end of run, when it has been started.
+     */
+    void awaitRun() {
+      if (!started.get()) {
+        // not started yet, so a later run returns immediately after cancellation
+        return;
+      }
+
+      boolean interrupted = false;
+      while (true) {
+        try {
+          finished.await();
+          break;
+        } catch (InterruptedException exception) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static final class Pending<T extends Data<T>> {
+    private final int index;
+    private final DataStorage<T> storage;
+    private final Decompression payload;
+    private final ByteInput input;
+
+    private Pending(int index, DataStorage<T> storage, Decompression payload,
+        ByteInput input) {
+      this.index = index;
+      this.storage = storage;
+      this.payload = payload;
+      this.input = input;
+    }
+  }
+}
@@ -5,8 +5,6 @@
 
 package de.richardliebscher.mdf4.extract.read;
 
-import java.io.IOException;
-import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 
 /**
@@ -17,8 +15,6 @@ public interface RecordBuffer {
 
   long getRecordIndex();
 
-  void writeFully(ReadableByteChannel channel) throws IOException;
-
   byte readU8(int pos);
 
   short readI16Le(int pos);
@@ -5,110 +5,152 @@
 
 package de.richardliebscher.mdf4.extract.read;
 
-import static de.richardliebscher.mdf4.internal.ChannelSupport.readFully;
-
-import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
-import lombok.AllArgsConstructor;
 
-@AllArgsConstructor
+/**
+ * View on a record inside of a byte buffer.
+ *
+ * <p>The buffer can be a heap, direct or memory-mapped buffer. No bytes are copied and the byte
+ * order of the buffer is never changed, values are read with fixed-order accessors.
+ */
 public class RecordByteBuffer implements RecordBuffer {
-  private final ByteBuffer buffer;
-  private long recordIndex = 0;
+  private static final VarHandle I16_LE = view(short[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle I32_LE = view(int[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle I64_LE = view(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle F32_LE = view(float[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle F64_LE = view(double[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle I16_BE = view(short[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle I32_BE = view(int[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle I64_BE = view(long[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle F32_BE = view(float[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle F64_BE = view(double[].class, ByteOrder.BIG_ENDIAN);
+
+  private ByteBuffer buffer;
+  private ByteBuffer bulk;
+  private long recordIndex;
+  private int offset = 0;
+
+  public RecordByteBuffer(ByteBuffer buffer, long recordIndex) {
+    this.buffer = buffer;
+    this.bulk = buffer.duplicate();
+    this.recordIndex = recordIndex;
+  }
+
+  private static VarHandle view(Class<?> arrayClass, ByteOrder byteOrder) {
+    return MethodHandles.byteBufferViewVarHandle(arrayClass, byteOrder);
+  }
+
+  /**
+   * Point to record in another buffer.
+   *
+   * @param buffer Buffer containing records
+   * @param offset Byte offset of record in buffer
+   */
+  public void wrap(ByteBuffer buffer, int offset) {
+    if (this.buffer != buffer) {
+      this.buffer = buffer;
+      this.bulk = buffer.duplicate();
+    }
+    this.offset = offset;
+  }
 
   @Override
   public void incRecordIndex() {
     recordIndex += 1;
   }
 
-  @Override
-  public long getRecordIndex() {
-    return recordIndex;
+  /**
+   * Set index of current record.
+   *
+   * @param recordIndex Record index
+   */
+  public void setRecordIndex(long recordIndex) {
+    this.recordIndex = recordIndex;
   }
 
   @Override
-  public void writeFully(ReadableByteChannel channel) throws IOException {
-    buffer.clear();
-    readFully(channel, buffer);
+  public long getRecordIndex() {
+    return recordIndex;
   }
 
   @Override
   public byte readU8(int pos) {
-    return buffer.get(pos);
+    return buffer.get(offset + pos);
   }
 
   @Override
   public short readI16Le(int pos) {
-    buffer.order(ByteOrder.LITTLE_ENDIAN);
-    return buffer.getShort(pos);
+    return (short) I16_LE.get(buffer, offset + pos);
   }
 
   @Override
   public int readI32Le(int pos) {
-    buffer.order(ByteOrder.LITTLE_ENDIAN);
-    return buffer.getInt(pos);
+    return (int) I32_LE.get(buffer, offset + pos);
   }
 
   @Override
   public long readI64Le(int pos) {
-    buffer.order(ByteOrder.LITTLE_ENDIAN);
-    return buffer.getLong(pos);
+    return (long) I64_LE.get(buffer, offset + pos);
   }
 
   @Override
   public float readF32Le(int pos) {
-    buffer.order(ByteOrder.LITTLE_ENDIAN);
-    return buffer.getFloat(pos);
+    return (float) F32_LE.get(buffer, offset + pos);
   }
 
   @Override
   public double readF64Le(int pos) {
-    buffer.order(ByteOrder.LITTLE_ENDIAN);
-    return buffer.getDouble(pos);
+    return (double) F64_LE.get(buffer, offset + pos);
   }
 
   @Override
   public short readI16Be(int pos) {
-    buffer.order(ByteOrder.BIG_ENDIAN);
-    return buffer.getShort(pos);
+    return (short) I16_BE.get(buffer, offset + pos);
   }
 
   @Override
   public int readI32Be(int pos) {
-    buffer.order(ByteOrder.BIG_ENDIAN);
-    return buffer.getInt(pos);
+    return (int) I32_BE.get(buffer, offset + pos);
   }
 
   @Override
   public long readI64Be(int pos) {
-    buffer.order(ByteOrder.BIG_ENDIAN);
-    return buffer.getLong(pos);
+    return (long) I64_BE.get(buffer, offset + pos);
   }
 
   @Override
   public float readF32Be(int pos) {
-    buffer.order(ByteOrder.BIG_ENDIAN);
-    return buffer.getFloat(pos);
+    return (float) F32_BE.get(buffer, offset + pos);
   }
 
   @Override
   public double readF64Be(int pos) {
-    buffer.order(ByteOrder.BIG_ENDIAN);
-    return buffer.getDouble(pos);
+    return (double) F64_BE.get(buffer, offset + pos);
   }
 
   @Override
   public String readString(int pos, int bytes, Charset charset) {
+    if (buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + offset + pos, bytes, charset);
+    }
+
     final var buf = new byte[bytes];
-    buffer.slice().position(pos).slice().get(buf); // TODO: PERF
+    readBytes(pos, buf, 0, bytes);
     return new String(buf, charset);
   }
 
   @Override
   public void readBytes(int pos, byte[] bytes, int offset, int length) {
-    buffer.slice().position(pos).slice().get(bytes, offset, length); // TODO: PERF
+    if (buffer.hasArray()) {
+      System.arraycopy(
+          buffer.array(), buffer.arrayOffset() + this.offset + pos, bytes, offset, length);
+    } else {
+      bulk.limit(bulk.capacity()).position(this.offset + pos);
+      bulk.get(bytes, offset, length);
+    }
   }
 }
@@ -0,0 +1,214 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import static de.richardliebscher.mdf4.internal.ChannelSupport.readFully;
+
+import de.richardliebscher.mdf4.blocks.DataStorage;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Buffer holding many consecutive records, so that a whole window of records can be read
+ * with a single read call.
+ *
+ * <p>Records, which are already in memory, can be used without copying with
+ * {@link #wrap(ByteBuffer, int)}.
+ */
+public final class RecordWindow {
+  private final int recordSize;
+  private final int capacity;
+  private final ByteBuffer buffer;
+  private final RecordByteBuffer record;
+  private ByteBuffer current;
+  private int available = 0;
+  private int offset = 0;
+
+  /**
+   * Create window.
+   *
+   * @param recordSize  Size of one record in bytes
+   * @param capacity    Maximum number of buffered records
+   * @param recordIndex Index of first record
+   */
+  public RecordWindow(int recordSize, int capacity, long recordIndex) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity should be at least 1");
+    }
+    this.recordSize = recordSize;
+    this.capacity = capacity;
+    this.buffer = ByteBuffer.allocate(Math.multiplyExact(recordSize, capacity));
+    this.record = new RecordByteBuffer(buffer, recordIndex);
+    this.current = buffer;
+  }
+
+  /**
+   * Maximum number of buffered records.
+   *
+   * @return Number of records
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Number of buffered records, which are not consumed yet.
+   *
+   * @return Number of records
+   */
+  public int available() {
+    return available;
+  }
+
+  /**
+   * Get current record.
+   *
+   * @return Record of last {@link #next()} call
+   */
+  public RecordBuffer record() {
+    return record;
+  }
+
+  /**
+   * Replace buffered records with next records of channel.
+   *
+   * @param channel Channel to read from
+   * @param records Number of records to read, at most {@link #capacity()}
+   * @throws IOException Unable to read or channel ends too early
+   */
+  public void fill(ReadableByteChannel channel, int records) throws IOException {
+    if (records > capacity) {
+      throw new IllegalArgumentException("records should not exceed capacity");
+    }
+
+    available = 0;
+    offset = 0;
+    current = buffer;
+    buffer.clear().limit(records * recordSize);
+    readFully(channel, buffer);
+    available = records;
+  }
+
+  /**
+   * Replace buffered records with records already in memory.
+   *
+   * <p>The window only references the memory. It should not be modified until all records
+   * are consumed.
+   *
+   * @param memory  Records starting at buffer index zero
+   * @param records Number of records in memory
+   */
+  public void wrap(ByteBuffer memory, int records) {
+    if ((long) records * recordSize > memory.limit()) {
+      throw new IllegalArgumentException("memory is too small for number of records");
+    }
+
+    current = memory;
+    offset = 0;
+    available = records;
+  }
+
+  /**
+   * Replace buffered records with all records of a data block, which is already in memory.
+   *
+   * @param payload Data of data block
+   * @return {@code true}, when window references records of block, otherwise {@code false}
+   * @see BlockResolver#payload(DataStorage, ByteInput)
+   */
+  public boolean wrap(ByteBuffer payload) {
+    if (recordSize == 0 || payload.limit() < recordSize) {
+      return false;
+    }
+
+    wrap(payload, payload.limit() / recordSize);
+    return true;
+  }
+
+  /**
+   * Drop all buffered records.
+   */
+  public void clear() {
+    available = 0;
+    offset = 0;
+  }
+
+  /**
+   * Drop all buffered records, because reading continues at another record.
+   *
+   * @param recordIndex Index of next record
+   */
+  public void clear(long recordIndex) {
+    clear();
+    record.setRecordIndex(recordIndex);
+  }
+
+  /**
+   * Memory of buffered records.
+   *
+   * <p>Next record starts at {@link #position()}, following records are stored consecutively.
+   *
+   * @return Buffer, which should not be modified
+   */
+  public ByteBuffer memory() {
+    return current;
+  }
+
+  /**
+   * Byte offset of next buffered record in {@link #memory()}.
+   *
+   * @return Byte offset
+   */
+  public int position() {
+    return offset;
+  }
+
+  /**
+   * Consume buffered records without reading them one by one.
+   *
+   * @param records Number of records, at most {@link #available()}
+   */
+  public void skip(int records) {
+    if (records > available) {
+      throw new IllegalArgumentException("records should not exceed available records");
+    }
+
+    offset += records * recordSize;
+    available -= records;
+    record.setRecordIndex(record.getRecordIndex() + records);
+  }
+
+  /**
+   * Get next buffered record without consuming it.
+   *
+   * @return Next record, which is returned again by {@link #next()}
+   */
+  public RecordBuffer peek() {
+    if (available == 0) {
+      throw new IllegalStateException("No buffered record available");
+    }
+
+    record.wrap(current, offset);
+    return record;
+  }
+
+  /**
+   * Move to next buffered record.
+   *
+   * @return Next record
+   */
+  public RecordBuffer next() {
+    if (available == 0) {
+      throw new IllegalStateException("No buffered record available");
+    }
+
+    record.wrap(current, offset);
+    offset += recordSize;
+    available -= 1;
+    return record;
+  }
+}
@@ -15,9 +15,15 @@ import java.util.List;
 
 public class Scope implements Closeable {
   private final List<Closeable> closeables;
+  private final BlockResolver resolver;
 
   public Scope() {
-    closeables = new ArrayList<>();
+    this(BlockResolver.DIRECT);
+  }
+
+  public Scope(BlockResolver resolver) {
+    this.closeables = new ArrayList<>();
+    this.resolver = resolver;
   }
 
   public Scope(Collection<Closeable> closeables) {
@@ -29,6 +35,10 @@ public class Scope implements Closeable {
     this(Arrays.asList(closeables));
   }
 
+  public BlockResolver getResolver() {
+    return resolver;
+  }
+
   public void add(Closeable closeable) {
     synchronized (closeables) {
       closeables.add(closeable);
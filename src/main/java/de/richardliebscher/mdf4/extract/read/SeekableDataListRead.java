@@ -5,6 +5,8 @@
 
 package de.richardliebscher.mdf4.extract.read;
 
+import static de.richardliebscher.mdf4.internal.ChannelSupport.skip;
+
 import de.richardliebscher.mdf4.blocks.BlockType;
 import de.richardliebscher.mdf4.blocks.Data;
 import de.richardliebscher.mdf4.blocks.DataStorage;
@@ -21,6 +23,8 @@ public class SeekableDataListRead<T extends Data<T>> implements DataRead<T> {
   private final ByteInput input;
   private final DataList<T> dataList;
   private final BlockType<DataStorage<T>> storageBlockType;
+  private final BlockResolver resolver;
+  private final BlockOpener opener;
 
   private int blockIndex = -1;
   private ReadableByteChannel blockChannel = null;
@@ -29,14 +33,23 @@ public class SeekableDataListRead<T extends Data<T>> implements DataRead<T> {
   private long pos = 0;
 
   public SeekableDataListRead(
-      ByteInput input, DataList<T> dataList, BlockType<DataStorage<T>> storageBlockType) {
+      ByteInput input, DataList<T> dataList, BlockType<DataStorage<T>> storageBlockType,
+      BlockResolver resolver) {
+    this(input, dataList, storageBlockType, new BlockOpener(resolver));
+  }
+
+  public SeekableDataListRead(
+      ByteInput input, DataList<T> dataList, BlockType<DataStorage<T>> storageBlockType,
+      BlockOpener opener) {
     this.input = input;
     this.dataList = dataList;
     this.storageBlockType = storageBlockType;
+    this.resolver = opener.getResolver();
+    this.opener = opener;
   }
 
   private void setBlockChannel(DataStorage<T> storage) throws IOException {
-    blockChannel = storage.getChannel(input);
+    blockChannel = opener.open(storage, input);
     remainingDataLength = storage.getChannelLength();
   }
 
@@ -53,7 +66,7 @@ public class SeekableDataListRead<T extends Data<T>> implements DataRead<T> {
 
     final int remaining = (int) Math.min(remainingDataLength, dst.remaining());
     final var oldLimit = dst.limit();
-    dst.limit(remaining);
+    dst.limit(dst.position() + remaining);
     try {
       final var bytes = blockChannel.read(dst);
       if (bytes < 0) {
@@ -87,19 +100,30 @@ public class SeekableDataListRead<T extends Data<T>> implements DataRead<T> {
       blockIndex = -1;
       remainingDataLength = 0;
     } else {
-      final int toSkip;
-      if (blockIndex != oldBlockIndex || newPosition < oldPosition) {
+      final long toSkip;
+      if (blockIndex == oldBlockIndex && blockChannel instanceof SeekableByteChannel) {
+        // move inside of current block in both directions without opening it again
+        final var channel = (SeekableByteChannel) blockChannel;
+        toSkip = 0;
+        remainingDataLength -= newPosition - oldPosition;
+        if (remainingDataLength >= 0) {
+          channel.position(channel.position() + newPosition - oldPosition);
+        }
+      } else if (blockIndex != oldBlockIndex || newPosition < oldPosition) {
         final var offset = dataList.getOffsets().get(blockIndex);
-        toSkip = Math.toIntExact(newPosition - offset);
-        setBlockChannel(dataList.getDataBlocks().get(blockIndex).resolve(storageBlockType, input)
-            .orElseThrow());
+        toSkip = newPosition - offset;
+        setBlockChannel(resolver.resolve(
+            dataList.getDataBlocks().get(blockIndex), storageBlockType, input).orElseThrow());
       } else {
-        toSkip = Math.toIntExact(newPosition - oldPosition);
+        toSkip = newPosition - oldPosition;
       }
 
-      if (toSkip != 0) {
-        // TODO: better skip
-        blockChannel.read(ByteBuffer.allocate(toSkip));
+      if (toSkip > remainingDataLength || remainingDataLength < 0) {
+        // behind end of data
+        remainingDataLength = 0;
+        blockIndex = dataList.getDataBlocks().size();
+      } else if (toSkip != 0) {
+        skip(blockChannel, toSkip);
         remainingDataLength -= toSkip;
       }
     }
@@ -113,8 +137,8 @@ public class SeekableDataListRead<T extends Data<T>> implements DataRead<T> {
     if (dataBlocks.isEmpty()) {
       return 0;
     } else {
-      final var lastBlockLength = dataBlocks.get(dataBlocks.size() - 1)
-          .resolve(storageBlockType, input)
+      final var lastBlockLength = resolver
+          .resolve(dataBlocks.get(dataBlocks.size() - 1), storageBlockType, input)
           .orElseThrow(() -> new FormatException("Link to DT block can not be NIL"))
           .getChannelLength();
       return dataList.getOffsets().last() + lastBlockLength;
@@ -129,7 +153,7 @@ public class SeekableDataListRead<T extends Data<T>> implements DataRead<T> {
         return false;
       }
 
-      setBlockChannel(dataBlocks.get(blockIndex).resolveNonCached(storageBlockType, input)
+      setBlockChannel(resolver.resolve(dataBlocks.get(blockIndex), storageBlockType, input)
           .orElseThrow(() -> new FormatException("Data link in DL block should not be NIL")));
     }
 
@@ -150,6 +174,6 @@ public class SeekableDataListRead<T extends Data<T>> implements DataRead<T> {
   }
 
   public SeekableDataListRead<T> dup() throws IOException {
-    return new SeekableDataListRead<>(input.dup(), dataList, storageBlockType);
+    return new SeekableDataListRead<>(input.dup(), dataList, storageBlockType, resolver);
   }
 }
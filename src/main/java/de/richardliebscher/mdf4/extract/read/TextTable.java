@@ -0,0 +1,353 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionType;
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.blocks.ConversionReference;
+import de.richardliebscher.mdf4.blocks.TextBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.exceptions.NotImplementedFeatureException;
+import de.richardliebscher.mdf4.extract.de.StringDictionary;
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import de.richardliebscher.mdf4.io.ByteInput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table of a conversion to text.
+ *
+ * <p>Supports {@link ChannelConversionType#VALUE_TEXT_TABLE},
+ * {@link ChannelConversionType#VALUE_RANGE_TEXT_TABLE} and
+ * {@link ChannelConversionType#TEXT_TEXT_TABLE}. All referenced texts are resolved once into a
+ * {@link StringDictionary}, so raw values are encoded into dictionary codes without allocating
+ * strings. Entries, which reference a conversion instead of a text, result in scaled numbers.
+ */
+public final class TextTable implements Serializable {
+
+  /**
+   * Code of a text to text conversion, when the input value is passed through unchanged.
+   */
+  public static final int PASS_THROUGH = -1;
+
+  private static final int FIRST_SCALE = -2;
+
+  private final ChannelConversionType type;
+  private final StringDictionary dictionary;
+  private final double[] keys;
+  private final double[] maxima;
+  private final int[] codes;
+  private final int defaultCode;
+  private final boolean integers;
+  private final Scale[] scales;
+  private final Map<String, Integer> textCodes;
+  private final int[] lookup;
+  private final int lookupOffset;
+
+  private TextTable(ChannelConversionType type, StringDictionary dictionary, double[] keys,
+      double[] maxima, int[] codes, int defaultCode, boolean integers, Scale[] scales,
+      Map<String, Integer> textCodes, int lookupBits, boolean signed) {
+    this.type = type;
+    this.dictionary = dictionary;
+    this.keys = keys;
+    this.maxima = maxima;
+    this.codes = codes;
+    this.defaultCode = defaultCode;
+    this.integers = integers;
+    this.scales = scales;
+    this.textCodes = textCodes;
+    if (lookupBits > 0) {
+      this.lookup = new int[1 << lookupBits];
+      this.lookupOffset = signed ? 1 << (lookupBits - 1) : 0;
+      for (int i = 0; i < lookup.length; i++) {
+        lookup[i] = search(i - lookupOffset);
+      }
+    } else {
+      this.lookup = null;
+      this.lookupOffset = 0;
+    }
+  }
+
+  /**
+   * Create table for conversion of channel.
+   *
+   * @param conversion Conversion to text
+   * @param channel    Channel, which values are converted
+   * @param input      Input file to resolve texts
+   * @param resolver   Resolver of referenced blocks
+   * @return Table
+   * @throws FormatException                Invalid number of table entries
+   * @throws NotImplementedFeatureException Conversion of an entry is not implemented
+   * @throws IOException                    Unable to read referenced blocks
+   */
+  public static TextTable of(
+      ChannelConversionBlock conversion, ChannelBlock channel, ByteInput input,
+      BlockResolver resolver) throws IOException {
+    return of(conversion, channel.getDataType(), ValueTable.getRawBitCount(channel), input,
+        resolver);
+  }
+
+  static TextTable of(ChannelConversionBlock conversion, ChannelDataType dataType,
+      int rawBitCount, ByteInput input, BlockResolver resolver) throws IOException {
+    final var type = conversion.getType();
+    final var vals = conversion.getVals();
+    final var refs = conversion.getRefs();
+    final var integers = dataType.isInteger();
+    final var lookupBits =
+        integers && rawBitCount > 0 && rawBitCount <= ValueTable.MAX_LOOKUP_BITS
+            ? rawBitCount : 0;
+    final var signed = dataType == ChannelDataType.INT_LE || dataType == ChannelDataType.INT_BE;
+    final var dictionary = new StringDictionary.Builder();
+    final var scales = new ArrayList<Scale>();
+
+    switch (type) {
+      case VALUE_TEXT_TABLE: {
+        checkRefCount(type, refs, vals.length + 1);
+        final var size = vals.length;
+        final var order = ValueTable.sortedOrder(vals, 0, 1, size);
+        final var keys = new double[size];
+        final var codes = new int[size];
+        for (int i = 0; i < size; i++) {
+          keys[i] = Double.longBitsToDouble(vals[order[i]]);
+          codes[i] = addReference(refs.get(order[i]), input, resolver, dictionary, scales);
+        }
+        final var defaultCode = addReference(refs.get(size), input, resolver, dictionary, scales);
+        return new TextTable(type, dictionary.build(), keys, null, codes, defaultCode,
+            integers, scales.toArray(new Scale[0]), null, lookupBits, signed);
+      }
+      case VALUE_RANGE_TEXT_TABLE: {
+        if (vals.length % 2 != 0) {
+          throw new FormatException(
+              "Expected ranges for " + type + ", but got " + vals.length + " values");
+        }
+        final var size = vals.length / 2;
+        checkRefCount(type, refs, size + 1);
+        final var order = ValueTable.sortedOrder(vals, 0, 2, size);
+        final var minima = new double[size];
+        final var maxima = new double[size];
+        final var codes = new int[size];
+        for (int i = 0; i < size; i++) {
+          minima[i] = Double.longBitsToDouble(vals[order[i] * 2]);
+          maxima[i] = Double.longBitsToDouble(vals[order[i] * 2 + 1]);
+          codes[i] = addReference(refs.get(order[i]), input, resolver, dictionary, scales);
+        }
+        final var defaultCode = addReference(refs.get(size), input, resolver, dictionary, scales);
+        return new TextTable(type, dictionary.build(), minima, maxima, codes, defaultCode,
+            integers, scales.toArray(new Scale[0]), null, lookupBits, signed);
+      }
+      case TEXT_TEXT_TABLE: {
+        if (refs.size() % 2 != 1) {
+          throw new FormatException("Expected text pairs and default text for " + type
+              + ", but got " + refs.size() + " references");
+        }
+        final var size = refs.size() / 2;
+        final var textCodes = new HashMap<String, Integer>();
+        for (int i = 0; i < size; i++) {
+          final var key = resolveText(refs.get(i * 2), input, resolver);
+          final var code = dictionary.add(resolveText(refs.get(i * 2 + 1), input, resolver));
+          // first entry wins for duplicated keys
+          textCodes.putIfAbsent(key, code);
+        }
+        final var defaultRef = refs.get(size * 2);
+        final var defaultCode = defaultRef.isNil()
+            ? PASS_THROUGH
+            : dictionary.add(resolveText(defaultRef, input, resolver));
+        return new TextTable(type, dictionary.build(), null, null, null, defaultCode,
+            false, new Scale[0], textCodes, 0, false);
+      }
+      default:
+        throw new IllegalArgumentException("Not a text table: " + type);
+    }
+  }
+
+  /**
+   * Get dictionary of all texts.
+   *
+   * @return Dictionary
+   */
+  public StringDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Whether all entries result in texts.
+   *
+   * @return {@code true}, iff no entry references a conversion
+   */
+  public boolean isTextOnly() {
+    return scales.length == 0;
+  }
+
+  /**
+   * Encode raw value.
+   *
+   * @param value Raw value
+   * @return Code in dictionary or code of a scaled value
+   * @see #isScaled
+   */
+  public int encode(double value) {
+    return search(value);
+  }
+
+  /**
+   * Encode signed integer raw value.
+   *
+   * @param value Raw value
+   * @return Code in dictionary or code of a scaled value
+   * @see #isScaled
+   */
+  public int encode(long value) {
+    if (lookup != null) {
+      final var index = value + lookupOffset;
+      if (index >= 0 && index < lookup.length) {
+        return lookup[(int) index];
+      }
+    }
+    return search(value);
+  }
+
+  /**
+   * Encode unsigned integer raw value.
+   *
+   * @param value Raw value
+   * @return Code in dictionary or code of a scaled value
+   * @see #isScaled
+   */
+  public int encodeUnsigned(long value) {
+    return value >= 0 ? encode(value) : search(UnsignedLong.toDoubleValue(value));
+  }
+
+  /**
+   * Encode text of a text to text conversion.
+   *
+   * @param value Text
+   * @return Code in dictionary or {@link #PASS_THROUGH}
+   */
+  public int encode(String value) {
+    final var code = textCodes.get(value);
+    return code != null ? code : defaultCode;
+  }
+
+  /**
+   * Whether code is the code of a scaled value.
+   *
+   * @param code Code returned from {@code encode}
+   * @return {@code true}, iff the value has to be converted with {@link #scale}
+   */
+  public static boolean isScaled(int code) {
+    return code <= FIRST_SCALE;
+  }
+
+  /**
+   * Convert raw value by conversion of an entry.
+   *
+   * @param code  Code of scaled value
+   * @param value Raw value
+   * @return Physical value
+   */
+  public double scale(int code, double value) {
+    return scales[FIRST_SCALE - code].apply(value);
+  }
+
+  private int search(double value) {
+    if (keys.length == 0 || value < keys[0]) {
+      return defaultCode;
+    }
+
+    final var i = ValueTable.floorIndex(keys, value);
+    if (type == ChannelConversionType.VALUE_TEXT_TABLE) {
+      return value == keys[i] ? codes[i] : defaultCode;
+    }
+
+    // maximum is inclusive for integer and exclusive for floating point raw values
+    final var inRange = integers ? value <= maxima[i] : value < maxima[i];
+    return inRange ? codes[i] : defaultCode;
+  }
+
+  private static void checkRefCount(
+      ChannelConversionType type, List<?> refs, int expected) throws FormatException {
+    if (refs.size() != expected) {
+      throw new FormatException("Expected " + expected + " references for " + type
+          + ", but got " + refs.size());
+    }
+  }
+
+  private static int addReference(
+      Link<ConversionReference> ref, ByteInput input, BlockResolver resolver,
+      StringDictionary.Builder dictionary, List<Scale> scales) throws IOException {
+    final var resolved = resolver.resolve(ref, ConversionReference.TYPE, input);
+    if (resolved.isEmpty()) {
+      return dictionary.add("");
+    } else if (resolved.get() instanceof TextBlock) {
+      return dictionary.add(((TextBlock) resolved.get()).getText());
+    } else {
+      scales.add(Scale.of((ChannelConversionBlock) resolved.get()));
+      return FIRST_SCALE - (scales.size() - 1);
+    }
+  }
+
+  static String resolveText(
+      Link<ConversionReference> ref, ByteInput input, BlockResolver resolver)
+      throws IOException {
+    final var resolved = resolver.resolve(ref, ConversionReference.TYPE, input);
+    if (resolved.isEmpty()) {
+      return "";
+    } else if (resolved.get() instanceof TextBlock) {
+      return ((TextBlock) resolved.get()).getText();
+    } else {
+      throw new FormatException("Expected text, but got conversion");
+    }
+  }
+
+  /**
+   * Conversion of a table entry.
+   */
+  @FunctionalInterface
+  private interface Scale extends Serializable {
+
+    double apply(double value);
+
+    static Scale of(ChannelConversionBlock conversion) throws FormatException,
+        NotImplementedFeatureException {
+      final var vals = conversion.getVals();
+      switch (conversion.getType()) {
+        case IDENTITY:
+          return value -> value;
+        case LINEAR: {
+          final var p1 = Double.longBitsToDouble(vals[0]);
+          final var p2 = Double.longBitsToDouble(vals[1]);
+          return value -> LinearConversion.evaluate(p1, p2, value);
+        }
+        case RATIONAL: {
+          final var p1 = Double.longBitsToDouble(vals[0]);
+          final var p2 = Double.longBitsToDouble(vals[1]);
+          final var p3 = Double.longBitsToDouble(vals[2]);
+          final var p4 = Double.longBitsToDouble(vals[3]);
+          final var p5 = Double.longBitsToDouble(vals[4]);
+          final var p6 = Double.longBitsToDouble(vals[5]);
+          return value -> RationalConversion.evaluate(p1, p2, p3, p4, p5, p6, value);
+        }
+        case INTERPOLATED_VALUE_TABLE:
+        case VALUE_VALUE_TABLE:
+        case VALUE_RANGE_VALUE_TABLE: {
+          final var table = ValueTable.of(
+              conversion.getType(), vals, ChannelDataType.FLOAT_LE, -1);
+          return table::convert;
+        }
+        default:
+          throw new NotImplementedFeatureException(
+              "Channel conversion not implemented in text table: " + conversion.getType());
+      }
+    }
+  }
+}
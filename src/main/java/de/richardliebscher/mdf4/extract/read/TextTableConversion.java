@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import java.io.IOException;
+
+/**
+ * Convert values with a {@link TextTable}.
+ *
+ * <p>Texts are visited with {@link Visitor#visitEncodedString}, so no strings are allocated.
+ */
+public class TextTableConversion extends ConvertingRead {
+
+  private final TextTable table;
+
+  public TextTableConversion(TextTable table, ValueRead valueRead) {
+    super(valueRead);
+    this.table = table;
+  }
+
+  @Override
+  protected String expecting() {
+    return "numeric or string value";
+  }
+
+  @Override
+  protected Object convertU64(long value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    final var code = table.encodeUnsigned(value);
+    return TextTable.isScaled(code)
+        ? visitor.visitF64(table.scale(code, UnsignedLong.toDoubleValue(value)), param)
+        : visitor.visitEncodedString(code, table.getDictionary(), param);
+  }
+
+  @Override
+  protected Object convertI64(long value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    final var code = table.encode(value);
+    return TextTable.isScaled(code)
+        ? visitor.visitF64(table.scale(code, value), param)
+        : visitor.visitEncodedString(code, table.getDictionary(), param);
+  }
+
+  @Override
+  protected Object convertF64(double value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    final var code = table.encode(value);
+    return TextTable.isScaled(code)
+        ? visitor.visitF64(table.scale(code, value), param)
+        : visitor.visitEncodedString(code, table.getDictionary(), param);
+  }
+
+  @Override
+  protected Object convertString(String value, Visitor<Object, Object> visitor, Object param)
+      throws IOException {
+    final var code = table.encode(value);
+    return code == TextTable.PASS_THROUGH
+        ? visitor.visitString(value, param)
+        : visitor.visitEncodedString(code, table.getDictionary(), param);
+  }
+
+  @Override
+  public ValueRead dup() throws IOException {
+    return new TextTableConversion(table, getInner().dup());
+  }
+}
@@ -0,0 +1,282 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionType;
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.extract.de.UnsignedLong;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Table of a value to value conversion.
+ *
+ * <p>Supports {@link ChannelConversionType#INTERPOLATED_VALUE_TABLE},
+ * {@link ChannelConversionType#VALUE_VALUE_TABLE} and
+ * {@link ChannelConversionType#VALUE_RANGE_VALUE_TABLE}. Keys are sorted once and searched with
+ * a branch-free binary search. For integer channels with up to 16 bits, the physical values of
+ * all raw values are precomputed, so converting a value is a single array access.
+ */
+public final class ValueTable implements Serializable {
+
+  static final int MAX_LOOKUP_BITS = 16;
+
+  private final ChannelConversionType type;
+  private final double[] keys;
+  private final double[] maxima;
+  private final double[] values;
+  private final double defaultValue;
+  private final boolean integers;
+  private final double[] lookup;
+  private final int lookupOffset;
+
+  private ValueTable(ChannelConversionType type, double[] keys, double[] maxima, double[] values,
+      double defaultValue, boolean integers, int lookupBits, boolean signed) {
+    this.type = type;
+    this.keys = keys;
+    this.maxima = maxima;
+    this.values = values;
+    this.defaultValue = defaultValue;
+    this.integers = integers;
+    if (lookupBits > 0) {
+      this.lookup = new double[1 << lookupBits];
+      this.lookupOffset = signed ? 1 << (lookupBits - 1) : 0;
+      for (int i = 0; i < lookup.length; i++) {
+        lookup[i] = search(i - lookupOffset);
+      }
+    } else {
+      this.lookup = null;
+      this.lookupOffset = 0;
+    }
+  }
+
+  /**
+   * Create table for conversion of channel.
+   *
+   * @param conversion Value to value conversion
+   * @param channel    Channel, which values are converted
+   * @return Table
+   * @throws FormatException Invalid number of table entries
+   */
+  public static ValueTable of(ChannelConversionBlock conversion, ChannelBlock channel)
+      throws FormatException {
+    return of(conversion.getType(), conversion.getVals(), channel.getDataType(),
+        getRawBitCount(channel));
+  }
+
+  /**
+   * Create table.
+   *
+   * @param type        Conversion type
+   * @param vals        Conversion parameters as stored in the conversion block
+   * @param rawDataType Data type of raw values
+   * @param rawBitCount Bit count of raw values or {@code -1}, when unknown
+   * @return Table
+   * @throws FormatException Invalid number of table entries
+   */
+  public static ValueTable of(
+      ChannelConversionType type, long[] vals, ChannelDataType rawDataType, int rawBitCount)
+      throws FormatException {
+    final var integers = rawDataType.isInteger();
+    final var lookupBits = integers && rawBitCount > 0 && rawBitCount <= MAX_LOOKUP_BITS
+        ? rawBitCount : 0;
+    final var signed =
+        rawDataType == ChannelDataType.INT_LE || rawDataType == ChannelDataType.INT_BE;
+
+    switch (type) {
+      case INTERPOLATED_VALUE_TABLE:
+      case VALUE_VALUE_TABLE: {
+        if (vals.length < 2 || vals.length % 2 != 0) {
+          throw new FormatException(
+              "Expected key value pairs for " + type + ", but got " + vals.length + " values");
+        }
+        final var size = vals.length / 2;
+        final var order = sortedOrder(vals, 0, 2, size);
+        final var keys = new double[size];
+        final var values = new double[size];
+        for (int i = 0; i < size; i++) {
+          keys[i] = Double.longBitsToDouble(vals[order[i] * 2]);
+          values[i] = Double.longBitsToDouble(vals[order[i] * 2 + 1]);
+        }
+        return new ValueTable(type, keys, null, values, Double.NaN, integers, lookupBits, signed);
+      }
+      case VALUE_RANGE_VALUE_TABLE: {
+        if (vals.length % 3 != 1) {
+          throw new FormatException("Expected ranges and default value for " + type
+              + ", but got " + vals.length + " values");
+        }
+        final var size = vals.length / 3;
+        final var order = sortedOrder(vals, 0, 3, size);
+        final var minima = new double[size];
+        final var maxima = new double[size];
+        final var values = new double[size];
+        for (int i = 0; i < size; i++) {
+          minima[i] = Double.longBitsToDouble(vals[order[i] * 3]);
+          maxima[i] = Double.longBitsToDouble(vals[order[i] * 3 + 1]);
+          values[i] = Double.longBitsToDouble(vals[order[i] * 3 + 2]);
+        }
+        final var defaultValue = Double.longBitsToDouble(vals[size * 3]);
+        return new ValueTable(
+            type, minima, maxima, values, defaultValue, integers, lookupBits, signed);
+      }
+      default:
+        throw new IllegalArgumentException("Not a value to value table: " + type);
+    }
+  }
+
+  /**
+   * Convert raw value.
+   *
+   * @param value Raw value
+   * @return Physical value
+   */
+  public double convert(double value) {
+    return search(value);
+  }
+
+  /**
+   * Convert signed integer raw value.
+   *
+   * @param value Raw value
+   * @return Physical value
+   */
+  public double convert(long value) {
+    if (lookup != null) {
+      final var index = value + lookupOffset;
+      if (index >= 0 && index < lookup.length) {
+        return lookup[(int) index];
+      }
+    }
+    return search(value);
+  }
+
+  /**
+   * Convert unsigned integer raw value.
+   *
+   * @param value Raw value
+   * @return Physical value
+   */
+  public double convertUnsigned(long value) {
+    return value >= 0 ? convert(value) : search(UnsignedLong.toDoubleValue(value));
+  }
+
+  /**
+   * Convert raw values in place.
+   *
+   * @param values   Raw values, which are integers for integer channels
+   * @param position Index of first value
+   * @param count    Number of values
+   */
+  public void convert(double[] values, int position, int count) {
+    final var end = position + count;
+    if (lookup != null) {
+      for (int i = position; i < end; i++) {
+        final var value = values[i];
+        final var index = (int) value + lookupOffset;
+        values[i] = index >= 0 && index < lookup.length ? lookup[index] : search(value);
+      }
+    } else {
+      for (int i = position; i < end; i++) {
+        values[i] = search(values[i]);
+      }
+    }
+  }
+
+  private double search(double value) {
+    switch (type) {
+      case INTERPOLATED_VALUE_TABLE:
+        return interpolate(value);
+      case VALUE_VALUE_TABLE:
+        return nearest(value);
+      case VALUE_RANGE_VALUE_TABLE:
+        return range(value);
+      default:
+        throw new IllegalStateException("Not a value to value table: " + type);
+    }
+  }
+
+  private double interpolate(double value) {
+    final var last = keys.length - 1;
+    if (value <= keys[0]) {
+      return values[0];
+    } else if (value >= keys[last]) {
+      return values[last];
+    }
+
+    final var i = floorIndex(keys, value);
+    return values[i]
+        + (values[i + 1] - values[i]) * (value - keys[i]) / (keys[i + 1] - keys[i]);
+  }
+
+  private double nearest(double value) {
+    final var last = keys.length - 1;
+    if (value <= keys[0]) {
+      return values[0];
+    } else if (value >= keys[last]) {
+      return values[last];
+    }
+
+    // lower key wins on equal distance
+    final var i = floorIndex(keys, value);
+    return value - keys[i] <= keys[i + 1] - value ? values[i] : values[i + 1];
+  }
+
+  private double range(double value) {
+    if (keys.length == 0 || value < keys[0]) {
+      return defaultValue;
+    }
+
+    // maximum is inclusive for integer and exclusive for floating point raw values
+    final var i = floorIndex(keys, value);
+    final var inRange = integers ? value <= maxima[i] : value < maxima[i];
+    return inRange ? values[i] : defaultValue;
+  }
+
+  static int getRawBitCount(ChannelBlock channel) {
+    switch (channel.getType()) {
+      case FIXED_LENGTH_DATA_CHANNEL:
+      case MASTER_CHANNEL:
+      case SYNCHRONIZATION_CHANNEL:
+        return channel.getBitCount();
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Search index of last key, which is less or equal than value.
+   *
+   * <p>The loop runs a fixed number of iterations for a table size and the comparison compiles
+   * to a conditional move, so there are no mispredicted branches.
+   *
+   * @return Index or {@code 0}, when all keys are greater
+   */
+  static int floorIndex(double[] keys, double value) {
+    int base = 0;
+    int length = keys.length;
+    while (length > 1) {
+      final var half = length >>> 1;
+      base = keys[base + half] <= value ? base + half : base;
+      length -= half;
+    }
+    return base;
+  }
+
+  static int[] sortedOrder(long[] vals, int offset, int stride, int size) {
+    // stable, so duplicated keys keep order of file
+    final var order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order,
+        Comparator.comparingDouble(i -> Double.longBitsToDouble(vals[offset + i * stride])));
+    return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+  }
+}
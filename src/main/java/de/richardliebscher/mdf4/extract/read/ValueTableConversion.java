@@ -0,0 +1,41 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import java.io.IOException;
+
+/**
+ * Convert values with a {@link ValueTable}.
+ */
+public class ValueTableConversion extends NumericConversion {
+
+  private final ValueTable table;
+
+  public ValueTableConversion(ValueTable table, ValueRead valueRead) {
+    super(valueRead);
+    this.table = table;
+  }
+
+  @Override
+  public double convert(double value) {
+    return table.convert(value);
+  }
+
+  @Override
+  public double convertSigned(long value) {
+    return table.convert(value);
+  }
+
+  @Override
+  public double convertUnsigned(long value) {
+    return table.convertUnsigned(value);
+  }
+
+  @Override
+  public ValueRead dup() throws IOException {
+    return new ValueTableConversion(table, getInner().dup());
+  }
+}
@@ -9,6 +9,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
 
 public final class ChannelSupport {
 
@@ -24,4 +25,32 @@ public final class ChannelSupport {
       }
     }
   }
+
+  /**
+   * Skip bytes of channel.
+   *
+   * <p>Seekable channels are positioned, other channels are read into a small buffer.
+   *
+   * @param channel Channel
+   * @param bytes   Number of bytes to skip
+   * @throws IOException Unable to read or channel ends too early
+   */
+  public static void skip(ReadableByteChannel channel, long bytes) throws IOException {
+    if (bytes == 0) {
+      return;
+    }
+    if (channel instanceof SeekableByteChannel) {
+      final var seekable = (SeekableByteChannel) channel;
+      seekable.position(seekable.position() + bytes);
+      return;
+    }
+
+    final var buffer = ByteBuffer.allocate((int) Math.min(bytes, 8192));
+    var remaining = bytes;
+    while (remaining > 0) {
+      buffer.clear().limit((int) Math.min(remaining, buffer.capacity()));
+      readFully(channel, buffer);
+      remaining -= buffer.limit();
+    }
+  }
 }
@@ -0,0 +1,487 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.internal;
+
+import de.richardliebscher.mdf4.extract.de.Half;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Decode a value at the same offset of many consecutive records into a primitive array.
+ *
+ * <p>Records are {@code stride} bytes apart, so values are gathered with one load per record.
+ * Loops are unrolled four times, so that loads of independent records can be executed in
+ * parallel and bounds checks are amortized. Integers are sign-extended, use
+ * {@link #extend(long[], int, int, int, int, boolean)} to mask bit fields and unsigned values.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ColumnKernels {
+  private static final VarHandle I16_LE = view(short[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle I32_LE = view(int[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle I64_LE = view(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle F32_LE = view(float[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle F64_LE = view(double[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle I16_BE = view(short[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle I32_BE = view(int[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle I64_BE = view(long[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle F32_BE = view(float[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle F64_BE = view(double[].class, ByteOrder.BIG_ENDIAN);
+
+  private static VarHandle view(Class<?> arrayClass, ByteOrder byteOrder) {
+    return MethodHandles.byteBufferViewVarHandle(arrayClass, byteOrder);
+  }
+
+  /**
+   * Check whether integers with the given byte count can be loaded.
+   *
+   * @param byteCount Bytes per integer
+   * @return {@code true} for 1, 2, 4 and 8 bytes
+   */
+  public static boolean isLoadable(int byteCount) {
+    return byteCount == 1 || byteCount == 2 || byteCount == 4 || byteCount == 8;
+  }
+
+  /**
+   * Load sign-extended integers.
+   *
+   * @param src       Records
+   * @param offset    Byte offset of integer in first record
+   * @param stride    Record size in bytes
+   * @param byteCount Bytes per integer: 1, 2, 4 or 8
+   * @param bigEndian {@code true} for big endian integers
+   * @param dst       Destination
+   * @param position  Index of first value in destination
+   * @param count     Number of records
+   */
+  public static void loadLongs(ByteBuffer src, int offset, int stride, int byteCount,
+      boolean bigEndian, long[] dst, int position, int count) {
+    final var end = position + count;
+    switch (bigEndian ? -byteCount : byteCount) {
+      case 1:
+      case -1:
+        loadI8(src, offset, stride, dst, position, end);
+        break;
+      case 2:
+        loadI16Le(src, offset, stride, dst, position, end);
+        break;
+      case -2:
+        loadI16Be(src, offset, stride, dst, position, end);
+        break;
+      case 4:
+        loadI32Le(src, offset, stride, dst, position, end);
+        break;
+      case -4:
+        loadI32Be(src, offset, stride, dst, position, end);
+        break;
+      case 8:
+        loadI64Le(src, offset, stride, dst, position, end);
+        break;
+      case -8:
+        loadI64Be(src, offset, stride, dst, position, end);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported byte count: " + byteCount);
+    }
+  }
+
+  /**
+   * Load sign-extended integers with up to 32 bits.
+   *
+   * @param src       Records
+   * @param offset    Byte offset of integer in first record
+   * @param stride    Record size in bytes
+   * @param byteCount Bytes per integer: 1, 2 or 4
+   * @param bigEndian {@code true} for big endian integers
+   * @param dst       Destination
+   * @param position  Index of first value in destination
+   * @param count     Number of records
+   */
+  public static void loadInts(ByteBuffer src, int offset, int stride, int byteCount,
+      boolean bigEndian, int[] dst, int position, int count) {
+    final var end = position + count;
+    switch (bigEndian ? -byteCount : byteCount) {
+      case 1:
+      case -1:
+        loadI8(src, offset, stride, dst, position, end);
+        break;
+      case 2:
+        loadI16Le(src, offset, stride, dst, position, end);
+        break;
+      case -2:
+        loadI16Be(src, offset, stride, dst, position, end);
+        break;
+      case 4:
+        loadI32Le(src, offset, stride, dst, position, end);
+        break;
+      case -4:
+        loadI32Be(src, offset, stride, dst, position, end);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported byte count: " + byteCount);
+    }
+  }
+
+  /**
+   * Load 16-bit or 32-bit floating point numbers.
+   *
+   * @param src       Records
+   * @param offset    Byte offset of number in first record
+   * @param stride    Record size in bytes
+   * @param bitCount  Bits per number: 16 or 32
+   * @param bigEndian {@code true} for big endian numbers
+   * @param dst       Destination
+   * @param position  Index of first value in destination
+   * @param count     Number of records
+   */
+  public static void loadFloats(ByteBuffer src, int offset, int stride, int bitCount,
+      boolean bigEndian, float[] dst, int position, int count) {
+    final var end = position + count;
+    switch (bigEndian ? -bitCount : bitCount) {
+      case 16:
+        loadF16Le(src, offset, stride, dst, position, end);
+        break;
+      case -16:
+        loadF16Be(src, offset, stride, dst, position, end);
+        break;
+      case 32:
+        loadF32Le(src, offset, stride, dst, position, end);
+        break;
+      case -32:
+        loadF32Be(src, offset, stride, dst, position, end);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported bit count: " + bitCount);
+    }
+  }
+
+  /**
+   * Load 64-bit floating point numbers.
+   *
+   * @param src       Records
+   * @param offset    Byte offset of number in first record
+   * @param stride    Record size in bytes
+   * @param bigEndian {@code true} for big endian numbers
+   * @param dst       Destination
+   * @param position  Index of first value in destination
+   * @param count     Number of records
+   */
+  public static void loadDoubles(ByteBuffer src, int offset, int stride, boolean bigEndian,
+      double[] dst, int position, int count) {
+    if (bigEndian) {
+      loadF64Be(src, offset, stride, dst, position, position + count);
+    } else {
+      loadF64Le(src, offset, stride, dst, position, position + count);
+    }
+  }
+
+  /**
+   * Extract bit fields from loaded integers.
+   *
+   * <p>Every value becomes {@code value << leftShift >> rightShift}, with an unsigned right
+   * shift for unsigned values.
+   *
+   * @param values     Loaded values
+   * @param position   Index of first value
+   * @param count      Number of values
+   * @param leftShift  Shift to remove bits above the bit field
+   * @param rightShift Shift to remove bits below the bit field
+   * @param signed     {@code true} to sign-extend bit field
+   */
+  public static void extend(long[] values, int position, int count, int leftShift,
+      int rightShift, boolean signed) {
+    final var end = position + count;
+    if (signed) {
+      for (int i = position; i < end; i++) {
+        values[i] = values[i] << leftShift >> rightShift;
+      }
+    } else {
+      for (int i = position; i < end; i++) {
+        values[i] = values[i] << leftShift >>> rightShift;
+      }
+    }
+  }
+
+  /**
+   * Extract bit fields from loaded integers with up to 32 bits.
+   *
+   * @param values     Loaded values
+   * @param position   Index of first value
+   * @param count      Number of values
+   * @param leftShift  Shift to remove bits above the bit field
+   * @param rightShift Shift to remove bits below the bit field
+   * @param signed     {@code true} to sign-extend bit field
+   * @see #extend(long[], int, int, int, int, boolean)
+   */
+  public static void extend(int[] values, int position, int count, int leftShift,
+      int rightShift, boolean signed) {
+    final var end = position + count;
+    if (signed) {
+      for (int i = position; i < end; i++) {
+        values[i] = values[i] << leftShift >> rightShift;
+      }
+    } else {
+      for (int i = position; i < end; i++) {
+        values[i] = values[i] << leftShift >>> rightShift;
+      }
+    }
+  }
+
+  private static void loadI8(
+      ByteBuffer src, int pos, int stride, long[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = src.get(pos);
+      dst[i + 1] = src.get(pos + stride);
+      dst[i + 2] = src.get(pos + 2 * stride);
+      dst[i + 3] = src.get(pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = src.get(pos);
+    }
+  }
+
+  private static void loadI16Le(
+      ByteBuffer src, int pos, int stride, long[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (short) I16_LE.get(src, pos);
+      dst[i + 1] = (short) I16_LE.get(src, pos + stride);
+      dst[i + 2] = (short) I16_LE.get(src, pos + 2 * stride);
+      dst[i + 3] = (short) I16_LE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (short) I16_LE.get(src, pos);
+    }
+  }
+
+  private static void loadI32Le(
+      ByteBuffer src, int pos, int stride, long[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (int) I32_LE.get(src, pos);
+      dst[i + 1] = (int) I32_LE.get(src, pos + stride);
+      dst[i + 2] = (int) I32_LE.get(src, pos + 2 * stride);
+      dst[i + 3] = (int) I32_LE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (int) I32_LE.get(src, pos);
+    }
+  }
+
+  private static void loadI64Le(
+      ByteBuffer src, int pos, int stride, long[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (long) I64_LE.get(src, pos);
+      dst[i + 1] = (long) I64_LE.get(src, pos + stride);
+      dst[i + 2] = (long) I64_LE.get(src, pos + 2 * stride);
+      dst[i + 3] = (long) I64_LE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (long) I64_LE.get(src, pos);
+    }
+  }
+
+  private static void loadI16Be(
+      ByteBuffer src, int pos, int stride, long[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (short) I16_BE.get(src, pos);
+      dst[i + 1] = (short) I16_BE.get(src, pos + stride);
+      dst[i + 2] = (short) I16_BE.get(src, pos + 2 * stride);
+      dst[i + 3] = (short) I16_BE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (short) I16_BE.get(src, pos);
+    }
+  }
+
+  private static void loadI32Be(
+      ByteBuffer src, int pos, int stride, long[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (int) I32_BE.get(src, pos);
+      dst[i + 1] = (int) I32_BE.get(src, pos + stride);
+      dst[i + 2] = (int) I32_BE.get(src, pos + 2 * stride);
+      dst[i + 3] = (int) I32_BE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (int) I32_BE.get(src, pos);
+    }
+  }
+
+  private static void loadI64Be(
+      ByteBuffer src, int pos, int stride, long[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (long) I64_BE.get(src, pos);
+      dst[i + 1] = (long) I64_BE.get(src, pos + stride);
+      dst[i + 2] = (long) I64_BE.get(src, pos + 2 * stride);
+      dst[i + 3] = (long) I64_BE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (long) I64_BE.get(src, pos);
+    }
+  }
+
+  private static void loadI8(
+      ByteBuffer src, int pos, int stride, int[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = src.get(pos);
+      dst[i + 1] = src.get(pos + stride);
+      dst[i + 2] = src.get(pos + 2 * stride);
+      dst[i + 3] = src.get(pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = src.get(pos);
+    }
+  }
+
+  private static void loadI16Le(
+      ByteBuffer src, int pos, int stride, int[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (short) I16_LE.get(src, pos);
+      dst[i + 1] = (short) I16_LE.get(src, pos + stride);
+      dst[i + 2] = (short) I16_LE.get(src, pos + 2 * stride);
+      dst[i + 3] = (short) I16_LE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (short) I16_LE.get(src, pos);
+    }
+  }
+
+  private static void loadI32Le(
+      ByteBuffer src, int pos, int stride, int[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (int) I32_LE.get(src, pos);
+      dst[i + 1] = (int) I32_LE.get(src, pos + stride);
+      dst[i + 2] = (int) I32_LE.get(src, pos + 2 * stride);
+      dst[i + 3] = (int) I32_LE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (int) I32_LE.get(src, pos);
+    }
+  }
+
+  private static void loadI16Be(
+      ByteBuffer src, int pos, int stride, int[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (short) I16_BE.get(src, pos);
+      dst[i + 1] = (short) I16_BE.get(src, pos + stride);
+      dst[i + 2] = (short) I16_BE.get(src, pos + 2 * stride);
+      dst[i + 3] = (short) I16_BE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (short) I16_BE.get(src, pos);
+    }
+  }
+
+  private static void loadI32Be(
+      ByteBuffer src, int pos, int stride, int[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (int) I32_BE.get(src, pos);
+      dst[i + 1] = (int) I32_BE.get(src, pos + stride);
+      dst[i + 2] = (int) I32_BE.get(src, pos + 2 * stride);
+      dst[i + 3] = (int) I32_BE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (int) I32_BE.get(src, pos);
+    }
+  }
+
+  private static void loadF16Le(
+      ByteBuffer src, int pos, int stride, float[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = Half.toFloat((short) I16_LE.get(src, pos));
+      dst[i + 1] = Half.toFloat((short) I16_LE.get(src, pos + stride));
+      dst[i + 2] = Half.toFloat((short) I16_LE.get(src, pos + 2 * stride));
+      dst[i + 3] = Half.toFloat((short) I16_LE.get(src, pos + 3 * stride));
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = Half.toFloat((short) I16_LE.get(src, pos));
+    }
+  }
+
+  private static void loadF32Le(
+      ByteBuffer src, int pos, int stride, float[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (float) F32_LE.get(src, pos);
+      dst[i + 1] = (float) F32_LE.get(src, pos + stride);
+      dst[i + 2] = (float) F32_LE.get(src, pos + 2 * stride);
+      dst[i + 3] = (float) F32_LE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (float) F32_LE.get(src, pos);
+    }
+  }
+
+  private static void loadF16Be(
+      ByteBuffer src, int pos, int stride, float[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = Half.toFloat((short) I16_BE.get(src, pos));
+      dst[i + 1] = Half.toFloat((short) I16_BE.get(src, pos + stride));
+      dst[i + 2] = Half.toFloat((short) I16_BE.get(src, pos + 2 * stride));
+      dst[i + 3] = Half.toFloat((short) I16_BE.get(src, pos + 3 * stride));
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = Half.toFloat((short) I16_BE.get(src, pos));
+    }
+  }
+
+  private static void loadF32Be(
+      ByteBuffer src, int pos, int stride, float[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (float) F32_BE.get(src, pos);
+      dst[i + 1] = (float) F32_BE.get(src, pos + stride);
+      dst[i + 2] = (float) F32_BE.get(src, pos + 2 * stride);
+      dst[i + 3] = (float) F32_BE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (float) F32_BE.get(src, pos);
+    }
+  }
+
+  private static void loadF64Le(
+      ByteBuffer src, int pos, int stride, double[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (double) F64_LE.get(src, pos);
+      dst[i + 1] = (double) F64_LE.get(src, pos + stride);
+      dst[i + 2] = (double) F64_LE.get(src, pos + 2 * stride);
+      dst[i + 3] = (double) F64_LE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (double) F64_LE.get(src, pos);
+    }
+  }
+
+  private static void loadF64Be(
+      ByteBuffer src, int pos, int stride, double[] dst, int position, int end) {
+    int i = position;
+    for (; i + 3 < end; i += 4, pos += stride << 2) {
+      dst[i] = (double) F64_BE.get(src, pos);
+      dst[i + 1] = (double) F64_BE.get(src, pos + stride);
+      dst[i + 2] = (double) F64_BE.get(src, pos + 2 * stride);
+      dst[i + 3] = (double) F64_BE.get(src, pos + 3 * stride);
+    }
+    for (; i < end; i++, pos += stride) {
+      dst[i] = (double) F64_BE.get(src, pos);
+    }
+  }
+}
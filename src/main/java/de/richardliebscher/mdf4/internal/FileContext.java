@@ -8,12 +8,18 @@ package de.richardliebscher.mdf4.internal;
 import static de.richardliebscher.mdf4.blocks.metadata.XmlConstants.MDF4_NAMESPACE;
 
 import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.ReaderOptions;
+import de.richardliebscher.mdf4.blocks.BlockType;
+import de.richardliebscher.mdf4.blocks.DataStorage;
+import de.richardliebscher.mdf4.blocks.DataZippedBlock;
 import de.richardliebscher.mdf4.blocks.Metadata;
 import de.richardliebscher.mdf4.blocks.Metadata.Visitor;
 import de.richardliebscher.mdf4.blocks.MetadataBlock;
 import de.richardliebscher.mdf4.blocks.TextBlock;
 import de.richardliebscher.mdf4.cache.Cache;
+import de.richardliebscher.mdf4.cache.CacheKey;
 import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.extract.read.BlockResolver;
 import de.richardliebscher.mdf4.extract.read.Scope;
 import de.richardliebscher.mdf4.io.ByteInput;
 import jakarta.xml.bind.JAXBContext;
@@ -21,6 +27,9 @@ import jakarta.xml.bind.JAXBException;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Spliterators;
@@ -36,18 +45,31 @@ import javax.xml.stream.events.XMLEvent;
 import javax.xml.stream.util.StreamReaderDelegate;
 import lombok.Getter;
 
-public class FileContext implements Closeable {
+public class FileContext implements BlockResolver, Closeable {
 
-  @Getter
   private final ByteInput input;
+  private final ThreadLocal<ByteInput> threadInput;
   @Getter
   private final Cache cache;
+  private final Cache dataCache;
+  @Getter
+  private final ReaderOptions options;
   private final XMLInputFactory xmlParserFactory;
   private final Scope fileScope = new Scope();
+  // cursors of all threads, which are closed before the input they were duplicated from
+  private final Scope threadInputs = new Scope();
 
   public FileContext(ByteInput input, Cache cache, XMLInputFactory xmlParserFactory) {
+    this(input, cache, xmlParserFactory, ReaderOptions.defaults());
+  }
+
+  public FileContext(ByteInput input, Cache cache, XMLInputFactory xmlParserFactory,
+      ReaderOptions options) {
     this.input = input;
+    this.threadInput = options.isConcurrent() ? ThreadLocal.withInitial(this::dupInput) : null;
     this.cache = cache;
+    this.dataCache = options.getDataCache();
+    this.options = options;
     this.xmlParserFactory = xmlParserFactory;
     xmlParserFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     xmlParserFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
@@ -59,6 +81,116 @@ public class FileContext implements Closeable {
     this.fileScope.add(input);
   }
 
+  /**
+   * Get input for parsing blocks.
+   *
+   * <p>When concurrent use is allowed, every thread gets its own cursor.
+   *
+   * @return Input
+   */
+  public ByteInput getInput() {
+    return threadInput != null ? threadInput.get() : input;
+  }
+
+  /**
+   * Get input for exclusive use by a record reader.
+   *
+   * <p>When concurrent use is allowed, a new cursor is created, which is closed with the scope.
+   * Otherwise, the shared input is returned.
+   *
+   * @param scope Scope of record reader
+   * @return Input
+   * @throws IOException Unable to create cursor
+   */
+  public ByteInput newReaderInput(Scope scope) throws IOException {
+    if (threadInput == null) {
+      return input;
+    }
+
+    final var cursor = input.dup();
+    scope.add(cursor);
+    return cursor;
+  }
+
+  /**
+   * Resolve link of metadata with input of current thread.
+   *
+   * <p>Without a cache, the block is cached in the link itself like the links of the block tree.
+   *
+   * @param link Link
+   * @param type Block type
+   * @param <T>  Block type
+   * @return Block iff link is not NIL
+   * @throws IOException Unable to read block
+   * @see #resolve(Link, BlockType, ByteInput)
+   */
+  public <T> Optional<T> resolve(Link<T> link, BlockType<T> type) throws IOException {
+    if (cache == null) {
+      return link.resolve(type, getInput());
+    }
+    return resolve(link, type, getInput());
+  }
+
+  /**
+   * Resolve link using the configured cache.
+   *
+   * <p>Without a cache, the block is read again every time, so that blocks of data lists are not
+   * kept in memory for the lifetime of the file.
+   *
+   * @param link  Link
+   * @param type  Block type
+   * @param input Input to read block from
+   * @param <T>   Block type
+   * @return Block iff link is not NIL
+   * @throws IOException Unable to read block
+   */
+  @Override
+  public <T> Optional<T> resolve(Link<T> link, BlockType<T> type, ByteInput input)
+      throws IOException {
+    if (cache == null) {
+      return link.resolveNonCached(type, input);
+    }
+    if (link.isNil()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(cache.get(new CacheKey(this, link.asLong(), type),
+        () -> link.resolveNonCached(type, input).orElseThrow()));
+  }
+
+  /**
+   * Get data of data block in memory.
+   *
+   * <p>Decompressed data of zipped blocks is stored in the data cache, when configured.
+   *
+   * @param storage Data block
+   * @param input   Input
+   * @return Read-only buffer with data, if available
+   * @throws IOException Unable to read or decompress data
+   */
+  @Override
+  public Optional<ByteBuffer> payload(DataStorage<?> storage, ByteInput input)
+      throws IOException {
+    if (dataCache != null && storage instanceof DataZippedBlock) {
+      final var zipped = (DataZippedBlock<?>) storage;
+      final ByteBuffer payload = dataCache.get(
+          new CacheKey(this, zipped.getDataPos(), DataZippedBlock.class),
+          () -> zipped.decompress(input));
+      return Optional.of(payload.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+    }
+    return storage.view(input);
+  }
+
+  private ByteInput dupInput() {
+    try {
+      final var cursor = input.dup();
+      threadInputs.add(cursor);
+      return cursor;
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
   public XMLStreamReader newXmlParser(String content) {
     try {
       return xmlParserFactory.createXMLStreamReader(new StringReader(content));
@@ -69,7 +201,7 @@ public class FileContext implements Closeable {
 
   public Optional<String> readText(Link<Metadata> link, String xmlElement)
       throws IOException {
-    final var maybeComment = link.resolve(Metadata.TYPE, input);
+    final var maybeComment = resolve(link, Metadata.TYPE);
     if (maybeComment.isEmpty()) {
       return Optional.empty();
     }
@@ -107,7 +239,7 @@ public class FileContext implements Closeable {
   }
 
   public <T> Optional<T> readMetadata(Link<MetadataBlock> link, Class<T> cls) throws IOException {
-    final var maybeComment = link.resolve(MetadataBlock.TYPE, input);
+    final var maybeComment = resolve(link, MetadataBlock.TYPE);
     if (maybeComment.isEmpty()) {
       return Optional.empty();
     }
@@ -127,14 +259,24 @@ public class FileContext implements Closeable {
   }
 
   public Scope newScope() {
-    final var scope = new Scope();
+    final var scope = new Scope(this);
     this.fileScope.add(scope);
     return scope;
   }
 
   @Override
   public void close() throws IOException {
-    fileScope.close();
+    if (cache != null) {
+      cache.invalidate(this);
+    }
+    if (dataCache != null) {
+      dataCache.invalidate(this);
+    }
+    try {
+      threadInputs.close();
+    } finally {
+      fileScope.close();
+    }
   }
 
   private static class MdfXmlStreamReader extends StreamReaderDelegate {
@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.internal;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Inflater;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pool of {@link Inflater}s, so that native inflater state is not allocated for every block.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InflaterPool {
+
+  private static final int MAX_POOLED = 2 * Runtime.getRuntime().availableProcessors();
+  private static final ConcurrentLinkedQueue<Inflater> POOL = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger POOLED = new AtomicInteger();
+
+  /**
+   * Get inflater from pool or create a new one.
+   *
+   * @return Inflater in initial state
+   */
+  public static Inflater acquire() {
+    final var inflater = POOL.poll();
+    if (inflater == null) {
+      return new Inflater();
+    }
+    POOLED.decrementAndGet();
+    return inflater;
+  }
+
+  /**
+   * Return inflater to pool.
+   *
+   * <p>The inflater is reset or released, when the pool is full, so it must not be used
+   * afterwards.
+   *
+   * @param inflater Inflater from {@link #acquire()}
+   */
+  public static void release(Inflater inflater) {
+    if (POOLED.incrementAndGet() > MAX_POOLED) {
+      POOLED.decrementAndGet();
+      inflater.end();
+      return;
+    }
+
+    inflater.reset();
+    POOL.offer(inflater);
+  }
+}
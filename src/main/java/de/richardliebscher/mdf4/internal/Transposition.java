@@ -0,0 +1,106 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.internal;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reverse byte transposition of {@code TRANSPOSITION_DEFLATE} data.
+ *
+ * <p>Transposed data stores the first byte of all records, then the second byte of all records
+ * and so on. Bytes after the last complete record are not transposed.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Transposition {
+
+  // 64 x 64 bytes per tile, so that source and destination lines of a tile fit into L1 cache
+  private static final int TILE_ROWS = 64;
+  private static final int TILE_COLUMNS = 64;
+
+  /**
+   * Transpose back into record layout.
+   *
+   * @param src       Transposed data
+   * @param srcOffset Offset of transposed data
+   * @param dst       Destination, must not overlap with source
+   * @param dstOffset Offset in destination
+   * @param length    Number of bytes
+   * @param columns   Record size in bytes
+   */
+  public static void untranspose(
+      byte[] src, int srcOffset, byte[] dst, int dstOffset, int length, int columns) {
+    if (columns <= 0) {
+      throw new IllegalArgumentException("Number of columns should be positive");
+    }
+    final var rows = length / columns;
+    final var transposed = rows * columns;
+
+    if (columns == 1 || rows <= 1) {
+      System.arraycopy(src, srcOffset, dst, dstOffset, transposed);
+    } else {
+      untransposeTiled(src, srcOffset, dst, dstOffset, rows, columns);
+    }
+
+    System.arraycopy(
+        src, srcOffset + transposed, dst, dstOffset + transposed, length - transposed);
+  }
+
+  /**
+   * Transpose only some columns back into record layout.
+   *
+   * <p>Bytes of other columns are left unchanged in the destination. Bytes after the last
+   * complete record are copied.
+   *
+   * @param src       Transposed data
+   * @param srcOffset Offset of transposed data
+   * @param dst       Destination, must not overlap with source
+   * @param dstOffset Offset in destination
+   * @param length    Number of bytes
+   * @param columns   Record size in bytes
+   * @param selected  Sorted indexes of columns to transpose
+   */
+  public static void untranspose(
+      byte[] src, int srcOffset, byte[] dst, int dstOffset, int length, int columns,
+      int[] selected) {
+    if (columns <= 0) {
+      throw new IllegalArgumentException("Number of columns should be positive");
+    }
+    final var rows = length / columns;
+    final var transposed = rows * columns;
+
+    for (int row0 = 0; row0 < rows; row0 += TILE_ROWS) {
+      final var rowEnd = Math.min(rows, row0 + TILE_ROWS);
+      for (final var column : selected) {
+        int s = srcOffset + column * rows + row0;
+        int d = dstOffset + row0 * columns + column;
+        for (int row = row0; row < rowEnd; row++, s++, d += columns) {
+          dst[d] = src[s];
+        }
+      }
+    }
+
+    System.arraycopy(
+        src, srcOffset + transposed, dst, dstOffset + transposed, length - transposed);
+  }
+
+  private static void untransposeTiled(
+      byte[] src, int srcOffset, byte[] dst, int dstOffset, int rows, int columns) {
+    for (int row0 = 0; row0 < rows; row0 += TILE_ROWS) {
+      final var rowEnd = Math.min(rows, row0 + TILE_ROWS);
+      for (int column0 = 0; column0 < columns; column0 += TILE_COLUMNS) {
+        final var columnEnd = Math.min(columns, column0 + TILE_COLUMNS);
+        for (int column = column0; column < columnEnd; column++) {
+          int s = srcOffset + column * rows + row0;
+          int d = dstOffset + row0 * columns + column;
+          for (int row = row0; row < rowEnd; row++, s++, d += columns) {
+            dst[d] = src[s];
+          }
+        }
+      }
+    }
+  }
+}
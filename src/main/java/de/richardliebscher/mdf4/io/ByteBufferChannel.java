@@ -12,13 +12,23 @@ import java.nio.channels.NonWritableChannelException;
 import java.nio.channels.SeekableByteChannel;
 import lombok.NonNull;
 
-class ByteBufferChannel implements SeekableByteChannel {
+/**
+ * Read-only channel on a byte buffer.
+ *
+ * <p>Reading advances the position of the buffer.
+ */
+public class ByteBufferChannel implements SeekableByteChannel {
 
   private final ByteBuffer byteBuffer;
   private final ByteBuffer slice;
   private Long outOfStreamPosition = null;
   private boolean closed = false;
 
+  /**
+   * Create channel on buffer.
+   *
+   * @param byteBuffer Buffer between position and limit is the content of the channel
+   */
   public ByteBufferChannel(@NonNull ByteBuffer byteBuffer) {
     this.byteBuffer = byteBuffer;
     this.slice = byteBuffer.slice();
@@ -64,8 +74,14 @@ class ByteBufferChannel implements SeekableByteChannel {
     }
     if (newPosition > byteBuffer.limit()) {
       outOfStreamPosition = newPosition;
+      return this;
     }
+
+    // slice starts at initial position of buffer
+    final var start = byteBuffer.position() - slice.position();
+    outOfStreamPosition = null;
     byteBuffer.position((int) newPosition);
+    slice.limit(slice.capacity()).position((int) newPosition - start);
     return this;
   }
 
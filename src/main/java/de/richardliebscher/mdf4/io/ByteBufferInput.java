@@ -6,11 +6,13 @@
 package de.richardliebscher.mdf4.io;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.util.Optional;
 
 /**
  * Input file as byte buffer.
@@ -105,6 +107,18 @@ public class ByteBufferInput implements ReadWrite {
     return new ByteBufferInput(buffer.duplicate());
   }
 
+  @Override
+  public Optional<ByteBuffer> view(long pos, int length) throws EOFException {
+    if (pos < 0 || pos + length > buffer.limit()) {
+      throw new EOFException();
+    }
+
+    final var start = (int) pos;
+    return Optional.of(buffer.asReadOnlyBuffer()
+        .position(start).limit(start + length)
+        .slice().order(ByteOrder.LITTLE_ENDIAN));
+  }
+
   @Override
   public void close() {
     /* do nothong */
@@ -8,8 +8,10 @@ package de.richardliebscher.mdf4.io;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.util.Optional;
 
 /**
  * Read MDF4 input file.
@@ -43,4 +45,16 @@ public interface ByteInput extends Closeable {
   ReadableByteChannel getChannel();
 
   ByteInput dup() throws IOException;
+
+  /**
+   * Get bytes at absolute position without copying, when they are already in memory.
+   *
+   * @param pos    Absolute position
+   * @param length Number of bytes
+   * @return Read-only view starting at buffer index zero or empty, when not supported
+   * @throws IOException Range is outside of input
+   */
+  default Optional<ByteBuffer> view(long pos, int length) throws IOException {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,340 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Memory-mapped file as input.
+ *
+ * <p>The file is mapped read-only in chunks of up to 1 GiB, so files bigger than 2 GiB are
+ * supported. Reading values results in plain memory loads instead of system calls.
+ * {@link #dup()} returns a new view with its own position on the same mapping and is cheap.
+ *
+ * <p>The mapping is released by the garbage collector when all views are unreachable.
+ */
+public class MappedFileInput implements ByteInput {
+
+  private static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+  // Chunks overlap by this many bytes, so that a primitive value never crosses chunks
+  private static final int OVERLAP = Long.BYTES;
+
+  private final Mapping mapping;
+  private long pos;
+  private boolean closed = false;
+
+  /**
+   * Map file.
+   *
+   * @param path Path to file
+   * @throws IOException Unable to open or map file
+   */
+  public MappedFileInput(Path path) throws IOException {
+    this(path, DEFAULT_CHUNK_SIZE);
+  }
+
+  MappedFileInput(Path path, int chunkSize) throws IOException {
+    this(Mapping.map(path, chunkSize), 0);
+  }
+
+  private MappedFileInput(Mapping mapping, long pos) {
+    this.mapping = mapping;
+    this.pos = pos;
+  }
+
+  /**
+   * Get size of mapped file.
+   *
+   * @return Size in bytes
+   */
+  public long size() {
+    return mapping.size;
+  }
+
+  @Override
+  public byte readU8() throws IOException {
+    final var chunk = chunkFor(Byte.BYTES);
+    final var value = chunk.get(mapping.offsetInChunk(pos));
+    pos += Byte.BYTES;
+    return value;
+  }
+
+  @Override
+  public short readI16() throws IOException {
+    final var chunk = chunkFor(Short.BYTES);
+    final var value = chunk.getShort(mapping.offsetInChunk(pos));
+    pos += Short.BYTES;
+    return value;
+  }
+
+  @Override
+  public int readI32() throws IOException {
+    final var chunk = chunkFor(Integer.BYTES);
+    final var value = chunk.getInt(mapping.offsetInChunk(pos));
+    pos += Integer.BYTES;
+    return value;
+  }
+
+  @Override
+  public long readI64() throws IOException {
+    final var chunk = chunkFor(Long.BYTES);
+    final var value = chunk.getLong(mapping.offsetInChunk(pos));
+    pos += Long.BYTES;
+    return value;
+  }
+
+  @Override
+  public float readF32() throws IOException {
+    final var chunk = chunkFor(Float.BYTES);
+    final var value = chunk.getFloat(mapping.offsetInChunk(pos));
+    pos += Float.BYTES;
+    return value;
+  }
+
+  @Override
+  public double readF64() throws IOException {
+    final var chunk = chunkFor(Double.BYTES);
+    final var value = chunk.getDouble(mapping.offsetInChunk(pos));
+    pos += Double.BYTES;
+    return value;
+  }
+
+  @Override
+  public String readString(int bytes, Charset charset) throws IOException {
+    return new String(readBytes(bytes), charset);
+  }
+
+  @Override
+  public void skip(int bytes) {
+    pos += bytes;
+  }
+
+  @Override
+  public void seek(long pos) {
+    this.pos = pos;
+  }
+
+  @Override
+  public long pos() {
+    return pos;
+  }
+
+  @Override
+  public byte[] readBytes(int dataLength) throws IOException {
+    ensureOpen();
+    if (dataLength > mapping.size - pos) {
+      throw new EOFException();
+    }
+
+    final var bytes = new byte[dataLength];
+    mapping.copy(pos, bytes, 0, dataLength);
+    pos += dataLength;
+    return bytes;
+  }
+
+  @Override
+  public InputStream getStream() {
+    return new MappedInputStream();
+  }
+
+  @Override
+  public ReadableByteChannel getChannel() {
+    return new MappedChannel();
+  }
+
+  @Override
+  public MappedFileInput dup() throws IOException {
+    ensureOpen();
+    return new MappedFileInput(mapping, pos);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Views are only possible for ranges inside of a single mapped chunk.
+   */
+  @Override
+  public Optional<ByteBuffer> view(long pos, int length) throws IOException {
+    ensureOpen();
+    if (pos < 0 || length > mapping.size - pos) {
+      throw new EOFException();
+    }
+
+    final var chunkOffset = mapping.offsetInChunk(pos);
+    final var chunk = mapping.chunks[mapping.chunkIndex(pos)];
+    if (chunkOffset + length > chunk.capacity()) {
+      return Optional.empty();
+    }
+    return Optional.of(chunk.duplicate()
+        .position(chunkOffset).limit(chunkOffset + length)
+        .slice().order(ByteOrder.LITTLE_ENDIAN));
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  private ByteBuffer chunkFor(int bytes) throws IOException {
+    ensureOpen();
+    if (pos < 0 || bytes > mapping.size - pos) {
+      throw new EOFException();
+    }
+    return mapping.chunks[mapping.chunkIndex(pos)];
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new ClosedChannelException();
+    }
+  }
+
+  private static final class Mapping {
+    private final ByteBuffer[] chunks;
+    private final long size;
+    private final int chunkShift;
+    private final long chunkMask;
+
+    private Mapping(ByteBuffer[] chunks, long size, int chunkSize) {
+      this.chunks = chunks;
+      this.size = size;
+      this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+      this.chunkMask = chunkSize - 1;
+    }
+
+    static Mapping map(Path path, int chunkSize) throws IOException {
+      if (Integer.bitCount(chunkSize) != 1 || chunkSize < OVERLAP) {
+        throw new IllegalArgumentException("Chunk size should be a power of two");
+      }
+
+      try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        final var size = channel.size();
+        final var chunks = new ByteBuffer[(int) ((size + chunkSize - 1) / chunkSize)];
+        for (int i = 0; i < chunks.length; i++) {
+          final var start = (long) i * chunkSize;
+          final var length = Math.min(size - start, (long) chunkSize + OVERLAP);
+          chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length)
+              .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new Mapping(chunks, size, chunkSize);
+      }
+    }
+
+    int chunkIndex(long pos) {
+      return (int) (pos >>> chunkShift);
+    }
+
+    int offsetInChunk(long pos) {
+      return (int) (pos & chunkMask);
+    }
+
+    void copy(long pos, byte[] dest, int offset, int length) {
+      while (length > 0) {
+        final var chunk = chunks[chunkIndex(pos)];
+        final var chunkOffset = offsetInChunk(pos);
+        final var n = Math.min(length, (int) (chunkMask + 1) - chunkOffset);
+        chunk.duplicate().position(chunkOffset).get(dest, offset, n);
+        pos += n;
+        offset += n;
+        length -= n;
+      }
+    }
+
+    void copy(long pos, ByteBuffer dest, int length) {
+      while (length > 0) {
+        final var chunk = chunks[chunkIndex(pos)];
+        final var chunkOffset = offsetInChunk(pos);
+        final var n = Math.min(length, (int) (chunkMask + 1) - chunkOffset);
+        dest.put(chunk.duplicate().position(chunkOffset).limit(chunkOffset + n));
+        pos += n;
+        length -= n;
+      }
+    }
+  }
+
+  private final class MappedChannel implements ReadableByteChannel {
+    private boolean channelClosed = false;
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      if (channelClosed) {
+        throw new ClosedChannelException();
+      }
+      ensureOpen();
+
+      if (pos >= mapping.size) {
+        return -1;
+      }
+
+      final var n = (int) Math.min(dst.remaining(), mapping.size - pos);
+      mapping.copy(pos, dst, n);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return !channelClosed;
+    }
+
+    @Override
+    public void close() {
+      channelClosed = true;
+    }
+  }
+
+  private final class MappedInputStream extends InputStream {
+
+    @Override
+    public int read() throws IOException {
+      ensureOpen();
+      if (pos >= mapping.size) {
+        return -1;
+      }
+      return readU8() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      ensureOpen();
+      if (len == 0) {
+        return 0;
+      }
+      if (pos >= mapping.size) {
+        return -1;
+      }
+
+      final var n = (int) Math.min(len, mapping.size - pos);
+      mapping.copy(pos, b, off, n);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    public long skip(long n) {
+      final var skipped = Math.max(0, Math.min(n, mapping.size - pos));
+      pos += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return (int) Math.max(0, Math.min(Integer.MAX_VALUE, mapping.size - pos));
+    }
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File as input, which can be shared between threads.
+ *
+ * <p>All reads are positional reads on a single file channel, so the file position of the
+ * channel is never used. {@link #dup()} returns a new cursor with its own position on the same
+ * channel without opening the file again. A cursor itself should only be used by one thread at
+ * a time, but any number of cursors can be used concurrently.
+ *
+ * <p>Closing a cursor returned by {@link #dup()} does not close the file. The file is closed,
+ * when the input created by {@link #SharedFileInput(Path)} is closed.
+ *
+ * <p>A file channel is closed, when a thread is interrupted while using it. Then the file is
+ * reopened, so only the read of the interrupted thread fails and all other cursors continue.
+ */
+public class SharedFileInput implements ByteInput {
+
+  private static final int BUFFER_SIZE = 4096;
+
+  private final SharedChannel channel;
+  private final boolean owner;
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE)
+      .order(ByteOrder.LITTLE_ENDIAN)
+      .limit(0);
+  private long bufferPos = 0;
+  private long pos;
+  private boolean closed = false;
+
+  /**
+   * Open file.
+   *
+   * @param path Path
+   * @throws IOException Unable to open file
+   */
+  public SharedFileInput(Path path) throws IOException {
+    this(new SharedChannel(path), true, 0);
+  }
+
+  private SharedFileInput(SharedChannel channel, boolean owner, long pos) {
+    this.channel = channel;
+    this.owner = owner;
+    this.pos = pos;
+  }
+
+  @Override
+  public byte readU8() throws IOException {
+    final var value = buffer.get(load(Byte.BYTES));
+    pos += Byte.BYTES;
+    return value;
+  }
+
+  @Override
+  public short readI16() throws IOException {
+    final var value = buffer.getShort(load(Short.BYTES));
+    pos += Short.BYTES;
+    return value;
+  }
+
+  @Override
+  public int readI32() throws IOException {
+    final var value = buffer.getInt(load(Integer.BYTES));
+    pos += Integer.BYTES;
+    return value;
+  }
+
+  @Override
+  public long readI64() throws IOException {
+    final var value = buffer.getLong(load(Long.BYTES));
+    pos += Long.BYTES;
+    return value;
+  }
+
+  @Override
+  public float readF32() throws IOException {
+    final var value = buffer.getFloat(load(Float.BYTES));
+    pos += Float.BYTES;
+    return value;
+  }
+
+  @Override
+  public double readF64() throws IOException {
+    final var value = buffer.getDouble(load(Double.BYTES));
+    pos += Double.BYTES;
+    return value;
+  }
+
+  @Override
+  public String readString(int bytes, Charset charset) throws IOException {
+    return new String(readBytes(bytes), charset);
+  }
+
+  @Override
+  public void skip(int bytes) {
+    pos += bytes;
+  }
+
+  @Override
+  public void seek(long pos) {
+    this.pos = pos;
+  }
+
+  @Override
+  public long pos() {
+    return pos;
+  }
+
+  @Override
+  public byte[] readBytes(int dataLength) throws IOException {
+    final var bytes = new byte[dataLength];
+    if (dataLength <= BUFFER_SIZE) {
+      buffer.duplicate().position(load(dataLength)).get(bytes);
+      pos += dataLength;
+    } else {
+      ensureOpen();
+      final var dst = ByteBuffer.wrap(bytes);
+      readFullyAt(dst, pos);
+      pos += dataLength;
+    }
+    return bytes;
+  }
+
+  @Override
+  public InputStream getStream() {
+    return Channels.newInputStream(getChannel());
+  }
+
+  @Override
+  public ReadableByteChannel getChannel() {
+    return new CursorChannel();
+  }
+
+  @Override
+  public SharedFileInput dup() throws IOException {
+    ensureOpen();
+    return new SharedFileInput(channel, false, pos);
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    if (owner) {
+      channel.close();
+    }
+  }
+
+  // Returns buffer index of current position with at least given number of bytes available
+  private int load(int bytes) throws IOException {
+    ensureOpen();
+    final var start = pos - bufferPos;
+    if (start >= 0 && start + bytes <= buffer.limit()) {
+      return (int) start;
+    }
+
+    buffer.clear();
+    bufferPos = pos;
+    while (buffer.position() < bytes) {
+      if (channel.read(buffer, pos + buffer.position()) < 0) {
+        buffer.flip();
+        throw new EOFException();
+      }
+    }
+    buffer.flip();
+    return 0;
+  }
+
+  private void readFullyAt(ByteBuffer dst, long position) throws IOException {
+    while (dst.hasRemaining()) {
+      final var bytes = channel.read(dst, position);
+      if (bytes < 0) {
+        throw new EOFException();
+      }
+      position += bytes;
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new ClosedChannelException();
+    }
+  }
+
+  private final class CursorChannel implements ReadableByteChannel {
+    private boolean channelClosed = false;
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      if (channelClosed) {
+        throw new ClosedChannelException();
+      }
+      ensureOpen();
+
+      // serve from buffer, if possible
+      final var start = pos - bufferPos;
+      if (start >= 0 && start < buffer.limit()) {
+        final var n = Math.min(dst.remaining(), buffer.limit() - (int) start);
+        dst.put(buffer.duplicate().position((int) start).limit((int) start + n));
+        pos += n;
+        return n;
+      }
+
+      final var bytes = channel.read(dst, pos);
+      if (bytes > 0) {
+        pos += bytes;
+      }
+      return bytes;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return !channelClosed;
+    }
+
+    @Override
+    public void close() {
+      channelClosed = true;
+    }
+  }
+
+  /**
+   * File channel shared by all cursors, which is reopened after it was closed by an interrupt.
+   */
+  private static final class SharedChannel {
+    private final Path path;
+    private final Object lock = new Object();
+    private volatile FileChannel channel;
+    private volatile boolean closed = false;
+
+    SharedChannel(Path path) throws IOException {
+      this.path = path;
+      this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    int read(ByteBuffer dst, long position) throws IOException {
+      while (true) {
+        final var current = channel;
+        try {
+          return current.read(dst, position);
+        } catch (ClosedByInterruptException exception) {
+          // read of interrupted thread fails, but others should continue
+          reopen(current);
+          throw exception;
+        } catch (AsynchronousCloseException exception) {
+          // closed by interrupt of other thread
+          reopen(current);
+        } catch (ClosedChannelException exception) {
+          reopen(current);
+        }
+      }
+    }
+
+    private void reopen(FileChannel closedChannel) throws IOException {
+      synchronized (lock) {
+        if (closed) {
+          throw new ClosedChannelException();
+        }
+        if (channel == closedChannel) {
+          channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+      }
+    }
+
+    void close() throws IOException {
+      synchronized (lock) {
+        closed = true;
+        channel.close();
+      }
+    }
+  }
+}
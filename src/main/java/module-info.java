@@ -17,6 +17,7 @@ module mdf4j {
   exports de.richardliebscher.mdf4;
   exports de.richardliebscher.mdf4.datatypes;
   exports de.richardliebscher.mdf4.blocks;
+  exports de.richardliebscher.mdf4.cache;
   exports de.richardliebscher.mdf4.exceptions;
   exports de.richardliebscher.mdf4.extract;
   exports de.richardliebscher.mdf4.extract.de;
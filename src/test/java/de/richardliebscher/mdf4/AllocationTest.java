@@ -0,0 +1,372 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.sun.management.ThreadMXBean;
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataBlock;
+import de.richardliebscher.mdf4.blocks.DataGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataListBlock;
+import de.richardliebscher.mdf4.blocks.HeaderBlock;
+import de.richardliebscher.mdf4.blocks.TextBlock;
+import de.richardliebscher.mdf4.extract.RecordFactory;
+import de.richardliebscher.mdf4.extract.SizedRecordReader;
+import de.richardliebscher.mdf4.extract.de.DeserializeInto;
+import de.richardliebscher.mdf4.extract.de.DoubleSink;
+import de.richardliebscher.mdf4.extract.de.LongSink;
+import de.richardliebscher.mdf4.extract.de.StructAccess;
+import de.richardliebscher.mdf4.extract.de.Visitor;
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BiFunction;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class AllocationTest {
+
+  private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+  private static final List<String> CHANNELS = List.of(
+      "i8", "i16", "i32", "i64", "u8", "u16", "u32", "u64", "f32", "f64");
+  private static final List<String> CONVERTED_CHANNELS = List.of("linear", "rational", "struct");
+
+  private static final int HEADER_ADDRESS = 64;
+  private static final int HEADER_LENGTH = 24 + 6 * 8 + 32;
+  private static final int UINT_LE = 0;
+  private static final int INT_LE = 2;
+  private static final int FLOAT_LE = 4;
+  private static final int BYTE_ARRAY = 10;
+  private static final int LINEAR = 1;
+  private static final int RATIONAL = 2;
+  private static final int EQUAL_LENGTH = 1;
+  private static final int RECORD_SIZE = 16;
+  private static final int RECORDS_PER_BLOCK = 500;
+  private static final int BLOCKS = 8;
+  // opening a data block parses its header and creates a channel for its data
+  private static final long BYTES_PER_BLOCK = 1024;
+
+  @BeforeAll
+  static void enableAllocationTracking() {
+    assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+    THREADS.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  void readVisitorsWithoutAllocation() throws Exception {
+    // ARRANGE
+    final var mdf4File = Mdf4File.open(openMdf());
+    final var recordReader = mdf4File.newRecordReader(
+        new ChannelRecordFactory(CHANNELS, AllocationTest::visitChannel));
+
+    // ACT
+    final var allocated = allocatedBytesAfterWarmUp(recordReader, CHANNELS.size());
+
+    // ASSERT
+    assertThat(allocated).isZero();
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void readSinksWithoutAllocation(boolean compileRecordDecoders) throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder()
+        .compileRecordDecoders(compileRecordDecoders)
+        .build();
+    final var mdf4File = Mdf4File.open(openMdf(), options);
+    final var recordReader = mdf4File.newRecordReader(
+        new ChannelRecordFactory(CHANNELS, AllocationTest::sinkChannel));
+
+    // ACT
+    final var allocated = allocatedBytesAfterWarmUp(recordReader, CHANNELS.size());
+
+    // ASSERT
+    assertThat(allocated).isZero();
+  }
+
+  /**
+   * Read records of many data blocks with a small record buffer, so that the record buffer is
+   * filled again many times. Only opening a data block may allocate, but not reading a record.
+   */
+  @Test
+  void readConvertedVisitorsWithoutAllocation() throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder().recordBufferSize(4096).build();
+    final var mdf4File = Mdf4File.open(createConvertedFile(), options);
+    final var recordReader = mdf4File.newRecordReader(
+        new ChannelRecordFactory(CONVERTED_CHANNELS, AllocationTest::visitConvertedChannel));
+
+    // ACT
+    final var allocated = allocatedBytesAfterWarmUp(recordReader, CONVERTED_CHANNELS.size());
+
+    // ASSERT
+    assertThat(recordReader.size()).isEqualTo(BLOCKS * RECORDS_PER_BLOCK);
+    assertThat(allocated).isLessThan(BLOCKS * BYTES_PER_BLOCK);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void readConvertedSinksWithoutAllocation(boolean compileRecordDecoders) throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder()
+        .recordBufferSize(4096)
+        .compileRecordDecoders(compileRecordDecoders)
+        .build();
+    final var mdf4File = Mdf4File.open(createConvertedFile(), options);
+    final var recordReader = mdf4File.newRecordReader(
+        new ChannelRecordFactory(CONVERTED_CHANNELS, AllocationTest::sinkConvertedChannel));
+
+    // ACT
+    final var allocated = allocatedBytesAfterWarmUp(recordReader, CONVERTED_CHANNELS.size());
+
+    // ASSERT
+    assertThat(allocated).isLessThan(BLOCKS * BYTES_PER_BLOCK);
+  }
+
+  private static long allocatedBytesAfterWarmUp(
+      SizedRecordReader<long[], long[]> recordReader, int channels) throws IOException {
+    final var record = new long[channels];
+    // fills record buffer and links all call sites
+    recordReader.nextInto(record);
+
+    final var threadId = Thread.currentThread().getId();
+    final var calibration = THREADS.getThreadAllocatedBytes(threadId);
+    final var overhead = THREADS.getThreadAllocatedBytes(threadId) - calibration;
+
+    final var before = THREADS.getThreadAllocatedBytes(threadId);
+    while (recordReader.remaining() != 0) {
+      recordReader.nextInto(record);
+    }
+    final var after = THREADS.getThreadAllocatedBytes(threadId);
+
+    return Math.max(0, after - before - overhead);
+  }
+
+  private static DeserializeInto<long[]> visitChannel(String name, int index) {
+    final var visitor = new Visitor<Void, long[]>() {
+      @Override
+      public String expecting() {
+        return "numeric value";
+      }
+
+      @Override
+      public Void visitU64(long value, long[] param) {
+        param[index] = value;
+        return null;
+      }
+
+      @Override
+      public Void visitI64(long value, long[] param) {
+        param[index] = value;
+        return null;
+      }
+
+      @Override
+      public Void visitF64(double value, long[] param) {
+        param[index] = Double.doubleToRawLongBits(value);
+        return null;
+      }
+    };
+    return (deserializer, dest) -> deserializer.deserialize_value(visitor, dest);
+  }
+
+  private static DeserializeInto<long[]> sinkChannel(String name, int index) {
+    switch (name) {
+      case "u64":
+        // not accepted by sinks without conversion
+        return null;
+      case "f32":
+      case "f64":
+        return (DoubleSink<long[]>) (dest, value) ->
+            dest[index] = Double.doubleToRawLongBits(value);
+      default:
+        return (LongSink<long[]>) (dest, value) -> dest[index] = value;
+    }
+  }
+
+  private static DeserializeInto<long[]> visitConvertedChannel(String name, int index) {
+    if (!name.equals("struct")) {
+      return visitChannel(name, index);
+    }
+
+    final var fields = new long[2];
+    final var first = visitChannel("a", 0);
+    final var second = visitChannel("b", 1);
+    final var visitor = new Visitor<Void, long[]>() {
+      @Override
+      public String expecting() {
+        return "structure";
+      }
+
+      @Override
+      public Void visitStruct(StructAccess access, long[] param) throws IOException {
+        access.next_field(first, fields);
+        access.next_field(second, fields);
+        param[index] = fields[0] ^ fields[1];
+        return null;
+      }
+    };
+    return (deserializer, dest) -> deserializer.deserialize_value(visitor, dest);
+  }
+
+  private static DeserializeInto<long[]> sinkConvertedChannel(String name, int index) {
+    if (name.equals("struct")) {
+      // structures are not accepted by sinks
+      return null;
+    }
+    return (DoubleSink<long[]>) (dest, value) -> dest[index] = Double.doubleToRawLongBits(value);
+  }
+
+  private static ByteBufferInput openMdf() throws IOException, URISyntaxException {
+    final var bytes = Files.readAllBytes(Path.of(
+        requireNonNull(AllocationTest.class.getResource("/primitives.mf4")).toURI()));
+    return new ByteBufferInput(ByteBuffer.wrap(bytes));
+  }
+
+  private static long block(ByteBuffer file, int id, long[] links, ByteBuffer data) {
+    while (file.position() % 8 != 0) {
+      file.put((byte) 0);
+    }
+    final long address = file.position();
+    file.putInt(id);
+    file.putInt(0);
+    file.putLong(24 + links.length * 8L + data.remaining());
+    file.putLong(links.length);
+    for (final var link : links) {
+      file.putLong(link);
+    }
+    file.put(data);
+    return address;
+  }
+
+  private static ByteBuffer data(int length) {
+    return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static long channel(ByteBuffer file, long next, String name, long composition,
+      long conversion, int dataType, int byteOffset, int bitCount) {
+    final var text = block(file, TextBlock.ID.asInt(), new long[0],
+        ByteBuffer.wrap((name + "\0").getBytes(StandardCharsets.UTF_8)));
+    final var data = data(72);
+    data.put((byte) 0).put((byte) 0).put((byte) dataType).put((byte) 0);
+    data.putInt(byteOffset);
+    data.putInt(bitCount);
+    return block(file, ChannelBlock.ID.asInt(),
+        new long[]{next, composition, text, 0, conversion, 0, 0, 0}, data.clear());
+  }
+
+  private static long conversion(ByteBuffer file, int type, double... values) {
+    final var data = data(24 + values.length * 8);
+    data.put((byte) type).put((byte) 0).putShort((short) 0);
+    data.putShort((short) 0).putShort((short) values.length);
+    data.putDouble(0).putDouble(0);
+    for (final var value : values) {
+      data.putDouble(value);
+    }
+    return block(file, ChannelConversionBlock.ID.asInt(), new long[4], data.clear());
+  }
+
+  /**
+   * Synthesize MDF 4.2 file with conversions and a structure.
+   *
+   * <p>A record contains a 32-bit integer with linear conversion, a 16-bit unsigned integer with
+   * rational conversion and a structure of a 16-bit integer and a double. The records are stored
+   * in {@link #BLOCKS} DT blocks of a DL block.
+   */
+  private static ByteBufferInput createConvertedFile() {
+    final var file = ByteBuffer.allocate(1 << 17).order(ByteOrder.LITTLE_ENDIAN);
+    file.position(HEADER_ADDRESS + HEADER_LENGTH);
+
+    final var fields = channel(file, channel(file, 0, "b", 0, 0, FLOAT_LE, 8, 64),
+        "a", 0, 0, INT_LE, 6, 16);
+    final var struct = channel(file, 0, "struct", fields, 0, BYTE_ARRAY, 6, 80);
+    final var rational = channel(file, struct, "rational", 0,
+        conversion(file, RATIONAL, 0, 1, 3, 0, 0, 2), UINT_LE, 4, 16);
+    final var linear = channel(file, rational, "linear", 0,
+        conversion(file, LINEAR, 0.5, 2.0), INT_LE, 0, 32);
+
+    final var group = data(32);
+    group.putLong(0); // record ID
+    group.putLong(BLOCKS * RECORDS_PER_BLOCK);
+    group.putShort((short) 0).putShort((short) '.').putInt(0);
+    group.putInt(RECORD_SIZE);
+    group.putInt(0); // invalidation bytes
+    final var channelGroup = block(file, ChannelGroupBlock.ID.asInt(),
+        new long[]{0, linear, 0, 0, 0, 0}, group.clear());
+
+    final var links = new long[BLOCKS + 1];
+    for (int b = 0; b < BLOCKS; b++) {
+      final var records = data(RECORDS_PER_BLOCK * RECORD_SIZE);
+      for (int i = b * RECORDS_PER_BLOCK; i < (b + 1) * RECORDS_PER_BLOCK; i++) {
+        records.putInt(i).putShort((short) i).putShort((short) -i).putDouble(i * 0.5);
+      }
+      links[b + 1] = block(file, DataBlock.ID.asInt(), new long[0], records.clear());
+    }
+    final var list = data(16);
+    list.putInt(EQUAL_LENGTH).putInt(BLOCKS).putLong(RECORDS_PER_BLOCK * RECORD_SIZE);
+    final var dataList = block(file, DataListBlock.ID.asInt(), links, list.clear());
+    final var dataGroup = block(file, DataGroupBlock.ID.asInt(),
+        new long[]{0, channelGroup, dataList, 0}, data(8));
+    final var end = file.position();
+
+    // header
+    file.position(HEADER_ADDRESS);
+    block(file, HeaderBlock.ID.asInt(), new long[]{dataGroup, 0, 0, 0, 0, 0}, data(32));
+
+    // identification
+    file.position(0);
+    file.put("MDF     4.20    mdf4j\0\0\0".getBytes(StandardCharsets.ISO_8859_1));
+    file.putShort((short) 0).putShort((short) 0).putShort((short) 420).putShort((short) 0);
+    file.put(new byte[28]);
+    file.putShort((short) 0).putShort((short) 0);
+
+    return new ByteBufferInput(file.position(0).limit(end));
+  }
+
+  @RequiredArgsConstructor
+  private static class ChannelRecordFactory implements RecordFactory<long[], long[]> {
+
+    private final List<String> channels;
+    private final BiFunction<String, Integer, DeserializeInto<long[]>> deserializations;
+
+    @Override
+    public boolean selectGroup(DataGroup dataGroup, ChannelGroup group) {
+      return true;
+    }
+
+    @Override
+    public DeserializeInto<long[]> selectChannel(DataGroup dataGroup, ChannelGroup group,
+        Channel channel) throws IOException {
+      final var index = channels.indexOf(channel.getName());
+      return index < 0 ? null : deserializations.apply(channel.getName(), index);
+    }
+
+    @Override
+    public long[] createRecordBuilder() {
+      return new long[channels.size()];
+    }
+
+    @Override
+    public long[] finishRecord(long[] unfinishedRecord) {
+      return unfinishedRecord;
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataBlock;
+import de.richardliebscher.mdf4.blocks.DataGroupBlock;
+import de.richardliebscher.mdf4.blocks.HeaderBlock;
+import de.richardliebscher.mdf4.blocks.ListDataBlock;
+import de.richardliebscher.mdf4.blocks.TextBlock;
+import de.richardliebscher.mdf4.extract.ChannelDeFactory;
+import de.richardliebscher.mdf4.extract.ColumnType;
+import de.richardliebscher.mdf4.extract.de.ObjectDeserialize;
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import de.richardliebscher.mdf4.utils.Cell;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Read a synthesized MDF 4.2 file with column-oriented storage.
+ *
+ * <p>Every channel is stored in an own data group. Channel groups of "speed" and "temp" use the
+ * channel group of "time" as remote master. Data of "time" and "speed" is split into two DT
+ * blocks with an equal sample count, data of "temp" is in one DT block.
+ */
+class ColumnStorageTest {
+
+  private static final int HEADER_ADDRESS = 64;
+  private static final int HEADER_LENGTH = 24 + 6 * 8 + 32;
+  private static final int MASTER_CHANNEL = 2;
+  private static final int TIME_SYNC = 1;
+  private static final int UINT_LE = 0;
+  private static final int INT_LE = 2;
+  private static final int FLOAT_LE = 4;
+  private static final int REMOTE_MASTER = 1 << 3;
+  private static final int EQUAL_SAMPLE_COUNT = 1;
+
+  private static final double[] TIMES = {0.0, 0.1, 0.2, 0.3, 0.4, 0.5};
+  private static final int[] SPEEDS = {10, 20, 30, 40, 50, 60};
+  private static final int[] TEMPERATURES = {1, 2, 3, 4, 5, 6};
+
+  private final ByteBuffer file = ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN);
+
+  private long block(int id, long[] links, ByteBuffer data) {
+    while (file.position() % 8 != 0) {
+      file.put((byte) 0);
+    }
+    final long address = file.position();
+    file.putInt(id);
+    file.putInt(0);
+    file.putLong(24 + links.length * 8L + data.remaining());
+    file.putLong(links.length);
+    for (final var link : links) {
+      file.putLong(link);
+    }
+    file.put(data);
+    return address;
+  }
+
+  private static ByteBuffer data(int length) {
+    return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private long text(String text) {
+    final var bytes = (text + "\0").getBytes(StandardCharsets.UTF_8);
+    return block(TextBlock.ID.asInt(), new long[0], ByteBuffer.wrap(bytes));
+  }
+
+  private long channel(String name, int type, int syncType, int dataType, int bitCount) {
+    final var data = data(72);
+    data.put((byte) type).put((byte) syncType).put((byte) dataType).put((byte) 0);
+    data.putInt(0); // byte offset
+    data.putInt(bitCount);
+    data.putInt(0); // flags
+    data.putInt(0); // invalidation bit
+    return block(ChannelBlock.ID.asInt(), new long[]{0, 0, text(name), 0, 0, 0, 0, 0},
+        data.clear());
+  }
+
+  private long channelGroup(long channel, int dataBytes, int flags, long master) {
+    final var data = data(32);
+    data.putLong(0); // record ID
+    data.putLong(TIMES.length);
+    data.putShort((short) flags);
+    data.putShort((short) '.');
+    data.putInt(0);
+    data.putInt(dataBytes);
+    data.putInt(0); // invalidation bytes
+    return block(ChannelGroupBlock.ID.asInt(), new long[]{0, channel, 0, 0, 0, 0, master},
+        data.clear());
+  }
+
+  private long dataBlock(ByteBuffer values) {
+    return block(DataBlock.ID.asInt(), new long[0], values.flip());
+  }
+
+  private long listData(int flags, long[] dataBlocks, long... values) {
+    final var links = new long[dataBlocks.length + 1];
+    System.arraycopy(dataBlocks, 0, links, 1, dataBlocks.length);
+    final var data = data(8 + values.length * 8);
+    data.putInt(flags);
+    data.putInt(dataBlocks.length);
+    for (final var value : values) {
+      data.putLong(value);
+    }
+    return block(ListDataBlock.ID.asInt(), links, data.clear());
+  }
+
+  private long dataGroup(long next, long channelGroup, long dataList) {
+    return block(DataGroupBlock.ID.asInt(), new long[]{next, channelGroup, dataList, 0},
+        data(8));
+  }
+
+  private ByteBufferInput createFile() {
+    file.position(HEADER_ADDRESS + HEADER_LENGTH);
+
+    final var timeGroup = channelGroup(
+        channel("time", MASTER_CHANNEL, TIME_SYNC, FLOAT_LE, 64), 8, 0, 0);
+    final var speedGroup = channelGroup(
+        channel("speed", 0, 0, INT_LE, 32), 4, REMOTE_MASTER, timeGroup);
+    final var tempGroup = channelGroup(
+        channel("temp", 0, 0, UINT_LE, 16), 2, REMOTE_MASTER, timeGroup);
+
+    final var times = new long[2];
+    final var speeds = new long[2];
+    for (int i = 0; i < 2; i++) {
+      final var timeValues = data(3 * 8);
+      final var speedValues = data(3 * 4);
+      for (int j = 3 * i; j < 3 * i + 3; j++) {
+        timeValues.putDouble(TIMES[j]);
+        speedValues.putInt(SPEEDS[j]);
+      }
+      times[i] = dataBlock(timeValues);
+      speeds[i] = dataBlock(speedValues);
+    }
+    final var tempValues = data(TEMPERATURES.length * 2);
+    for (final var temperature : TEMPERATURES) {
+      tempValues.putShort((short) temperature);
+    }
+    final var temps = new long[]{dataBlock(tempValues)};
+
+    final var tempGroups = dataGroup(0, tempGroup, listData(0, temps, 0));
+    final var speedGroups = dataGroup(
+        tempGroups, speedGroup, listData(EQUAL_SAMPLE_COUNT, speeds, 3));
+    final var timeGroups = dataGroup(
+        speedGroups, timeGroup, listData(EQUAL_SAMPLE_COUNT, times, 3));
+    final var end = file.position();
+
+    // header
+    file.position(HEADER_ADDRESS);
+    block(HeaderBlock.ID.asInt(), new long[]{timeGroups, 0, 0, 0, 0, 0}, data(32));
+
+    // identification
+    file.position(0);
+    file.put("MDF     4.20    mdf4j\0\0\0".getBytes(StandardCharsets.ISO_8859_1));
+    file.putShort((short) 0).putShort((short) 0).putShort((short) 420).putShort((short) 0);
+    file.put(new byte[28]);
+    file.putShort((short) 0).putShort((short) 0);
+
+    return new ByteBufferInput(file.position(0).limit(end));
+  }
+
+  @Test
+  void readColumnsOfRemoteMasterGroups() throws Exception {
+    // ARRANGE
+    final var mdf4File = Mdf4File.open(createFile());
+    final var names = List.of("time", "speed");
+
+    // ACT
+    final var reader = mdf4File.newColumnStorageReader(
+        (dg, cg) -> cg.getBlock().getDataBytes() == 4,
+        (dg, cg, ch) -> names.contains(ch.getName()));
+    final var batch = reader.newBatch(4);
+    final var times = new ArrayList<Double>();
+    final var speeds = new ArrayList<Integer>();
+    int size;
+    while ((size = reader.next(batch)) > 0) {
+      for (int i = 0; i < size; i++) {
+        times.add(batch.getDoubles(0)[i]);
+        speeds.add(batch.getInts(1)[i]);
+      }
+    }
+
+    // ASSERT
+    assertThat(reader.getChannels()).extracting(Channel::getName).containsExactly("time", "speed");
+    assertThat(reader.getColumnTypes()).containsExactly(ColumnType.DOUBLE, ColumnType.INT);
+    assertThat(reader.size()).isEqualTo(TIMES.length);
+    assertThat(times).containsExactly(0.0, 0.1, 0.2, 0.3, 0.4, 0.5);
+    assertThat(speeds).containsExactly(10, 20, 30, 40, 50, 60);
+  }
+
+  @Test
+  void seekToTimeOfRemoteMaster() throws Exception {
+    // ARRANGE
+    final var mdf4File = Mdf4File.open(createFile());
+    final ChannelDeFactory<Cell<Object>> deFactory = (dg, cg, ch) -> "speed".equals(ch.getName())
+        ? (deserializer, dest) -> dest.set(new ObjectDeserialize().deserialize(deserializer))
+        : null;
+
+    // ACT
+    final var reader = mdf4File.newRecordReader(
+        (dg, cg) -> cg.getBlock().getDataBytes() == 4, deFactory, Cell::new);
+    final var index = reader.indexOfTime(0.25);
+    reader.seekToTime(0.35);
+    final var speed = reader.next().get();
+
+    // ASSERT
+    assertThat(index).isEqualTo(3);
+    assertThat(speed).isEqualTo(50);
+  }
+}
@@ -0,0 +1,359 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataBlock;
+import de.richardliebscher.mdf4.blocks.DataGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataListBlock;
+import de.richardliebscher.mdf4.blocks.DataZippedBlock;
+import de.richardliebscher.mdf4.blocks.HeaderBlock;
+import de.richardliebscher.mdf4.blocks.TextBlock;
+import de.richardliebscher.mdf4.extract.ChannelDeFactory;
+import de.richardliebscher.mdf4.extract.GroupPredicate;
+import de.richardliebscher.mdf4.extract.RecordFilter;
+import de.richardliebscher.mdf4.extract.SizedRecordReader;
+import de.richardliebscher.mdf4.extract.ZoneMap;
+import de.richardliebscher.mdf4.extract.de.ObjectDeserialize;
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import de.richardliebscher.mdf4.utils.Cell;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Read a synthesized MDF 4.2 file with records split over several data blocks.
+ *
+ * <p>The channel group has a master channel "time" with value {@code 0.25 * i} and a channel
+ * "value" with value {@code 10 * i} for record {@code i}. The records are stored in a DT block
+ * with records 0-9, a DZ block with records 10-16, a DT block with records 17-31 and a transposed
+ * DZ block with records 32-39. The blocks are listed in two chained DL blocks.
+ */
+class DataListTest {
+
+  private static final int HEADER_ADDRESS = 64;
+  private static final int HEADER_LENGTH = 24 + 6 * 8 + 32;
+  private static final int MASTER_CHANNEL = 2;
+  private static final int TIME_SYNC = 1;
+  private static final int INT_LE = 2;
+  private static final int FLOAT_LE = 4;
+  private static final int DEFLATE = 0;
+  private static final int TRANSPOSITION_DEFLATE = 1;
+
+  private static final int RECORD_SIZE = 12;
+  private static final int RECORDS = 40;
+  private static final long[] BLOCK_STARTS = {0, 10, 17, 32, RECORDS};
+
+  private static final GroupPredicate GROUP = (dg, cg) -> true;
+  private static final ChannelDeFactory<Cell<Object>> VALUE = (dg, cg, ch) ->
+      "value".equals(ch.getName())
+          ? (deserializer, dest) -> dest.set(new ObjectDeserialize().deserialize(deserializer))
+          : null;
+
+  private final ByteBuffer file = ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN);
+  private int zippedDataPos;
+
+  private long block(int id, long[] links, ByteBuffer data) {
+    while (file.position() % 8 != 0) {
+      file.put((byte) 0);
+    }
+    final long address = file.position();
+    file.putInt(id);
+    file.putInt(0);
+    file.putLong(24 + links.length * 8L + data.remaining());
+    file.putLong(links.length);
+    for (final var link : links) {
+      file.putLong(link);
+    }
+    file.put(data);
+    return address;
+  }
+
+  private static ByteBuffer data(int length) {
+    return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private long text(String text) {
+    final var bytes = (text + "\0").getBytes(StandardCharsets.UTF_8);
+    return block(TextBlock.ID.asInt(), new long[0], ByteBuffer.wrap(bytes));
+  }
+
+  private long channel(
+      long next, String name, int type, int syncType, int dataType, int byteOffset) {
+    final var data = data(72);
+    data.put((byte) type).put((byte) syncType).put((byte) dataType).put((byte) 0);
+    data.putInt(byteOffset);
+    data.putInt(dataType == FLOAT_LE ? 64 : 32);
+    data.putInt(0); // flags
+    data.putInt(0); // invalidation bit
+    return block(ChannelBlock.ID.asInt(), new long[]{next, 0, text(name), 0, 0, 0, 0, 0},
+        data.clear());
+  }
+
+  private long channelGroup(long channel) {
+    final var data = data(32);
+    data.putLong(0); // record ID
+    data.putLong(RECORDS);
+    data.putShort((short) 0);
+    data.putShort((short) '.');
+    data.putInt(0);
+    data.putInt(RECORD_SIZE);
+    data.putInt(0); // invalidation bytes
+    return block(ChannelGroupBlock.ID.asInt(), new long[]{0, channel, 0, 0, 0, 0},
+        data.clear());
+  }
+
+  private static byte[] records(int from, int to) {
+    final var records = data((to - from) * RECORD_SIZE);
+    for (int i = from; i < to; i++) {
+      records.putDouble(0.25 * i);
+      records.putInt(10 * i);
+    }
+    return records.array();
+  }
+
+  private long dataBlock(byte[] records) {
+    return block(DataBlock.ID.asInt(), new long[0], ByteBuffer.wrap(records));
+  }
+
+  private long zippedBlock(byte[] records, boolean transposed) {
+    final var bytes = transposed ? transpose(records) : records;
+    final var deflater = new Deflater();
+    deflater.setInput(bytes);
+    deflater.finish();
+    final var buffer = new byte[bytes.length + 64];
+    final var length = deflater.deflate(buffer);
+    deflater.end();
+
+    final var data = data(24 + length);
+    data.put((byte) 'D').put((byte) 'T');
+    data.put((byte) (transposed ? TRANSPOSITION_DEFLATE : DEFLATE)).put((byte) 0);
+    data.putInt(transposed ? RECORD_SIZE : 0);
+    data.putLong(records.length);
+    data.putLong(length);
+    data.put(buffer, 0, length);
+    final var address = block(DataZippedBlock.ID.asInt(), new long[0], data.clear());
+    zippedDataPos = (int) address + 24 + 24;
+    return address;
+  }
+
+  private static byte[] transpose(byte[] records) {
+    final var rows = records.length / RECORD_SIZE;
+    final var transposed = new byte[records.length];
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < RECORD_SIZE; column++) {
+        transposed[column * rows + row] = records[row * RECORD_SIZE + column];
+      }
+    }
+    return transposed;
+  }
+
+  private long dataList(long next, long[] dataBlocks, long... offsets) {
+    final var links = new long[dataBlocks.length + 1];
+    links[0] = next;
+    System.arraycopy(dataBlocks, 0, links, 1, dataBlocks.length);
+    final var data = data(8 + offsets.length * 8);
+    data.putInt(0); // flags
+    data.putInt(dataBlocks.length);
+    for (final var offset : offsets) {
+      data.putLong(offset);
+    }
+    return block(DataListBlock.ID.asInt(), links, data.clear());
+  }
+
+  /**
+   * Create file.
+   *
+   * @param corruptFirstZipped Overwrite compressed data of the first DZ block
+   * @return File
+   */
+  private ByteBufferInput createFile(boolean corruptFirstZipped) {
+    file.position(HEADER_ADDRESS + HEADER_LENGTH);
+
+    final var value = channel(0, "value", 0, 0, INT_LE, 8);
+    final var group = channelGroup(
+        channel(value, "time", MASTER_CHANNEL, TIME_SYNC, FLOAT_LE, 0));
+
+    final var first = dataBlock(records(0, 10));
+    final var second = zippedBlock(records(10, 17), false);
+    final var secondData = zippedDataPos;
+    final var third = dataBlock(records(17, 32));
+    final var fourth = zippedBlock(records(32, 40), true);
+    final var lastList = dataList(
+        0, new long[]{third, fourth}, 17 * RECORD_SIZE, 32 * RECORD_SIZE);
+    final var firstList = dataList(lastList, new long[]{first, second}, 0, 10 * RECORD_SIZE);
+    final var dataGroup = block(DataGroupBlock.ID.asInt(), new long[]{0, group, firstList, 0},
+        data(8));
+    final var end = file.position();
+
+    if (corruptFirstZipped) {
+      file.position(secondData);
+      file.put(new byte[]{-1, -1, -1, -1});
+    }
+
+    // header
+    file.position(HEADER_ADDRESS);
+    block(HeaderBlock.ID.asInt(), new long[]{dataGroup, 0, 0, 0, 0, 0}, data(32));
+
+    // identification
+    file.position(0);
+    file.put("MDF     4.20    mdf4j\0\0\0".getBytes(StandardCharsets.ISO_8859_1));
+    file.putShort((short) 0).putShort((short) 0).putShort((short) 420).putShort((short) 0);
+    file.put(new byte[28]);
+    file.putShort((short) 0).putShort((short) 0);
+
+    return new ByteBufferInput(file.position(0).limit(end));
+  }
+
+  private static List<Object> collectValues(SizedRecordReader<Cell<Object>, Cell<Object>> reader)
+      throws Exception {
+    final var values = new ArrayList<>();
+    while (reader.hasNext()) {
+      values.add(reader.next().get());
+    }
+    return values;
+  }
+
+  private static List<Object> values(int from, int to) {
+    final var values = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      values.add(10 * i);
+    }
+    return values;
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 2})
+  void searchTimeAtBlockBoundaries(int readAhead) throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder().readAhead(readAhead).build();
+    final var mdf4File = Mdf4File.open(createFile(false), options);
+
+    try (var reader = mdf4File.newRecordReader(GROUP, VALUE, Cell::new)) {
+      // ACT
+      final var indexes = new ArrayList<Long>();
+      for (final var time : new double[]{-1.0, 2.25, 2.3, 2.5, 4.0, 4.25, 7.9, 8.0, 9.75, 9.8}) {
+        indexes.add(reader.indexOfTime(time));
+      }
+
+      // ASSERT
+      assertThat(indexes).containsExactly(0L, 9L, 10L, 10L, 16L, 17L, 32L, 32L, 39L, 40L);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 2})
+  void readTimeRangesOfMiddleAndLastBlocks(int readAhead) throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder().readAhead(readAhead).build();
+    final var mdf4File = Mdf4File.open(createFile(false), options);
+
+    try (var reader = mdf4File.newRecordReader(GROUP, VALUE, Cell::new)) {
+      // ACT
+      reader.seekToTime(3.5, 4.75);
+      final var middle = collectValues(reader);
+      reader.seekToTime(9.0);
+      final var last = collectValues(reader);
+      reader.seekToTime(2.0, 2.5);
+      final var backwards = collectValues(reader);
+      reader.seekToTime(0.0);
+      final var all = collectValues(reader);
+
+      // ASSERT
+      assertThat(middle).isEqualTo(values(14, 19));
+      assertThat(last).isEqualTo(values(36, 40));
+      assertThat(backwards).isEqualTo(values(8, 10));
+      assertThat(all).isEqualTo(values(0, RECORDS));
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1, 0", "1024, 0", "1, 2", "1024, 2"})
+  void seekToRecordsOfMiddleAndLastBlocks(int recordBufferSize, int readAhead)
+      throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder()
+        .recordBufferSize(recordBufferSize)
+        .readAhead(readAhead)
+        .build();
+    final var mdf4File = Mdf4File.open(createFile(false), options);
+
+    try (var reader = mdf4File.newRecordReader(GROUP, VALUE, Cell::new)) {
+      // ACT
+      reader.seek(20);
+      final var middle = reader.next().get();
+      reader.seek(RECORDS - 1);
+      final var last = reader.next().get();
+      reader.readRange(14, 5);
+      final var range = collectValues(reader);
+      reader.seek(5);
+      final var backwards = reader.next().get();
+      reader.skip(26);
+      final var skipped = reader.next().get();
+      reader.seek(RECORDS);
+      final var remaining = reader.remaining();
+
+      // ASSERT
+      assertThat(middle).isEqualTo(200);
+      assertThat(last).isEqualTo(390);
+      assertThat(range).isEqualTo(values(14, 19));
+      assertThat(backwards).isEqualTo(50);
+      assertThat(skipped).isEqualTo(320);
+      assertThat(remaining).isZero();
+    }
+  }
+
+  @Test
+  void rejectZoneMapOfOtherDataBlocks() throws Exception {
+    // ARRANGE
+    final var mdf4File = Mdf4File.open(createFile(false));
+    final var zoneMap = mdf4File.newZoneMap(GROUP, (dg, cg, ch) -> "value".equals(ch.getName()));
+    final var links = new long[zoneMap.getBlockCount()];
+    for (int i = 0; i < links.length; i++) {
+      links[i] = zoneMap.getBlockLink(i) + 8;
+    }
+    final var otherZoneMap = new ZoneMap(List.of("value"), links, BLOCK_STARTS,
+        new double[1][links.length], new double[1][links.length],
+        new long[1][links.length], new long[1][links.length]);
+    final var filter = RecordFilter.greaterThan("value", 0);
+
+    // ACT & ASSERT
+    assertThat(otherZoneMap.getRecordCount()).isEqualTo(zoneMap.getRecordCount());
+    assertThatThrownBy(() -> mdf4File.newRecordReader(
+        GROUP, VALUE, Cell::new, filter, otherZoneMap))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void skipDataBlocksExcludedByZoneMap() throws Exception {
+    // ARRANGE
+    final var zoneMap = Mdf4File.open(createFile(false))
+        .newZoneMap(GROUP, (dg, cg, ch) -> "value".equals(ch.getName()));
+    final var mdf4File = Mdf4File.open(createFile(true));
+    final var filter = RecordFilter.lessThan("value", 50)
+        .or(RecordFilter.greaterThan("value", 345));
+
+    // ACT
+    final List<Object> values;
+    try (var reader = mdf4File.newRecordReader(GROUP, VALUE, Cell::new, filter, zoneMap)) {
+      values = collectValues(reader);
+    }
+
+    // ASSERT
+    assertThat(values).containsExactly(0, 10, 20, 30, 40, 350, 360, 370, 380, 390);
+  }
+}
@@ -8,8 +8,17 @@ package de.richardliebscher.mdf4;
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.richardliebscher.mdf4.extract.ChannelDeFactory;
+import de.richardliebscher.mdf4.extract.ColumnType;
+import de.richardliebscher.mdf4.extract.RecordFactory;
+import de.richardliebscher.mdf4.extract.RecordFilter;
 import de.richardliebscher.mdf4.extract.SerializableRecordFactory;
 import de.richardliebscher.mdf4.extract.SizedRecordReader;
+import de.richardliebscher.mdf4.extract.ZoneMap;
+import de.richardliebscher.mdf4.extract.de.DeserializeInto;
+import de.richardliebscher.mdf4.extract.de.DoubleSink;
+import de.richardliebscher.mdf4.extract.de.IntSink;
+import de.richardliebscher.mdf4.extract.de.LongSink;
 import de.richardliebscher.mdf4.extract.de.ObjectDeserialize;
 import de.richardliebscher.mdf4.extract.de.SerializableDeserializeInto;
 import de.richardliebscher.mdf4.extract.de.UnsignedByte;
@@ -25,12 +34,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 public class IntegrationTest {
 
@@ -78,6 +91,158 @@ public class IntegrationTest {
     assertThat(lists).containsExactlyElementsOf(expected);
   }
 
+  @ParameterizedTest
+  @MethodSource("primitive")
+  void checkPrimitiveWithSmallRecordBuffer(String channel, List<?> expected) throws Exception {
+    // ARRANGE
+    final ByteBufferInput input = openMdf();
+    final var options = ReaderOptions.builder().recordBufferSize(1).build();
+    final var mdf4File = Mdf4File.open(input, options);
+
+    // ACT
+    final var recordReader = mdf4File.newRecordReader(new SignalRecordFactory(channel));
+
+    final var lists = collectValues(recordReader);
+
+    // ASSERT
+    assertThat(lists).containsExactlyElementsOf(expected);
+  }
+
+  @ParameterizedTest
+  @MethodSource("primitive")
+  void checkPrimitiveWithReadAhead(String channel, List<?> expected) throws Exception {
+    // ARRANGE
+    final ByteBufferInput input = openMdf();
+    final var options = ReaderOptions.builder().readAhead(2).build();
+    final var mdf4File = Mdf4File.open(input, options);
+
+    // ACT
+    final var recordReader = mdf4File.newRecordReader(new SignalRecordFactory(channel));
+
+    final var lists = collectValues(recordReader);
+
+    // ASSERT
+    assertThat(lists).containsExactlyElementsOf(expected);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 2})
+  void checkTimeRange(int readAhead) throws Exception {
+    // ARRANGE
+    final ByteBufferInput input = openMdf();
+    final var options = ReaderOptions.builder().readAhead(readAhead).build();
+    final var mdf4File = Mdf4File.open(input, options);
+    final var recordReader = mdf4File.newRecordReader(new SignalRecordFactory("i16"));
+
+    // ACT
+    final var index = recordReader.indexOfTime(0.5);
+    recordReader.seekToTime(0.5, 1.5);
+    final var range = collectValues(recordReader);
+    recordReader.seekToTime(0.0);
+    final var all = collectValues(recordReader);
+
+    // ASSERT
+    assertThat(index).isEqualTo(1);
+    assertThat(range).containsExactly(Short.MAX_VALUE);
+    assertThat(all).containsExactly((short) 0, Short.MAX_VALUE, Short.MIN_VALUE);
+    assertThat(recordReader.indexOfTime(3.0)).isEqualTo(3);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 1024})
+  void checkRandomAccess(int recordBufferSize) throws Exception {
+    // ARRANGE
+    final ByteBufferInput input = openMdf();
+    final var options = ReaderOptions.builder().recordBufferSize(recordBufferSize).build();
+    final var mdf4File = Mdf4File.open(input, options);
+    final var recordReader = mdf4File.newRecordReader(new SignalRecordFactory("i32"));
+
+    // ACT
+    recordReader.seek(2);
+    final var last = recordReader.next();
+    recordReader.readRange(0, 2);
+    recordReader.skip(1);
+    final var range = collectValues(recordReader);
+    recordReader.seek(3);
+    final var remaining = recordReader.remaining();
+
+    // ASSERT
+    assertThat(last).isEqualTo(Integer.MIN_VALUE);
+    assertThat(range).containsExactly(Integer.MAX_VALUE);
+    assertThat(remaining).isZero();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 1024})
+  void checkRecordFilter(int recordBufferSize) throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder().recordBufferSize(recordBufferSize).build();
+    final var mdf4File = Mdf4File.open(openMdf(), options);
+    final ChannelDeFactory<Cell<Object>> deFactory = (dg, cg, ch) -> "i32".equals(ch.getName())
+        ? (deserializer, dest) -> dest.set(new ObjectDeserialize().deserialize(deserializer))
+        : null;
+
+    // ACT
+    final var matching = collectMatching(mdf4File.newRecordReader((dg, cg) -> true, deFactory,
+        Cell::new, RecordFilter.lessThan("i8", 0).or(RecordFilter.equalTo("u32", 0L))));
+    final var masked = collectMatching(mdf4File.newRecordReader((dg, cg) -> true, deFactory,
+        Cell::new, RecordFilter.bitsSet("u8", 0x1).and(RecordFilter.bitsCleared("u8", 0x80))));
+    final var none = collectMatching(mdf4File.newRecordReader((dg, cg) -> true, deFactory,
+        Cell::new, RecordFilter.greaterThan("f64", 0).negate().and(
+            RecordFilter.notEqualTo("f64", 0))));
+
+    // ASSERT
+    assertThat(matching).containsExactly(0, Integer.MIN_VALUE);
+    assertThat(masked).containsExactly(Integer.MAX_VALUE);
+    assertThat(none).isEmpty();
+  }
+
+  @Test
+  void checkZoneMap() throws Exception {
+    // ARRANGE
+    final var mdf4File = Mdf4File.open(openMdf());
+    final var names = List.of("i32", "u64", "f64");
+
+    // ACT
+    final var zones = mdf4File.newZoneMap(
+        (dg, cg) -> true, (dg, cg, ch) -> names.contains(ch.getName()));
+    final var none = zones.selectRecords(RecordFilter.greaterThan("i32", Integer.MAX_VALUE));
+    final var all = zones.selectRecords(RecordFilter.notEqualTo("u64", 1)
+        .and(RecordFilter.lessThan("f64", 0).or(RecordFilter.equalTo("i32", 0.0))));
+
+    // ASSERT
+    assertThat(zones.getChannelNames()).containsExactlyElementsOf(names);
+    assertThat(zones.getBlockCount()).isEqualTo(1);
+    assertThat(zones.getCount(0, 0)).isEqualTo(3);
+    assertThat(zones.getInvalidCount(0, 0)).isZero();
+    assertThat(zones.getMin(0, 0)).isEqualTo(Integer.MIN_VALUE);
+    assertThat(zones.getMax(0, 0)).isEqualTo(Integer.MAX_VALUE);
+    assertThat(zones.getMax(1, 0)).isEqualTo(UnsignedLong.toDoubleValue(-1L));
+    assertThat(zones.getMax(2, 0)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(none).isEmpty();
+    assertThat(all).containsExactly(new ZoneMap.RecordRange(0, 3));
+  }
+
+  @Test
+  void checkRecordFilterWithZoneMap() throws Exception {
+    // ARRANGE
+    final var mdf4File = Mdf4File.open(openMdf());
+    final ChannelDeFactory<Cell<Object>> deFactory = (dg, cg, ch) -> "i32".equals(ch.getName())
+        ? (deserializer, dest) -> dest.set(new ObjectDeserialize().deserialize(deserializer))
+        : null;
+    final var zones = mdf4File.newZoneMap(
+        (dg, cg) -> true, (dg, cg, ch) -> "i32".equals(ch.getName()));
+
+    // ACT
+    final var none = collectMatching(mdf4File.newRecordReader((dg, cg) -> true, deFactory,
+        Cell::new, RecordFilter.greaterThan("i32", Integer.MAX_VALUE), zones));
+    final var matching = collectMatching(mdf4File.newRecordReader((dg, cg) -> true, deFactory,
+        Cell::new, RecordFilter.lessThan("i8", 0).or(RecordFilter.equalTo("u32", 0L)), zones));
+
+    // ASSERT
+    assertThat(none).isEmpty();
+    assertThat(matching).containsExactly(0, Integer.MIN_VALUE);
+  }
 
   @ParameterizedTest
   @MethodSource("primitive")
@@ -95,6 +260,103 @@ public class IntegrationTest {
     assertThat(lists).containsExactlyElementsOf(expected);
   }
 
+  @Test
+  void checkColumnBatches() throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder().recordBufferSize(1).build();
+    final var mdf4File = Mdf4File.open(openMdf(), options);
+    final var names = List.of("i8", "u32", "u64", "f32", "f64");
+
+    // ACT
+    final var reader = mdf4File.newColumnBatchReader(
+        (dg, cg) -> true, (dg, cg, ch) -> names.contains(ch.getName()));
+    final var batch = reader.newBatch(2);
+    final var ints = new ArrayList<Integer>();
+    final var longs = new ArrayList<Long>();
+    final var floats = new ArrayList<Float>();
+    final var doubles = new ArrayList<Double>();
+    while (reader.next(batch) > 0) {
+      for (int i = 0; i < batch.size(); i++) {
+        for (int column = 0; column < batch.columns(); column++) {
+          switch (batch.getType(column)) {
+            case INT:
+              ints.add(batch.getInts(column)[i]);
+              break;
+            case LONG:
+              longs.add(batch.getLongs(column)[i]);
+              break;
+            case FLOAT:
+              floats.add(batch.getFloats(column)[i]);
+              break;
+            case DOUBLE:
+              doubles.add(batch.getDoubles(column)[i]);
+              break;
+            default:
+          }
+        }
+      }
+    }
+
+    // ASSERT
+    assertThat(reader.getColumnTypes()).containsExactly(
+        ColumnType.INT, ColumnType.LONG, ColumnType.LONG, ColumnType.FLOAT, ColumnType.DOUBLE);
+    assertThat(reader.remaining()).isZero();
+    assertThat(ints).containsExactly(0, (int) Byte.MAX_VALUE, (int) Byte.MIN_VALUE);
+    assertThat(longs).containsExactly(0L, 0L, 1L, 1L, 0xFFFFFFFFL, -1L);
+    assertThat(floats).containsExactly(0.f, Float.MAX_VALUE, Float.POSITIVE_INFINITY);
+    assertThat(doubles).containsExactly(0.d, Double.MAX_VALUE, Double.POSITIVE_INFINITY);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void checkPrimitiveSinks(boolean compileRecordDecoders) throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder()
+        .compileRecordDecoders(compileRecordDecoders)
+        .build();
+    final var mdf4File = Mdf4File.open(openMdf(), options);
+
+    // ACT
+    final var recordReader = mdf4File.newRecordReader(new SinkRecordFactory());
+
+    final var values = collectValues(recordReader);
+
+    // ASSERT
+    assertThat(values).containsExactly(
+        List.of(0, 0L, 0.d),
+        List.of((int) Byte.MAX_VALUE, 1L, (double) Float.MAX_VALUE),
+        List.of((int) Byte.MIN_VALUE, 0xFFFFFFFFL, Double.POSITIVE_INFINITY));
+  }
+
+  @Test
+  void checkConcurrentUse() throws Exception {
+    // ARRANGE
+    final var options = ReaderOptions.builder().concurrent(true).build();
+    final var expected = primitive()
+        .map(Arguments::get)
+        .collect(Collectors.toList());
+    final var executor = Executors.newFixedThreadPool(4);
+
+    try (var mdf4File = Mdf4File.open(mdfPath(), options)) {
+      // ACT
+      final var futures = new ArrayList<Future<List<Object>>>();
+      for (int i = 0; i < 8; i++) {
+        for (final var args : expected) {
+          futures.add(executor.submit(() -> collectValues(
+              mdf4File.newRecordReader(new SignalRecordFactory((String) args[0])))));
+        }
+      }
+
+      // ASSERT
+      for (int i = 0; i < futures.size(); i++) {
+        assertThat(futures.get(i).get())
+            .containsExactlyElementsOf((List<?>) expected.get(i % expected.size())[1]);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   private static List<Object> collectValues(SizedRecordReader<?, Object> recordReader)
       throws IOException {
     List<Object> values = new ArrayList<>();
@@ -104,12 +366,24 @@ public class IntegrationTest {
     return values;
   }
 
+  private static List<Object> collectMatching(
+      SizedRecordReader<Cell<Object>, Cell<Object>> recordReader) throws IOException {
+    List<Object> values = new ArrayList<>();
+    while (recordReader.hasNext()) {
+      values.add(recordReader.next().get());
+    }
+    return values;
+  }
+
   private static ByteBufferInput openMdf() throws IOException, URISyntaxException {
-    final var bytes = Files.readAllBytes(Path.of(
-        requireNonNull(IntegrationTest.class.getResource("/primitives.mf4")).toURI()));
+    final var bytes = Files.readAllBytes(mdfPath());
     return new ByteBufferInput(ByteBuffer.wrap(bytes));
   }
 
+  private static Path mdfPath() throws URISyntaxException {
+    return Path.of(requireNonNull(IntegrationTest.class.getResource("/primitives.mf4")).toURI());
+  }
+
   @RequiredArgsConstructor
   private static class SignalRecordFactory implements
       SerializableRecordFactory<Cell<Object>, Object> {
@@ -142,4 +416,37 @@ public class IntegrationTest {
       return true;
     }
   }
+
+  private static class SinkRecordFactory implements RecordFactory<Object[], Object> {
+
+    @Override
+    public DeserializeInto<Object[]> selectChannel(DataGroup dataGroup, ChannelGroup group,
+        Channel channel) throws IOException {
+      switch (channel.getName()) {
+        case "i8":
+          return (IntSink<Object[]>) (dest, value) -> dest[0] = value;
+        case "u32":
+          return (LongSink<Object[]>) (dest, value) -> dest[1] = value;
+        case "f32":
+          return (DoubleSink<Object[]>) (dest, value) -> dest[2] = value;
+        default:
+          return null;
+      }
+    }
+
+    @Override
+    public Object[] createRecordBuilder() {
+      return new Object[3];
+    }
+
+    @Override
+    public Object finishRecord(Object[] unfinishedRecord) {
+      return List.of(unfinishedRecord);
+    }
+
+    @Override
+    public boolean selectGroup(DataGroup dataGroup, ChannelGroup group) {
+      return true;
+    }
+  }
 }
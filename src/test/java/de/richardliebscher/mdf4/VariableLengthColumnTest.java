@@ -0,0 +1,222 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataBlock;
+import de.richardliebscher.mdf4.blocks.DataGroupBlock;
+import de.richardliebscher.mdf4.blocks.DataListBlock;
+import de.richardliebscher.mdf4.blocks.HeaderBlock;
+import de.richardliebscher.mdf4.blocks.SignalDataBlock;
+import de.richardliebscher.mdf4.blocks.TextBlock;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.extract.ColumnType;
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Read strings and byte arrays of a synthesized MDF 4.2 file into columns.
+ *
+ * <p>A record contains a zero terminated UTF-8 string of 8 bytes, a zero terminated UTF-16 string
+ * of 8 bytes, a byte array of at most 7 bytes with its size in an own channel and an offset of a
+ * UTF-8 string in signal data. The signal data is split into two SD blocks, so that one value
+ * starts in the first and ends in the second block.
+ */
+class VariableLengthColumnTest {
+
+  private static final int HEADER_ADDRESS = 64;
+  private static final int HEADER_LENGTH = 24 + 6 * 8 + 32;
+  private static final int VLSD = 1;
+  private static final int MAXIMUM_LENGTH = 5;
+  private static final int UINT_LE = 0;
+  private static final int STRING_UTF8 = 7;
+  private static final int STRING_UTF16LE = 8;
+  private static final int BYTE_ARRAY = 10;
+  private static final int RECORD_SIZE = 32;
+
+  private static final String[] UTF16 = {"ab", "x\u0100", "\u0100x"};
+  private static final byte[][] BYTES = {{1, 2, 3}, {}, {0, 0, 7, 0, 0, 0, 9}};
+  private static final String[] SIGNALS = {"first", "second value", "third"};
+
+  private final ByteBuffer file = ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN);
+
+  private long block(int id, long[] links, ByteBuffer data) {
+    while (file.position() % 8 != 0) {
+      file.put((byte) 0);
+    }
+    final long address = file.position();
+    file.putInt(id);
+    file.putInt(0);
+    file.putLong(24 + links.length * 8L + data.remaining());
+    file.putLong(links.length);
+    for (final var link : links) {
+      file.putLong(link);
+    }
+    file.put(data);
+    return address;
+  }
+
+  private static ByteBuffer data(int length) {
+    return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private long text(String text) {
+    final var bytes = (text + "\0").getBytes(StandardCharsets.UTF_8);
+    return block(TextBlock.ID.asInt(), new long[0], ByteBuffer.wrap(bytes));
+  }
+
+  private long channel(long next, String name, int type, int dataType, int byteOffset,
+      int bitCount, long data) {
+    final var block = data(72);
+    block.put((byte) type).put((byte) 0).put((byte) dataType).put((byte) 0);
+    block.putInt(byteOffset);
+    block.putInt(bitCount);
+    block.putInt(0); // flags
+    block.putInt(0); // invalidation bit
+    return block(ChannelBlock.ID.asInt(), new long[]{next, 0, text(name), 0, 0, data, 0, 0},
+        block.clear());
+  }
+
+  private long channelGroup(long channel, int records) {
+    final var data = data(32);
+    data.putLong(0); // record ID
+    data.putLong(records);
+    data.putShort((short) 0);
+    data.putShort((short) '.');
+    data.putInt(0);
+    data.putInt(RECORD_SIZE);
+    data.putInt(0); // invalidation bytes
+    return block(ChannelGroupBlock.ID.asInt(), new long[]{0, channel, 0, 0, 0, 0},
+        data.clear());
+  }
+
+  /**
+   * Write signal data into two SD blocks and a DL block.
+   *
+   * @param offsets Offset of every value in signal data
+   * @return Link to DL block
+   */
+  private long signalData(long[] offsets) {
+    final var stream = new ByteArrayOutputStream();
+    for (int i = 0; i < SIGNALS.length; i++) {
+      final var bytes = SIGNALS[i].getBytes(StandardCharsets.UTF_8);
+      offsets[i] = stream.size();
+      stream.writeBytes(data(4).putInt(bytes.length).array());
+      stream.writeBytes(bytes);
+    }
+    final var bytes = stream.toByteArray();
+    // split within second value
+    final var split = (int) offsets[1] + 6;
+    final var first = block(SignalDataBlock.ID.asInt(), new long[0],
+        ByteBuffer.wrap(bytes, 0, split));
+    final var second = block(SignalDataBlock.ID.asInt(), new long[0],
+        ByteBuffer.wrap(bytes, split, bytes.length - split));
+
+    final var data = data(24);
+    data.putInt(0); // flags
+    data.putInt(2);
+    data.putLong(0);
+    data.putLong(split);
+    return block(DataListBlock.ID.asInt(), new long[]{0, first, second}, data.clear());
+  }
+
+  private ByteBufferInput createFile(String... fixed) {
+    file.position(HEADER_ADDRESS + HEADER_LENGTH);
+
+    final var offsets = new long[SIGNALS.length];
+    final var signals = channel(
+        0, "signal", VLSD, STRING_UTF8, 24, 64, signalData(offsets));
+    final var size = channel(signals, "size", 0, UINT_LE, 16, 8, 0);
+    final var bytes = channel(size, "bytes", MAXIMUM_LENGTH, BYTE_ARRAY, 17, 7 * 8, size);
+    final var utf16 = channel(bytes, "utf16", 0, STRING_UTF16LE, 8, 64, 0);
+    final var group = channelGroup(channel(utf16, "fixed", 0, STRING_UTF8, 0, 64, 0),
+        fixed.length);
+
+    final var records = data(fixed.length * RECORD_SIZE);
+    for (int i = 0; i < fixed.length; i++) {
+      final var pos = i * RECORD_SIZE;
+      records.position(pos).put(fixed[i].getBytes(StandardCharsets.UTF_8));
+      records.position(pos + 8).put(UTF16[i].getBytes(StandardCharsets.UTF_16LE));
+      records.position(pos + 16).put((byte) BYTES[i].length).put(BYTES[i]);
+      records.putLong(pos + 24, offsets[i]);
+    }
+    final var dataBlock = block(DataBlock.ID.asInt(), new long[0], records.clear());
+    final var dataGroup = block(DataGroupBlock.ID.asInt(), new long[]{0, group, dataBlock, 0},
+        data(8));
+    final var end = file.position();
+
+    // header
+    file.position(HEADER_ADDRESS);
+    block(HeaderBlock.ID.asInt(), new long[]{dataGroup, 0, 0, 0, 0, 0}, data(32));
+
+    // identification
+    file.position(0);
+    file.put("MDF     4.20    mdf4j\0\0\0".getBytes(StandardCharsets.ISO_8859_1));
+    file.putShort((short) 0).putShort((short) 0).putShort((short) 420).putShort((short) 0);
+    file.put(new byte[28]);
+    file.putShort((short) 0).putShort((short) 0);
+
+    return new ByteBufferInput(file.position(0).limit(end));
+  }
+
+  @Test
+  void readStringsAndByteArrays() throws Exception {
+    // ARRANGE
+    final var mdf4File = Mdf4File.open(createFile("a", "abcdefg", ""));
+
+    // ACT
+    final var strings = new ArrayList<List<String>>();
+    final var bytes = new ArrayList<byte[]>();
+    final List<ColumnType> types;
+    try (var reader = mdf4File.newColumnBatchReader(
+        (dg, cg) -> true, (dg, cg, ch) -> !"size".equals(ch.getName()))) {
+      types = reader.getColumnTypes();
+      final var batch = reader.newBatch(2);
+      int size;
+      while ((size = reader.next(batch)) > 0) {
+        for (int i = 0; i < size; i++) {
+          strings.add(List.of(
+              batch.getVariableLength(0).getString(i),
+              batch.getVariableLength(1).getString(i),
+              batch.getVariableLength(3).getString(i)));
+          bytes.add(batch.getVariableLength(2).copyBytes(i));
+        }
+      }
+    }
+
+    // ASSERT
+    assertThat(types).containsExactly(
+        ColumnType.STRING, ColumnType.STRING, ColumnType.BYTES, ColumnType.STRING);
+    assertThat(strings).containsExactly(
+        List.of("a", "ab", "first"),
+        List.of("abcdefg", "x\u0100", "second value"),
+        List.of("", "\u0100x", "third"));
+    assertThat(bytes).containsExactly(BYTES[0], BYTES[1], BYTES[2]);
+  }
+
+  @Test
+  void rejectFixedLengthStringWithoutTermination() throws Exception {
+    // ARRANGE
+    final var mdf4File = Mdf4File.open(createFile("a", "abcdefgh", ""));
+
+    // ACT & ASSERT
+    try (var reader = mdf4File.newColumnBatchReader(
+        (dg, cg) -> true, (dg, cg, ch) -> "fixed".equals(ch.getName()))) {
+      final var batch = reader.newBatch(4);
+      assertThatThrownBy(() -> reader.next(batch)).isInstanceOf(FormatException.class);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.blocks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+
+class DataZippedBlockTest {
+
+  private static byte[] deflate(byte[] bytes) {
+    final var deflater = new Deflater();
+    deflater.setInput(bytes);
+    deflater.finish();
+    final var buffer = new byte[bytes.length + 64];
+    final var length = deflater.deflate(buffer);
+    deflater.end();
+    return Arrays.copyOf(buffer, length);
+  }
+
+  @Test
+  void decompressTransposed() throws Exception {
+    // ARRANGE
+    final var original = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14};
+    final var transposed = new byte[]{1, 5, 9, 2, 6, 10, 3, 7, 11, 4, 8, 12, 13, 14};
+    final var compressed = deflate(transposed);
+    final var block = new DataZippedBlock<DataBlock>(DataBlock.ID,
+        ZipType.TRANSPOSITION_DEFLATE, 4, original.length, 0, compressed.length);
+
+    // ACT
+    final var payload = block.decompress(new ByteBufferInput(ByteBuffer.wrap(compressed)));
+
+    // ASSERT
+    final var actual = new byte[payload.remaining()];
+    payload.get(actual);
+    assertThat(actual).isEqualTo(original);
+    assertThat(payload.isReadOnly()).isTrue();
+  }
+
+  @Test
+  void decompressIntoBuffer() throws Exception {
+    // ARRANGE
+    final var original = new byte[]{1, 2, 3, 4, 5, 6, 7, 8};
+    final var compressed = deflate(original);
+    final var block = new DataZippedBlock<DataBlock>(DataBlock.ID,
+        ZipType.DEFLATE, 0, original.length, 0, compressed.length);
+    final var dst = ByteBuffer.allocate(16).position(4);
+
+    // ACT
+    block.decompress(new ByteBufferInput(ByteBuffer.wrap(compressed)), dst, null);
+
+    // ASSERT
+    assertThat(dst.position()).isEqualTo(12);
+    assertThat(Arrays.copyOfRange(dst.array(), 4, 12)).isEqualTo(original);
+  }
+}
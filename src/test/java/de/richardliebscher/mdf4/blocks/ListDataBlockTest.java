@@ -0,0 +1,81 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.blocks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ListDataBlockTest {
+
+  private static ByteBuffer block(long[] links, int flags, int count, long... values) {
+    final var length = 24 + links.length * 8 + 8 + values.length * 8;
+    final var buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(ListDataBlock.ID.asInt());
+    buffer.putInt(0);
+    buffer.putLong(length);
+    buffer.putLong(links.length);
+    for (final var link : links) {
+      buffer.putLong(link);
+    }
+    buffer.putInt(flags);
+    buffer.putInt(count);
+    for (final var value : values) {
+      buffer.putLong(value);
+    }
+    return buffer.flip();
+  }
+
+  @Test
+  void parseEqualSampleCount() throws Exception {
+    // ARRANGE
+    final var buffer = block(new long[]{0, 100, 200}, 0x01, 2, 1000);
+
+    // ACT
+    final var block = ListDataBlock.<DataBlock>parse(new ByteBufferInput(buffer));
+
+    // ASSERT
+    assertThat(block.getNextListData().isNil()).isTrue();
+    assertThat(block.getData()).containsExactly(Link.of(100), Link.of(200));
+    assertThat(block.getInvalidationData()).isEmpty();
+    assertThat(block.getSampleOffsets().size()).isEqualTo(2);
+    assertThat(block.getSampleOffsets().get(1)).isEqualTo(1000);
+  }
+
+  @Test
+  void parseSampleOffsetsWithInvalidationData() throws Exception {
+    // ARRANGE
+    final var flags = 0x80000000;
+    final var buffer = block(new long[]{300, 100, 200, 400, 500}, flags, 2, 0, 700);
+
+    // ACT
+    final var block = ListDataBlock.<DataBlock>parse(new ByteBufferInput(buffer));
+
+    // ASSERT
+    assertThat(block.getNextListData()).isEqualTo(Link.of(300));
+    assertThat(block.getData()).isEqualTo(List.of(Link.of(100), Link.of(200)));
+    assertThat(block.getInvalidationData()).isEqualTo(List.of(Link.of(400), Link.of(500)));
+    assertThat(block.getSampleOffsets().get(0)).isEqualTo(0);
+    assertThat(block.getSampleOffsets().get(1)).isEqualTo(700);
+  }
+
+  @Test
+  void rejectInconsistentCount() {
+    // ARRANGE
+    final var buffer = block(new long[]{0, 100}, 0x01, 2, 1000);
+
+    // ACT & ASSERT
+    assertThatThrownBy(() -> ListDataBlock.parse(new ByteBufferInput(buffer)))
+        .isInstanceOf(FormatException.class);
+  }
+}
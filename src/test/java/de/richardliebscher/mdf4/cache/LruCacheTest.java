@@ -0,0 +1,73 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+  private static final Object FILE = new Object();
+  private static final Object OTHER_FILE = new Object();
+
+  @Test
+  void hitAndMiss() throws Exception {
+    // ARRANGE
+    final var cache = LruCache.builder().build();
+    final var key = new CacheKey(FILE, 64, "block");
+
+    // ACT
+    final var first = cache.get(key, () -> "value");
+    final var second = cache.get(key, () -> "other");
+
+    // ASSERT
+    assertThat(first).isEqualTo("value");
+    assertThat(second).isEqualTo("value");
+    assertThat(cache.getStats().getHitCount()).isEqualTo(1);
+    assertThat(cache.getStats().getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  void evictLeastRecentlyUsed() throws Exception {
+    // ARRANGE
+    final var cache = LruCache.builder()
+        .maximumWeight(10)
+        .weigher((key, value) -> ((String) value).length())
+        .build();
+    final var a = new CacheKey(FILE, 0, "block");
+    final var b = new CacheKey(FILE, 8, "block");
+    final var c = new CacheKey(FILE, 16, "block");
+    cache.get(a, () -> "aaaa");
+    cache.get(b, () -> "bbbb");
+    cache.get(a, () -> "aaaa");
+
+    // ACT
+    cache.get(c, () -> "cccc");
+
+    // ASSERT
+    assertThat(cache.get(a, () -> "loaded")).isEqualTo("aaaa");
+    assertThat(cache.get(b, () -> "loaded")).isEqualTo("loaded");
+    assertThat(cache.getStats().getEvictionCount()).isGreaterThanOrEqualTo(1);
+    assertThat(cache.getStats().getWeight()).isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  void invalidateFile() throws Exception {
+    // ARRANGE
+    final var cache = LruCache.builder().build();
+    cache.get(new CacheKey(FILE, 0, "block"), () -> "a");
+    cache.get(new CacheKey(OTHER_FILE, 0, "block"), () -> "b");
+
+    // ACT
+    cache.invalidate(FILE);
+
+    // ASSERT
+    assertThat(cache.getStats().getEntryCount()).isEqualTo(1);
+    assertThat(cache.get(new CacheKey(OTHER_FILE, 0, "block"), () -> "loaded"))
+        .isEqualTo("b");
+  }
+}
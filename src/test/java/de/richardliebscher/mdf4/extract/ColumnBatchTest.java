@@ -0,0 +1,66 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ColumnBatchTest {
+
+  @Test
+  void validity() {
+    // ARRANGE
+    final var batch = new ColumnBatch(List.of(ColumnType.INT, ColumnType.DOUBLE), 100);
+
+    // ACT
+    final var words = batch.clearValidity(1);
+    words[1] |= 1L << (70 - 64);
+
+    // ASSERT
+    assertThat(batch.getValidity(0)).isNull();
+    assertThat(batch.isValid(0, 70)).isTrue();
+    assertThat(words).hasSize(2);
+    assertThat(batch.isValid(1, 70)).isTrue();
+    assertThat(batch.isValid(1, 6)).isFalse();
+    assertThat(batch.isValid(1, 69)).isFalse();
+  }
+
+  @Test
+  void variableLength() {
+    // ARRANGE
+    final var batch = new ColumnBatch(List.of(ColumnType.STRING), 4);
+    final var records = ByteBuffer.wrap("abc\0xyz".getBytes(StandardCharsets.US_ASCII));
+    final var values = batch.getVariableLength(0);
+
+    // ACT
+    values.clear(StandardCharsets.UTF_8);
+    values.append(records, 0, 4);
+    values.truncateLast(3);
+    values.append(records.asReadOnlyBuffer(), 4, 3);
+    values.append(records, 0, 0);
+
+    // ASSERT
+    assertThat(values.size()).isEqualTo(3);
+    assertThat(values.getString(0)).isEqualTo("abc");
+    assertThat(values.getString(1)).isEqualTo("xyz");
+    assertThat(values.getString(2)).isEmpty();
+    assertThat(values.getOffsets()).startsWith(0, 3, 6, 6);
+  }
+
+  @Test
+  void wrongColumnType() {
+    // ARRANGE
+    final var batch = new ColumnBatch(List.of(ColumnType.INT), 1);
+
+    // ASSERT
+    assertThatThrownBy(() -> batch.getLongs(0)).isInstanceOf(IllegalStateException.class);
+  }
+}
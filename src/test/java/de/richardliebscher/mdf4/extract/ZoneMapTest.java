@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.richardliebscher.mdf4.extract.ZoneMap.RecordRange;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ZoneMapTest {
+
+  /**
+   * Three blocks of ten records. Channel "a" has values 0 to 5, only 10 and only invalid values,
+   * channel "b" has unknown statistics.
+   */
+  private static ZoneMap zoneMap() {
+    return new ZoneMap(
+        List.of("a", "b"),
+        new long[]{64, 128, 192},
+        new long[]{0, 10, 20, 30},
+        new double[][]{
+            {0, 10, Double.POSITIVE_INFINITY}, {Double.NaN, Double.NaN, Double.NaN}},
+        new double[][]{
+            {5, 10, Double.NEGATIVE_INFINITY}, {Double.NaN, Double.NaN, Double.NaN}},
+        new long[][]{{10, 10, 10}, {10, 10, 10}},
+        new long[][]{{0, 0, 10}, {0, 0, 0}});
+  }
+
+  @Test
+  void selectByComparison() {
+    // ARRANGE
+    final var zones = zoneMap();
+
+    // ACT
+    final var greater = zones.selectRecords(RecordFilter.greaterThan("a", 7));
+    final var less = zones.selectRecords(RecordFilter.lessThan("a", 7));
+    final var either = zones.selectRecords(
+        RecordFilter.lessThan("a", 7).or(RecordFilter.greaterThan("a", 7)));
+    final var both = zones.selectRecords(
+        RecordFilter.lessThan("a", 7).and(RecordFilter.greaterThan("a", 7)));
+
+    // ASSERT
+    assertThat(greater).containsExactly(new RecordRange(10, 10));
+    assertThat(less).containsExactly(new RecordRange(0, 10));
+    assertThat(either).containsExactly(new RecordRange(0, 20));
+    assertThat(both).isEmpty();
+  }
+
+  @Test
+  void selectByNegation() {
+    // ARRANGE
+    final var zones = zoneMap();
+
+    // ACT
+    final var notTen = zones.selectRecords(RecordFilter.equalTo("a", 10.0).negate());
+    final var notSmall = zones.selectRecords(RecordFilter.atMost("a", 5).negate());
+
+    // ASSERT
+    // invalid values do not match comparison, so they match its negation
+    assertThat(notTen).containsExactly(new RecordRange(0, 10), new RecordRange(20, 10));
+    assertThat(notSmall).containsExactly(new RecordRange(10, 20));
+  }
+
+  @Test
+  void selectAllWithoutStatistics() {
+    // ARRANGE
+    final var zones = zoneMap();
+
+    // ACT
+    final var unknown = zones.selectRecords(RecordFilter.greaterThan("b", 0));
+    final var missing = zones.selectRecords(RecordFilter.lessThan("c", 0).negate());
+    final var masked = zones.selectRecords(RecordFilter.bitsSet("a", 0x1));
+
+    // ASSERT
+    assertThat(unknown).containsExactly(new RecordRange(0, 30));
+    assertThat(missing).containsExactly(new RecordRange(0, 30));
+    assertThat(masked).containsExactly(new RecordRange(0, 20));
+    assertThat(zones.getRecordCount()).isEqualTo(30);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.blocks.BitFlags;
+import de.richardliebscher.mdf4.blocks.ChannelBlock;
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.blocks.ChannelFlag;
+import de.richardliebscher.mdf4.blocks.ChannelGroupBlock;
+import de.richardliebscher.mdf4.blocks.ChannelGroupFlag;
+import de.richardliebscher.mdf4.blocks.ChannelType;
+import de.richardliebscher.mdf4.blocks.DataGroupBlock;
+import de.richardliebscher.mdf4.blocks.Range;
+import de.richardliebscher.mdf4.blocks.SyncType;
+import de.richardliebscher.mdf4.extract.ColumnBatch;
+import de.richardliebscher.mdf4.extract.ColumnType;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ValidityDecoderTest {
+
+  private static final int RECORD_ID_SIZE = 1;
+  private static final int DATA_BYTES = 4;
+  private static final int RECORD_SIZE = RECORD_ID_SIZE + DATA_BYTES + 2;
+  private static final int RECORDS = 150;
+  private static final int OFFSET = 5;
+
+  private static ChannelBlock channel(int flags, int invalidationBit) {
+    final var range = new Range(0, 0);
+    return new ChannelBlock(
+        Link.nil(), Link.nil(), Link.nil(), Link.nil(), Link.nil(), Link.nil(), Link.nil(),
+        Link.nil(), ChannelType.FIXED_LENGTH_DATA_CHANNEL, SyncType.NONE, ChannelDataType.UINT_LE,
+        (byte) 0, RECORD_ID_SIZE, 8, BitFlags.of(flags, ChannelFlag.class), invalidationBit,
+        (byte) 0, (short) 0, range, range, range);
+  }
+
+  /**
+   * Records with record ID, data bytes and two invalidation bytes, stored after some other bytes.
+   */
+  private static ByteBuffer records() {
+    final var records = ByteBuffer.allocate(OFFSET + RECORDS * RECORD_SIZE);
+    for (int i = 0; i < RECORDS; i++) {
+      final var pos = OFFSET + i * RECORD_SIZE;
+      records.put(pos, (byte) 1);
+      records.putInt(pos + RECORD_ID_SIZE, -1);
+      records.put(pos + RECORD_ID_SIZE + DATA_BYTES, (byte) (i * 37));
+      records.put(pos + RECORD_ID_SIZE + DATA_BYTES + 1, (byte) (i * 11 + 5));
+    }
+    return records;
+  }
+
+  private static boolean[] validity(ColumnBatch batch, int column) {
+    final var valid = new boolean[RECORDS];
+    for (int i = 0; i < RECORDS; i++) {
+      valid[i] = batch.isValid(column, i);
+    }
+    return valid;
+  }
+
+  private static boolean[] expectedValidity(ByteBuffer records, int invalidationBit) {
+    final var valid = new boolean[RECORDS];
+    for (int i = 0; i < RECORDS; i++) {
+      final var pos = OFFSET + i * RECORD_SIZE + RECORD_ID_SIZE + DATA_BYTES;
+      valid[i] = (records.get(pos + invalidationBit / 8) & (1 << invalidationBit % 8)) == 0;
+    }
+    return valid;
+  }
+
+  @Test
+  void decodeInvalidationBits() throws Exception {
+    // ARRANGE
+    final var allInvalid = 1 << ChannelFlag.ALL_VALUES_INVALID.bitNumber();
+    final var bitValid = 1 << ChannelFlag.INVALIDATION_BIT_VALID.bitNumber();
+    final var dataGroup = new DataGroupBlock(
+        Link.nil(), Link.nil(), Link.nil(), Link.nil(), RECORD_ID_SIZE);
+    final var group = new ChannelGroupBlock(
+        Link.nil(), Link.nil(), Link.nil(), Link.nil(), 0, Link.nil(), Link.nil(),
+        0, RECORDS, BitFlags.empty(ChannelGroupFlag.class), '.', DATA_BYTES, 2);
+    final var channels = List.of(
+        channel(bitValid, 0),
+        channel(bitValid, 3),
+        channel(bitValid, 9),
+        channel(allInvalid | bitValid, 1),
+        channel(0, 2),
+        channel(bitValid, 15));
+    final var batch = new ColumnBatch(
+        Collections.nCopies(channels.size() + 1, ColumnType.INT), RECORDS);
+    final var records = records();
+    final var decoder = ValidityDecoder.create(dataGroup, group, channels, 1);
+
+    // ACT
+    decoder.reset(batch);
+    int position = 0;
+    for (final var end : new int[]{3, 70, RECORDS}) {
+      decoder.decode(records, OFFSET + position * RECORD_SIZE, RECORD_SIZE, end - position,
+          batch, position);
+      position = end;
+    }
+
+    // ASSERT
+    assertThat(batch.getValidity(0)).isNull();
+    assertThat(validity(batch, 1)).isEqualTo(expectedValidity(records, 0));
+    assertThat(validity(batch, 2)).isEqualTo(expectedValidity(records, 3));
+    assertThat(validity(batch, 3)).isEqualTo(expectedValidity(records, 9));
+    assertThat(batch.getValidity(4)).isEqualTo(new long[(RECORDS + 63) / 64]);
+    assertThat(batch.getValidity(5)).isNull();
+    assertThat(validity(batch, 6)).isEqualTo(expectedValidity(records, 15));
+  }
+}
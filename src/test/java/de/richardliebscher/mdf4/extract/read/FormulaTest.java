@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.richardliebscher.mdf4.exceptions.FormatException;
+import de.richardliebscher.mdf4.exceptions.NotImplementedFeatureException;
+import org.junit.jupiter.api.Test;
+
+class FormulaTest {
+
+  @Test
+  void evaluateWithOperatorPrecedence() throws Exception {
+    // ARRANGE
+    final var formula = Formula.parse("1 + 2 * X - X ^ 2 / 4 - -X");
+
+    // ACT
+    final var value = formula.evaluate(2.0);
+
+    // ASSERT
+    assertThat(value).isEqualTo(6.0);
+  }
+
+  @Test
+  void evaluatePowerRightAssociative() throws Exception {
+    // ARRANGE
+    final var formula = Formula.parse("-2 ** 3 ^ 2 + X");
+
+    // ACT
+    final var value = formula.evaluate(0.0);
+
+    // ASSERT
+    assertThat(value).isEqualTo(-512.0);
+    assertThat(formula.isConstant()).isFalse();
+  }
+
+  @Test
+  void foldConstants() throws Exception {
+    // ARRANGE
+    final var formula = Formula.parse("sqrt(16) * (1 + 2) - pow(2, 3)");
+
+    // ACT
+    final var constant = formula.isConstant();
+
+    // ASSERT
+    assertThat(constant).isTrue();
+    assertThat(formula.evaluate(123.0)).isEqualTo(4.0);
+  }
+
+  @Test
+  void evaluateColumnLikeSingleValues() throws Exception {
+    // ARRANGE
+    final var formula = Formula.parse("(X - 1) / (X + 1) + 2 / X + abs(sin(X)) * X^2");
+    final var values = new double[]{42, -3, -1.5, 0.5, 1, 10, 42};
+
+    // ACT
+    formula.newEvaluator().evaluate(values, 1, values.length - 2);
+
+    // ASSERT
+    assertThat(values).containsExactly(42,
+        formula.evaluate(-3), formula.evaluate(-1.5), formula.evaluate(0.5),
+        formula.evaluate(1), formula.evaluate(10), 42);
+  }
+
+  @Test
+  void rejectInvalidFormulas() {
+    assertThatThrownBy(() -> Formula.parse("2 * (X + 1")).isInstanceOf(FormatException.class);
+    assertThatThrownBy(() -> Formula.parse("X X")).isInstanceOf(FormatException.class);
+    assertThatThrownBy(() -> Formula.parse("foo(X)"))
+        .isInstanceOf(NotImplementedFeatureException.class);
+    assertThatThrownBy(() -> Formula.parse("X +")).isInstanceOf(FormatException.class);
+    assertThatThrownBy(() -> Formula.parse("X = 1")).isInstanceOf(FormatException.class);
+  }
+
+  @Test
+  void rejectUnsupportedSyntax() {
+    for (final var text : new String[]{
+        "X % 2", "X < 2", "(X >= 2) * 3", "X == 1", "X != 1", "X & 3", "X | 4", "!X",
+        "X << 2", "X >> 2", "X > 0 ? X : 0", "X1 + X2", "2 * (X && 1)"}) {
+      assertThatThrownBy(() -> Formula.parse(text))
+          .as(text)
+          .isInstanceOf(NotImplementedFeatureException.class);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.richardliebscher.mdf4.blocks.DataBlock;
+import de.richardliebscher.mdf4.blocks.DataZippedBlock;
+import de.richardliebscher.mdf4.blocks.Offsets;
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+
+class ReadAheadDataReadTest {
+
+  private static final int RECORD_SIZE = 4;
+  private static final int BLOCKS = 5;
+  private static final int BLOCK_LENGTH = 64 * RECORD_SIZE;
+
+  private static byte[] deflate(byte[] bytes) {
+    final var deflater = new Deflater();
+    deflater.setInput(bytes);
+    deflater.finish();
+    final var buffer = new byte[bytes.length + 64];
+    final var length = deflater.deflate(buffer);
+    deflater.end();
+    return Arrays.copyOf(buffer, length);
+  }
+
+  private static byte[] data() {
+    final var data = new byte[BLOCKS * BLOCK_LENGTH];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i * 31 + i / 256);
+    }
+    return data;
+  }
+
+  /**
+   * Write one DZ block per data block and return links of blocks.
+   */
+  private static long[] writeZippedBlocks(ByteBuffer file, byte[] data) {
+    final var links = new long[BLOCKS];
+    for (int i = 0; i < BLOCKS; i++) {
+      final var compressed = deflate(
+          Arrays.copyOfRange(data, i * BLOCK_LENGTH, (i + 1) * BLOCK_LENGTH));
+      links[i] = file.position();
+      file.putInt(DataZippedBlock.ID.asInt());
+      file.putInt(0);
+      file.putLong(24 + 24 + compressed.length);
+      file.putLong(0);
+      file.put((byte) 'D').put((byte) 'T');
+      file.put((byte) 0); // deflate
+      file.put((byte) 0);
+      file.putInt(0);
+      file.putLong(BLOCK_LENGTH);
+      file.putLong(compressed.length);
+      file.put(compressed);
+      while (file.position() % 8 != 0) {
+        file.put((byte) 0);
+      }
+    }
+    return links;
+  }
+
+  @Test
+  void readZippedBlocksAhead() throws Exception {
+    // ARRANGE
+    final var data = data();
+    final var file = ByteBuffer.allocate(2 * data.length + 4096).order(ByteOrder.LITTLE_ENDIAN);
+    file.position(64);
+    final var links = writeZippedBlocks(file, data);
+    final var executor = Executors.newFixedThreadPool(2);
+    final var read = new ReadAheadDataRead<>(
+        new ByteBufferInput(file.flip()), links, new Offsets.EqualLength(BLOCKS, BLOCK_LENGTH),
+        DataBlock.STORAGE_TYPE, BlockResolver.DIRECT, ByteColumns.all(RECORD_SIZE),
+        executor, 2);
+
+    // ACT
+    final var actual = ByteBuffer.allocate(data.length);
+    final var chunk = ByteBuffer.allocate(3 * RECORD_SIZE + 1);
+    int bytes;
+    while ((bytes = read.read(chunk.clear())) >= 0) {
+      actual.put(chunk.array(), 0, bytes);
+    }
+    read.close();
+    executor.shutdown();
+
+    // ASSERT
+    assertThat(actual.position()).isEqualTo(data.length);
+    assertThat(actual.array()).isEqualTo(data);
+  }
+
+  @Test
+  void seekIntoZippedBlock() throws Exception {
+    // ARRANGE
+    final var data = data();
+    final var file = ByteBuffer.allocate(2 * data.length + 4096).order(ByteOrder.LITTLE_ENDIAN);
+    file.position(64);
+    final var links = writeZippedBlocks(file, data);
+    final var executor = Executors.newFixedThreadPool(2);
+    final var read = new ReadAheadDataRead<>(
+        new ByteBufferInput(file.flip()), links, new Offsets.EqualLength(BLOCKS, BLOCK_LENGTH),
+        DataBlock.STORAGE_TYPE, BlockResolver.DIRECT, ByteColumns.all(RECORD_SIZE),
+        executor, 3);
+    final var position = 3 * BLOCK_LENGTH + 2 * RECORD_SIZE;
+
+    // ACT
+    read.read(ByteBuffer.allocate(RECORD_SIZE));
+    read.position(position);
+    final var actual = ByteBuffer.allocate(RECORD_SIZE);
+    read.read(actual);
+    read.close();
+    executor.shutdown();
+
+    // ASSERT
+    assertThat(actual.array())
+        .isEqualTo(Arrays.copyOfRange(data, position, position + RECORD_SIZE));
+  }
+
+  @Test
+  void readOnOnlyThreadOfExecutor() throws Exception {
+    // ARRANGE
+    final var data = data();
+    final var file = ByteBuffer.allocate(2 * data.length + 4096).order(ByteOrder.LITTLE_ENDIAN);
+    file.position(64);
+    final var links = writeZippedBlocks(file, data);
+    final var executor = Executors.newSingleThreadExecutor();
+
+    // ACT: decompressions are queued behind the consumer
+    final var result = executor.submit(() -> {
+      final var read = new ReadAheadDataRead<>(
+          new ByteBufferInput(file.flip()), links, new Offsets.EqualLength(BLOCKS, BLOCK_LENGTH),
+          DataBlock.STORAGE_TYPE, BlockResolver.DIRECT, ByteColumns.all(RECORD_SIZE),
+          executor, 3);
+      final var actual = ByteBuffer.allocate(data.length);
+      final var chunk = ByteBuffer.allocate(RECORD_SIZE);
+      while (read.read(chunk.clear()) >= 0) {
+        actual.put(chunk.flip());
+        if (actual.position() == BLOCK_LENGTH + RECORD_SIZE) {
+          // abandon pending block
+          read.position(3 * BLOCK_LENGTH);
+          actual.position(3 * BLOCK_LENGTH);
+        }
+      }
+      read.position(RECORD_SIZE);
+      read.read(chunk.clear());
+      read.close();
+      return actual;
+    });
+    final var actual = result.get(10, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    // ASSERT
+    assertThat(actual.position()).isEqualTo(data.length);
+    assertThat(Arrays.copyOfRange(actual.array(), 0, BLOCK_LENGTH + RECORD_SIZE))
+        .isEqualTo(Arrays.copyOfRange(data, 0, BLOCK_LENGTH + RECORD_SIZE));
+    assertThat(Arrays.copyOfRange(actual.array(), 3 * BLOCK_LENGTH, data.length))
+        .isEqualTo(Arrays.copyOfRange(data, 3 * BLOCK_LENGTH, data.length));
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.richardliebscher.mdf4.Link;
+import de.richardliebscher.mdf4.blocks.BitFlags;
+import de.richardliebscher.mdf4.blocks.ChannelConversionBlock;
+import de.richardliebscher.mdf4.blocks.ChannelConversionFlag;
+import de.richardliebscher.mdf4.blocks.ChannelConversionType;
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import de.richardliebscher.mdf4.blocks.ConversionReference;
+import de.richardliebscher.mdf4.io.ByteBufferInput;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextTableTest {
+
+  // links to offset 0 are NIL
+  private final ByteBuffer file =
+      ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN).position(8);
+
+  @Test
+  void encodeValuesIntoSharedDictionary() throws Exception {
+    // ARRANGE
+    final var refs = List.of(text("OFF"), text("ON"), text("OFF"), text("UNKNOWN"));
+    final var conversion = conversion(
+        ChannelConversionType.VALUE_TEXT_TABLE, refs, 2, 0, 1);
+    final var table = TextTable.of(
+        conversion, ChannelDataType.UINT_LE, 8, input(), BlockResolver.DIRECT);
+
+    // ACT
+    final var codes = new int[]{
+        table.encode(0L), table.encode(1L), table.encode(2L), table.encode(3L)};
+
+    // ASSERT
+    final var dictionary = table.getDictionary();
+    assertThat(dictionary.values()).containsExactly("ON", "OFF", "UNKNOWN");
+    assertThat(codes).containsExactly(0, 1, 1, 2);
+    assertThat(dictionary.get(codes[1])).isSameAs("OFF");
+  }
+
+  @Test
+  void encodeRangesOfFloatingPointNumbers() throws Exception {
+    // ARRANGE
+    final var refs = List.of(text("low"), text("high"), text("invalid"));
+    final var conversion = conversion(
+        ChannelConversionType.VALUE_RANGE_TEXT_TABLE, refs, 0, 10, 10, 20);
+    final var table = TextTable.of(
+        conversion, ChannelDataType.FLOAT_LE, 64, input(), BlockResolver.DIRECT);
+
+    // ACT
+    final var texts = new ArrayList<String>();
+    for (final var value : new double[]{-1, 0, 9.5, 10, 20}) {
+      texts.add(table.getDictionary().get(table.encode(value)));
+    }
+
+    // ASSERT
+    assertThat(texts).containsExactly("invalid", "low", "low", "high", "invalid");
+  }
+
+  @Test
+  void passThroughUnknownTexts() throws Exception {
+    // ARRANGE
+    final var refs = List.of(text("a"), text("b"), Link.<ConversionReference>nil());
+    final var conversion = conversion(ChannelConversionType.TEXT_TEXT_TABLE, refs);
+    final var table = TextTable.of(
+        conversion, ChannelDataType.STRING_UTF8, -1, input(), BlockResolver.DIRECT);
+
+    // ACT
+    final var known = table.encode("a");
+    final var unknown = table.encode("c");
+
+    // ASSERT
+    assertThat(table.getDictionary().get(known)).isEqualTo("b");
+    assertThat(unknown).isEqualTo(TextTable.PASS_THROUGH);
+  }
+
+  private ByteBufferInput input() {
+    return new ByteBufferInput(file.duplicate().order(ByteOrder.LITTLE_ENDIAN).rewind());
+  }
+
+  private Link<ConversionReference> text(String text) {
+    final var offset = file.position();
+    final var bytes = (text + "\0").getBytes(StandardCharsets.UTF_8);
+    file.put("##TX".getBytes(StandardCharsets.US_ASCII));
+    file.putInt(0);
+    file.putLong(24 + bytes.length);
+    file.putLong(0);
+    file.put(bytes);
+    return Link.of(offset);
+  }
+
+  private static ChannelConversionBlock conversion(
+      ChannelConversionType type, List<Link<ConversionReference>> refs, double... vals) {
+    final var rawVals = new long[vals.length];
+    for (int i = 0; i < vals.length; i++) {
+      rawVals[i] = Double.doubleToLongBits(vals[i]);
+    }
+    return new ChannelConversionBlock(Link.nil(), Link.nil(), Link.nil(), Link.nil(), refs,
+        type, null, BitFlags.empty(ChannelConversionFlag.class), null, rawVals);
+  }
+}
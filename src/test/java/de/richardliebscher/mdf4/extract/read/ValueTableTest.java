@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.extract.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.richardliebscher.mdf4.blocks.ChannelConversionType;
+import de.richardliebscher.mdf4.blocks.ChannelDataType;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class ValueTableTest {
+
+  @Test
+  void interpolateUnsortedTable() throws Exception {
+    // ARRANGE
+    final var table = ValueTable.of(ChannelConversionType.INTERPOLATED_VALUE_TABLE,
+        vals(10, 100, 0, 0, 20, 0), ChannelDataType.FLOAT_LE, 64);
+
+    // ACT
+    final var values = new double[]{-5, 0, 5, 10, 15, 20, 25};
+    table.convert(values, 0, values.length);
+
+    // ASSERT
+    assertThat(values).containsExactly(0, 0, 50, 100, 50, 0, 0);
+  }
+
+  @Test
+  void lookupNearestValue() throws Exception {
+    // ARRANGE
+    final var table = ValueTable.of(ChannelConversionType.VALUE_VALUE_TABLE,
+        vals(0, 1, 10, 2), ChannelDataType.FLOAT_LE, 64);
+
+    // ACT
+    final var values = new double[]{-1, 4.9, 5, 5.1, 11};
+    table.convert(values, 0, values.length);
+
+    // ASSERT
+    assertThat(values).containsExactly(1, 1, 1, 2, 2);
+  }
+
+  @Test
+  void lookupRangesOfIntegers() throws Exception {
+    // ARRANGE
+    final var table = ValueTable.of(ChannelConversionType.VALUE_RANGE_VALUE_TABLE,
+        vals(10, 19, 2, 0, 9, 1, -1), ChannelDataType.UINT_LE, 32);
+
+    // ACT
+    final var converted = new double[]{
+        table.convert(0L), table.convert(9L), table.convert(19L), table.convert(20L)};
+
+    // ASSERT
+    assertThat(converted).containsExactly(1, 1, 2, -1);
+  }
+
+  @Test
+  void lookupRangesOfFloatingPointNumbers() throws Exception {
+    // ARRANGE
+    final var table = ValueTable.of(ChannelConversionType.VALUE_RANGE_VALUE_TABLE,
+        vals(0, 10, 1, 10, 20, 2, -1), ChannelDataType.FLOAT_LE, 64);
+
+    // ACT
+    final var converted = new double[]{
+        table.convert(-0.5), table.convert(9.5), table.convert(10.0), table.convert(20.0)};
+
+    // ASSERT
+    assertThat(converted).containsExactly(-1, 1, 2, -1);
+  }
+
+  @Test
+  void precomputedTableMatchesSearch() throws Exception {
+    // ARRANGE
+    final var vals = vals(-1000, -1, 0, 0, 1000, 1);
+    final var precomputed = ValueTable.of(
+        ChannelConversionType.INTERPOLATED_VALUE_TABLE, vals, ChannelDataType.INT_LE, 16);
+    final var searched = ValueTable.of(
+        ChannelConversionType.INTERPOLATED_VALUE_TABLE, vals, ChannelDataType.INT_LE, 32);
+
+    // ACT
+    final var values = new double[1 << 16];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i + Short.MIN_VALUE;
+    }
+    final var expected = Arrays.copyOf(values, values.length);
+    precomputed.convert(values, 0, values.length);
+    searched.convert(expected, 0, expected.length);
+
+    // ASSERT
+    assertThat(values).containsExactly(expected);
+    assertThat(precomputed.convert((long) Short.MIN_VALUE)).isEqualTo(-1);
+  }
+
+  private static long[] vals(double... values) {
+    return Arrays.stream(values).mapToLong(Double::doubleToLongBits).toArray();
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.richardliebscher.mdf4.extract.de.Half;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ColumnKernelsTest {
+
+  private static final int OFFSET = 3;
+  private static final int STRIDE = 13;
+  private static final int POSITION = 2;
+
+  private static ByteBuffer records(int count, ByteOrder byteOrder) {
+    final var bytes = new byte[count * STRIDE];
+    new Random(count).nextBytes(bytes);
+    return ByteBuffer.wrap(bytes).order(byteOrder);
+  }
+
+  private static ByteOrder byteOrder(boolean bigEndian) {
+    return bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+  }
+
+  private static long expectedLong(ByteBuffer src, int index, int byteCount) {
+    final var pos = OFFSET + index * STRIDE;
+    switch (byteCount) {
+      case 1:
+        return src.get(pos);
+      case 2:
+        return src.getShort(pos);
+      case 4:
+        return src.getInt(pos);
+      default:
+        return src.getLong(pos);
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1, false, 1", "1, true, 7",
+      "2, false, 4", "2, true, 9",
+      "4, false, 11", "4, true, 3",
+      "8, false, 8", "8, true, 13",
+  })
+  void loadLongs(int byteCount, boolean bigEndian, int count) {
+    // ARRANGE
+    final var src = records(count, byteOrder(bigEndian));
+    final var dst = new long[POSITION + count + 1];
+
+    // ACT
+    ColumnKernels.loadLongs(src, OFFSET, STRIDE, byteCount, bigEndian, dst, POSITION, count);
+
+    // ASSERT
+    for (int i = 0; i < count; i++) {
+      assertThat(dst[POSITION + i]).isEqualTo(expectedLong(src, i, byteCount));
+    }
+    assertThat(dst[0]).isZero();
+    assertThat(dst[1]).isZero();
+    assertThat(dst[POSITION + count]).isZero();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1, false, 5", "1, true, 2",
+      "2, false, 7", "2, true, 12",
+      "4, false, 6", "4, true, 9",
+  })
+  void loadInts(int byteCount, boolean bigEndian, int count) {
+    // ARRANGE
+    final var src = records(count, byteOrder(bigEndian));
+    final var dst = new int[POSITION + count + 1];
+
+    // ACT
+    ColumnKernels.loadInts(src, OFFSET, STRIDE, byteCount, bigEndian, dst, POSITION, count);
+
+    // ASSERT
+    for (int i = 0; i < count; i++) {
+      assertThat(dst[POSITION + i]).isEqualTo((int) expectedLong(src, i, byteCount));
+    }
+    assertThat(dst[POSITION + count]).isZero();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "16, false, 7", "16, true, 5",
+      "32, false, 9", "32, true, 6",
+  })
+  void loadFloats(int bitCount, boolean bigEndian, int count) {
+    // ARRANGE
+    final var src = records(count, byteOrder(bigEndian));
+    final var dst = new float[POSITION + count];
+
+    // ACT
+    ColumnKernels.loadFloats(src, OFFSET, STRIDE, bitCount, bigEndian, dst, POSITION, count);
+
+    // ASSERT
+    for (int i = 0; i < count; i++) {
+      final var pos = OFFSET + i * STRIDE;
+      final var expected = bitCount == 16
+          ? Half.toFloat(src.getShort(pos))
+          : src.getFloat(pos);
+      assertThat(Float.floatToRawIntBits(dst[POSITION + i]))
+          .isEqualTo(Float.floatToRawIntBits(expected));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void loadDoubles(boolean bigEndian) {
+    // ARRANGE
+    final var count = 10;
+    final var src = records(count, byteOrder(bigEndian));
+    final var dst = new double[POSITION + count];
+
+    // ACT
+    ColumnKernels.loadDoubles(src, OFFSET, STRIDE, bigEndian, dst, POSITION, count);
+
+    // ASSERT
+    for (int i = 0; i < count; i++) {
+      assertThat(Double.doubleToRawLongBits(dst[POSITION + i]))
+          .isEqualTo(Double.doubleToRawLongBits(src.getDouble(OFFSET + i * STRIDE)));
+    }
+  }
+
+  @Test
+  void extendUnsignedBitfield() {
+    // ARRANGE
+    final var values = new long[]{-1, 0b1011_0110, 0x7FFF_FFFF_FFFF_FFFFL, 0b0100_0000, 0x30};
+
+    // ACT: bits 4..6
+    ColumnKernels.extend(values, 1, 4, 64 - 7, 64 - 3, false);
+
+    // ASSERT
+    assertThat(values).containsExactly(-1, 0b011, 0b111, 0b100, 0b011);
+  }
+
+  @Test
+  void extendSignedBitfield() {
+    // ARRANGE
+    final var values = new long[]{0b1011_0110, 0x7FFF_FFFF_FFFF_FFFFL, 0b0100_0000, 0x30, 0x10};
+
+    // ACT: bits 4..6
+    ColumnKernels.extend(values, 0, 5, 64 - 7, 64 - 3, true);
+
+    // ASSERT
+    assertThat(values).containsExactly(3, -1, -4, 3, 1);
+  }
+
+  @Test
+  void extendIntBitfields() {
+    // ARRANGE
+    final var unsigned = new int[]{0xFFFF_FFFF, 0x0000_0F00, 0x0000_0800};
+    final var signed = unsigned.clone();
+
+    // ACT: bits 8..11
+    ColumnKernels.extend(unsigned, 0, 3, 32 - 12, 32 - 4, false);
+    ColumnKernels.extend(signed, 0, 3, 32 - 12, 32 - 4, true);
+
+    // ASSERT
+    assertThat(unsigned).containsExactly(0xF, 0xF, 0x8);
+    assertThat(signed).containsExactly(-1, -1, -8);
+  }
+
+  @Test
+  void rejectUnsupportedByteCount() {
+    // ARRANGE
+    final var src = records(1, ByteOrder.LITTLE_ENDIAN);
+
+    // ACT & ASSERT
+    assertThat(ColumnKernels.isLoadable(3)).isFalse();
+    assertThatThrownBy(() -> ColumnKernels.loadLongs(
+        src, OFFSET, STRIDE, 3, false, new long[1], 0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ColumnKernels.loadInts(
+        src, OFFSET, STRIDE, 8, true, new int[1], 0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TranspositionTest {
+
+  private static byte[] transpose(byte[] records, int columns) {
+    final var rows = records.length / columns;
+    final var result = records.clone();
+    int k = 0;
+    for (int i = 0; i < columns; i++) {
+      for (int j = 0; j < rows; j++, k++) {
+        result[k] = records[j * columns + i];
+      }
+    }
+    return result;
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3, 8, 64, 65, 300})
+  void untranspose(int columns) {
+    // ARRANGE
+    final var records = new byte[columns * 200 + columns / 2];
+    new Random(columns).nextBytes(records);
+    final var transposed = transpose(records, columns);
+    final var result = new byte[records.length + 2];
+
+    // ACT
+    Transposition.untranspose(transposed, 0, result, 2, records.length, columns);
+
+    // ASSERT
+    assertThat(result).endsWith(records);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {8, 300})
+  void untransposeSelectedColumns(int columns) {
+    // ARRANGE
+    final var records = new byte[columns * 200 + 1];
+    new Random(columns).nextBytes(records);
+    final var transposed = transpose(records, columns);
+    final var result = new byte[records.length];
+    final var selected = new int[]{0, 2, 3, columns - 1};
+
+    // ACT
+    Transposition.untranspose(transposed, 0, result, 0, records.length, columns, selected);
+
+    // ASSERT
+    for (int row = 0; row < 200; row++) {
+      for (final var column : selected) {
+        assertThat(result[row * columns + column]).isEqualTo(records[row * columns + column]);
+      }
+      assertThat(result[row * columns + 1]).isZero();
+    }
+    assertThat(result[records.length - 1]).isEqualTo(records[records.length - 1]);
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileInputTest {
+
+  @TempDir
+  Path tmpDir;
+
+  private Path createFile(int size) throws Exception {
+    final var bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) i;
+    }
+    final var path = tmpDir.resolve("file.bin");
+    Files.write(path, bytes);
+    return path;
+  }
+
+  @Test
+  void readValueAcrossChunks() throws Exception {
+    // ARRANGE
+    final var path = createFile(100);
+    final var expected = ByteBuffer.wrap(Files.readAllBytes(path))
+        .order(ByteOrder.LITTLE_ENDIAN);
+
+    try (var input = new MappedFileInput(path, 16)) {
+      // ACT
+      input.seek(14);
+      final var value = input.readI64();
+
+      // ASSERT
+      assertThat(value).isEqualTo(expected.getLong(14));
+      assertThat(input.pos()).isEqualTo(22);
+    }
+  }
+
+  @Test
+  void readBytesAcrossChunks() throws Exception {
+    // ARRANGE
+    final var path = createFile(100);
+
+    try (var input = new MappedFileInput(path, 16)) {
+      // ACT
+      input.seek(10);
+      final var bytes = input.readBytes(40);
+
+      // ASSERT
+      assertThat(bytes[0]).isEqualTo((byte) 10);
+      assertThat(bytes[39]).isEqualTo((byte) 49);
+    }
+  }
+
+  @Test
+  void dupHasOwnPosition() throws Exception {
+    // ARRANGE
+    final var path = createFile(100);
+
+    try (var input = new MappedFileInput(path, 16)) {
+      input.seek(50);
+
+      // ACT
+      final var dup = input.dup();
+      dup.seek(0);
+
+      // ASSERT
+      assertThat(dup.getStream().readAllBytes()).hasSize(100);
+      assertThat(input.pos()).isEqualTo(50);
+      assertThat(input.readU8()).isEqualTo((byte) 50);
+    }
+  }
+
+  @Test
+  void readBeyondEnd() throws Exception {
+    // ARRANGE
+    final var path = createFile(100);
+
+    try (var input = new MappedFileInput(path)) {
+      // ACT
+      input.seek(97);
+
+      // ASSERT
+      assertThatThrownBy(input::readI32).isInstanceOf(EOFException.class);
+    }
+  }
+}
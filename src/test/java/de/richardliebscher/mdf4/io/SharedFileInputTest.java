@@ -0,0 +1,119 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Copyright 2024 Richard Liebscher <r1tschy@posteo.de>
+ */
+
+package de.richardliebscher.mdf4.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SharedFileInputTest {
+
+  private static final int SIZE = 1 << 20;
+  private static final int CHUNK = 3 * 4096;
+
+  @TempDir
+  Path tmpDir;
+
+  private Path createFile() throws Exception {
+    final var bytes = new byte[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      bytes[i] = (byte) (i * 7 + i / 251);
+    }
+    final var path = tmpDir.resolve("file.bin");
+    Files.write(path, bytes);
+    return path;
+  }
+
+  /**
+   * Read chunks from start to end repeatedly.
+   */
+  private static void readChunks(ByteInput input, byte[] expected, int start) throws Exception {
+    for (int pos = start; pos + CHUNK <= SIZE; pos += CHUNK) {
+      input.seek(pos);
+      final var bytes = input.readBytes(CHUNK);
+      if (!Arrays.equals(bytes, Arrays.copyOfRange(expected, pos, pos + CHUNK))) {
+        throw new AssertionError("Unexpected data at " + pos);
+      }
+    }
+  }
+
+  @Test
+  void continueReadingAfterInterruptOfOtherReader() throws Exception {
+    // ARRANGE
+    final var path = createFile();
+    final var expected = Files.readAllBytes(path);
+    final var started = new CountDownLatch(2);
+    final var stop = new AtomicBoolean();
+    final var interruptedError = new AtomicReference<Throwable>();
+    final var otherError = new AtomicReference<Throwable>();
+
+    try (var input = new SharedFileInput(path)) {
+      final var interruptedReader = new Thread(() -> {
+        try (var cursor = input.dup()) {
+          started.countDown();
+          while (true) {
+            readChunks(cursor, expected, 0);
+          }
+        } catch (Throwable exception) {
+          interruptedError.set(exception);
+        }
+      });
+      final var otherReader = new Thread(() -> {
+        try (var cursor = input.dup()) {
+          started.countDown();
+          while (!stop.get()) {
+            readChunks(cursor, expected, 1);
+          }
+        } catch (Throwable exception) {
+          otherError.set(exception);
+        }
+      });
+
+      // ACT
+      interruptedReader.start();
+      otherReader.start();
+      started.await();
+      Thread.sleep(50);
+      interruptedReader.interrupt();
+      interruptedReader.join();
+      Thread.sleep(50);
+      stop.set(true);
+      otherReader.join();
+      input.seek(100);
+      final var value = input.readU8();
+
+      // ASSERT
+      assertThat(interruptedError.get()).isInstanceOf(ClosedByInterruptException.class);
+      assertThat(otherError.get()).isNull();
+      assertThat(value).isEqualTo(expected[100]);
+    }
+  }
+
+  @Test
+  void rejectReadsAfterClose() throws Exception {
+    // ARRANGE
+    final var path = createFile();
+    final var input = new SharedFileInput(path);
+    final var cursor = input.dup();
+
+    // ACT
+    input.close();
+
+    // ASSERT
+    cursor.seek(0);
+    assertThatThrownBy(() -> cursor.readBytes(CHUNK)).isInstanceOf(ClosedChannelException.class);
+  }
+}